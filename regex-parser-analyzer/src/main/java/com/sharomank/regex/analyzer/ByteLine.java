@@ -0,0 +1,59 @@
+package com.sharomank.regex.analyzer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Mutable view of ASCII line in mapped file, one byte per char. One instance is reused for all lines of chunk,
+ * so valid lines are parsed without creating strings.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class ByteLine implements CharSequence {
+    private ByteBuffer bytes;
+    private int offset;
+    private int length;
+
+    void set(ByteBuffer bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+        }
+        return (char) bytes.get(offset + index);
+    }
+
+    /**
+     * @return new string with chars <code>[start, end)</code>, only they are decoded
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Start: " + start + ", end: " + end + ", length: " + length);
+        }
+        return decode(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return decode(0, length);
+    }
+
+    private String decode(int start, int end) {
+        char[] chars = new char[end - start];
+        for (int index = start; index < end; index++) {
+            chars[index - start] = (char) bytes.get(offset + index);
+        }
+        return new String(chars);
+    }
+}
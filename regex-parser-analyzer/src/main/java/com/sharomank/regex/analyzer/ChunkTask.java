@@ -0,0 +1,112 @@
+package com.sharomank.regex.analyzer;
+
+import com.sharomank.regex.parser.RegexTokenVisitor;
+import com.sharomank.regex.parser.RegexTokenizer;
+import com.sharomank.regex.parser.RegexTokenizerPool;
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.Callable;
+
+/**
+ * Parse lines <code>[start, end)</code> of mapped file, chunk starts at line start and ends after line break.
+ * ASCII lines are parsed straight from mapping, other lines are decoded.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class ChunkTask implements Callable<PatternStats>, RegexTokenVisitor {
+    private final String file;
+    private final ByteBuffer bytes;
+    private final int start;
+    private final int end;
+    private final Charset charset;
+    private final RegexTokenizerPool tokenizers;
+    private final PatternStats stats;
+    private byte[] decodeBuffer = new byte[0];
+
+    ChunkTask(String file, ByteBuffer bytes, int start, int end, Charset charset, RegexTokenizerPool tokenizers,
+              int longestLimit, boolean keepInvalid) {
+        this.file = file;
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+        this.charset = charset;
+        this.tokenizers = tokenizers;
+        this.stats = new PatternStats(longestLimit, keepInvalid);
+    }
+
+    @Override
+    public PatternStats call() {
+        RegexTokenizer tokenizer = tokenizers.acquire();
+        try {
+            ByteLine line = new ByteLine();
+            int lineStart = start;
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                boolean ascii = true;
+                boolean blank = true;
+                byte current;
+                while (lineEnd < end && (current = bytes.get(lineEnd)) != '\n') {
+                    ascii &= current >= 0;
+                    blank &= current >= 0 && current <= ' ';
+                    lineEnd++;
+                }
+                int next = lineEnd + 1;
+                if (lineEnd > lineStart && bytes.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+
+                stats.countLine();
+                if (blank) {
+                    stats.countBlank();
+                } else if (ascii) {
+                    line.set(bytes, lineStart, lineEnd - lineStart);
+                    parse(tokenizer, line);
+                } else {
+                    parse(tokenizer, decode(lineStart, lineEnd));
+                }
+                lineStart = next;
+            }
+        } finally {
+            tokenizers.release(tokenizer);
+        }
+        return stats;
+    }
+
+    @Override
+    public boolean visitToken(CharSequence expression, int start, int end, RegexType type) {
+        stats.countToken(type);
+        return true;
+    }
+
+    private void parse(RegexTokenizer tokenizer, CharSequence pattern) {
+        long started = System.nanoTime();
+        tokenizer.scan(pattern, this);
+        long nanos = System.nanoTime() - started;
+
+        RegexErrorKind errorKind = tokenizer.getErrorKind();
+        stats.countPattern(nanos, errorKind != null);
+        if (errorKind != null && stats.isKeepInvalid()) {
+            stats.addInvalid(new PatternRef(file, stats.getLines(), pattern.length(), PatternRef.preview(pattern),
+                    errorKind, tokenizer.getErrorIndex()));
+        }
+        if (stats.getLongest().isCandidate(pattern.length())) {
+            stats.getLongest().offer(new PatternRef(file, stats.getLines(), pattern.length(),
+                    PatternRef.preview(pattern), errorKind, tokenizer.getErrorIndex()));
+        }
+    }
+
+    private String decode(int from, int to) {
+        int length = to - from;
+        if (decodeBuffer.length < length) {
+            decodeBuffer = new byte[Math.max(length, 2 * decodeBuffer.length)];
+        }
+        for (int index = 0; index < length; index++) {
+            decodeBuffer[index] = bytes.get(from + index);
+        }
+        return new String(decodeBuffer, 0, length, charset);
+    }
+}
@@ -0,0 +1,227 @@
+package com.sharomank.regex.analyzer;
+
+import com.sharomank.regex.parser.RegexTokenizerPool;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Command line analyzer of pattern corpus: files with one pattern per line are memory-mapped, split into chunks
+ * at line breaks and parsed in parallel. Report is streamed as CSV or JSON lines: summary of each file as soon as
+ * it is parsed, then token type histogram, the longest patterns, parse time percentiles and totals.
+ * <p/>
+ * Files must be in ASCII-compatible charset (UTF-8, ISO-8859-1...), blank lines are counted but not parsed.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class CorpusAnalyzer {
+    private static final int CHUNK_SIZE = 1 << 20;
+    private static final int MAX_REGION_SIZE = Integer.MAX_VALUE;
+    private static final String USAGE = "Usage: java -jar regex-parser-analyzer-1.0.jar [options] file...\n"
+            + "  --format json|csv   report format, default json\n"
+            + "  --threads N         parsing threads, default count of processors\n"
+            + "  --top N             count of the longest patterns, default 10\n"
+            + "  --invalid           report every invalid pattern\n"
+            + "  --charset NAME      charset of files, default UTF-8";
+
+    private final int threads;
+    private final int longestLimit;
+    private final boolean reportInvalid;
+    private final Charset charset;
+    private final int chunkSize;
+
+    /**
+     * @param threads       count of parsing threads
+     * @param longestLimit  count of the longest patterns in report
+     * @param reportInvalid write record for every invalid pattern
+     * @param charset       charset of files
+     */
+    CorpusAnalyzer(int threads, int longestLimit, boolean reportInvalid, Charset charset) {
+        this(threads, longestLimit, reportInvalid, charset, CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize minimal count of bytes in chunk, chunk is extended up to line break
+     */
+    CorpusAnalyzer(int threads, int longestLimit, boolean reportInvalid, Charset charset, int chunkSize) {
+        if (threads <= 0 || longestLimit < 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("threads and chunk size must be positive and top cannot be negative");
+        }
+        this.threads = threads;
+        this.longestLimit = longestLimit;
+        this.reportInvalid = reportInvalid;
+        this.charset = charset;
+        this.chunkSize = chunkSize;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String format = "json";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int top = 10;
+        boolean invalid = false;
+        Charset charset = StandardCharsets.UTF_8;
+        List<File> files = new ArrayList<File>();
+        try {
+            for (int index = 0; index < args.length; index++) {
+                String arg = args[index];
+                if ("--format".equals(arg)) {
+                    format = args[++index];
+                } else if ("--threads".equals(arg)) {
+                    threads = Integer.parseInt(args[++index]);
+                } else if ("--top".equals(arg)) {
+                    top = Integer.parseInt(args[++index]);
+                } else if ("--invalid".equals(arg)) {
+                    invalid = true;
+                } else if ("--charset".equals(arg)) {
+                    charset = Charset.forName(args[++index]);
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unknown option " + arg);
+                } else {
+                    files.add(new File(arg));
+                }
+            }
+            if (files.isEmpty() || !"json".equals(format) && !"csv".equals(format)) {
+                throw new IllegalArgumentException("Files are required and format must be json or csv");
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage() == null ? e.toString() : e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        ReportWriter report = "csv".equals(format) ? new CsvReportWriter(out) : new JsonReportWriter(out);
+        new CorpusAnalyzer(threads, top, invalid, charset).analyze(files, report);
+        out.flush();
+    }
+
+    /**
+     * Parse all files and write report
+     *
+     * @param files  files with one pattern per line
+     * @param report report writer
+     * @return statistics of all files
+     * @throws IOException if file cannot be read or report cannot be written
+     */
+    PatternStats analyze(List<File> files, ReportWriter report) throws IOException {
+        long started = System.currentTimeMillis();
+        RegexTokenizerPool tokenizers = new RegexTokenizerPool(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "corpus-analyzer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            // all chunks are queued first, so threads keep working while finished files are reported
+            List<List<Future<PatternStats>>> fileChunks = new ArrayList<List<Future<PatternStats>>>();
+            for (File file : files) {
+                List<Future<PatternStats>> chunks = new ArrayList<Future<PatternStats>>();
+                for (ChunkTask task : split(file, tokenizers)) {
+                    chunks.add(executor.submit(task));
+                }
+                fileChunks.add(chunks);
+            }
+
+            PatternStats total = new PatternStats(longestLimit, false);
+            for (int index = 0; index < files.size(); index++) {
+                PatternStats fileStats = new PatternStats(longestLimit, false);
+                for (Future<PatternStats> chunk : fileChunks.get(index)) {
+                    for (PatternRef pattern : fileStats.add(getResult(chunk), fileStats.getLines())) {
+                        report.invalidPattern(pattern);
+                    }
+                }
+                report.fileSummary(files.get(index).getPath(), fileStats);
+                total.add(fileStats, 0);
+            }
+            report.totals(files.size(), total, System.currentTimeMillis() - started);
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Map file by regions of up to 2 GB and split regions into chunks, both end at line breaks
+     */
+    private List<ChunkTask> split(File file, RegexTokenizerPool tokenizers) throws IOException {
+        List<ChunkTask> tasks = new ArrayList<ChunkTask>();
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                int regionSize = (int) Math.min(size - position, MAX_REGION_SIZE);
+                ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+                if (position + regionSize < size) {
+                    regionSize = afterLastLineBreak(region, regionSize);
+                    if (regionSize == 0) {
+                        throw new IOException("Line at " + position + " of " + file + " is longer than 2 GB");
+                    }
+                }
+
+                int start = 0;
+                while (start < regionSize) {
+                    int end = start + chunkSize >= regionSize ? regionSize : afterNextLineBreak(region,
+                            start + chunkSize, regionSize);
+                    tasks.add(new ChunkTask(file.getPath(), region, start, end, charset, tokenizers, longestLimit,
+                            reportInvalid));
+                    start = end;
+                }
+                position += regionSize;
+            }
+        } finally {
+            randomAccessFile.close();
+        }
+        return tasks;
+    }
+
+    private static int afterNextLineBreak(ByteBuffer bytes, int from, int limit) {
+        for (int index = from; index < limit; index++) {
+            if (bytes.get(index) == '\n') {
+                return index + 1;
+            }
+        }
+        return limit;
+    }
+
+    private static int afterLastLineBreak(ByteBuffer bytes, int limit) {
+        for (int index = limit - 1; index >= 0; index--) {
+            if (bytes.get(index) == '\n') {
+                return index + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static PatternStats getResult(Future<PatternStats> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Analysis is interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Chunk cannot be parsed", e.getCause());
+        }
+    }
+}
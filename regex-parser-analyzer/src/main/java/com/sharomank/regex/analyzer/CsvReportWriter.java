@@ -0,0 +1,88 @@
+package com.sharomank.regex.analyzer;
+
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Report as CSV with columns <code>record,file,line,name,value,text</code>, flushed after each file
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class CsvReportWriter implements ReportWriter {
+    private final Writer out;
+
+    CsvReportWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write("record,file,line,name,value,text\n");
+    }
+
+    @Override
+    public void invalidPattern(PatternRef pattern) throws IOException {
+        row("invalid", pattern.getFile(), String.valueOf(pattern.getLine()), pattern.getErrorKind().name(),
+                pattern.getErrorIndex(), pattern.getPreview());
+    }
+
+    @Override
+    public void fileSummary(String file, PatternStats stats) throws IOException {
+        row("file", file, "", "lines", stats.getLines(), "");
+        row("file", file, "", "patterns", stats.getPatterns(), "");
+        row("file", file, "", "blank", stats.getBlank(), "");
+        row("file", file, "", "invalid", stats.getInvalid(), "");
+        row("file", file, "", "tokens", stats.getTokens(), "");
+        out.flush();
+    }
+
+    @Override
+    public void totals(int files, PatternStats stats, long millis) throws IOException {
+        for (RegexType type : RegexType.values()) {
+            row("type", "", "", type.name(), stats.getTypeCount(type), "");
+        }
+        for (PatternRef pattern : stats.getLongest().toList()) {
+            row("longest", pattern.getFile(), String.valueOf(pattern.getLine()), "length", pattern.getLength(),
+                    pattern.getPreview());
+        }
+        LatencyHistogram latency = stats.getLatency();
+        for (double percentile : PERCENTILES) {
+            row("latency", "", "", LatencyHistogram.percentileName(percentile) + "_ns",
+                    latency.getPercentile(percentile), "");
+        }
+        row("latency", "", "", "max_ns", latency.getMax(), "");
+        row("total", "", "", "files", files, "");
+        row("total", "", "", "lines", stats.getLines(), "");
+        row("total", "", "", "patterns", stats.getPatterns(), "");
+        row("total", "", "", "blank", stats.getBlank(), "");
+        row("total", "", "", "invalid", stats.getInvalid(), "");
+        row("total", "", "", "tokens", stats.getTokens(), "");
+        row("total", "", "", "millis", millis, "");
+        out.flush();
+    }
+
+    private void row(String record, String file, String line, String name, long value, String text)
+            throws IOException {
+        out.write(record);
+        out.write(',');
+        out.write(quote(file));
+        out.write(',');
+        out.write(line);
+        out.write(',');
+        out.write(name);
+        out.write(',');
+        out.write(String.valueOf(value));
+        out.write(',');
+        out.write(quote(text));
+        out.write('\n');
+    }
+
+    private static String quote(String text) {
+        for (int index = 0; index < text.length(); index++) {
+            char ch = text.charAt(index);
+            if (ch == ',' || ch == '"' || ch == '\n' || ch == '\r') {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+        }
+        return text;
+    }
+}
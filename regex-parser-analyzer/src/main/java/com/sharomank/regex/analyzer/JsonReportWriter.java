@@ -0,0 +1,131 @@
+package com.sharomank.regex.analyzer;
+
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Report as JSON lines, one object per record with <code>record</code> field, flushed after each file
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class JsonReportWriter implements ReportWriter {
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder();
+
+    JsonReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void invalidPattern(PatternRef pattern) throws IOException {
+        begin("invalid");
+        field("file", pattern.getFile());
+        field("line", pattern.getLine());
+        field("kind", pattern.getErrorKind().name());
+        field("index", pattern.getErrorIndex());
+        field("length", pattern.getLength());
+        field("pattern", pattern.getPreview());
+        end();
+    }
+
+    @Override
+    public void fileSummary(String file, PatternStats stats) throws IOException {
+        begin("file");
+        field("file", file);
+        field("lines", stats.getLines());
+        field("patterns", stats.getPatterns());
+        field("blank", stats.getBlank());
+        field("invalid", stats.getInvalid());
+        field("tokens", stats.getTokens());
+        end();
+        out.flush();
+    }
+
+    @Override
+    public void totals(int files, PatternStats stats, long millis) throws IOException {
+        begin("types");
+        for (RegexType type : RegexType.values()) {
+            field(type.name(), stats.getTypeCount(type));
+        }
+        end();
+        for (PatternRef pattern : stats.getLongest().toList()) {
+            begin("longest");
+            field("file", pattern.getFile());
+            field("line", pattern.getLine());
+            field("length", pattern.getLength());
+            field("valid", pattern.getErrorKind() == null);
+            field("pattern", pattern.getPreview());
+            end();
+        }
+        LatencyHistogram latency = stats.getLatency();
+        begin("latency");
+        field("count", latency.getCount());
+        for (double percentile : PERCENTILES) {
+            field(LatencyHistogram.percentileName(percentile) + "_ns", latency.getPercentile(percentile));
+        }
+        field("max_ns", latency.getMax());
+        end();
+        begin("total");
+        field("files", files);
+        field("lines", stats.getLines());
+        field("patterns", stats.getPatterns());
+        field("blank", stats.getBlank());
+        field("invalid", stats.getInvalid());
+        field("tokens", stats.getTokens());
+        field("millis", millis);
+        end();
+        out.flush();
+    }
+
+    private void begin(String record) {
+        line.setLength(0);
+        line.append("{\"record\":\"").append(record).append('"');
+    }
+
+    private void field(String name, long value) {
+        line.append(",\"").append(name).append("\":").append(value);
+    }
+
+    private void field(String name, boolean value) {
+        line.append(",\"").append(name).append("\":").append(value);
+    }
+
+    private void field(String name, String value) {
+        line.append(",\"").append(name).append("\":\"");
+        for (int index = 0; index < value.length(); index++) {
+            char ch = value.charAt(index);
+            switch (ch) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (ch < ' ') {
+                        line.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        line.append(ch);
+                    }
+            }
+        }
+        line.append('"');
+    }
+
+    private void end() throws IOException {
+        line.append("}\n");
+        out.write(line.toString());
+    }
+}
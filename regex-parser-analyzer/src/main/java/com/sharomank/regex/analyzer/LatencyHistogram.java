@@ -0,0 +1,92 @@
+package com.sharomank.regex.analyzer;
+
+/**
+ * Histogram of parse times with logarithmic buckets: 16 linear sub-buckets per power of two, so any percentile is
+ * reported with error below 1/16 of its value in fixed memory for any count of patterns.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long max;
+
+    /**
+     * @param nanos parse time in nanoseconds
+     */
+    void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts[bucketOf(value)]++;
+        count++;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    void add(LatencyHistogram other) {
+        for (int index = 0; index < BUCKETS; index++) {
+            counts[index] += other.counts[index];
+        }
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile percentile from 0 to 100
+     * @return upper bound of bucket which contains percentile, <code>0</code> for empty histogram
+     */
+    long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        long seen = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            seen += counts[index];
+            if (seen >= Math.max(rank, 1)) {
+                return Math.min(upperBoundOf(index), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return name of percentile without dot: 50 -&gt; "p50", 99.9 -&gt; "p999"
+     */
+    static String percentileName(double percentile) {
+        String name = percentile == Math.rint(percentile) ? String.valueOf((long) percentile)
+                : String.valueOf(percentile);
+        return "p" + name.replace(".", "");
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> magnitude) - SUB_BUCKETS;
+        return (magnitude + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int magnitude = bucket / SUB_BUCKETS - 1;
+        long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << magnitude) - 1;
+    }
+}
@@ -0,0 +1,74 @@
+package com.sharomank.regex.analyzer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded top of the longest patterns, on equal length the first found pattern is kept
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class LongestPatterns {
+    private static final Comparator<PatternRef> BY_LENGTH = new Comparator<PatternRef>() {
+        @Override
+        public int compare(PatternRef first, PatternRef second) {
+            return first.getLength() < second.getLength() ? -1 : first.getLength() == second.getLength() ? 0 : 1;
+        }
+    };
+
+    private final int limit;
+    private final PriorityQueue<PatternRef> shortestFirst;
+
+    /**
+     * @param limit count of kept patterns
+     */
+    LongestPatterns(int limit) {
+        this.limit = limit;
+        this.shortestFirst = new PriorityQueue<PatternRef>(Math.max(limit, 1), BY_LENGTH);
+    }
+
+    /**
+     * Cheap check before creating {@link PatternRef}
+     *
+     * @param length length of pattern
+     * @return <code>true</code> - pattern of this length enters the top
+     */
+    boolean isCandidate(int length) {
+        return limit > 0 && (shortestFirst.size() < limit || shortestFirst.peek().getLength() < length);
+    }
+
+    void offer(PatternRef pattern) {
+        if (!isCandidate(pattern.getLength())) {
+            return;
+        }
+        if (shortestFirst.size() == limit) {
+            shortestFirst.poll();
+        }
+        shortestFirst.add(pattern);
+    }
+
+    /**
+     * @param other      top of next chunk
+     * @param lineOffset count of lines before next chunk
+     */
+    void addAll(LongestPatterns other, long lineOffset) {
+        for (PatternRef pattern : other.toList()) {
+            if (isCandidate(pattern.getLength())) {
+                offer(pattern.moveLines(lineOffset));
+            }
+        }
+    }
+
+    /**
+     * @return patterns from the longest one
+     */
+    List<PatternRef> toList() {
+        List<PatternRef> patterns = new ArrayList<PatternRef>(shortestFirst);
+        Collections.sort(patterns, Collections.reverseOrder(BY_LENGTH));
+        return patterns;
+    }
+}
@@ -0,0 +1,78 @@
+package com.sharomank.regex.analyzer;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+
+/**
+ * Reference to pattern in corpus file: location, length and beginning of text
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class PatternRef {
+    static final int PREVIEW_LENGTH = 80;
+
+    private final String file;
+    private final long line;
+    private final int length;
+    private final String preview;
+    private final RegexErrorKind errorKind;
+    private final int errorIndex;
+
+    PatternRef(String file, long line, int length, String preview, RegexErrorKind errorKind, int errorIndex) {
+        this.file = file;
+        this.line = line;
+        this.length = length;
+        this.preview = preview;
+        this.errorKind = errorKind;
+        this.errorIndex = errorIndex;
+    }
+
+    static String preview(CharSequence pattern) {
+        int length = Math.min(pattern.length(), PREVIEW_LENGTH);
+        return pattern.subSequence(0, length).toString();
+    }
+
+    /**
+     * @param lineOffset count of lines before chunk where pattern is found
+     * @return the same pattern with line number in file
+     */
+    PatternRef moveLines(long lineOffset) {
+        return lineOffset == 0 ? this : new PatternRef(file, line + lineOffset, length, preview, errorKind, errorIndex);
+    }
+
+    String getFile() {
+        return file;
+    }
+
+    /**
+     * @return line number, from 1
+     */
+    long getLine() {
+        return line;
+    }
+
+    /**
+     * @return count of chars
+     */
+    int getLength() {
+        return length;
+    }
+
+    /**
+     * @return first {@link #PREVIEW_LENGTH} chars of pattern
+     */
+    String getPreview() {
+        return preview;
+    }
+
+    /**
+     * @return kind of syntax error, <code>null</code> for valid pattern
+     */
+    RegexErrorKind getErrorKind() {
+        return errorKind;
+    }
+
+    int getErrorIndex() {
+        return errorIndex;
+    }
+}
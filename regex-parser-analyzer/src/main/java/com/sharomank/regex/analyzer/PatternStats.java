@@ -0,0 +1,129 @@
+package com.sharomank.regex.analyzer;
+
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistics of chunk, file or whole corpus. Statistics of chunks are collected by one thread each and merged
+ * in order of chunks, so line numbers and order of invalid patterns follow files.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class PatternStats {
+    private static final RegexType[] TYPES = RegexType.values();
+
+    private final long[] typeCounts = new long[TYPES.length];
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongestPatterns longest;
+    private final List<PatternRef> invalidPatterns;
+    private long lines;
+    private long patterns;
+    private long blank;
+    private long invalid;
+    private long tokens;
+
+    /**
+     * @param longestLimit count of kept longest patterns
+     * @param keepInvalid  keep references to invalid patterns
+     */
+    PatternStats(int longestLimit, boolean keepInvalid) {
+        this.longest = new LongestPatterns(longestLimit);
+        this.invalidPatterns = keepInvalid ? new ArrayList<PatternRef>() : null;
+    }
+
+    void countLine() {
+        lines++;
+    }
+
+    void countBlank() {
+        blank++;
+    }
+
+    void countToken(RegexType type) {
+        typeCounts[type.ordinal()]++;
+        tokens++;
+    }
+
+    /**
+     * @param nanos   parse time
+     * @param invalid pattern has syntax error
+     */
+    void countPattern(long nanos, boolean invalid) {
+        patterns++;
+        latency.record(nanos);
+        if (invalid) {
+            this.invalid++;
+        }
+    }
+
+    boolean isKeepInvalid() {
+        return invalidPatterns != null;
+    }
+
+    void addInvalid(PatternRef pattern) {
+        invalidPatterns.add(pattern);
+    }
+
+    LongestPatterns getLongest() {
+        return longest;
+    }
+
+    /**
+     * Add statistics of next chunk or file
+     *
+     * @param other      statistics to add
+     * @param lineOffset count of lines before other in the same file, <code>0</code> for other file
+     * @return invalid patterns of other with line numbers in file, empty if they are not kept
+     */
+    List<PatternRef> add(PatternStats other, long lineOffset) {
+        for (int index = 0; index < typeCounts.length; index++) {
+            typeCounts[index] += other.typeCounts[index];
+        }
+        latency.add(other.latency);
+        longest.addAll(other.longest, lineOffset);
+        lines += other.lines;
+        patterns += other.patterns;
+        blank += other.blank;
+        invalid += other.invalid;
+        tokens += other.tokens;
+
+        List<PatternRef> moved = new ArrayList<PatternRef>();
+        if (other.invalidPatterns != null) {
+            for (PatternRef pattern : other.invalidPatterns) {
+                moved.add(pattern.moveLines(lineOffset));
+            }
+        }
+        return moved;
+    }
+
+    long getTypeCount(RegexType type) {
+        return typeCounts[type.ordinal()];
+    }
+
+    LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    long getLines() {
+        return lines;
+    }
+
+    long getPatterns() {
+        return patterns;
+    }
+
+    long getBlank() {
+        return blank;
+    }
+
+    long getInvalid() {
+        return invalid;
+    }
+
+    long getTokens() {
+        return tokens;
+    }
+}
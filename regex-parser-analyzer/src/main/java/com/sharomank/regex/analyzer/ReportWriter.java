@@ -0,0 +1,26 @@
+package com.sharomank.regex.analyzer;
+
+import java.io.IOException;
+
+/**
+ * Streamed report of corpus analysis: records are written as soon as file is parsed, totals at the end
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+interface ReportWriter {
+    double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    void invalidPattern(PatternRef pattern) throws IOException;
+
+    void fileSummary(String file, PatternStats stats) throws IOException;
+
+    /**
+     * Write totals: token type histogram, longest patterns, parse time percentiles and counts
+     *
+     * @param files  count of files
+     * @param stats  statistics of all files
+     * @param millis wall time of analysis
+     */
+    void totals(int files, PatternStats stats, long millis) throws IOException;
+}
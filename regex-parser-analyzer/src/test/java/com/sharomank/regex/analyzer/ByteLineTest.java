@@ -0,0 +1,40 @@
+package com.sharomank.regex.analyzer;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class ByteLineTest {
+
+    @Test
+    public void view() throws Exception {
+        ByteLine line = new ByteLine();
+        line.set(ByteBuffer.wrap("a\n(ab|cd)+\r\n".getBytes(StandardCharsets.US_ASCII)), 2, 8);
+        assertEquals(8, line.length());
+        assertEquals('(', line.charAt(0));
+        assertEquals("(ab|cd)+", line.toString());
+        assertEquals("ab|", line.subSequence(1, 4).toString());
+        assertEquals("", line.subSequence(8, 8).toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void subSequenceOutOfLine() throws Exception {
+        ByteLine line = new ByteLine();
+        line.set(ByteBuffer.wrap("ab\ncd".getBytes(StandardCharsets.US_ASCII)), 0, 2);
+        line.subSequence(1, 3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void charAtOutOfLine() throws Exception {
+        ByteLine line = new ByteLine();
+        line.set(ByteBuffer.wrap("ab\ncd".getBytes(StandardCharsets.US_ASCII)), 0, 2);
+        line.charAt(2);
+    }
+}
@@ -0,0 +1,130 @@
+package com.sharomank.regex.analyzer;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class CorpusAnalyzerTest {
+    // lines: pattern, blank, invalid, whitespace, pattern, non-ASCII, invalid, pattern without line break
+    private static final String CORPUS = "a+\r\n\r\n(b\r\n  \r\nc{2}\r\ncaf\u00E9\r\n[x\r\nd";
+
+    @Test
+    public void countsLines() throws Exception {
+        File file = write(CORPUS);
+        try {
+            RecordingReport report = new RecordingReport();
+            PatternStats stats = new CorpusAnalyzer(2, 3, true, StandardCharsets.UTF_8).analyze(
+                    Collections.singletonList(file), report);
+            assertEquals(8, stats.getLines());
+            assertEquals(2, stats.getBlank());
+            assertEquals(6, stats.getPatterns());
+            assertEquals(2, stats.getInvalid());
+            assertEquals(Arrays.asList("3 (b", "7 [x"), report.invalid);
+            assertEquals(Collections.singletonList(file.getPath() + " 8"), report.files);
+            // longest patterns are kept without line breaks
+            List<PatternRef> longest = stats.getLongest().toList();
+            assertEquals(3, longest.size());
+            assertEquals(new HashSet<String>(Arrays.asList("c{2}", "caf\u00E9")),
+                    new HashSet<String>(Arrays.asList(longest.get(0).getPreview(), longest.get(1).getPreview())));
+            assertEquals(2, longest.get(2).getLength());
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void chunkBoundaries() throws Exception {
+        File file = write(CORPUS + "\r\n" + CORPUS + "\n");
+        try {
+            PatternStats expected = new CorpusAnalyzer(1, 0, true, StandardCharsets.UTF_8).analyze(
+                    Collections.singletonList(file), new RecordingReport());
+            int size = (int) file.length();
+            // chunks end inside of "\r\n", right after it and inside of non-ASCII char
+            for (int chunkSize = 1; chunkSize <= size; chunkSize++) {
+                RecordingReport report = new RecordingReport();
+                PatternStats stats = new CorpusAnalyzer(3, 0, true, StandardCharsets.UTF_8, chunkSize).analyze(
+                        Collections.singletonList(file), report);
+                String message = "chunk size " + chunkSize;
+                assertEquals(message, 16, stats.getLines());
+                assertEquals(message, expected.getBlank(), stats.getBlank());
+                assertEquals(message, expected.getPatterns(), stats.getPatterns());
+                assertEquals(message, expected.getInvalid(), stats.getInvalid());
+                assertEquals(message, expected.getTokens(), stats.getTokens());
+                assertEquals(message, Arrays.asList("3 (b", "7 [x", "11 (b", "15 [x"), report.invalid);
+            }
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void severalFiles() throws Exception {
+        File first = write("a\n(b\n");
+        File second = write("\n[x\n");
+        try {
+            RecordingReport report = new RecordingReport();
+            PatternStats stats = new CorpusAnalyzer(2, 1, true, StandardCharsets.UTF_8).analyze(
+                    Arrays.asList(first, second), report);
+            assertEquals(4, stats.getLines());
+            assertEquals(1, stats.getBlank());
+            assertEquals(2, stats.getInvalid());
+            // line numbers start in each file
+            assertEquals(Arrays.asList("2 (b", "2 [x"), report.invalid);
+            assertEquals(Arrays.asList(first.getPath() + " 2", second.getPath() + " 2"), report.files);
+        } finally {
+            assertTrue(first.delete());
+            assertTrue(second.delete());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidChunkSize() throws Exception {
+        new CorpusAnalyzer(1, 0, false, StandardCharsets.UTF_8, 0);
+    }
+
+    private static File write(String content) throws IOException {
+        File file = File.createTempFile("regex-corpus", ".txt");
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private static class RecordingReport implements ReportWriter {
+        private final List<String> invalid = new ArrayList<String>();
+        private final List<String> files = new ArrayList<String>();
+
+        @Override
+        public void invalidPattern(PatternRef pattern) {
+            invalid.add(pattern.getLine() + " " + pattern.getPreview());
+        }
+
+        @Override
+        public void fileSummary(String file, PatternStats stats) {
+            files.add(file + " " + stats.getLines());
+        }
+
+        @Override
+        public void totals(int files, PatternStats stats, long millis) {
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sharomank.regex.analyzer;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void smallValuesAreExact() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-3);
+        assertEquals(11, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0));
+        assertEquals(5, histogram.getPercentile(50));
+        assertEquals(10, histogram.getPercentile(100));
+        assertEquals(10, histogram.getMax());
+    }
+
+    @Test
+    public void percentileBounds() throws Exception {
+        Random random = new Random(15);
+        long[] values = new long[5000];
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int index = 0; index < values.length; index++) {
+            values[index] = (long) Math.exp(random.nextDouble() * 30);
+            (index % 2 == 0 ? first : second).record(values[index]);
+        }
+        first.add(second);
+        Arrays.sort(values);
+        assertEquals(values.length, first.getCount());
+        assertEquals(values[values.length - 1], first.getMax());
+
+        for (double percentile : new double[]{0, 1, 25, 50, 90, 99, 99.9, 100}) {
+            long rank = Math.max((long) Math.ceil(percentile / 100 * values.length), 1);
+            long exact = values[(int) rank - 1];
+            long reported = first.getPercentile(percentile);
+            // upper bound of bucket, bucket width is below 1/16 of its values
+            assertTrue(percentile + ": " + reported + " < " + exact, reported >= exact);
+            assertTrue(percentile + ": " + reported + " > " + exact, reported - exact <= exact / 16);
+        }
+        assertEquals(first.getMax(), first.getPercentile(100));
+    }
+
+    @Test
+    public void largestValue() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void percentileName() throws Exception {
+        assertEquals("p50", LatencyHistogram.percentileName(50));
+        assertEquals("p999", LatencyHistogram.percentileName(99.9));
+    }
+}
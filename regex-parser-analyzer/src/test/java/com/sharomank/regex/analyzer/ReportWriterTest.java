@@ -0,0 +1,107 @@
+package com.sharomank.regex.analyzer;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class ReportWriterTest {
+    private static final PatternRef INVALID = new PatternRef("dir/rules, old.txt", 7, 4, "(\"a\\",
+            RegexErrorKind.UnclosedGroup, 0);
+
+    @Test
+    public void csv() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvReportWriter report = new CsvReportWriter(out);
+        report.invalidPattern(INVALID);
+        report.fileSummary("rules.txt", stats());
+        assertEquals("record,file,line,name,value,text\n"
+                + "invalid,\"dir/rules, old.txt\",7,UnclosedGroup,0,\"(\"\"a\\\"\n"
+                + "file,rules.txt,,lines,3,\n"
+                + "file,rules.txt,,patterns,2,\n"
+                + "file,rules.txt,,blank,1,\n"
+                + "file,rules.txt,,invalid,1,\n"
+                + "file,rules.txt,,tokens,3,\n", out.toString());
+
+        out.getBuffer().setLength(0);
+        report.totals(1, stats(), 12);
+        // percentiles are upper bounds of buckets, not above max
+        String totals = out.toString();
+        assertContains(totals, "type,,,None,2,\n");
+        assertContains(totals, "type,,,Quantifier,1,\n");
+        assertContains(totals, "type,,,Group,0,\n");
+        assertContains(totals, "longest,rules.txt,2,length,3,a|b\n");
+        assertContains(totals, "latency,,,p50_ns,103,\n"
+                + "latency,,,p90_ns,1000,\n"
+                + "latency,,,p99_ns,1000,\n"
+                + "latency,,,p999_ns,1000,\n"
+                + "latency,,,max_ns,1000,\n");
+        assertContains(totals, "total,,,files,1,\n"
+                + "total,,,lines,3,\n"
+                + "total,,,patterns,2,\n"
+                + "total,,,blank,1,\n"
+                + "total,,,invalid,1,\n"
+                + "total,,,tokens,3,\n"
+                + "total,,,millis,12,\n");
+        assertEquals(RegexType.values().length + 1 + 5 + 7, totals.split("\n").length);
+    }
+
+    @Test
+    public void json() throws Exception {
+        StringWriter out = new StringWriter();
+        JsonReportWriter report = new JsonReportWriter(out);
+        report.invalidPattern(INVALID);
+        report.invalidPattern(new PatternRef("a.txt", 1, 2, "\t\u0001", RegexErrorKind.IllegalEscapeSequence, 1));
+        report.fileSummary("rules.txt", stats());
+        assertEquals("{\"record\":\"invalid\",\"file\":\"dir/rules, old.txt\",\"line\":7,\"kind\":\"UnclosedGroup\","
+                + "\"index\":0,\"length\":4,\"pattern\":\"(\\\"a\\\\\"}\n"
+                + "{\"record\":\"invalid\",\"file\":\"a.txt\",\"line\":1,\"kind\":\"IllegalEscapeSequence\","
+                + "\"index\":1,\"length\":2,\"pattern\":\"\\t\\u0001\"}\n"
+                + "{\"record\":\"file\",\"file\":\"rules.txt\",\"lines\":3,\"patterns\":2,\"blank\":1,\"invalid\":1,"
+                + "\"tokens\":3}\n", out.toString());
+
+        out.getBuffer().setLength(0);
+        report.totals(1, stats(), 12);
+        String[] lines = out.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertContains(lines[0], "{\"record\":\"types\",\"None\":2,");
+        assertContains(lines[0], ",\"Quantifier\":1,");
+        assertEquals("{\"record\":\"longest\",\"file\":\"rules.txt\",\"line\":2,\"length\":3,\"valid\":true,"
+                + "\"pattern\":\"a|b\"}", lines[1]);
+        assertEquals("{\"record\":\"latency\",\"count\":2,\"p50_ns\":103,\"p90_ns\":1000,\"p99_ns\":1000,"
+                + "\"p999_ns\":1000,\"max_ns\":1000}", lines[2]);
+        assertEquals("{\"record\":\"total\",\"files\":1,\"lines\":3,\"patterns\":2,\"blank\":1,\"invalid\":1,"
+                + "\"tokens\":3,\"millis\":12}", lines[3]);
+    }
+
+    /**
+     * @return statistics of lines "a|b", "" and "(b"
+     */
+    private static PatternStats stats() {
+        PatternStats stats = new PatternStats(1, false);
+        stats.countLine();
+        stats.countLine();
+        stats.countLine();
+        stats.countBlank();
+        stats.countPattern(100, false);
+        stats.countPattern(1000, true);
+        stats.countToken(RegexType.None);
+        stats.countToken(RegexType.None);
+        stats.countToken(RegexType.Quantifier);
+        stats.getLongest().offer(new PatternRef("rules.txt", 2, 3, "a|b", null, -1));
+        return stats;
+    }
+
+    private static void assertContains(String text, String part) {
+        if (!text.contains(part)) {
+            throw new AssertionError("Expected <" + part + "> in <" + text + ">");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sharomank.regex.benchmark;
+
+import com.sharomank.regex.parser.analysis.BacktrackingAnalyzer;
+import com.sharomank.regex.parser.analysis.BacktrackingRisk;
+import com.sharomank.regex.parser.ast.RegexTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link BacktrackingAnalyzer} on top of parsing: the whole check of submitted pattern and analysis of
+ * already built {@link RegexTree}
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BacktrackingAnalyzerBenchmark {
+    @Param({"short", "medium", "long"})
+    public String size;
+
+    private String pattern;
+    private RegexTree tree;
+
+    @Setup
+    public void setUp() {
+        pattern = BenchmarkPatterns.forSize(size);
+        tree = RegexTree.parse(pattern);
+    }
+
+    @Benchmark
+    public List<BacktrackingRisk> parseAndAnalyze() {
+        return BacktrackingAnalyzer.analyze(pattern);
+    }
+
+    @Benchmark
+    public List<BacktrackingRisk> analyzeTree() {
+        return BacktrackingAnalyzer.analyze(tree);
+    }
+}
@@ -0,0 +1,69 @@
+package com.sharomank.regex.benchmark;
+
+/**
+ * Pattern corpus shared by benchmarks
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class BenchmarkPatterns {
+    public static final String SHORT = "^([a-zA-Z]+)|([0-9]{1,4})$";
+
+    private static final String MEDIUM_PART =
+            "\\s*(?i)href\\s*=\\s*(\\\"([^\"]*\\\")|'[^']*'|([^'\">\\s]+))|(\\d{1,3}\\.){3}\\d{1,3}|[\\w.+-]+@[\\w-]+\\.[a-z]{2,6}";
+
+    private static final int MEDIUM_LENGTH = 1024;
+    private static final int LONG_LENGTH = 100 * 1024;
+
+    private BenchmarkPatterns() {
+    }
+
+    public static String forSize(String size) {
+        if ("short".equals(size)) {
+            return SHORT;
+        } else if ("medium".equals(size)) {
+            return medium();
+        } else if ("long".equals(size)) {
+            return blocklist(LONG_LENGTH);
+        }
+        throw new IllegalArgumentException("Unknown pattern size: " + size);
+    }
+
+    /**
+     * Make pattern invalid by appending unbalanced group, so {@link java.util.regex.Pattern#compile(String)} fails
+     * only after reading whole expression
+     */
+    public static String invalid(String pattern) {
+        return pattern + "(";
+    }
+
+    /**
+     * Mixed constructs (groups, classes, quantifiers, alternation) repeated to ~1 KB
+     */
+    public static String medium() {
+        StringBuilder sb = new StringBuilder(MEDIUM_LENGTH + MEDIUM_PART.length());
+        while (sb.length() < MEDIUM_LENGTH) {
+            if (sb.length() > 0) {
+                sb.append('|');
+            }
+            sb.append(MEDIUM_PART);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Generated alternation of literal words, the shape of blocklist patterns
+     *
+     * @param minLength minimal length of pattern
+     */
+    public static String blocklist(int minLength) {
+        StringBuilder sb = new StringBuilder(minLength + 32);
+        for (int index = 0; sb.length() < minLength; index++) {
+            if (index > 0) {
+                sb.append('|');
+            }
+            sb.append("blocked").append(index).append("\\.example\\.com");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.sharomank.regex.benchmark;
+
+import com.sharomank.regex.parser.automaton.DfaMatcher;
+import com.sharomank.regex.parser.automaton.DfaPattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * {@link DfaPattern} against <code>java.util.regex</code> on input which makes backtracking pattern fail slowly
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DfaPatternBenchmark {
+    private static final String REGEX = "[a-q][^u-z]{13}x";
+
+    @Param({"100", "1000", "10000"})
+    public int length;
+
+    private String input;
+    private Pattern pattern;
+    private DfaMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder(length);
+        for (int index = 0; index < length; index++) {
+            sb.append((char) ('a' + index % 26));
+        }
+        input = sb.toString();
+        pattern = Pattern.compile(REGEX);
+        matcher = DfaPattern.compile(REGEX).matcher();
+    }
+
+    @Benchmark
+    public boolean dfaFind() {
+        return matcher.find(input);
+    }
+
+    @Benchmark
+    public boolean patternFind() {
+        return pattern.matcher(input).find();
+    }
+}
@@ -0,0 +1,62 @@
+package com.sharomank.regex.benchmark;
+
+import com.sharomank.regex.parser.ParseResult;
+import com.sharomank.regex.parser.cache.ParseResultCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link ParseResultCache} hits from many threads, spread over segments and of one hot expression
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(Threads.MAX)
+public class ParseResultCacheBenchmark {
+    private static final int PATTERN_COUNT = 4096;
+
+    private final ParseResultCache cache = new ParseResultCache(16 * 1024 * 1024);
+    private final String[] patterns = new String[PATTERN_COUNT];
+
+    @Setup
+    public void setUp() {
+        for (int index = 0; index < PATTERN_COUNT; index++) {
+            patterns[index] = "(rule" + index + ")\\s+" + BenchmarkPatterns.SHORT;
+            cache.get(patterns[index]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int index;
+    }
+
+    @Benchmark
+    public ParseResult hit(Cursor cursor) {
+        cursor.index = (cursor.index + 1) & (PATTERN_COUNT - 1);
+        return cache.get(patterns[cursor.index]);
+    }
+
+    @Benchmark
+    public ParseResult hotHit() {
+        // every thread reads the same segment
+        return cache.get(patterns[0]);
+    }
+}
@@ -0,0 +1,66 @@
+package com.sharomank.regex.benchmark;
+
+import com.sharomank.regex.jfr.FlightRecorderMetrics;
+import com.sharomank.regex.parser.RegexParser;
+import com.sharomank.regex.parser.RegexTokenStream;
+import com.sharomank.regex.parser.RegexValidation;
+import com.sharomank.regex.parser.metrics.ParserMetrics;
+import com.sharomank.regex.parser.metrics.RecordingParserMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link ParserMetrics} on short expression: disabled default, in-memory counters and Flight Recorder
+ * events (not recorded unless recording is started, e.g. with <code>-jvmArgs -XX:StartFlightRecording</code>)
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParserMetricsBenchmark {
+    @Param({"none", "recording", "jfr"})
+    public String metrics;
+
+    @Setup
+    public void setUp() {
+        if ("recording".equals(metrics)) {
+            RegexParser.setMetrics(new RecordingParserMetrics());
+        } else if ("jfr".equals(metrics)) {
+            RegexParser.setMetrics(new FlightRecorderMetrics());
+        } else {
+            RegexParser.setMetrics(ParserMetrics.NONE);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        RegexParser.setMetrics(ParserMetrics.NONE);
+    }
+
+    @Benchmark
+    public RegexTokenStream tokenize() {
+        return RegexParser.tokenize(BenchmarkPatterns.SHORT);
+    }
+
+    @Benchmark
+    public RegexValidation validate() {
+        return RegexParser.validate(BenchmarkPatterns.SHORT);
+    }
+}
@@ -0,0 +1,72 @@
+package com.sharomank.regex.benchmark;
+
+import com.sharomank.regex.parser.automaton.PrefilterIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * {@link PrefilterIndex} against <code>java.util.regex</code> patterns tried one by one, on log line which matches
+ * no alert rule
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PrefilterIndexBenchmark {
+    private static final String LINE = "2026-10-18 12:00:00 INFO request served in 15ms path=/api/v1/items";
+
+    @Param({"100", "1000", "20000"})
+    public int count;
+
+    private Pattern[] patterns;
+    private PrefilterIndex index;
+
+    @Setup
+    public void setUp() {
+        List<String> regexPatterns = new ArrayList<String>(count);
+        patterns = new Pattern[count];
+        for (int rule = 0; rule < count; rule++) {
+            String regexPattern = rule % 2 == 0 ? "alert-" + rule + ": (?:disk|cpu) usage \\d+%"
+                    : "(?i)user \\w+ failed login from host" + rule;
+            regexPatterns.add(regexPattern);
+            patterns[rule] = Pattern.compile(regexPattern);
+        }
+        index = PrefilterIndex.compile(regexPatterns);
+    }
+
+    @Benchmark
+    public BitSet prefilterIndex() {
+        return index.match(LINE);
+    }
+
+    @Benchmark
+    public BitSet patternLoop() {
+        BitSet result = new BitSet(patterns.length);
+        for (int rule = 0; rule < patterns.length; rule++) {
+            if (patterns[rule].matcher(LINE).find()) {
+                result.set(rule);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package com.sharomank.regex.benchmark;
+
+import com.sharomank.regex.parser.RegexParser;
+import com.sharomank.regex.parser.RegexPart;
+import com.sharomank.regex.parser.RegexTokenBuffer;
+import com.sharomank.regex.parser.RegexTokenStream;
+import com.sharomank.regex.parser.RegexTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmarks for {@link RegexParser#parse(String)}, {@link RegexParser#tokenize(String)} and reused
+ * {@link RegexTokenizer}.
+ * Run with <code>-prof gc</code> (or {@link BenchmarkRunner}) to see allocation per operation.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RegexParserBenchmark {
+    /**
+     * Pattern size: <code>short</code> - typical UI input, <code>medium</code> - ~1 KB rule,
+     * <code>long</code> - generated alternation of 100 KB+
+     */
+    @Param({"short", "medium", "long"})
+    public String size;
+
+    /**
+     * <code>valid</code> - pattern compiles, <code>invalid</code> - pattern has unbalanced group
+     */
+    @Param({"valid", "invalid"})
+    public String input;
+
+    private String pattern;
+
+    @Setup
+    public void setUp() {
+        String valid = BenchmarkPatterns.forSize(size);
+        pattern = "invalid".equals(input) ? BenchmarkPatterns.invalid(valid) : valid;
+    }
+
+    @Benchmark
+    public List<RegexPart> parse() {
+        return RegexParser.parse(pattern);
+    }
+
+    @Benchmark
+    public RegexTokenStream tokenize() {
+        return RegexParser.tokenize(pattern);
+    }
+
+    /**
+     * Tokens with merged literal runs, see {@link RegexTokenStream#coalesceLiterals()}
+     */
+    @Benchmark
+    public RegexTokenStream tokenizeCoalesced() {
+        return RegexParser.tokenize(pattern, true);
+    }
+
+    /**
+     * Parse into the same buffer with the same tokenizer, steady state should allocate nothing
+     */
+    @Benchmark
+    public int tokenizeReused(Reused reused) {
+        reused.tokenizer.tokenize(pattern, reused.buffer);
+        return reused.buffer.size();
+    }
+
+    @State(Scope.Thread)
+    public static class Reused {
+        final RegexTokenizer tokenizer = new RegexTokenizer();
+        final RegexTokenBuffer buffer = new RegexTokenBuffer();
+    }
+}
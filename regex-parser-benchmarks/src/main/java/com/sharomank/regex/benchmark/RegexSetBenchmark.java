@@ -0,0 +1,71 @@
+package com.sharomank.regex.benchmark;
+
+import com.sharomank.regex.parser.automaton.RegexSet;
+import com.sharomank.regex.parser.automaton.RegexSetMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * One pass of {@link RegexSet} over log line against <code>java.util.regex</code> patterns tried one by one
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RegexSetBenchmark {
+    private static final String LINE = "2026-10-18 12:00:00 INFO service-42 started user=root took 15ms";
+
+    @Param({"10", "100", "1000"})
+    public int count;
+
+    private Pattern[] patterns;
+    private RegexSetMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        List<String> regexPatterns = new ArrayList<String>(count);
+        patterns = new Pattern[count];
+        for (int index = 0; index < count; index++) {
+            String regexPattern = "service-" + index + " (?:started|stopped) user=\\w+ took \\d+ms";
+            regexPatterns.add(regexPattern);
+            patterns[index] = Pattern.compile(regexPattern);
+        }
+        matcher = RegexSet.compile(regexPatterns).matcher();
+    }
+
+    @Benchmark
+    public BitSet regexSet() {
+        return matcher.match(LINE);
+    }
+
+    @Benchmark
+    public BitSet patternLoop() {
+        BitSet result = new BitSet(patterns.length);
+        for (int index = 0; index < patterns.length; index++) {
+            if (patterns[index].matcher(LINE).find()) {
+                result.set(index);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+package com.sharomank.regex.benchmark;
+
+import com.sharomank.regex.parser.RegexParser;
+import com.sharomank.regex.parser.RegexSnapshot;
+import com.sharomank.regex.parser.RegexValidation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm start of pattern set: {@link RegexSnapshot} read with all entries decoded against validation of every
+ * expression
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RegexSnapshotBenchmark {
+    @Param({"100", "10000"})
+    public int count;
+
+    private List<String> regexPatterns;
+    private ByteBuffer snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        regexPatterns = new ArrayList<String>(count);
+        List<RegexValidation> validations = new ArrayList<RegexValidation>(count);
+        for (int index = 0; index < count; index++) {
+            String regexPattern = BenchmarkPatterns.SHORT + "|alert-" + index + ": (?:disk|cpu) usage \\d+%";
+            regexPatterns.add(regexPattern);
+            validations.add(RegexParser.validate(regexPattern));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RegexSnapshot.write(validations, out);
+        snapshot = ByteBuffer.allocateDirect(out.size());
+        snapshot.put(out.toByteArray());
+        ((Buffer) snapshot).flip();
+    }
+
+    @Benchmark
+    public int loadSnapshot() throws IOException {
+        RegexSnapshot loaded = RegexSnapshot.read(snapshot);
+        int tokens = 0;
+        for (int index = 0; index < loaded.size(); index++) {
+            tokens += loaded.get(index).getTokens().size();
+        }
+        return tokens;
+    }
+
+    @Benchmark
+    public int validate() {
+        int tokens = 0;
+        for (String regexPattern : regexPatterns) {
+            tokens += RegexParser.validate(regexPattern).getTokens().size();
+        }
+        return tokens;
+    }
+}
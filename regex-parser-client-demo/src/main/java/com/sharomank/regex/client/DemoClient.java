@@ -3,19 +3,32 @@ package com.sharomank.regex.client;
 import com.sharomank.regex.client.ui.ColorPane;
 import com.sharomank.regex.parser.RegexParser;
 import com.sharomank.regex.parser.RegexPart;
+import com.sharomank.regex.parser.RegexTokenStream;
 import com.sharomank.regex.parser.enums.RegexType;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.text.BadLocationException;
-import javax.swing.text.Document;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Demo client class for demonstration how use {@link RegexParser}
+ * <p/>
+ * Text is parsed on background thread after typing pause. Only tokens changed since previous parsing are recolored
+ * in the existing document.
  *
  * @author Roman Kurbangaliyev
  * @since 21.05.2012
@@ -25,12 +38,31 @@ public class DemoClient {
 
     private static final int COLOR_PANE_WIDTH = 800;
     private static final int COLOR_PANE_HEIGHT = 400;
+    private static final int PARSE_DELAY_MILLIS = 150;
 
     private static final ColorPane COLOR_PANE = new ColorPane();
     private static final Font CUSTOM_FONT = new Font(Font.MONOSPACED, Font.BOLD, 20);
 
     private static final Map<RegexType, Color> REGEX_COLOR_MAP;
 
+    private static final ExecutorService PARSE_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "regex-parser");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    // state below is accessed only on event dispatch thread
+    private static final List<Edit> pendingEdits = new ArrayList<Edit>();
+    private static RegexTokenStream highlightedTokens = RegexParser.tokenize("");
+    private static boolean highlightedValid = true;
+    private static int dirtyStart = Integer.MAX_VALUE;
+    private static int dirtyEnd = 0;
+    private static int version;
+    private static Future<?> parseFuture;
+
     static {
         Color DARK_GREEN = new Color(0, 135, 20);
         Color BROWN = new Color(200, 80, 0);
@@ -49,6 +81,15 @@ public class DemoClient {
     }
 
     public static void main(String arg[]) {
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                createAndShowFrame();
+            }
+        });
+    }
+
+    private static void createAndShowFrame() {
         String defaultRegex = "^([a-zA-Z]+)|([0-9]{1,4})$";
 
         COLOR_PANE.setFont(CUSTOM_FONT);
@@ -59,6 +100,7 @@ public class DemoClient {
         Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
         JFrame frame = new JFrame(TITLE);
         frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        frame.setJMenuBar(createMenuBar());
         frame.setContentPane(new JScrollPane(COLOR_PANE));
         frame.setSize(COLOR_PANE_WIDTH, COLOR_PANE_HEIGHT);
         int xPoint = screenSize.width / 2 - COLOR_PANE_WIDTH / 2;
@@ -67,16 +109,146 @@ public class DemoClient {
         frame.setVisible(true);
     }
 
-    private static Document parseRegex(String regex) {
-        ColorPane pane = new ColorPane();
-        pane.setFont(CUSTOM_FONT);
-        List<RegexPart> result = RegexParser.parse(regex);
-        outputPatternUnitTestOnConsole(regex, result);
-        for (RegexPart part : result) {
-            pane.append(REGEX_COLOR_MAP.get(part.getType()), part.getPart());
+    // getMenuShortcutKeyMaskEx() replaces deprecated getMenuShortcutKeyMask() only since java 10
+    @SuppressWarnings("deprecation")
+    private static JMenuBar createMenuBar() {
+        JMenuItem unitTestItem = new JMenuItem("Print unit test to console");
+        unitTestItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_T, Toolkit.getDefaultToolkit().getMenuShortcutKeyMask()));
+        unitTestItem.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                final String regex = COLOR_PANE.getText();
+                PARSE_EXECUTOR.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        outputPatternUnitTestOnConsole(regex, RegexParser.parse(regex));
+                    }
+                });
+            }
+        });
+
+        JMenu toolsMenu = new JMenu("Tools");
+        toolsMenu.add(unitTestItem);
+        JMenuBar menuBar = new JMenuBar();
+        menuBar.add(toolsMenu);
+        return menuBar;
+    }
+
+    /**
+     * Parse edited text on background thread, previous unfinished parsing is cancelled
+     */
+    private static void scheduleParse() {
+        if (parseFuture != null) {
+            parseFuture.cancel(true);
+        }
+
+        final int taskVersion = version;
+        final RegexTokenStream previousTokens = highlightedTokens;
+        final boolean previousValid = highlightedValid;
+        final List<Edit> edits = new ArrayList<Edit>(pendingEdits);
+        final int taskDirtyStart = dirtyStart;
+        final int taskDirtyEnd = dirtyEnd;
+        parseFuture = PARSE_EXECUTOR.submit(new Runnable() {
+            @Override
+            public void run() {
+                RegexTokenStream tokens = previousTokens;
+                for (Edit edit : edits) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    tokens = RegexParser.retokenize(tokens, edit.offset, edit.removedLength, edit.inserted);
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+
+                String regex = tokens.getExpression();
+                boolean valid = isValid(regex);
+                int start = 0;
+                int end = regex.length();
+                if (valid == previousValid) {
+                    int[] changed = getChangedRange(previousTokens, tokens);
+                    start = Math.min(changed[0], taskDirtyStart);
+                    end = Math.min(Math.max(changed[1], taskDirtyEnd), regex.length());
+                }
+                applyHighlighting(taskVersion, tokens, valid, start, end);
+            }
+        });
+    }
+
+    private static void applyHighlighting(final int taskVersion, final RegexTokenStream tokens, final boolean valid,
+                                          final int start, final int end) {
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                if (taskVersion != version) {
+                    // text was changed while parsing, newer parsing is scheduled already
+                    return;
+                }
+
+                if (start < end) {
+                    if (valid) {
+                        for (int index = tokens.getTokenIndexAt(start); index >= 0 && index < tokens.size()
+                                && tokens.getStart(index) < end; index++) {
+                            int tokenStart = tokens.getStart(index);
+                            COLOR_PANE.setColor(tokenStart, tokens.getEnd(index) - tokenStart,
+                                    REGEX_COLOR_MAP.get(tokens.getType(index)));
+                        }
+                    } else {
+                        COLOR_PANE.setColor(start, end - start, REGEX_COLOR_MAP.get(RegexType.ParseError));
+                    }
+                }
+
+                highlightedTokens = tokens;
+                highlightedValid = valid;
+                pendingEdits.clear();
+                dirtyStart = Integer.MAX_VALUE;
+                dirtyEnd = 0;
+            }
+        });
+    }
+
+    private static boolean isValid(String regex) {
+        try {
+            Pattern.compile(regex);
+            return true;
+        } catch (PatternSyntaxException e) {
+            return false;
         }
-        pane.getDocument().addDocumentListener(documentListener);
-        return pane.getDocument();
+    }
+
+    /**
+     * Compare tokens from start and from end
+     *
+     * @return range of new text covering tokens which differ from previous tokens, start is greater than end if
+     * tokens are the same
+     */
+    private static int[] getChangedRange(RegexTokenStream previous, RegexTokenStream current) {
+        int shift = current.getExpression().length() - previous.getExpression().length();
+        int minSize = Math.min(previous.size(), current.size());
+
+        int head = 0;
+        while (head < minSize && previous.getStart(head) == current.getStart(head)
+                && previous.getEnd(head) == current.getEnd(head) && previous.getType(head) == current.getType(head)) {
+            head++;
+        }
+        int tail = 0;
+        while (tail < minSize - head) {
+            int previousIndex = previous.size() - 1 - tail;
+            int currentIndex = current.size() - 1 - tail;
+            if (previous.getStart(previousIndex) + shift != current.getStart(currentIndex)
+                    || previous.getEnd(previousIndex) + shift != current.getEnd(currentIndex)
+                    || previous.getType(previousIndex) != current.getType(currentIndex)) {
+                break;
+            }
+            tail++;
+        }
+
+        int lastChanged = current.size() - 1 - tail;
+        if (head > lastChanged) {
+            return new int[]{Integer.MAX_VALUE, 0};
+        }
+        return new int[]{current.getStart(head), current.getEnd(lastChanged)};
     }
 
     private static void outputPatternUnitTestOnConsole(final String regex, final List<RegexPart> result) {
@@ -99,33 +271,76 @@ public class DemoClient {
         return regex.replace("\\","\\\\").replace("\"", "\\\"");
     }
 
+    private static final Timer PARSE_TIMER = new Timer(PARSE_DELAY_MILLIS, new ActionListener() {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            scheduleParse();
+        }
+    });
+
+    static {
+        PARSE_TIMER.setRepeats(false);
+    }
+
     private static final DocumentListener documentListener = new DocumentListener() {
         @Override
         public void insertUpdate(DocumentEvent e) {
-            parse(e);
+            try {
+                String inserted = e.getDocument().getText(e.getOffset(), e.getLength());
+                pendingEdits.add(new Edit(e.getOffset(), 0, inserted));
+            } catch (BadLocationException ex) {
+                throw new IllegalStateException(ex.getMessage());
+            }
+            // inserted text takes color of neighbour text, so it is always recolored
+            dirtyStart = shiftAfterInsert(dirtyStart, e.getOffset(), e.getLength());
+            dirtyEnd = shiftAfterInsert(dirtyEnd, e.getOffset(), e.getLength());
+            dirtyStart = Math.min(dirtyStart, e.getOffset());
+            dirtyEnd = Math.max(dirtyEnd, e.getOffset() + e.getLength());
+            textChanged();
         }
 
         @Override
         public void removeUpdate(DocumentEvent e) {
-            parse(e);
+            pendingEdits.add(new Edit(e.getOffset(), e.getLength(), ""));
+            dirtyStart = shiftAfterRemove(dirtyStart, e.getOffset(), e.getLength());
+            dirtyEnd = shiftAfterRemove(dirtyEnd, e.getOffset(), e.getLength());
+            textChanged();
         }
 
         @Override
         public void changedUpdate(DocumentEvent e) {
-            parse(e);
+            // attributes changed by highlighting, text is the same
         }
 
-        private void parse(DocumentEvent e) {
-            int caretPosition = COLOR_PANE.getCaretPosition();
-            try {
-                String text = e.getDocument().getText(0, e.getDocument().getLength());
-                Document doc = parseRegex(text);
-                COLOR_PANE.setDocument(doc);
-                COLOR_PANE.setCaretPosition(Math.min(caretPosition, doc.getLength()));
-                COLOR_PANE.invalidate();
-            } catch (BadLocationException ex) {
-                throw new IllegalStateException(ex.getMessage());
+        private void textChanged() {
+            version++;
+            PARSE_TIMER.restart();
+        }
+
+        private int shiftAfterInsert(int position, int offset, int length) {
+            return position != Integer.MAX_VALUE && position > offset ? position + length : position;
+        }
+
+        private int shiftAfterRemove(int position, int offset, int length) {
+            if (position == Integer.MAX_VALUE || position <= offset) {
+                return position;
             }
+            return Math.max(offset, position - length);
         }
     };
-}
\ No newline at end of file
+
+    /**
+     * Text change of document
+     */
+    private static final class Edit {
+        private final int offset;
+        private final int removedLength;
+        private final String inserted;
+
+        private Edit(int offset, int removedLength, String inserted) {
+            this.offset = offset;
+            this.removedLength = removedLength;
+            this.inserted = inserted;
+        }
+    }
+}
@@ -8,18 +8,31 @@ import javax.swing.text.StyleContext;
 import java.awt.*;
 
 /**
- * ColorPane is JTextPane with simple method append color text
+ * ColorPane is JTextPane with simple methods for color text
  *
  * @author Roman Kurbangaliyev
  * @since 21.05.2012
  */
 public class ColorPane extends JTextPane {
     public void append(Color color, String str) {
-        StyleContext styleContext = StyleContext.getDefaultStyleContext();
-        AttributeSet set = styleContext.addAttribute(SimpleAttributeSet.EMPTY, StyleConstants.Foreground, color);
-
         setCaretPosition(getDocument().getLength());
-        setCharacterAttributes(set, false);
+        setCharacterAttributes(getColorAttributes(color), false);
         replaceSelection(str);
     }
-}
\ No newline at end of file
+
+    /**
+     * Change color of existing text without replacing it, caret and selection stay in place
+     *
+     * @param offset start of text
+     * @param length length of text
+     * @param color  new color
+     */
+    public void setColor(int offset, int length, Color color) {
+        getStyledDocument().setCharacterAttributes(offset, length, getColorAttributes(color), false);
+    }
+
+    private static AttributeSet getColorAttributes(Color color) {
+        StyleContext styleContext = StyleContext.getDefaultStyleContext();
+        return styleContext.addAttribute(SimpleAttributeSet.EMPTY, StyleConstants.Foreground, color);
+    }
+}
@@ -0,0 +1,105 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Result of parsing together with compiled {@link Pattern}, so the pattern is not compiled twice.
+ * <p/>
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class ParseResult {
+    private final RegexTokenStream tokens;
+    private final int flags;
+    private final Pattern pattern;
+    private final RegexErrorKind errorKind;
+    private final String errorDescription;
+    private final int errorIndex;
+
+    ParseResult(RegexTokenStream tokens, int flags, Pattern pattern) {
+        this(tokens, flags, pattern, null, null, -1);
+    }
+
+    ParseResult(RegexTokenStream tokens, int flags, Pattern pattern, RegexErrorKind errorKind,
+                String errorDescription, int errorIndex) {
+        this.tokens = tokens;
+        this.flags = flags;
+        this.pattern = pattern;
+        this.errorKind = errorKind;
+        this.errorDescription = errorDescription;
+        this.errorIndex = errorIndex;
+    }
+
+    public String getExpression() {
+        return tokens.getExpression();
+    }
+
+    /**
+     * @return match flags of {@link Pattern#compile(String, int)}
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return compiled pattern, <code>null</code> for invalid expression
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    public boolean isValid() {
+        return pattern != null;
+    }
+
+    /**
+     * @return tokens of expression, single {@link RegexType#ParseError} token for invalid expression
+     */
+    public RegexTokenStream getTokens() {
+        return tokens;
+    }
+
+    /**
+     * @return list view of tokens, see {@link RegexTokenStream#asList()}
+     */
+    public List<RegexPart> getParts() {
+        return tokens.asList();
+    }
+
+    /**
+     * @return kind of syntax error, <code>null</code> for valid expression
+     */
+    public RegexErrorKind getErrorKind() {
+        return errorKind;
+    }
+
+    /**
+     * @return description of syntax error, <code>null</code> for valid expression
+     */
+    public String getErrorDescription() {
+        return errorDescription;
+    }
+
+    /**
+     * @return index of syntax error in expression, <code>-1</code> if unknown or expression is valid
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseResult{" +
+                "expression='" + getExpression() + '\'' +
+                ", flags=" + flags +
+                ", valid=" + isValid() +
+                ", tokens=" + tokens.size() +
+                '}';
+    }
+}
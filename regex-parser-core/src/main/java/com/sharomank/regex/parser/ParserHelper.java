@@ -2,7 +2,7 @@ package com.sharomank.regex.parser;
 
 import com.sharomank.regex.parser.enums.RegexType;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -12,20 +12,105 @@ import java.util.List;
  * @since 21.05.2012
  */
 public class ParserHelper {
-    private final String expression;
-    private final List<RegexPart> result;
+    private CharSequence expression;
+    private int[] offsets;
+    private byte[] types;
+    private int size;
+    private int lastStart;
+    private int lastEnd;
+    private RegexType lastType;
     private int previousIndex;
     private int currentIndex;
     private RegexType currentType;
     private boolean skipToken;
+    private boolean reusable;
 
     public ParserHelper(String expression) {
+        this(expression, true);
+    }
+
+    /**
+     * @param expression expression
+     * @param keepTokens <code>true</code> - store all put tokens, <code>false</code> - only the last one
+     */
+    ParserHelper(CharSequence expression, boolean keepTokens) {
         this.expression = expression;
-        this.result = new ArrayList<RegexPart>();
+        // every token has at least one char, so expression length is upper bound of tokens count
+        this.offsets = keepTokens ? new int[expression.length() + 1] : null;
+        this.types = keepTokens ? new byte[expression.length()] : null;
+    }
+
+    /**
+     * Create reusable helper without expression, see {@link #reset(CharSequence)}
+     *
+     * @param keepTokens <code>true</code> - store all put tokens, <code>false</code> - only the last one
+     */
+    ParserHelper(boolean keepTokens) {
+        this("", keepTokens);
+        this.reusable = true;
+    }
+
+    /**
+     * Start parsing of other expression, token arrays are reused when they are large enough
+     *
+     * @param expression expression
+     */
+    void reset(CharSequence expression) {
+        this.expression = expression;
+        if (types != null && types.length < expression.length()) {
+            int capacity = Math.max(expression.length(), types.length * 2);
+            offsets = new int[capacity + 1];
+            types = new byte[capacity];
+        }
+        if (offsets != null) {
+            offsets[0] = 0;
+        }
+        size = 0;
+        lastStart = 0;
+        lastEnd = 0;
+        lastType = null;
+        previousIndex = 0;
+        currentIndex = 0;
+        currentType = null;
+        skipToken = false;
+    }
+
+    /**
+     * @return count of tokens which fit into arrays without growing
+     */
+    int getCapacity() {
+        return types == null ? 0 : types.length;
+    }
+
+    /**
+     * Copy put tokens into buffer
+     *
+     * @param buffer target buffer
+     */
+    void copyTo(RegexTokenBuffer buffer) {
+        buffer.setTokens(expression.toString(), offsets, types, size);
+    }
+
+    /**
+     * Create helper which continues parsing after first tokens of previous parsing
+     *
+     * @param expression edited expression, starts with the same text as prefix tokens
+     * @param previous   tokens of previous parsing
+     * @param prefixSize count of tokens to keep
+     */
+    ParserHelper(String expression, RegexTokenStream previous, int prefixSize) {
+        this(expression);
+        previous.copyTo(0, prefixSize, offsets, types, 0);
+        this.size = prefixSize;
+        this.currentIndex = offsets[prefixSize];
+        this.previousIndex = currentIndex;
+        if (prefixSize > 0) {
+            setLastToken(offsets[prefixSize - 1], currentIndex, previous.getType(prefixSize - 1));
+        }
     }
 
     public String getExpression() {
-        return expression;
+        return expression.toString();
     }
 
     public int getCurrentIndex() {
@@ -42,16 +127,77 @@ public class ParserHelper {
     }
 
     public List<RegexPart> getResult() {
-        return result;
+        return toTokenStream().asList();
+    }
+
+    /**
+     * @return token stream of parts put so far
+     */
+    public RegexTokenStream toTokenStream() {
+        if (types == null) {
+            throw new IllegalStateException("helper does not keep tokens");
+        }
+        if (size == types.length && !reusable) {
+            // arrays are full, helper cannot change them anymore
+            return new RegexTokenStream(expression.toString(), offsets, types, size);
+        }
+        return new RegexTokenStream(expression.toString(), Arrays.copyOf(offsets, size + 1), Arrays.copyOf(types, size),
+                size);
+    }
+
+    /**
+     * Merge runs of literal tokens put so far, see {@link RegexTokenStream#coalesceLiterals()}; parsing cannot
+     * continue after merge
+     */
+    void coalesceLiterals() {
+        size = RegexTokenStream.coalesceLiterals(expression, offsets, types, size);
     }
 
     public void putCurrentRegexPart() {
-        RegexPart part = new RegexPart(getToken(), getCurrentType());
-        result.add(part);
+        setLastToken(previousIndex, currentIndex, getCurrentType());
+        if (types != null) {
+            types[size] = (byte) lastType.ordinal();
+            offsets[size + 1] = currentIndex;
+        }
+        size++;
         setCurrentType(null);
         updatePreviousIndex();
     }
 
+    /**
+     * @return count of put tokens
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return start of last put token
+     */
+    int getLastStart() {
+        return lastStart;
+    }
+
+    /**
+     * @return end of last put token
+     */
+    int getLastEnd() {
+        return lastEnd;
+    }
+
+    /**
+     * @return type of last put token, <code>null</code> if nothing is put
+     */
+    RegexType getLastType() {
+        return lastType;
+    }
+
+    private void setLastToken(int start, int end, RegexType type) {
+        this.lastStart = start;
+        this.lastEnd = end;
+        this.lastType = type;
+    }
+
     /**
      * Is start of expression
      *
@@ -67,7 +213,7 @@ public class ParserHelper {
      * @return <code>true</code> - expression is end, <code>false</code> - expression isn't end.
      */
     public boolean isEnd() {
-        return getCurrentIndex() >= getExpression().length();
+        return getCurrentIndex() >= expression.length();
     }
 
     public void incrementCurrentIndex() {
@@ -79,7 +225,7 @@ public class ParserHelper {
     }
 
     public String getToken() {
-        return expression.substring(previousIndex, currentIndex);
+        return expression.subSequence(previousIndex, currentIndex).toString();
     }
 
     public char getCurrentChar() {
@@ -95,12 +241,68 @@ public class ParserHelper {
     }
 
     public String getPreviousToken() {
-        if (result.size() > 0) {
-            return result.get(result.size() - 1).getPart();
+        if (size > 0) {
+            return expression.subSequence(lastStart, lastEnd).toString();
         }
         return "";
     }
 
+    /**
+     * Compare previous token with text without creating substring
+     *
+     * @param token expected text of previous token
+     * @return <code>true</code> - previous token is equal to text, <code>false</code> - otherwise.
+     */
+    public boolean isPreviousToken(String token) {
+        if (size == 0) {
+            return token.length() == 0;
+        }
+        if (lastEnd - lastStart != token.length()) {
+            return false;
+        }
+        for (int index = 0; index < token.length(); index++) {
+            if (expression.charAt(lastStart + index) != token.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compare last put token with token of other stream
+     *
+     * @param other tokens of other parsing
+     * @param index index of token in other stream
+     * @param shift offset of this expression relative to other expression
+     * @return <code>true</code> - tokens have the same bounds and type, <code>false</code> - otherwise.
+     */
+    boolean isPreviousTokenSame(RegexTokenStream other, int index, int shift) {
+        return size > 0
+                && offsets[size - 1] == other.getStart(index) + shift
+                && offsets[size] == other.getEnd(index) + shift
+                && types[size - 1] == other.getType(index).ordinal();
+    }
+
+    /**
+     * Put tokens of other stream from index to the end, moving them by shift
+     *
+     * @param other tokens of other parsing
+     * @param index index of first token to put
+     * @param shift offset of this expression relative to other expression
+     */
+    void putTokens(RegexTokenStream other, int index, int shift) {
+        int count = other.size() - index;
+        other.copyTo(index, count, offsets, types, size);
+        for (int boundIndex = size; boundIndex <= size + count; boundIndex++) {
+            offsets[boundIndex] += shift;
+        }
+        size += count;
+        currentIndex = offsets[size];
+        previousIndex = currentIndex;
+        setLastToken(offsets[size - 1], currentIndex, other.getType(other.size() - 1));
+        setCurrentType(null);
+    }
+
     public void skipToken() {
         this.skipToken = true;
     }
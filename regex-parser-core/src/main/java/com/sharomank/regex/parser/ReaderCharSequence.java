@@ -0,0 +1,115 @@
+package com.sharomank.regex.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * Sliding window over chars of reader for sequential lexing. Only the window is kept in memory:
+ * chars far behind the last read char are dropped when the window is refilled.
+ * <p/>
+ * {@link #length()} is not known before the end of input, it is reported at least one char after the last read char,
+ * which is enough for the end check of {@link ParserHelper#isEnd()}. Read errors are thrown as
+ * {@link UncheckedIOException}.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class ReaderCharSequence implements CharSequence {
+    /**
+     * Count of chars kept before the last read char: previous char and previous two-char token
+     */
+    private static final int KEEP_BEHIND = 16;
+
+    private final Reader reader;
+    private final char[] window;
+    private int windowStart;
+    private int filled;
+    private int lastRead = -1;
+    private boolean eof;
+
+    /**
+     * @param reader     source of chars, not closed by this sequence
+     * @param windowSize count of chars kept in memory
+     */
+    ReaderCharSequence(Reader reader, int windowSize) {
+        if (windowSize < 4 * KEEP_BEHIND) {
+            throw new IllegalArgumentException("window size must be at least " + 4 * KEEP_BEHIND);
+        }
+        this.reader = reader;
+        this.window = new char[windowSize];
+    }
+
+    @Override
+    public int length() {
+        while (!eof && windowStart + filled <= lastRead + 1) {
+            fill();
+        }
+        return windowStart + filled;
+    }
+
+    @Override
+    public char charAt(int index) {
+        while (!eof && index >= windowStart + filled) {
+            fill();
+        }
+        checkIndex(index);
+        if (index > lastRead) {
+            lastRead = index;
+        }
+        return window[index - windowStart];
+    }
+
+    /**
+     * @return text of chars which are still in window
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start > end) {
+            throw new IndexOutOfBoundsException("start " + start + " is after end " + end);
+        }
+        if (start == end) {
+            return "";
+        }
+        checkIndex(start);
+        checkIndex(end - 1);
+        return new String(window, start - windowStart, end - start);
+    }
+
+    /**
+     * @return text of window, not the whole input
+     */
+    @Override
+    public String toString() {
+        return new String(window, 0, filled);
+    }
+
+    private void fill() {
+        if (filled == window.length) {
+            int drop = Math.min(filled, lastRead + 1 - KEEP_BEHIND - windowStart);
+            if (drop <= 0) {
+                throw new IllegalStateException("window of " + window.length + " chars is full");
+            }
+            System.arraycopy(window, drop, window, 0, filled - drop);
+            windowStart += drop;
+            filled -= drop;
+        }
+        try {
+            int count = reader.read(window, filled, window.length - filled);
+            if (count < 0) {
+                eof = true;
+            } else {
+                filled += count;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < windowStart || index >= windowStart + filled) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of window [" + windowStart + ", "
+                    + (windowStart + filled) + ")");
+        }
+    }
+}
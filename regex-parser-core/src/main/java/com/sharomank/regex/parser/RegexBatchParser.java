@@ -0,0 +1,138 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parse many regular expressions in parallel with fork/join. Results keep order of input,
+ * failure of one expression is reported as its {@link RegexType#ParseError} result and does not stop the batch.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RegexBatchParser implements Closeable {
+    private static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final ForkJoinPool pool;
+    private final boolean ownPool;
+    private final int batchSize;
+
+    /**
+     * Parser on common fork/join pool
+     */
+    public RegexBatchParser() {
+        this(ForkJoinPool.commonPool(), false, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Parser on own pool, must be closed after use
+     *
+     * @param parallelism count of parsing threads
+     */
+    public RegexBatchParser(int parallelism) {
+        this(new ForkJoinPool(parallelism), true, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param pool      pool for parsing, not closed by this parser
+     * @param batchSize count of expressions parsed by one task without splitting
+     */
+    public RegexBatchParser(ForkJoinPool pool, int batchSize) {
+        this(pool, false, batchSize);
+    }
+
+    private RegexBatchParser(ForkJoinPool pool, boolean ownPool, int batchSize) {
+        if (pool == null || batchSize <= 0) {
+            throw new IllegalArgumentException("pool cannot be null and batch size must be positive");
+        }
+        this.pool = pool;
+        this.ownPool = ownPool;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param regexPatterns regular expressions
+     * @return parse results in order of input
+     * @see RegexParser#compile(String)
+     */
+    public List<ParseResult> parseAll(Collection<String> regexPatterns) {
+        return parseAll(regexPatterns, 0);
+    }
+
+    /**
+     * @param regexPatterns regular expressions
+     * @param flags         match flags of {@link java.util.regex.Pattern#compile(String, int)}
+     * @return parse results in order of input
+     * @see RegexParser#compile(String, int)
+     */
+    public List<ParseResult> parseAll(Collection<String> regexPatterns, int flags) {
+        String[] patterns = regexPatterns.toArray(new String[regexPatterns.size()]);
+        ParseResult[] results = new ParseResult[patterns.length];
+        if (patterns.length > 0) {
+            pool.invoke(new ParseTask(patterns, results, flags, 0, patterns.length));
+        }
+        return Arrays.asList(results);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Shutdown own pool, common or given pool is left running
+     */
+    @Override
+    public void close() {
+        if (ownPool) {
+            pool.shutdown();
+        }
+    }
+
+    private static ParseResult parseSafely(String regexPattern, int flags) {
+        try {
+            return RegexParser.compile(regexPattern, flags);
+        } catch (RuntimeException e) {
+            String expression = regexPattern == null ? "" : regexPattern;
+            return new ParseResult(RegexTokenStream.parseError(expression), flags, null, RegexErrorKind.Unclassified,
+                    String.valueOf(e), -1);
+        }
+    }
+
+    private final class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] patterns;
+        private final ParseResult[] results;
+        private final int flags;
+        private final int from;
+        private final int to;
+
+        ParseTask(String[] patterns, ParseResult[] results, int flags, int from, int to) {
+            this.patterns = patterns;
+            this.results = results;
+            this.flags = flags;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                for (int index = from; index < to; index++) {
+                    results[index] = parseSafely(patterns[index], flags);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseTask(patterns, results, flags, from, middle),
+                        new ParseTask(patterns, results, flags, middle, to));
+            }
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package com.sharomank.regex.parser;
 
 import com.sharomank.regex.parser.enums.RegexChar;
+import com.sharomank.regex.parser.enums.RegexErrorKind;
 import com.sharomank.regex.parser.enums.RegexType;
+import com.sharomank.regex.parser.metrics.ParserMetrics;
 
-import java.util.Arrays;
-import java.util.Collections;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -16,13 +26,33 @@ import java.util.regex.PatternSyntaxException;
  * @since 21.05.2012
  */
 public class RegexParser {
-    private static final List<RegexType> SECOND_LEVEL = Arrays.asList(
+    /**
+     * Version of tokenization rules: changes whenever the same expression gets other tokens, types or errors, so
+     * tokens persisted by other version are stale
+     */
+    public static final int TOKENIZER_VERSION = 1;
+
+    private static final int FIRST_LEVEL_INDEX = 1;
+    private static final int SECOND_LEVEL_INDEX = 2;
+    private static final int THIRD_LEVEL_INDEX = 3;
+
+    /**
+     * Tokenizers for static methods, keeps validation buffers between calls of any thread
+     */
+    private static final RegexTokenizerPool TOKENIZERS = new RegexTokenizerPool();
+
+    /**
+     * Installed metrics, <code>null</code> until service is loaded by the first {@link #getMetrics()}
+     */
+    private static volatile ParserMetrics metrics;
+
+    private static final Set<RegexType> SECOND_LEVEL = EnumSet.of(
             RegexType.Alternation,
             RegexType.Quantifier,
             RegexType.QuantifierGroup
     );
 
-    private static final List<RegexType> THIRD_LEVEL = Arrays.asList(
+    private static final Set<RegexType> THIRD_LEVEL = EnumSet.of(
             RegexType.Anchor,
             RegexType.CharacterClass,
             RegexType.CharacterGroup,
@@ -34,56 +64,485 @@ public class RegexParser {
      * Parse regular expression
      *
      * @param regexPattern regular expression
-     * @return list of {@link RegexPart}
+     * @return new mutable list of {@link RegexPart}; use {@link #tokenize(String)} and
+     * {@link RegexTokenStream#asList()} to read parts without keeping all of them in memory
      */
     public static List<RegexPart> parse(String regexPattern) {
-        if (regexPattern == null || regexPattern.trim().length() == 0) {
-            return Collections.emptyList();
+        return parse(regexPattern, false);
+    }
+
+    /**
+     * Parse regular expression
+     *
+     * @param regexPattern     regular expression
+     * @param coalesceLiterals merge runs of literal chars, see {@link RegexTokenStream#coalesceLiterals()}
+     * @return new mutable list of {@link RegexPart}
+     * @see #parse(String)
+     */
+    public static List<RegexPart> parse(String regexPattern, boolean coalesceLiterals) {
+        return new ArrayList<RegexPart>(tokenize(regexPattern, coalesceLiterals).asList());
+    }
+
+    /**
+     * Parse regular expression into compact token stream
+     *
+     * @param regexPattern regular expression
+     * @return token stream, empty for blank expression and single {@link RegexType#ParseError} token for invalid one
+     */
+    public static RegexTokenStream tokenize(String regexPattern) {
+        return tokenize(regexPattern, false);
+    }
+
+    /**
+     * Parse regular expression into compact token stream
+     *
+     * @param regexPattern     regular expression
+     * @param coalesceLiterals merge runs of literal chars, see {@link RegexTokenStream#coalesceLiterals()}
+     * @return token stream, empty for blank expression and single {@link RegexType#ParseError} token for invalid one
+     */
+    public static RegexTokenStream tokenize(String regexPattern, boolean coalesceLiterals) {
+        RegexTokenizer tokenizer = TOKENIZERS.acquire();
+        try {
+            return tokenizer.tokenize(regexPattern, coalesceLiterals);
+        } finally {
+            TOKENIZERS.release(tokenizer);
+        }
+    }
+
+    /**
+     * Check syntax of regular expression without exceptions
+     *
+     * @param regexPattern regular expression
+     * @return validation result
+     * @see #validate(String, int, boolean)
+     */
+    public static RegexValidation validate(String regexPattern) {
+        return validate(regexPattern, 0, false);
+    }
+
+    /**
+     * Check syntax of regular expression without exceptions
+     *
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link Pattern#compile(String, int)}
+     * @return validation result
+     * @see #validate(String, int, boolean)
+     */
+    public static RegexValidation validate(String regexPattern, int flags) {
+        return validate(regexPattern, flags, false);
+    }
+
+    /**
+     * Check syntax of regular expression. Native check follows grammar of {@link Pattern} and does not create
+     * exceptions, so invalid input costs no more than valid one.
+     *
+     * @param regexPattern       regular expression
+     * @param flags              match flags of {@link Pattern#compile(String, int)}
+     * @param confirmWithPattern also compile valid expression with {@link Pattern#compile(String, int)}
+     * @return validation result with error kind, index and tokens before error for invalid expression;
+     * with compiled pattern if it is confirmed
+     */
+    public static RegexValidation validate(String regexPattern, int flags, boolean confirmWithPattern) {
+        ParserMetrics current = getMetrics();
+        boolean timed = current.isEnabled();
+        Object call = timed ? current.validateStarted() : null;
+        long start = timed ? System.nanoTime() : 0;
+        RegexErrorKind kind;
+        int errorStart;
+        int errorIndex;
+        RegexTokenizer tokenizer = TOKENIZERS.acquire();
+        try {
+            RegexValidator validator = tokenizer.getValidator();
+            validator.validate(regexPattern, flags);
+            kind = validator.getErrorKind();
+            errorStart = validator.getErrorStart();
+            errorIndex = validator.getErrorIndex();
+        } finally {
+            TOKENIZERS.release(tokenizer);
+        }
+        long validated = timed ? System.nanoTime() : 0;
+
+        RegexTokenStream tokens;
+        if (kind != null) {
+            tokens = lex(regexPattern).withParseErrorAt(Math.min(errorStart, regexPattern.length() - 1));
+        } else {
+            tokens = regexPattern.trim().length() == 0 ? RegexTokenStream.empty(regexPattern) : lex(regexPattern);
+        }
+        long lexed = timed ? System.nanoTime() : 0;
+
+        RegexValidation validation;
+        if (kind != null) {
+            validation = new RegexValidation(tokens, flags, null, kind, kind.getDescription(), errorIndex);
+        } else if (!confirmWithPattern) {
+            validation = new RegexValidation(tokens, flags, null);
         } else {
-            try {
-                Pattern.compile(regexPattern);
-            } catch (PatternSyntaxException e) {
-                return Arrays.asList(new RegexPart(regexPattern, RegexType.ParseError));
+            validation = confirm(regexPattern, flags, tokens);
+        }
+        if (timed) {
+            current.validated(call, regexPattern.length(), validation.getTokens().size(), validation.getErrorKind(),
+                    validated - start + System.nanoTime() - lexed, lexed - validated);
+        }
+        return validation;
+    }
+
+    private static RegexValidation confirm(String regexPattern, int flags, RegexTokenStream tokens) {
+        try {
+            return new RegexValidation(tokens, flags, Pattern.compile(regexPattern, flags));
+        } catch (PatternSyntaxException e) {
+            return new RegexValidation(RegexTokenStream.parseError(regexPattern), flags, null,
+                    RegexErrorKind.Unclassified, e.getDescription(), e.getIndex());
+        }
+    }
+
+    /**
+     * Validate and parse regular expression, keeping compiled pattern
+     *
+     * @param regexPattern regular expression
+     * @return parse result
+     * @see #compile(String, int)
+     */
+    public static ParseResult compile(String regexPattern) {
+        return compile(regexPattern, 0);
+    }
+
+    /**
+     * Validate and parse regular expression, keeping compiled pattern
+     *
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link Pattern#compile(String, int)}
+     * @return parse result, for invalid expression without pattern and with single {@link RegexType#ParseError} token
+     */
+    public static ParseResult compile(String regexPattern, int flags) {
+        if (regexPattern == null) {
+            throw new IllegalArgumentException("regex pattern cannot be null");
+        }
+
+        RegexTokenizer tokenizer = TOKENIZERS.acquire();
+        try {
+            if (!tokenizer.validate(regexPattern, flags)) {
+                RegexErrorKind kind = tokenizer.getErrorKind();
+                return new ParseResult(RegexTokenStream.parseError(regexPattern), flags, null, kind,
+                        kind.getDescription(), tokenizer.getErrorIndex());
+            }
+        } finally {
+            TOKENIZERS.release(tokenizer);
+        }
+
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regexPattern, flags);
+        } catch (PatternSyntaxException e) {
+            return new ParseResult(RegexTokenStream.parseError(regexPattern), flags, null, RegexErrorKind.Unclassified,
+                    e.getDescription(), e.getIndex());
+        }
+        RegexTokenStream tokens = regexPattern.trim().length() == 0 ? RegexTokenStream.empty(regexPattern) : lex(regexPattern);
+        return new ParseResult(tokens, flags, pattern);
+    }
+
+    /**
+     * Parse already compiled pattern without validation, for trusted patterns
+     *
+     * @param pattern compiled pattern
+     * @return parse result with the same pattern instance
+     */
+    public static ParseResult parseCompiled(Pattern pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("pattern cannot be null");
+        }
+
+        String regexPattern = pattern.pattern();
+        RegexTokenStream tokens = regexPattern.trim().length() == 0 ? RegexTokenStream.empty(regexPattern) : lex(regexPattern);
+        return new ParseResult(tokens, pattern.flags(), pattern);
+    }
+
+    /**
+     * Re-parse expression after edit, only tokens around edited range are parsed again.
+     * Expression is not validated, use {@link #compile(String, int)} to check it.
+     *
+     * @param previous      tokens of expression before edit
+     * @param offset        offset of edit in previous expression
+     * @param removedLength count of chars removed at offset
+     * @param inserted      text inserted at offset
+     * @return tokens of edited expression
+     */
+    public static RegexTokenStream retokenize(RegexTokenStream previous, int offset, int removedLength, String inserted) {
+        String oldExpression = previous.getExpression();
+        if (offset < 0 || removedLength < 0 || offset + removedLength > oldExpression.length()) {
+            throw new IndexOutOfBoundsException("Edit [" + offset + ", " + (offset + removedLength)
+                    + ") is out of expression length " + oldExpression.length());
+        }
+
+        String insertedText = inserted == null ? "" : inserted;
+        String expression = oldExpression.substring(0, offset) + insertedText + oldExpression.substring(offset + removedLength);
+        if (expression.trim().length() == 0) {
+            return RegexTokenStream.empty(expression);
+        }
+        if (previous.isEmpty() || RegexType.ParseError.equals(previous.getType(0))) {
+            return lex(expression);
+        }
+
+        // token before edit can change too: escaped char or anchor at the end of expression
+        int restartIndex = offset == 0 ? 0 : previous.getTokenIndexAt(offset - 1);
+        int editEnd = offset + insertedText.length();
+        int shift = insertedText.length() - removedLength;
+
+        ParserHelper helper = new ParserHelper(expression, previous, restartIndex);
+        while (lexNextToken(helper)) {
+            // the rest of tokens is reused when token after edit ends where old token ends
+            int end = helper.getCurrentIndex();
+            if (helper.getLastStart() >= editEnd) {
+                int oldIndex = previous.getTokenIndexAt(end - shift);
+                if (oldIndex > 0 && previous.getStart(oldIndex) == end - shift
+                        && helper.isPreviousTokenSame(previous, oldIndex - 1, shift)) {
+                    helper.putTokens(previous, oldIndex, shift);
+                    break;
+                }
             }
         }
+        return helper.toTokenStream();
+    }
+
+    /**
+     * Parse regular expressions in parallel on common fork/join pool
+     *
+     * @param regexPatterns regular expressions
+     * @return parse results in order of input, invalid expressions have {@link RegexType#ParseError} token
+     * @see RegexBatchParser
+     */
+    public static List<ParseResult> parseAll(Collection<String> regexPatterns) {
+        return new RegexBatchParser().parseAll(regexPatterns);
+    }
 
+    /**
+     * Create cursor over tokens of regular expression, tokens are parsed one by one on {@link RegexTokenCursor#advance()}
+     *
+     * @param regexPattern regular expression
+     * @return cursor, without tokens for blank expression and with single {@link RegexType#ParseError} token for
+     * invalid one
+     */
+    public static RegexTokenCursor cursor(String regexPattern) {
+        if (regexPattern == null || regexPattern.trim().length() == 0) {
+            return new RegexTokenCursor(regexPattern == null ? "" : regexPattern, RegexTokenCursor.EMPTY);
+        }
+        RegexTokenizer tokenizer = TOKENIZERS.acquire();
+        try {
+            if (!tokenizer.validate(regexPattern, 0)) {
+                return new RegexTokenCursor(regexPattern, RegexTokenCursor.PARSE_ERROR);
+            }
+        } finally {
+            TOKENIZERS.release(tokenizer);
+        }
+        return new RegexTokenCursor(regexPattern, RegexTokenCursor.TOKENS);
+    }
+
+    /**
+     * Lazy iterator over parts of regular expression, each part is parsed on {@link Iterator#next()}
+     *
+     * @param regexPattern regular expression
+     * @return iterator of {@link RegexPart}
+     */
+    public static Iterator<RegexPart> iterator(String regexPattern) {
+        final RegexTokenCursor cursor = cursor(regexPattern);
+        return new Iterator<RegexPart>() {
+            private boolean advanced;
+            private boolean hasNext;
+
+            @Override
+            public boolean hasNext() {
+                if (!advanced) {
+                    hasNext = cursor.advance();
+                    advanced = true;
+                }
+                return hasNext;
+            }
+
+            @Override
+            public RegexPart next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                advanced = false;
+                return RegexPart.valueOf(cursor.getExpression(), cursor.getStart(), cursor.getEnd(),
+                        cursor.getType());
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Pass tokens of regular expression to visitor while visitor accepts them, without collecting tokens.
+     * Any char sequence is accepted, e.g. {@link java.nio.CharBuffer} over memory-mapped file; it is not copied into
+     * string, but validation copies code points into heap,
+     * see {@link RegexTokenizer#scan(CharSequence, RegexTokenVisitor)}.
+     *
+     * @param regexPattern regular expression
+     * @param visitor      token visitor
+     * @return <code>true</code> - all tokens are visited, <code>false</code> - visitor stopped scanning.
+     */
+    public static boolean scan(CharSequence regexPattern, RegexTokenVisitor visitor) {
+        return scan(regexPattern, true, visitor);
+    }
+
+    /**
+     * Pass tokens of regular expression to visitor while visitor accepts them, without collecting tokens.
+     * Without validation the sequence is never copied, use it for large expressions over memory-mapped files.
+     *
+     * @param regexPattern regular expression
+     * @param validate     check syntax first, validation copies code points of expression into heap
+     * @param visitor      token visitor
+     * @return <code>true</code> - all tokens are visited, <code>false</code> - visitor stopped scanning.
+     * @see RegexTokenizer#scan(CharSequence, boolean, RegexTokenVisitor)
+     */
+    public static boolean scan(CharSequence regexPattern, boolean validate, RegexTokenVisitor visitor) {
+        RegexTokenizer tokenizer = TOKENIZERS.acquire();
+        try {
+            return tokenizer.scan(regexPattern, validate, visitor);
+        } finally {
+            TOKENIZERS.release(tokenizer);
+        }
+    }
+
+    /**
+     * Pass tokens of regular expression read from reader to visitor, without loading whole expression into memory.
+     * Expression is not validated.
+     *
+     * @param reader  source of regular expression, not closed
+     * @param visitor token visitor
+     * @return <code>true</code> - all tokens are visited, <code>false</code> - visitor stopped scanning.
+     * @throws IOException on read error
+     * @see RegexTokenizer#scan(Reader, int, RegexTokenVisitor)
+     */
+    public static boolean scan(Reader reader, RegexTokenVisitor visitor) throws IOException {
+        RegexTokenizer tokenizer = TOKENIZERS.acquire();
+        try {
+            return tokenizer.scan(reader, visitor);
+        } finally {
+            TOKENIZERS.release(tokenizer);
+        }
+    }
+
+    /**
+     * Install receiver of measurements of {@link #tokenize(String)}, {@link #validate(String, int, boolean)} and
+     * {@link RegexTokenizer} calls. By default the first {@link ParserMetrics} service found by
+     * {@link ServiceLoader} is installed on first call, otherwise {@link ParserMetrics#NONE}; service which cannot
+     * be loaded or created is skipped.
+     *
+     * @param parserMetrics receiver of measurements, {@link ParserMetrics#NONE} to stop measuring
+     */
+    public static synchronized void setMetrics(ParserMetrics parserMetrics) {
+        if (parserMetrics == null) {
+            throw new IllegalArgumentException("metrics cannot be null");
+        }
+        metrics = parserMetrics;
+    }
+
+    public static ParserMetrics getMetrics() {
+        ParserMetrics current = metrics;
+        return current != null ? current : loadMetrics();
+    }
+
+    private static synchronized ParserMetrics loadMetrics() {
+        if (metrics == null) {
+            metrics = findMetrics();
+        }
+        return metrics;
+    }
+
+    /**
+     * @return the first metrics service, {@link ParserMetrics#NONE} if there is none or it is broken
+     */
+    private static ParserMetrics findMetrics() {
+        try {
+            Iterator<ParserMetrics> providers = ServiceLoader.load(ParserMetrics.class,
+                    RegexParser.class.getClassLoader()).iterator();
+            return providers.hasNext() ? providers.next() : ParserMetrics.NONE;
+        } catch (ServiceConfigurationError e) {
+            // missing class, failed constructor or unreadable service file must not disable the parser
+            return ParserMetrics.NONE;
+        } catch (LinkageError e) {
+            // provider depends on classes absent at runtime
+            return ParserMetrics.NONE;
+        }
+    }
+
+    /**
+     * Split expression into tokens without validation
+     *
+     * @param regexPattern not empty regular expression
+     * @return token stream
+     */
+    static RegexTokenStream lex(String regexPattern) {
         ParserHelper helper = new ParserHelper(regexPattern);
+        lex(helper);
+        return helper.toTokenStream();
+    }
+
+    /**
+     * Split expression of helper into tokens without validation
+     *
+     * @param helper parser helper at the start of not empty expression
+     */
+    static void lex(ParserHelper helper) {
         parseNextToken(helper);
-        if (helper.getToken() != null) {
-            parseFirstLevel(helper);
-        }
-        return helper.getResult();
+        parseLevels(helper);
     }
 
-    private static void parseFirstLevel(ParserHelper helper) {
-        if (RegexType.Group.equals(helper.getCurrentType())) {
-            helper.putCurrentRegexPart();
-            parseNextToken(helper);
-            parseSecondLevel(helper);
-        } else {
-            parseSecondLevel(helper);
+    /**
+     * Parse and put one token, every token read by {@link #parseNextToken(ParserHelper)} is put in order,
+     * so result is the same as with levels
+     *
+     * @param helper parser helper
+     * @return <code>true</code> - token is put, <code>false</code> - expression is end.
+     */
+    static boolean lexNextToken(ParserHelper helper) {
+        if (helper.isEnd()) {
+            return false;
+        }
+        parseNextToken(helper);
+        if (helper.getCurrentType() == null) {
+            return false;
         }
+        helper.putCurrentRegexPart();
+        return true;
     }
 
-    private static void parseSecondLevel(ParserHelper helper) {
-        if (SECOND_LEVEL.contains(helper.getCurrentType())) {
-            helper.putCurrentRegexPart();
-            parseNextToken(helper);
-            parseThirdLevel(helper);
-        } else {
-            parseThirdLevel(helper);
+    /**
+     * Walk levels first -&gt; second -&gt; third -&gt; first ... in a loop (constant stack depth for any pattern length).
+     * Level puts current token if token type belongs to the level and reads next token.
+     * Parsing stops on third level at the end of expression.
+     *
+     * @param helper parser helper with first token read
+     */
+    private static void parseLevels(ParserHelper helper) {
+        int level = FIRST_LEVEL_INDEX;
+        while (true) {
+            RegexType type = helper.getCurrentType();
+            if (level == THIRD_LEVEL_INDEX && !THIRD_LEVEL.contains(type) && helper.isEnd()) {
+                if (type != null) {
+                    helper.putCurrentRegexPart();
+                }
+                return;
+            }
+            if (isLevelType(level, type)) {
+                helper.putCurrentRegexPart();
+                parseNextToken(helper);
+            }
+            level = level == THIRD_LEVEL_INDEX ? FIRST_LEVEL_INDEX : level + 1;
         }
     }
 
-    private static void parseThirdLevel(ParserHelper helper) {
-        if (THIRD_LEVEL.contains(helper.getCurrentType())) {
-            helper.putCurrentRegexPart();
-            parseNextToken(helper);
-            parseFirstLevel(helper);
-        } else if (!helper.isEnd()) {
-            parseFirstLevel(helper);
-        } else if (RegexType.Group.equals(helper.getCurrentType())) {
-            helper.putCurrentRegexPart();
+    private static boolean isLevelType(int level, RegexType type) {
+        switch (level) {
+            case FIRST_LEVEL_INDEX:
+                return RegexType.Group.equals(type);
+            case SECOND_LEVEL_INDEX:
+                return SECOND_LEVEL.contains(type);
+            default:
+                return THIRD_LEVEL.contains(type);
         }
     }
 
@@ -96,55 +555,52 @@ public class RegexParser {
         char previousChar = helper.getPreviousChar();
         helper.incrementCurrentIndex();
 
-        if (helper.isStart() && RegexChar.Caret.getValue().equals(currentChar)) {
+        if (helper.isStart() && RegexChar.Caret.is(currentChar)) {
             helper.setCurrentType(RegexType.Anchor);
-        } else if (RegexChar.Backslash.getValue().equals(previousChar) && (!"\\\\".equals(helper.getPreviousToken()) || helper.isSkipToken())) {
-            if (helper.getCurrentIndex() == 2 && RegexChar.Start.getValue().equals(currentChar)) {
-                helper.setCurrentType(RegexType.Anchor);
-            } else if (RegexChar.ANCHOR_AFTER_BACKSLASH.contains(currentChar)) {
+        } else if (RegexChar.Backslash.is(previousChar) && (!helper.isPreviousToken("\\\\") || helper.isSkipToken())) {
+            RegexType type = RegexChar.getTypeAfterBackslash(currentChar);
+            if (helper.getCurrentIndex() == 2 && RegexChar.Start.is(currentChar)) {
                 helper.setCurrentType(RegexType.Anchor);
-            } else if (RegexChar.CHARACTER_CLASSES_AFTER_BACKSLASH.contains(currentChar)) {
-                helper.setCurrentType(RegexType.CharacterClass);
-            } else if (RegexChar.NON_PRINTABLES.contains(currentChar)) {
-                helper.setCurrentType(RegexType.NonPrintable);
-            } else if (helper.isEnd() && RegexChar.ANCHOR_END.contains(currentChar)) {
+            } else if (type != RegexType.None) {
+                helper.setCurrentType(type);
+            } else if (helper.isEnd() && (RegexChar.End.is(currentChar) || RegexChar.EndLine.is(currentChar))) {
                 helper.setCurrentType(RegexType.Anchor);
             } else {
                 helper.setCurrentType(RegexType.None);
             }
-        } else {
-            if (helper.isEnd() && RegexChar.Dollar.getValue().equals(currentChar)) {
-                helper.setCurrentType(RegexType.Anchor);
-            } else if (RegexChar.GROUPS.contains(currentChar)) {
-                helper.setCurrentType(RegexType.Group);
-            } else if (RegexChar.SquareBracketStart.getValue().equals(currentChar)) {
-                while (!RegexChar.SquareBracketEnd.getValue().equals(helper.getCurrentChar())) {
-                    if (!helper.isEnd()) {
-                        helper.incrementCurrentIndex();
-                    }
-                }
-                helper.incrementCurrentIndex();
-                helper.setCurrentType(RegexType.CharacterGroup);
-            } else if (RegexChar.Point.getValue().equals(currentChar)) {
-                helper.setCurrentType(RegexType.CharacterClass);
-            } else if (RegexChar.BracesStart.getValue().equals(currentChar)) {
-                while (!RegexChar.BracesEnd.getValue().equals(helper.getCurrentChar())) {
-                    if (!helper.isEnd()) {
-                        helper.incrementCurrentIndex();
-                    }
-                }
-                helper.incrementCurrentIndex();
-                helper.setCurrentType(RegexType.QuantifierGroup);
-            } else if (RegexChar.QUANTIFIERS.contains(currentChar)) {
-                helper.setCurrentType(RegexType.Quantifier);
-            } else if (RegexChar.Backslash.getValue().equals(currentChar)) {
-                helper.skipToken();
-                parseNextToken(helper);
-            } else if (RegexChar.Or.getValue().equals(currentChar)) {
-                helper.setCurrentType(RegexType.Alternation);
-            } else {
+        } else if (helper.isEnd() && RegexChar.Dollar.is(currentChar)) {
+            helper.setCurrentType(RegexType.Anchor);
+        } else if (RegexChar.Backslash.is(currentChar)) {
+            helper.skipToken();
+            if (helper.isEnd()) {
+                // dangling backslash of unvalidated expression, e.g. while typing
                 helper.setCurrentType(RegexType.None);
+            } else {
+                parseNextToken(helper);
             }
+        } else {
+            RegexType type = RegexChar.getPlainType(currentChar);
+            if (RegexType.CharacterGroup.equals(type)) {
+                skipUntil(helper, RegexChar.SquareBracketEnd);
+            } else if (RegexType.QuantifierGroup.equals(type)) {
+                skipUntil(helper, RegexChar.BracesEnd);
+            }
+            helper.setCurrentType(type);
+        }
+    }
+
+    /**
+     * Move current index after closing char, or to the end of expression when closing char is absent
+     *
+     * @param helper parser helper
+     * @param closing closing char of token
+     */
+    private static void skipUntil(ParserHelper helper, RegexChar closing) {
+        while (!helper.isEnd() && !closing.is(helper.getCurrentChar())) {
+            helper.incrementCurrentIndex();
+        }
+        if (!helper.isEnd()) {
+            helper.incrementCurrentIndex();
         }
     }
-}
\ No newline at end of file
+}
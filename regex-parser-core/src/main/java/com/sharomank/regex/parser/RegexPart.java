@@ -3,11 +3,14 @@ package com.sharomank.regex.parser;
 import com.sharomank.regex.parser.enums.RegexType;
 
 import java.text.MessageFormat;
-import java.util.Arrays;
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Class for store result parsing
+ * <p/>
+ * Instances are immutable. Parts of common tokens (single ASCII chars, <code>\d</code>, <code>\w</code>,
+ * <code>\s</code> and other short escapes) are shared, see {@link #valueOf(String, RegexType)}.
  *
  * @author Roman Kurbangaliyev
  * @since 21.05.2012
@@ -15,12 +18,39 @@ import java.util.List;
 public class RegexPart {
     private final String part;
     private final RegexType type;
+    private final int hash;
 
-    private static final List<RegexType> typesSupportContent = Arrays.asList(
+    private static final Set<RegexType> typesSupportContent = EnumSet.of(
             RegexType.CharacterGroup,
             RegexType.QuantifierGroup
     );
 
+    private static final int ASCII_SIZE = 128;
+    private static final RegexType[] TYPES = RegexType.values();
+    /**
+     * Shared parts of one char tokens and of backslash and one char tokens by type ordinal and ASCII char,
+     * <code>null</code> for types without shared parts
+     */
+    private static final RegexPart[][] SHARED_CHARS = new RegexPart[TYPES.length][];
+    private static final RegexPart[][] SHARED_ESCAPES = new RegexPart[TYPES.length][];
+
+    static {
+        char[] ascii = new char[ASCII_SIZE];
+        for (int ch = 0; ch < ASCII_SIZE; ch++) {
+            ascii[ch] = (char) ch;
+        }
+        share(SHARED_CHARS, "", RegexType.None, new String(ascii));
+        share(SHARED_CHARS, "", RegexType.Group, "()");
+        share(SHARED_CHARS, "", RegexType.Alternation, "|");
+        share(SHARED_CHARS, "", RegexType.Quantifier, "*+?");
+        share(SHARED_CHARS, "", RegexType.CharacterClass, ".");
+        share(SHARED_CHARS, "", RegexType.Anchor, "^$");
+        share(SHARED_ESCAPES, "\\", RegexType.CharacterClass, "dDwWsS");
+        share(SHARED_ESCAPES, "\\", RegexType.Anchor, "bBG");
+        share(SHARED_ESCAPES, "\\", RegexType.NonPrintable, "tnrfeav");
+        share(SHARED_ESCAPES, "\\", RegexType.None, ".\\()[]{}|*+?^$/-");
+    }
+
     public RegexPart(String token, RegexType type) {
         if (token == null || type == null) {
             throw new IllegalArgumentException();
@@ -28,6 +58,53 @@ public class RegexPart {
 
         this.part = token;
         this.type = type;
+        this.hash = 31 * token.hashCode() + type.hashCode();
+    }
+
+    /**
+     * @param token text of token
+     * @param type  type of token
+     * @return shared part of common token, otherwise new part
+     */
+    public static RegexPart valueOf(String token, RegexType type) {
+        if (token == null || type == null) {
+            throw new IllegalArgumentException();
+        }
+
+        RegexPart shared = getShared(token, 0, token.length(), type);
+        return shared != null ? shared : new RegexPart(token, type);
+    }
+
+    /**
+     * @return shared part of common token, otherwise part with new substring of expression
+     */
+    static RegexPart valueOf(String expression, int start, int end, RegexType type) {
+        RegexPart shared = getShared(expression, start, end, type);
+        return shared != null ? shared : new RegexPart(expression.substring(start, end), type);
+    }
+
+    private static RegexPart getShared(String expression, int start, int end, RegexType type) {
+        RegexPart[] shared;
+        char ch;
+        if (end - start == 1) {
+            shared = SHARED_CHARS[type.ordinal()];
+            ch = expression.charAt(start);
+        } else if (end - start == 2 && expression.charAt(start) == '\\') {
+            shared = SHARED_ESCAPES[type.ordinal()];
+            ch = expression.charAt(start + 1);
+        } else {
+            return null;
+        }
+        return shared != null && ch < ASCII_SIZE ? shared[ch] : null;
+    }
+
+    private static void share(RegexPart[][] table, String prefix, RegexType type, String chars) {
+        RegexPart[] shared = new RegexPart[ASCII_SIZE];
+        for (int index = 0; index < chars.length(); index++) {
+            char ch = chars.charAt(index);
+            shared[ch] = new RegexPart(prefix + ch, type);
+        }
+        table[type.ordinal()] = shared;
     }
 
     public String getPart() {
@@ -67,9 +144,7 @@ public class RegexPart {
 
     @Override
     public int hashCode() {
-        int result = part.hashCode();
-        result = 31 * result + type.hashCode();
-        return result;
+        return hash;
     }
 
     @Override
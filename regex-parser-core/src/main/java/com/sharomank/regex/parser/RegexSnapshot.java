@@ -0,0 +1,312 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of validated expressions: expression, flags, token boundaries and types, and syntax error of
+ * each expression, so that large set of patterns is loaded on start without tokenizing it again.
+ * <p/>
+ * Snapshot is written by {@link #write(Collection, OutputStream)} and read from memory-mapped file by
+ * {@link #load(File)}; entries are decoded on first {@link #get(int)}. Header keeps CRC32 of content,
+ * {@link RegexParser#TOKENIZER_VERSION} and names of {@link RegexType} and {@link RegexErrorKind} constants:
+ * snapshot written by other version of parser is not loaded, its expressions should be validated again.
+ * Compiled {@link java.util.regex.Pattern} is not kept, {@link RegexValidation#getPattern()} of loaded entries
+ * is <code>null</code>.
+ * <p/>
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexSnapshot {
+    /**
+     * Version of binary layout
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x52475853;
+    // magic, format version, tokenizer version, schema hash, count of entries, CRC32 of body
+    private static final int HEADER_SIZE = 5 * 4 + 8;
+    private static final RegexType[] TYPES = RegexType.values();
+    private static final RegexErrorKind[] ERROR_KINDS = RegexErrorKind.values();
+    private static final int SCHEMA_HASH = schemaHash();
+
+    // body: offsets of entries relative to body start, then entries
+    private final ByteBuffer body;
+    private final int size;
+    private final AtomicReferenceArray<RegexValidation> entries;
+
+    private RegexSnapshot(ByteBuffer body, int size) {
+        this.body = body;
+        this.size = size;
+        this.entries = new AtomicReferenceArray<RegexValidation>(size);
+    }
+
+    /**
+     * Write snapshot to file, file is replaced
+     *
+     * @param validations results of {@link RegexParser#validate(String, int)}
+     * @param file        target file
+     * @throws IOException if file cannot be written
+     */
+    public static void write(Collection<RegexValidation> validations, File file) throws IOException {
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+        try {
+            write(validations, out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Write snapshot to stream, stream is not closed
+     *
+     * @param validations results of {@link RegexParser#validate(String, int)}
+     * @param out         target stream
+     * @throws IOException if stream cannot be written
+     */
+    public static void write(Collection<RegexValidation> validations, OutputStream out) throws IOException {
+        int[] entryOffsets = new int[validations.size()];
+        ByteArrayOutputStream entryBytes = new ByteArrayOutputStream();
+        DataOutputStream entryData = new DataOutputStream(entryBytes);
+        int index = 0;
+        for (RegexValidation validation : validations) {
+            entryOffsets[index++] = entryData.size();
+            writeEntry(validation, entryData);
+        }
+        entryData.flush();
+
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(4 * entryOffsets.length + entryBytes.size());
+        DataOutputStream bodyData = new DataOutputStream(bodyBytes);
+        for (int entryOffset : entryOffsets) {
+            bodyData.writeInt(4 * entryOffsets.length + entryOffset);
+        }
+        entryBytes.writeTo(bodyData);
+        bodyData.flush();
+        CRC32 crc = new CRC32();
+        crc.update(bodyBytes.toByteArray(), 0, bodyBytes.size());
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(RegexParser.TOKENIZER_VERSION);
+        data.writeInt(SCHEMA_HASH);
+        data.writeInt(entryOffsets.length);
+        data.writeLong(crc.getValue());
+        bodyBytes.writeTo(data);
+        data.flush();
+    }
+
+    private static void writeEntry(RegexValidation validation, DataOutputStream data) throws IOException {
+        RegexTokenStream tokens = validation.getTokens();
+        data.writeInt(validation.getFlags());
+        writeString(tokens.getExpression(), data);
+        int count = tokens.size();
+        data.writeInt(count);
+        data.writeInt(count == 0 ? 0 : tokens.getStart(0));
+        for (int token = 0; token < count; token++) {
+            data.writeInt(tokens.getEnd(token));
+        }
+        for (int token = 0; token < count; token++) {
+            data.writeByte(tokens.getType(token).ordinal());
+        }
+        RegexErrorKind errorKind = validation.getErrorKind();
+        data.writeByte(errorKind == null ? -1 : errorKind.ordinal());
+        data.writeInt(validation.getErrorIndex());
+        writeString(validation.getErrorDescription(), data);
+    }
+
+    private static void writeString(String value, DataOutputStream data) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        data.writeInt(value.length());
+        data.writeChars(value);
+    }
+
+    /**
+     * Map snapshot file
+     *
+     * @param file snapshot file
+     * @return snapshot, <code>null</code> if file was written by other version of parser
+     * @throws IOException if file cannot be mapped, is not a snapshot or is damaged
+     */
+    public static RegexSnapshot load(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File " + file + " is larger than 2 GB");
+            }
+            // mapping stays valid after channel is closed
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * Read snapshot from bytes between position and limit of buffer, buffer is neither copied nor changed
+     *
+     * @param buffer bytes of snapshot
+     * @return snapshot, <code>null</code> if bytes were written by other version of parser
+     * @throws IOException if bytes are not a snapshot or are damaged
+     */
+    public static RegexSnapshot read(ByteBuffer buffer) throws IOException {
+        ByteBuffer bytes = buffer.slice();
+        if (bytes.limit() < HEADER_SIZE || bytes.getInt(0) != MAGIC) {
+            throw new IOException("Not a regular expressions snapshot");
+        }
+        if (bytes.getInt(4) != FORMAT_VERSION || bytes.getInt(8) != RegexParser.TOKENIZER_VERSION
+                || bytes.getInt(12) != SCHEMA_HASH) {
+            return null;
+        }
+        int size = bytes.getInt(16);
+        long checksum = bytes.getLong(20);
+        // links to Buffer.position(int) of java 8 when compiled by newer JDK
+        ((Buffer) bytes).position(HEADER_SIZE);
+        ByteBuffer body = bytes.slice();
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if (size < 0 || 4L * size > body.limit() || crc.getValue() != checksum) {
+            throw new IOException("Snapshot is damaged");
+        }
+        return new RegexSnapshot(body, size);
+    }
+
+    /**
+     * @return count of expressions
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return expression of entry, tokens are not decoded
+     */
+    public String getExpression(int index) {
+        checkIndex(index);
+        return readString(body.getInt(4 * index) + 4);
+    }
+
+    /**
+     * @return validation result of entry, decoded on first call
+     */
+    public RegexValidation get(int index) {
+        checkIndex(index);
+        RegexValidation validation = entries.get(index);
+        if (validation == null) {
+            validation = readEntry(body.getInt(4 * index));
+            if (!entries.compareAndSet(index, null, validation)) {
+                validation = entries.get(index);
+            }
+        }
+        return validation;
+    }
+
+    /**
+     * @return read-only list view of entries in order of writing
+     */
+    public List<RegexValidation> asList() {
+        return new EntryList();
+    }
+
+    private RegexValidation readEntry(int position) {
+        int flags = body.getInt(position);
+        position += 4;
+        String expression = readString(position);
+        position += 4 + 2 * expression.length();
+        int count = body.getInt(position);
+        position += 4;
+        int[] offsets = new int[count + 1];
+        for (int token = 0; token <= count; token++) {
+            offsets[token] = body.getInt(position);
+            position += 4;
+        }
+        byte[] types = new byte[count];
+        for (int token = 0; token < count; token++) {
+            types[token] = body.get(position++);
+        }
+        RegexTokenStream tokens = new RegexTokenStream(expression, offsets, types, count);
+        int errorKind = body.get(position++);
+        if (errorKind < 0) {
+            return new RegexValidation(tokens, flags, null);
+        }
+        int errorIndex = body.getInt(position);
+        position += 4;
+        return new RegexValidation(tokens, flags, null, ERROR_KINDS[errorKind], readString(position), errorIndex);
+    }
+
+    private String readString(int position) {
+        int length = body.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        char[] chars = new char[length];
+        position += 4;
+        for (int index = 0; index < length; index++) {
+            chars[index] = body.getChar(position + 2 * index);
+        }
+        return new String(chars);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * @return hash of enum constants which are written by ordinal
+     */
+    private static int schemaHash() {
+        int result = 1;
+        for (RegexType type : TYPES) {
+            result = 31 * result + type.name().hashCode();
+        }
+        for (RegexErrorKind errorKind : ERROR_KINDS) {
+            result = 31 * result + errorKind.name().hashCode();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RegexSnapshot{" +
+                "size=" + size +
+                '}';
+    }
+
+    private class EntryList extends AbstractList<RegexValidation> implements RandomAccess {
+        @Override
+        public RegexValidation get(int index) {
+            return RegexSnapshot.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.util.Arrays;
+
+/**
+ * Reusable holder of tokens of one expression, filled by {@link RegexTokenizer}.
+ * Arrays grow up to the longest parsed expression and are reused for next ones, so refilling allocates nothing.
+ * <p/>
+ * Buffer is not thread-safe, use {@link #toTokenStream()} to keep or share tokens.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexTokenBuffer {
+    private static final RegexType[] TYPES = RegexType.values();
+
+    private String expression = "";
+    private int[] offsets;
+    private byte[] types;
+    private int size;
+
+    public RegexTokenBuffer() {
+        this(16);
+    }
+
+    /**
+     * @param capacity initial count of tokens
+     */
+    public RegexTokenBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity cannot be negative");
+        }
+        this.offsets = new int[capacity + 1];
+        this.types = new byte[capacity];
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index token index
+     * @return offset of first char of token in expression
+     */
+    public int getStart(int index) {
+        checkIndex(index);
+        return offsets[index];
+    }
+
+    /**
+     * @param index token index
+     * @return offset after last char of token in expression
+     */
+    public int getEnd(int index) {
+        checkIndex(index);
+        return offsets[index + 1];
+    }
+
+    public RegexType getType(int index) {
+        checkIndex(index);
+        return TYPES[types[index]];
+    }
+
+    /**
+     * @param index token index
+     * @return text of token, new string on each call
+     */
+    public String getToken(int index) {
+        checkIndex(index);
+        return expression.substring(offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * @return immutable copy of tokens
+     */
+    public RegexTokenStream toTokenStream() {
+        if (size == 0) {
+            return RegexTokenStream.empty(expression);
+        }
+        return new RegexTokenStream(expression, Arrays.copyOf(offsets, size + 1), Arrays.copyOf(types, size), size);
+    }
+
+    /**
+     * Merge runs of literal tokens in place, see {@link RegexTokenStream#coalesceLiterals()}
+     */
+    public void coalesceLiterals() {
+        size = RegexTokenStream.coalesceLiterals(expression, offsets, types, size);
+    }
+
+    /**
+     * Remove tokens and expression, arrays are kept
+     */
+    public void clear() {
+        expression = "";
+        size = 0;
+    }
+
+    void setEmpty(String expression) {
+        this.expression = expression;
+        this.size = 0;
+    }
+
+    void setParseError(String expression) {
+        ensureCapacity(1);
+        this.expression = expression;
+        offsets[0] = 0;
+        offsets[1] = expression.length();
+        types[0] = (byte) RegexType.ParseError.ordinal();
+        size = 1;
+    }
+
+    void setTokens(String expression, int[] sourceOffsets, byte[] sourceTypes, int count) {
+        ensureCapacity(count);
+        this.expression = expression;
+        System.arraycopy(sourceOffsets, 0, offsets, 0, count + 1);
+        System.arraycopy(sourceTypes, 0, types, 0, count);
+        size = count;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (types.length < capacity) {
+            int length = Math.max(capacity, types.length * 2);
+            offsets = new int[length + 1];
+            types = new byte[length];
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RegexTokenBuffer{" +
+                "expression='" + expression + '\'' +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+
+/**
+ * Pull-style cursor over tokens of expression. Each token is parsed on {@link #advance()},
+ * nothing is allocated per token unless {@link #getToken()} is called.
+ * <p/>
+ * Cursor is not thread-safe.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexTokenCursor {
+    static final int TOKENS = 0;
+    static final int EMPTY = 1;
+    static final int PARSE_ERROR = 2;
+
+    private final String expression;
+    private final ParserHelper helper;
+    private boolean parseErrorPending;
+    private int start;
+    private int end;
+    private RegexType type;
+
+    /**
+     * @param expression expression, already validated
+     * @param mode       {@link #TOKENS} - parse tokens of expression, {@link #EMPTY} - no tokens,
+     *                   {@link #PARSE_ERROR} - single {@link RegexType#ParseError} token
+     */
+    RegexTokenCursor(String expression, int mode) {
+        this.expression = expression;
+        this.helper = mode == TOKENS ? new ParserHelper(expression, false) : null;
+        this.parseErrorPending = mode == PARSE_ERROR;
+    }
+
+    /**
+     * Move to next token
+     *
+     * @return <code>true</code> - cursor is on next token, <code>false</code> - there are no more tokens.
+     */
+    public boolean advance() {
+        if (parseErrorPending) {
+            parseErrorPending = false;
+            start = 0;
+            end = expression.length();
+            type = RegexType.ParseError;
+            return true;
+        }
+        if (helper == null || !RegexParser.lexNextToken(helper)) {
+            type = null;
+            return false;
+        }
+        start = helper.getLastStart();
+        end = helper.getLastEnd();
+        type = helper.getLastType();
+        return true;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return offset of first char of current token
+     */
+    public int getStart() {
+        checkToken();
+        return start;
+    }
+
+    /**
+     * @return offset after last char of current token
+     */
+    public int getEnd() {
+        checkToken();
+        return end;
+    }
+
+    public RegexType getType() {
+        checkToken();
+        return type;
+    }
+
+    /**
+     * @return text of current token, new string on each call
+     */
+    public String getToken() {
+        checkToken();
+        return expression.substring(start, end);
+    }
+
+    private void checkToken() {
+        if (type == null) {
+            throw new IllegalStateException("cursor is not on token");
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compact result of parsing: token boundaries and types over the original expression.
+ * Token <code>i</code> spans <code>expression[offsets[i], offsets[i + 1])</code> and has type
+ * <code>RegexType.values()[types[i]]</code>. {@link RegexPart} objects are created only on demand.
+ * <p/>
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexTokenStream {
+    private static final RegexType[] TYPES = RegexType.values();
+    private static final int[] NO_OFFSETS = {0};
+    private static final byte[] NO_TYPES = {};
+    private static final byte NONE = (byte) RegexType.None.ordinal();
+    private static final byte QUANTIFIER = (byte) RegexType.Quantifier.ordinal();
+    private static final byte QUANTIFIER_GROUP = (byte) RegexType.QuantifierGroup.ordinal();
+
+    private final String expression;
+    private final int[] offsets;
+    private final byte[] types;
+    private final int size;
+
+    /**
+     * @param expression source expression
+     * @param offsets    token boundaries, at least <code>size + 1</code> elements, not copied
+     * @param types      token type ordinals, at least <code>size</code> elements, not copied
+     * @param size       count of tokens
+     */
+    RegexTokenStream(String expression, int[] offsets, byte[] types, int size) {
+        this.expression = expression;
+        this.offsets = offsets;
+        this.types = types;
+        this.size = size;
+    }
+
+    static RegexTokenStream empty(String expression) {
+        return new RegexTokenStream(expression == null ? "" : expression, NO_OFFSETS, NO_TYPES, 0);
+    }
+
+    static RegexTokenStream parseError(String expression) {
+        return new RegexTokenStream(expression, new int[]{0, expression.length()},
+                new byte[]{(byte) RegexType.ParseError.ordinal()}, 1);
+    }
+
+    /**
+     * @param errorOffset offset of syntax error in expression, less than expression length
+     * @return tokens which end before error, followed by single {@link RegexType#ParseError} token up to the end
+     */
+    RegexTokenStream withParseErrorAt(int errorOffset) {
+        int count = 0;
+        while (count < size && offsets[count + 1] <= errorOffset) {
+            count++;
+        }
+        int[] newOffsets = new int[count + 2];
+        byte[] newTypes = new byte[count + 1];
+        copyTo(0, count, newOffsets, newTypes, 0);
+        newOffsets[count + 1] = expression.length();
+        newTypes[count] = (byte) RegexType.ParseError.ordinal();
+        return new RegexTokenStream(expression, newOffsets, newTypes, count + 1);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index token index
+     * @return offset of first char of token in expression
+     */
+    public int getStart(int index) {
+        checkIndex(index);
+        return offsets[index];
+    }
+
+    /**
+     * @param index token index
+     * @return offset after last char of token in expression
+     */
+    public int getEnd(int index) {
+        checkIndex(index);
+        return offsets[index + 1];
+    }
+
+    public RegexType getType(int index) {
+        checkIndex(index);
+        return TYPES[types[index]];
+    }
+
+    /**
+     * Find token which contains char
+     *
+     * @param offset offset of char in expression
+     * @return index of token, <code>-1</code> if offset is out of tokens
+     */
+    public int getTokenIndexAt(int offset) {
+        if (size == 0 || offset < offsets[0] || offset >= offsets[size]) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(offsets, 0, size + 1, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * @param index token index
+     * @return text of token, new string on each call
+     */
+    public String getToken(int index) {
+        checkIndex(index);
+        return expression.substring(offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * @param index token index
+     * @return shared {@link RegexPart} for common token, otherwise new one
+     * @see RegexPart#valueOf(String, RegexType)
+     */
+    public RegexPart getPart(int index) {
+        checkIndex(index);
+        return RegexPart.valueOf(expression, offsets[index], offsets[index + 1], TYPES[types[index]]);
+    }
+
+    /**
+     * @return read-only list view, {@link RegexPart} is taken by {@link #getPart(int)} on each {@link List#get(int)}
+     */
+    public List<RegexPart> asList() {
+        return new PartList();
+    }
+
+    /**
+     * Merge runs of adjacent {@link RegexType#None} tokens into single literal token, e.g. <code>test</code> is one
+     * token instead of four. The last char before {@link RegexType#Quantifier} or {@link RegexType#QuantifierGroup}
+     * stays separate token, so quantifier still applies to single char: <code>tests+</code> is <code>test</code>,
+     * <code>s</code>, <code>+</code>; quantified char outside of Basic Multilingual Plane is one token of both
+     * halves of its surrogate pair. Runs stop at escapes: escape tokens and tokens of escapes which are split by
+     * tokenizer are kept, so <code>ab\x41+</code> is <code>ab</code>, <code>\x</code>, <code>4</code>,
+     * <code>1</code>, <code>+</code>, and back reference <code>\1</code> is never merged with literals.
+     * <p/>
+     * Merged tokens suit highlighting, counting and serialization; {@link com.sharomank.regex.parser.ast.RegexTree}
+     * and analyzers expect one char per literal token.
+     *
+     * @return token stream with merged literals, this stream if there is nothing to merge
+     */
+    public RegexTokenStream coalesceLiterals() {
+        int[] newOffsets = Arrays.copyOf(offsets, size + 1);
+        byte[] newTypes = Arrays.copyOf(types, size);
+        int count = coalesceLiterals(expression, newOffsets, newTypes, size);
+        return count == size ? this : new RegexTokenStream(expression, newOffsets, newTypes, count);
+    }
+
+    /**
+     * Merge literal runs in place, see {@link #coalesceLiterals()}
+     *
+     * @return count of tokens after merge
+     */
+    static int coalesceLiterals(CharSequence expression, int[] offsets, byte[] types, int size) {
+        int count = 0;
+        int index = 0;
+        int escapeEnd = 0;
+        while (index < size) {
+            int end = index + 1;
+            if (expression.charAt(offsets[index]) == '\\') {
+                escapeEnd = Math.max(offsets[index + 1], getEscapeEnd(expression, offsets[index]));
+            } else if (types[index] == NONE && offsets[index] >= escapeEnd) {
+                while (end < size && types[end] == NONE && expression.charAt(offsets[end]) != '\\') {
+                    end++;
+                }
+                if (end - 1 > index && end < size && (types[end] == QUANTIFIER || types[end] == QUANTIFIER_GROUP)) {
+                    end--;
+                    // quantifier applies to the whole code point, halves of surrogate pair stay together
+                    if (Character.isLowSurrogate(expression.charAt(offsets[end]))
+                            && Character.isHighSurrogate(expression.charAt(offsets[end - 1]))) {
+                        end = end - 1 > index ? end - 1 : end + 1;
+                    }
+                }
+            }
+            offsets[count] = offsets[index];
+            types[count] = types[index];
+            count++;
+            index = end;
+        }
+        offsets[count] = offsets[size];
+        return count;
+    }
+
+    /**
+     * Tokenizer splits some escapes into several tokens, e.g. <code>\x41</code> is <code>\x</code>, <code>4</code>,
+     * <code>1</code>, and <code>\0101</code> is <code>\0</code>, <code>1</code>, <code>0</code>, <code>1</code>.
+     *
+     * @param expression source expression
+     * @param start      offset of <code>'\'</code> which starts escape
+     * @return offset after escape which is split into several tokens or -1 for other escapes
+     */
+    public static int getEscapeEnd(CharSequence expression, int start) {
+        int length = expression.length();
+        if (start + 1 >= length) {
+            return -1;
+        }
+        char escaped = expression.charAt(start + 1);
+        int offset = start + 2;
+        switch (escaped) {
+            case 'p':
+            case 'P':
+            case 'x':
+            case 'N':
+                if (offset < length && expression.charAt(offset) == '{') {
+                    int close = indexOf(expression, '}', offset);
+                    return close < 0 ? length : close + 1;
+                }
+                return Math.min(length, offset + (escaped == 'x' ? 2 : 1));
+            case 'u':
+                return Math.min(length, offset + 4);
+            case 'c':
+                return Math.min(length, offset + 1);
+            case 'k':
+                int close = indexOf(expression, '>', offset);
+                return close < 0 ? length : close + 1;
+            case '0':
+                // \0n, \0nn or \0mnn with m <= 3
+                int end = offset;
+                int limit = offset < length && expression.charAt(offset) <= '3' ? offset + 3 : offset + 2;
+                while (end < limit && end < length && expression.charAt(end) >= '0' && expression.charAt(end) <= '7') {
+                    end++;
+                }
+                return end;
+            default:
+                if (escaped >= '1' && escaped <= '9') {
+                    // group number takes as many digits as there are groups, all of them are taken
+                    int digits = offset;
+                    while (digits < length && Character.isDigit(expression.charAt(digits))) {
+                        digits++;
+                    }
+                    return digits;
+                }
+                return -1;
+        }
+    }
+
+    private static int indexOf(CharSequence expression, char ch, int from) {
+        for (int index = from; index < expression.length(); index++) {
+            if (expression.charAt(index) == ch) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copy bounds and types of tokens <code>[from, from + count)</code>
+     *
+     * @param targetOffsets target bounds, start of first token is written at <code>targetIndex</code>
+     * @param targetTypes   target types
+     * @param targetIndex   index of first copied token in target
+     */
+    void copyTo(int from, int count, int[] targetOffsets, byte[] targetTypes, int targetIndex) {
+        System.arraycopy(offsets, from, targetOffsets, targetIndex, count + 1);
+        System.arraycopy(types, from, targetTypes, targetIndex, count);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        RegexTokenStream that = (RegexTokenStream) o;
+        if (size != that.size || !expression.equals(that.expression)) {
+            return false;
+        }
+        for (int index = 0; index < size; index++) {
+            if (offsets[index + 1] != that.offsets[index + 1] || types[index] != that.types[index]) {
+                return false;
+            }
+        }
+        return size == 0 || offsets[0] == that.offsets[0];
+    }
+
+    @Override
+    public int hashCode() {
+        int result = expression.hashCode();
+        for (int index = 0; index < size; index++) {
+            result = 31 * result + offsets[index + 1];
+            result = 31 * result + types[index];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RegexTokenStream{" +
+                "expression='" + expression + '\'' +
+                ", size=" + size +
+                '}';
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    private class PartList extends AbstractList<RegexPart> implements RandomAccess {
+        @Override
+        public RegexPart get(int index) {
+            return getPart(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+
+/**
+ * Push-style receiver of tokens, see {@link RegexParser#scan(CharSequence, RegexTokenVisitor)}
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public interface RegexTokenVisitor {
+    /**
+     * Receive next token, token text is <code>expression.subSequence(start, end)</code>
+     *
+     * @param expression parsed expression
+     * @param start      offset of first char of token
+     * @param end        offset after last char of token
+     * @param type       type of token
+     * @return <code>true</code> - continue scanning, <code>false</code> - stop scanning.
+     */
+    boolean visitToken(CharSequence expression, int start, int end, RegexType type);
+}
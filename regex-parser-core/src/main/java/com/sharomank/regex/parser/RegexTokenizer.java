@@ -0,0 +1,270 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.enums.RegexType;
+import com.sharomank.regex.parser.metrics.ParserMetrics;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * Reusable parser instance. Validation and token buffers are kept between calls, so parsing into
+ * {@link RegexTokenBuffer} allocates nothing once buffers have grown to the longest expression.
+ * <p/>
+ * Tokenizer is not thread-safe: keep one per thread or take it from {@link RegexTokenizerPool}.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexTokenizer {
+    /**
+     * Expression length up to which buffers are kept by {@link #reset()}
+     */
+    private static final int RETAINED_CAPACITY = 4096;
+    private static final int DEFAULT_WINDOW_SIZE = 8192;
+
+    private RegexValidator validator = new RegexValidator();
+    private ParserHelper helper = new ParserHelper(true);
+    private final ParserHelper scanHelper = new ParserHelper(false);
+
+    /**
+     * Parse regular expression into buffer, the same tokens as {@link RegexParser#tokenize(String)}
+     *
+     * @param regexPattern regular expression
+     * @param buffer       buffer for tokens, previous content is replaced
+     * @return <code>true</code> - expression is valid, <code>false</code> - buffer has single
+     * {@link RegexType#ParseError} token, see {@link #getErrorKind()}.
+     */
+    public boolean tokenize(String regexPattern, RegexTokenBuffer buffer) {
+        return tokenize(regexPattern, 0, buffer);
+    }
+
+    /**
+     * Parse regular expression into buffer
+     *
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link java.util.regex.Pattern#compile(String, int)}
+     * @param buffer       buffer for tokens, previous content is replaced
+     * @return <code>true</code> - expression is valid, <code>false</code> - buffer has single
+     * {@link RegexType#ParseError} token, see {@link #getErrorKind()}.
+     */
+    public boolean tokenize(String regexPattern, int flags, RegexTokenBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("buffer cannot be null");
+        }
+        if (regexPattern == null || regexPattern.trim().length() == 0) {
+            validator.validate("", flags);
+            buffer.setEmpty(regexPattern == null ? "" : regexPattern);
+            return true;
+        }
+        ParserMetrics metrics = RegexParser.getMetrics();
+        boolean timed = metrics.isEnabled();
+        Object call = timed ? metrics.tokenizeStarted() : null;
+        long start = timed ? System.nanoTime() : 0;
+        if (!validator.validate(regexPattern, flags)) {
+            buffer.setParseError(regexPattern);
+            if (timed) {
+                metrics.tokenized(call, regexPattern.length(), 1, true, System.nanoTime() - start, 0);
+            }
+            return false;
+        }
+        long validated = timed ? System.nanoTime() : 0;
+
+        helper.reset(regexPattern);
+        RegexParser.lex(helper);
+        helper.copyTo(buffer);
+        if (timed) {
+            metrics.tokenized(call, regexPattern.length(), buffer.size(), false, validated - start,
+                    System.nanoTime() - validated);
+        }
+        return true;
+    }
+
+    /**
+     * Parse regular expression into new token stream
+     *
+     * @param regexPattern regular expression
+     * @return token stream, the same as {@link RegexParser#tokenize(String)}
+     */
+    public RegexTokenStream tokenize(String regexPattern) {
+        return tokenize(regexPattern, false);
+    }
+
+    /**
+     * Parse regular expression into new token stream
+     *
+     * @param regexPattern     regular expression
+     * @param coalesceLiterals merge runs of literal chars, see {@link RegexTokenStream#coalesceLiterals()}
+     * @return token stream, the same as {@link RegexParser#tokenize(String, boolean)}
+     */
+    public RegexTokenStream tokenize(String regexPattern, boolean coalesceLiterals) {
+        if (regexPattern == null || regexPattern.trim().length() == 0) {
+            return RegexTokenStream.empty(regexPattern);
+        }
+        ParserMetrics metrics = RegexParser.getMetrics();
+        boolean timed = metrics.isEnabled();
+        Object call = timed ? metrics.tokenizeStarted() : null;
+        long start = timed ? System.nanoTime() : 0;
+        if (!validator.validate(regexPattern, 0)) {
+            if (timed) {
+                metrics.tokenized(call, regexPattern.length(), 1, true, System.nanoTime() - start, 0);
+            }
+            return RegexTokenStream.parseError(regexPattern);
+        }
+        long validated = timed ? System.nanoTime() : 0;
+
+        helper.reset(regexPattern);
+        RegexParser.lex(helper);
+        if (coalesceLiterals) {
+            helper.coalesceLiterals();
+        }
+        RegexTokenStream tokens = helper.toTokenStream();
+        if (timed) {
+            metrics.tokenized(call, regexPattern.length(), tokens.size(), false, validated - start,
+                    System.nanoTime() - validated);
+        }
+        return tokens;
+    }
+
+    /**
+     * Pass tokens of any char sequence to visitor, e.g. of {@link java.nio.CharBuffer} over memory-mapped file.
+     * Tokens are reported as offsets and the sequence is never copied into string, but validation copies the
+     * whole expression into heap: code point and its offset of each char, 8 bytes per char, twice as much for
+     * expression with <code>\Q...\E</code>. Buffers are reused by this tokenizer until {@link #reset()}; use
+     * {@link #scan(CharSequence, boolean, RegexTokenVisitor)} without validation for large expressions.
+     *
+     * @param expression regular expression
+     * @param visitor    token visitor, receives the same sequence
+     * @return <code>true</code> - all tokens are visited, <code>false</code> - visitor stopped scanning.
+     * @see RegexParser#scan(CharSequence, RegexTokenVisitor)
+     */
+    public boolean scan(CharSequence expression, RegexTokenVisitor visitor) {
+        return scan(expression, true, visitor);
+    }
+
+    /**
+     * Pass tokens of any char sequence to visitor. Without validation chars are read from the sequence only, so
+     * expression over memory-mapped file, see {@link com.sharomank.regex.parser.io.MappedCharSequence}, is never
+     * copied into heap; invalid expression is split into tokens as far as lexer reads it instead of single
+     * {@link RegexType#ParseError} token, and {@link #getErrorKind()} is not updated.
+     *
+     * @param expression regular expression
+     * @param validate   check syntax first, see {@link #scan(CharSequence, RegexTokenVisitor)}
+     * @param visitor    token visitor, receives the same sequence
+     * @return <code>true</code> - all tokens are visited, <code>false</code> - visitor stopped scanning.
+     */
+    public boolean scan(CharSequence expression, boolean validate, RegexTokenVisitor visitor) {
+        if (expression == null || isBlank(expression)) {
+            return true;
+        }
+        if (validate && !validator.validate(expression, 0)) {
+            return visitor.visitToken(expression, 0, expression.length(), RegexType.ParseError);
+        }
+        scanHelper.reset(expression);
+        try {
+            return visitTokens(expression, visitor);
+        } finally {
+            scanHelper.reset("");
+        }
+    }
+
+    /**
+     * Pass tokens of expression read from reader to visitor, only sliding window of chars is kept in memory.
+     * Expression is not validated, because syntax check needs the whole expression; use
+     * {@link #scan(CharSequence, RegexTokenVisitor)} when it fits in memory.
+     * <p/>
+     * Visitor receives the window: token text is available through <code>subSequence(start, end)</code> during the
+     * call while token fits in window, offsets are always exact.
+     *
+     * @param reader     source of expression, not closed
+     * @param windowSize count of chars kept in memory
+     * @param visitor    token visitor
+     * @return <code>true</code> - all tokens are visited, <code>false</code> - visitor stopped scanning.
+     * @throws IOException on read error
+     */
+    public boolean scan(Reader reader, int windowSize, RegexTokenVisitor visitor) throws IOException {
+        ReaderCharSequence expression = new ReaderCharSequence(reader, windowSize);
+        scanHelper.reset(expression);
+        try {
+            return visitTokens(expression, visitor);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            scanHelper.reset("");
+        }
+    }
+
+    /**
+     * @see #scan(Reader, int, RegexTokenVisitor)
+     */
+    public boolean scan(Reader reader, RegexTokenVisitor visitor) throws IOException {
+        return scan(reader, DEFAULT_WINDOW_SIZE, visitor);
+    }
+
+    /**
+     * Check syntax of regular expression without exceptions and without tokens
+     *
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link java.util.regex.Pattern#compile(String, int)}
+     * @return <code>true</code> - expression is valid, otherwise see {@link #getErrorKind()}
+     */
+    public boolean validate(String regexPattern, int flags) {
+        return validator.validate(regexPattern, flags);
+    }
+
+    /**
+     * @return kind of syntax error of last expression, <code>null</code> if it is valid
+     */
+    public RegexErrorKind getErrorKind() {
+        return validator.getErrorKind();
+    }
+
+    /**
+     * @return index of syntax error of last expression, <code>-1</code> if it is valid
+     * @see RegexValidation#getErrorIndex()
+     */
+    public int getErrorIndex() {
+        return validator.getErrorIndex();
+    }
+
+    /**
+     * Forget last expression and release buffers grown by very long expressions
+     */
+    public void reset() {
+        if (validator.getCapacity() > RETAINED_CAPACITY) {
+            validator = new RegexValidator();
+        } else {
+            validator.validate("", 0);
+        }
+        if (helper.getCapacity() > RETAINED_CAPACITY) {
+            helper = new ParserHelper(true);
+        } else {
+            helper.reset("");
+        }
+        scanHelper.reset("");
+    }
+
+    RegexValidator getValidator() {
+        return validator;
+    }
+
+    private boolean visitTokens(CharSequence expression, RegexTokenVisitor visitor) {
+        while (RegexParser.lexNextToken(scanHelper)) {
+            if (!visitor.visitToken(expression, scanHelper.getLastStart(), scanHelper.getLastEnd(),
+                    scanHelper.getLastType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBlank(CharSequence expression) {
+        for (int index = 0; index < expression.length(); index++) {
+            if (expression.charAt(index) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
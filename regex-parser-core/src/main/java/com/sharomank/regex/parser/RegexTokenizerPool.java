@@ -0,0 +1,94 @@
+package com.sharomank.regex.parser;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free pool of {@link RegexTokenizer} instances.
+ * <p/>
+ * Tokenizers are kept in fixed slots taken and returned with compare-and-set, so the pool does not depend on
+ * thread identity: it suits virtual threads, where a thread-local tokenizer per short-lived thread would never be
+ * reused, and never blocks the carrier thread. When all slots are taken a new tokenizer is created, when all slots
+ * are full a returned tokenizer is dropped.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexTokenizerPool {
+    private final AtomicReferenceArray<RegexTokenizer> slots;
+
+    /**
+     * Pool with two slots per available processor
+     */
+    public RegexTokenizerPool() {
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param size count of kept tokenizers
+     */
+    public RegexTokenizerPool(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("pool size must be positive");
+        }
+        this.slots = new AtomicReferenceArray<RegexTokenizer>(size);
+    }
+
+    /**
+     * @return pooled or new tokenizer, must be given back by {@link #release(RegexTokenizer)} after use
+     */
+    public RegexTokenizer acquire() {
+        int length = slots.length();
+        int start = probe(length);
+        for (int step = 0; step < length; step++) {
+            int index = (start + step) % length;
+            if (slots.get(index) != null) {
+                RegexTokenizer tokenizer = slots.getAndSet(index, null);
+                if (tokenizer != null) {
+                    return tokenizer;
+                }
+            }
+        }
+        return new RegexTokenizer();
+    }
+
+    /**
+     * Give tokenizer back to pool, tokenizer must not be used by caller after this call
+     *
+     * @param tokenizer tokenizer taken by {@link #acquire()}
+     */
+    public void release(RegexTokenizer tokenizer) {
+        if (tokenizer == null) {
+            return;
+        }
+        tokenizer.reset();
+        int length = slots.length();
+        int start = probe(length);
+        for (int step = 0; step < length; step++) {
+            int index = (start + step) % length;
+            if (slots.get(index) == null && slots.compareAndSet(index, null, tokenizer)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return count of tokenizers waiting in pool
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (int index = 0; index < slots.length(); index++) {
+            if (slots.get(index) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Spread threads over slots to reduce contention on the first slot
+     */
+    private static int probe(int length) {
+        int hash = (int) Thread.currentThread().getId() * 0x9E3779B9;
+        return (hash >>> 1) % length;
+    }
+}
@@ -0,0 +1,107 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.util.regex.Pattern;
+
+/**
+ * Result of syntax check of regular expression.
+ * For invalid expression tokens are the valid prefix followed by single {@link RegexType#ParseError} token.
+ * <p/>
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexValidation {
+    private final RegexTokenStream tokens;
+    private final int flags;
+    private final Pattern pattern;
+    private final RegexErrorKind errorKind;
+    private final String errorDescription;
+    private final int errorIndex;
+
+    RegexValidation(RegexTokenStream tokens, int flags, Pattern pattern) {
+        this(tokens, flags, pattern, null, null, -1);
+    }
+
+    RegexValidation(RegexTokenStream tokens, int flags, Pattern pattern, RegexErrorKind errorKind,
+                    String errorDescription, int errorIndex) {
+        this.tokens = tokens;
+        this.flags = flags;
+        this.pattern = pattern;
+        this.errorKind = errorKind;
+        this.errorDescription = errorDescription;
+        this.errorIndex = errorIndex;
+    }
+
+    public String getExpression() {
+        return tokens.getExpression();
+    }
+
+    /**
+     * @return match flags of {@link Pattern#compile(String, int)}
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    public boolean isValid() {
+        return errorKind == null;
+    }
+
+    /**
+     * @return compiled pattern when check is confirmed by {@link Pattern#compile(String, int)}, otherwise <code>null</code>
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return all tokens of valid expression, for invalid one tokens before error and {@link RegexType#ParseError}
+     * token from error to the end
+     */
+    public RegexTokenStream getTokens() {
+        return tokens;
+    }
+
+    /**
+     * @return count of tokens before error, all tokens for valid expression
+     */
+    public int getValidTokenCount() {
+        return isValid() ? tokens.size() : tokens.size() - 1;
+    }
+
+    /**
+     * @return kind of syntax error, <code>null</code> for valid expression
+     */
+    public RegexErrorKind getErrorKind() {
+        return errorKind;
+    }
+
+    /**
+     * @return description of syntax error, <code>null</code> for valid expression
+     */
+    public String getErrorDescription() {
+        return errorDescription;
+    }
+
+    /**
+     * @return index of syntax error in expression, close to {@link java.util.regex.PatternSyntaxException#getIndex()}
+     * but always within expression; <code>-1</code> for valid expression
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "RegexValidation{" +
+                "expression='" + getExpression() + '\'' +
+                ", flags=" + flags +
+                ", errorKind=" + errorKind +
+                ", errorIndex=" + errorIndex +
+                '}';
+    }
+}
@@ -0,0 +1,1616 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Syntax checker of regular expressions which follows grammar of {@link Pattern} without throwing exceptions.
+ * <p/>
+ * The checker reads expression like <code>Pattern</code> does (the same quoting, inline flags, comments mode and
+ * look-behind length rules), but keeps open groups on explicit stack instead of recursion.
+ * Only names of character properties <code>\p{Name}</code> and characters <code>\N{NAME}</code> are looked up by
+ * <code>Pattern</code> itself, once per distinct name.
+ * <p/>
+ * Instance keeps buffers between calls and is not thread-safe.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class RegexValidator {
+    private static final int ALL_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL
+            | Pattern.UNICODE_CASE | Pattern.CANON_EQ | Pattern.UNIX_LINES | Pattern.LITERAL
+            | Pattern.UNICODE_CHARACTER_CLASS | Pattern.COMMENTS;
+    private static final int PROPERTY_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CHARACTER_CLASS;
+    private static final int MAX_REPS = Integer.MAX_VALUE;
+    private static final int NONE = -1;
+
+    /**
+     * Result of escape and range parsing which is not a char
+     */
+    private static final int ERROR = Integer.MIN_VALUE;
+    private static final int PREDICATE = -1;
+
+    private static final int CAPTURING = 0;
+    private static final int NON_CAPTURING = 1;
+    private static final int ATOMIC = 2;
+    private static final int LOOKAHEAD = 3;
+    private static final int LOOKBEHIND = 4;
+
+    // nodes of look-behind content, recorded to find its maximum length like Pattern does
+    private static final byte NODE_LENGTH = 0;
+    private static final byte NODE_CHAR = 1;
+    private static final byte NODE_NONDETERMINISTIC = 2;
+    private static final byte NODE_BACK_REFERENCE = 3;
+    private static final byte NODE_SEQUENCE = 4;
+    private static final byte NODE_ALTERNATION = 5;
+    private static final byte NODE_GROUP = 6;
+    private static final byte NODE_ATOMIC = 7;
+    private static final byte NODE_LOOKAROUND = 8;
+    private static final byte NODE_QUANTIFIER = 9;
+
+    // quantifier forms: X? and X{0,1}, X{n,m}, X* X+ and X{n,}
+    private static final int FORM_QUES = 0;
+    private static final int FORM_CURLY = 1;
+    private static final int FORM_UNBOUNDED = 2;
+    private static final int GREEDY = 0;
+    private static final int LAZY = 1;
+    private static final int POSSESSIVE = 2;
+
+    private static final int MAX_CACHED_NAMES = 4096;
+    private static final ConcurrentMap<String, Boolean> PROPERTY_NAMES = new ConcurrentHashMap<String, Boolean>();
+    private static final ConcurrentMap<String, Integer> CHARACTER_NAMES = new ConcurrentHashMap<String, Integer>();
+    private static final Method CODE_POINT_OF = getCodePointOfMethod();
+
+    private CharSequence expression;
+    private int[] temp = new int[64];
+    private int[] sources = new int[64];
+    private int[] quoted = new int[0];
+    private int[] quotedSources = new int[0];
+    private int patternLength;
+    private int cursor;
+    private int flags0;
+    private int capturingGroupCount;
+    // names of groups as ranges of expression buffer
+    private int groupNameCount;
+    private int[] groupNameStarts = new int[8];
+    private int[] groupNameLengths = new int[8];
+    private final String[] recentProperties = new String[8];
+    private final int[] recentPropertyKeys = new int[8];
+    private int recentPropertyIndex;
+
+    private RegexErrorKind errorKind;
+    private int errorCursor;
+    private int errorStart;
+    private int classStart;
+
+    // open groups
+    private int depth;
+    private int[] groupStarts = new int[16];
+    private int[] groupFlags = new int[16];
+    private int[] groupKinds = new int[16];
+    private int[] groupNodes = new int[16];
+    private int[] contentNodes = new int[16];
+    private int[] sequenceNodes = new int[16];
+    private int lookBehindDepth;
+
+    private int nodeCount;
+    private int lastNode;
+    private byte[] nodeKinds = new byte[16];
+    private int[] nodeValues = new int[16];
+    private int[] nodeMaximums = new int[16];
+    private byte[] quantifierModes = new byte[16];
+    private int[] nodeParents = new int[16];
+    private int[] firstChildren = new int[16];
+    private int[] lastChildren = new int[16];
+    private int[] nextSiblings = new int[16];
+    private byte escapeNode;
+    private int escapeLength;
+
+    // state of look-behind length study
+    private int studyMax;
+    private boolean studyValid;
+    private boolean studyDeterministic;
+
+    /**
+     * Check syntax of expression
+     *
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link Pattern#compile(String, int)}
+     * @return <code>true</code> - expression is valid, otherwise see {@link #getErrorKind()}
+     */
+    boolean validate(CharSequence regexPattern, int flags) {
+        if (regexPattern == null) {
+            throw new IllegalArgumentException("regex pattern cannot be null");
+        }
+        if ((flags & ~ALL_FLAGS) != 0) {
+            throw new IllegalArgumentException("Unknown flag 0x" + Integer.toHexString(flags));
+        }
+
+        expression = regexPattern;
+        errorKind = null;
+        errorCursor = NONE;
+        errorStart = NONE;
+        if ((flags & Pattern.LITERAL) != 0) {
+            return true;
+        }
+
+        flags0 = flags;
+        cursor = 0;
+        capturingGroupCount = 1;
+        groupNameCount = 0;
+        depth = 0;
+        lookBehindDepth = 0;
+        nodeCount = 0;
+        lastNode = NONE;
+        load(regexPattern);
+        return parse();
+    }
+
+    /**
+     * @return kind of last error, <code>null</code> if expression is valid
+     */
+    RegexErrorKind getErrorKind() {
+        return errorKind;
+    }
+
+    /**
+     * @return index of char where syntax error is found, as {@link PatternSyntaxException#getIndex()} but always
+     * within original expression: offsets are not shifted by removed <code>\Q...\E</code> quoting and
+     * unmatched ')' is reported at its own offset
+     */
+    int getErrorIndex() {
+        if (errorKind == null) {
+            return NONE;
+        }
+        return toSourceOffset(errorCursor);
+    }
+
+    /**
+     * @return index of the first char of construct with syntax error, e.g. '(' of unclosed group
+     */
+    int getErrorStart() {
+        if (errorKind == null) {
+            return NONE;
+        }
+        return toSourceOffset(errorStart == NONE ? errorCursor : errorStart);
+    }
+
+    /**
+     * @return length of expression which fits into buffers without growing
+     */
+    int getCapacity() {
+        return temp.length - 4;
+    }
+
+    private int toSourceOffset(int index) {
+        if (index < 0) {
+            return 0;
+        }
+        return index < patternLength ? sources[index] : expression.length();
+    }
+
+    /**
+     * Copy code points of expression to zero terminated buffer
+     */
+    private void load(CharSequence regexPattern) {
+        int length = regexPattern.length();
+        ensureTextCapacity(length + 4);
+        int count = 0;
+        for (int offset = 0; offset < length; ) {
+            int ch = Character.codePointAt(regexPattern, offset);
+            temp[count] = ch;
+            sources[count] = offset;
+            count++;
+            offset += Character.charCount(ch);
+        }
+        patternLength = count;
+        terminate();
+        removeQuoting();
+    }
+
+    private void terminate() {
+        for (int index = patternLength; index < patternLength + 4; index++) {
+            temp[index] = 0;
+            sources[index] = expression.length();
+        }
+    }
+
+    private void ensureTextCapacity(int capacity) {
+        if (temp.length < capacity) {
+            int length = Math.max(capacity, temp.length * 2);
+            temp = new int[length];
+            sources = new int[length];
+        }
+    }
+
+    /**
+     * Replace <code>\Q...\E</code> quoting with escaped chars, the same way as Pattern does
+     */
+    private void removeQuoting() {
+        int length = patternLength;
+        int i = 0;
+        while (i < length - 1) {
+            if (temp[i] != '\\') {
+                i += 1;
+            } else if (temp[i + 1] != 'Q') {
+                i += 2;
+            } else {
+                break;
+            }
+        }
+        if (i >= length - 1) {
+            return;
+        }
+
+        int j = i;
+        i += 2;
+        int capacity = j + 3 * (length - i) + 6;
+        if (quoted.length < capacity) {
+            quoted = new int[capacity];
+            quotedSources = new int[capacity];
+        }
+        System.arraycopy(temp, 0, quoted, 0, j);
+        System.arraycopy(sources, 0, quotedSources, 0, j);
+
+        boolean inQuote = true;
+        boolean beginQuote = true;
+        while (i < length) {
+            int source = sources[i];
+            int ch = temp[i++];
+            if (ch >= 128 || isAlpha(ch)) {
+                quotedSources[j] = source;
+                quoted[j++] = ch;
+            } else if (isDigit(ch)) {
+                if (beginQuote) {
+                    // digit must not continue escape before the quote, so it is written as \x3n
+                    quotedSources[j] = source;
+                    quoted[j++] = '\\';
+                    quotedSources[j] = source;
+                    quoted[j++] = 'x';
+                    quotedSources[j] = source;
+                    quoted[j++] = '3';
+                }
+                quotedSources[j] = source;
+                quoted[j++] = ch;
+            } else if (ch != '\\') {
+                if (inQuote) {
+                    quotedSources[j] = source;
+                    quoted[j++] = '\\';
+                }
+                quotedSources[j] = source;
+                quoted[j++] = ch;
+            } else if (inQuote) {
+                if (temp[i] == 'E') {
+                    i++;
+                    inQuote = false;
+                } else {
+                    quotedSources[j] = source;
+                    quoted[j++] = '\\';
+                    quotedSources[j] = source;
+                    quoted[j++] = '\\';
+                }
+            } else {
+                if (temp[i] == 'Q') {
+                    i++;
+                    inQuote = true;
+                    beginQuote = true;
+                    continue;
+                }
+                quotedSources[j] = source;
+                quoted[j++] = ch;
+                if (i != length) {
+                    quotedSources[j] = sources[i];
+                    quoted[j++] = temp[i++];
+                }
+            }
+            beginQuote = false;
+        }
+
+        // quoted text becomes pattern, old buffers are kept for next expression
+        int[] swap = temp;
+        temp = quoted;
+        quoted = swap;
+        swap = sources;
+        sources = quotedSources;
+        quotedSources = swap;
+        patternLength = j;
+        terminate();
+    }
+
+    /**
+     * Main loop over sequences, alternations and groups
+     */
+    private boolean parse() {
+        for (;;) {
+            int ch = peek();
+            switch (ch) {
+                case '(':
+                    if (!openGroup()) {
+                        return false;
+                    }
+                    continue;
+                case '[':
+                    classStart = cursor;
+                    if (!clazz(true)) {
+                        return false;
+                    }
+                    addCharProperty();
+                    break;
+                case '\\':
+                    ch = nextEscaped();
+                    if (ch == 'p' || ch == 'P') {
+                        if (!property()) {
+                            return false;
+                        }
+                        addCharProperty();
+                    } else {
+                        unread();
+                        if (!atom()) {
+                            return false;
+                        }
+                    }
+                    break;
+                case '^':
+                case '$':
+                    next();
+                    addNode(NODE_LENGTH, 0);
+                    break;
+                case '.':
+                    next();
+                    addNode(NODE_CHAR, 1);
+                    break;
+                case '|':
+                    next();
+                    startBranch();
+                    continue;
+                case ')':
+                    if (depth == 0) {
+                        errorCursor = cursor;
+                        return fail(RegexErrorKind.UnmatchedClosingParenthesis);
+                    }
+                    if (!closeGroup()) {
+                        return false;
+                    }
+                    continue;
+                case '?':
+                case '*':
+                case '+':
+                    next();
+                    return fail(RegexErrorKind.DanglingMetaCharacter);
+                case 0:
+                    if (cursor >= patternLength) {
+                        return finish();
+                    }
+                    if (!atom()) {
+                        return false;
+                    }
+                    break;
+                default:
+                    // ']' and '}' without opening are literals too
+                    if (!atom()) {
+                        return false;
+                    }
+                    break;
+            }
+            if (!closure()) {
+                return false;
+            }
+        }
+    }
+
+    private boolean finish() {
+        if (depth > 0) {
+            int top = depth - 1;
+            if (groupKinds[top] == LOOKBEHIND && !hasMaximumLength(groupNodes[top])) {
+                errorStart = groupStarts[top];
+                return fail(RegexErrorKind.LookBehindWithoutMaximumLength);
+            }
+            read();
+            errorStart = groupStarts[top];
+            return fail(RegexErrorKind.UnclosedGroup);
+        }
+        if (cursor != patternLength) {
+            // escape read past the end
+            return fail(RegexErrorKind.UnexpectedEnd);
+        }
+        return true;
+    }
+
+    private boolean fail(RegexErrorKind kind) {
+        errorKind = kind;
+        if (errorCursor == NONE) {
+            errorCursor = cursor - 1;
+        }
+        return false;
+    }
+
+    private boolean fail(RegexErrorKind kind, int start) {
+        errorStart = start;
+        return fail(kind);
+    }
+
+    private boolean openGroup() {
+        int start = cursor;
+        int save = flags0;
+        int kind;
+        int ch = next();
+        if (ch == '?') {
+            ch = skip();
+            switch (ch) {
+                case ':':
+                    kind = NON_CAPTURING;
+                    break;
+                case '=':
+                case '!':
+                    kind = LOOKAHEAD;
+                    break;
+                case '>':
+                    kind = ATOMIC;
+                    break;
+                case '<':
+                    ch = read();
+                    if (ch != '=' && ch != '!') {
+                        int nameStart = groupName(ch);
+                        if (nameStart == NONE) {
+                            return false;
+                        }
+                        int nameLength = cursor - 1 - nameStart;
+                        if (findGroupName(nameStart, nameLength)) {
+                            return fail(RegexErrorKind.DuplicateGroupName, start);
+                        }
+                        addGroupName(nameStart, nameLength);
+                        capturingGroupCount++;
+                        kind = CAPTURING;
+                        break;
+                    }
+                    kind = LOOKBEHIND;
+                    break;
+                case '$':
+                case '@':
+                    return fail(RegexErrorKind.UnknownGroupType, start);
+                default:
+                    unread();
+                    addFlags();
+                    ch = read();
+                    if (ch == ')') {
+                        // inline flags only, they are active until the end of enclosing group
+                        return true;
+                    }
+                    if (ch != ':') {
+                        return fail(RegexErrorKind.UnknownInlineModifier, start);
+                    }
+                    kind = NON_CAPTURING;
+                    break;
+            }
+        } else {
+            capturingGroupCount++;
+            kind = CAPTURING;
+        }
+
+        pushGroup(start, save, kind);
+        return true;
+    }
+
+    private void pushGroup(int start, int save, int kind) {
+        if (depth == groupStarts.length) {
+            int length = depth * 2;
+            groupStarts = Arrays.copyOf(groupStarts, length);
+            groupFlags = Arrays.copyOf(groupFlags, length);
+            groupKinds = Arrays.copyOf(groupKinds, length);
+            groupNodes = Arrays.copyOf(groupNodes, length);
+            contentNodes = Arrays.copyOf(contentNodes, length);
+            sequenceNodes = Arrays.copyOf(sequenceNodes, length);
+        }
+
+        int groupNode = NONE;
+        int content = NONE;
+        if (kind == LOOKBEHIND || lookBehindDepth > 0) {
+            byte nodeKind = kind == ATOMIC ? NODE_ATOMIC
+                    : kind == LOOKAHEAD || kind == LOOKBEHIND ? NODE_LOOKAROUND : NODE_GROUP;
+            groupNode = newNode(nodeKind, 0);
+            if (lookBehindDepth > 0) {
+                appendNode(sequenceNodes[depth - 1], groupNode);
+            }
+            content = newNode(NODE_SEQUENCE, 0);
+            appendNode(groupNode, content);
+        }
+        if (kind == LOOKBEHIND) {
+            lookBehindDepth++;
+        }
+
+        groupStarts[depth] = start;
+        groupFlags[depth] = save;
+        groupKinds[depth] = kind;
+        groupNodes[depth] = groupNode;
+        contentNodes[depth] = content;
+        sequenceNodes[depth] = content;
+        depth++;
+        lastNode = NONE;
+    }
+
+    private boolean closeGroup() {
+        int top = depth - 1;
+        if (groupKinds[top] == LOOKBEHIND && !hasMaximumLength(groupNodes[top])) {
+            return fail(RegexErrorKind.LookBehindWithoutMaximumLength, groupStarts[top]);
+        }
+        if (read() != ')') {
+            return fail(RegexErrorKind.UnclosedGroup, groupStarts[top]);
+        }
+
+        flags0 = groupFlags[top];
+        depth--;
+        if (groupKinds[top] == LOOKBEHIND) {
+            lookBehindDepth--;
+        }
+        if (lookBehindDepth == 0) {
+            nodeCount = 0;
+            lastNode = NONE;
+        } else {
+            lastNode = groupNodes[top];
+        }
+        return closure();
+    }
+
+    private void startBranch() {
+        lastNode = NONE;
+        if (depth == 0 || lookBehindDepth == 0) {
+            return;
+        }
+
+        int top = depth - 1;
+        int alternation = contentNodes[top];
+        if (nodeKinds[alternation] != NODE_ALTERNATION) {
+            int sequence = alternation;
+            alternation = newNode(NODE_ALTERNATION, 0);
+            firstChildren[groupNodes[top]] = NONE;
+            lastChildren[groupNodes[top]] = NONE;
+            appendNode(groupNodes[top], alternation);
+            appendNode(alternation, sequence);
+            contentNodes[top] = alternation;
+        }
+        int sequence = newNode(NODE_SEQUENCE, 0);
+        appendNode(alternation, sequence);
+        sequenceNodes[top] = sequence;
+    }
+
+    private void addFlags() {
+        int ch = peek();
+        for (;;) {
+            int flag = getFlag(ch);
+            if (flag != 0) {
+                flags0 |= flag;
+            } else if (ch == '-') {
+                ch = next();
+                for (flag = getFlag(ch); flag != 0; flag = getFlag(ch)) {
+                    flags0 &= ~flag;
+                    ch = next();
+                }
+                return;
+            } else {
+                return;
+            }
+            ch = next();
+        }
+    }
+
+    private static int getFlag(int ch) {
+        switch (ch) {
+            case 'i':
+                return Pattern.CASE_INSENSITIVE;
+            case 'm':
+                return Pattern.MULTILINE;
+            case 's':
+                return Pattern.DOTALL;
+            case 'd':
+                return Pattern.UNIX_LINES;
+            case 'u':
+                return Pattern.UNICODE_CASE;
+            case 'c':
+                return Pattern.CANON_EQ;
+            case 'x':
+                return Pattern.COMMENTS;
+            case 'U':
+                return Pattern.UNICODE_CHARACTER_CLASS | Pattern.UNICODE_CASE;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Read name of group up to '&gt;', name is <code>temp[start, cursor - 1)</code>
+     *
+     * @return start of name, {@link #NONE} on error
+     */
+    private int groupName(int ch) {
+        int start = cursor - 1;
+        if (!isAlpha(ch)) {
+            fail(RegexErrorKind.IllegalGroupName);
+            return NONE;
+        }
+        while (isAlphaOrDigit(ch = read())) {
+            // name is kept in expression buffer
+        }
+        if (ch != '>') {
+            fail(RegexErrorKind.IllegalGroupName, start);
+            return NONE;
+        }
+        return start;
+    }
+
+    private boolean findGroupName(int start, int length) {
+        for (int index = 0; index < groupNameCount; index++) {
+            if (groupNameLengths[index] != length) {
+                continue;
+            }
+            int other = groupNameStarts[index];
+            int i = 0;
+            while (i < length && temp[other + i] == temp[start + i]) {
+                i++;
+            }
+            if (i == length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addGroupName(int start, int length) {
+        if (groupNameCount == groupNameStarts.length) {
+            groupNameStarts = Arrays.copyOf(groupNameStarts, groupNameCount * 2);
+            groupNameLengths = Arrays.copyOf(groupNameLengths, groupNameCount * 2);
+        }
+        groupNameStarts[groupNameCount] = start;
+        groupNameLengths[groupNameCount] = length;
+        groupNameCount++;
+    }
+
+    /**
+     * Read literal chars and escapes up to quantifier, last char before quantifier is separate atom
+     */
+    private boolean atom() {
+        int first = 0;
+        int prev = NONE;
+        int ch = peek();
+        for (;;) {
+            switch (ch) {
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    if (first > 1) {
+                        cursor = prev;
+                        first--;
+                    }
+                    break;
+                case '$':
+                case '.':
+                case '^':
+                case '(':
+                case '[':
+                case '|':
+                case ')':
+                    break;
+                case '\\':
+                    ch = nextEscaped();
+                    if (ch == 'p' || ch == 'P') {
+                        if (first > 0) {
+                            unread();
+                            break;
+                        }
+                        if (!property()) {
+                            return false;
+                        }
+                        addCharProperty();
+                        return true;
+                    }
+                    unread();
+                    prev = cursor;
+                    ch = escape(false, first == 0, false);
+                    if (ch == ERROR) {
+                        return false;
+                    } else if (ch >= 0) {
+                        first++;
+                        ch = peek();
+                        continue;
+                    } else if (first == 0) {
+                        addNode(escapeNode, escapeLength);
+                        return true;
+                    }
+                    cursor = prev;
+                    break;
+                case 0:
+                    if (cursor >= patternLength) {
+                        break;
+                    }
+                    prev = cursor;
+                    first++;
+                    ch = next();
+                    continue;
+                default:
+                    prev = cursor;
+                    first++;
+                    ch = next();
+                    continue;
+            }
+            break;
+        }
+        addNode(first == 1 ? NODE_CHAR : NODE_LENGTH, first);
+        return true;
+    }
+
+    /**
+     * Parse escape after backslash
+     *
+     * @param inClass  escape is inside of character class
+     * @param create   escape starts new atom
+     * @param isRange  escape is bound of character range
+     * @return char of escape, {@link #PREDICATE} for escapes which are not single char (kind is kept in
+     * {@link #escapeNode}) or {@link #ERROR}
+     */
+    private int escape(boolean inClass, boolean create, boolean isRange) {
+        int ch = skip();
+        switch (ch) {
+            case '0':
+                return octal();
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                if (inClass) {
+                    break;
+                }
+                if (create) {
+                    reference(ch - '0');
+                }
+                return escapeNode(NODE_BACK_REFERENCE, 0);
+            case 'A':
+            case 'B':
+            case 'G':
+            case 'Z':
+            case 'z':
+                if (inClass) {
+                    break;
+                }
+                return escapeNode(NODE_LENGTH, 0);
+            case 'R':
+                if (inClass) {
+                    break;
+                }
+                // line ending is one or two chars
+                return escapeNode(NODE_LENGTH, 2);
+            case 'X':
+                if (inClass) {
+                    break;
+                }
+                return escapeNode(NODE_NONDETERMINISTIC, 0);
+            case 'D':
+            case 'H':
+            case 'S':
+            case 'V':
+            case 'W':
+            case 'd':
+            case 'h':
+            case 's':
+            case 'w':
+                return escapeNode(NODE_CHAR, 1);
+            case 'v':
+                if (isRange) {
+                    return '\013';
+                }
+                return escapeNode(NODE_CHAR, 1);
+            case 'N':
+                return characterName();
+            case 'a':
+                return '\007';
+            case 'b':
+                if (inClass) {
+                    break;
+                }
+                if (create && peek() == '{') {
+                    if (skip() == 'g') {
+                        if (read() == '}') {
+                            return escapeNode(NODE_LENGTH, 0);
+                        }
+                        break;
+                    }
+                    unread();
+                    unread();
+                }
+                return escapeNode(NODE_LENGTH, 0);
+            case 'c':
+                if (cursor < patternLength) {
+                    return read() ^ 64;
+                }
+                break;
+            case 'e':
+                return '\033';
+            case 'f':
+                return '\f';
+            case 'k':
+                if (inClass) {
+                    break;
+                }
+                if (read() != '<') {
+                    break;
+                }
+                int start = cursor - 3;
+                int nameStart = groupName(read());
+                if (nameStart == NONE) {
+                    return ERROR;
+                }
+                if (!findGroupName(nameStart, cursor - 1 - nameStart)) {
+                    fail(RegexErrorKind.UnknownGroupReference, start);
+                    return ERROR;
+                }
+                return escapeNode(NODE_BACK_REFERENCE, 0);
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                return unicode();
+            case 'x':
+                return hex();
+            default:
+                if (isAlpha(ch)) {
+                    break;
+                }
+                return ch;
+        }
+        fail(RegexErrorKind.IllegalEscapeSequence);
+        return ERROR;
+    }
+
+    private int escapeNode(byte kind, int length) {
+        escapeNode = kind;
+        escapeLength = length;
+        return PREDICATE;
+    }
+
+    /**
+     * Consume digits of back reference while group with such number exists
+     */
+    private void reference(int number) {
+        for (int ch = peek(); isDigit(ch); ch = peek()) {
+            int newNumber = number * 10 + (ch - '0');
+            if (capturingGroupCount - 1 < newNumber) {
+                return;
+            }
+            number = newNumber;
+            read();
+        }
+    }
+
+    private int octal() {
+        int n = read();
+        if (((n - '0') | ('7' - n)) >= 0) {
+            int m = read();
+            if (((m - '0') | ('7' - m)) >= 0) {
+                int o = read();
+                if ((((o - '0') | ('7' - o)) >= 0) && (((n - '0') | ('3' - n)) >= 0)) {
+                    return (n - '0') * 64 + (m - '0') * 8 + (o - '0');
+                }
+                unread();
+                return (n - '0') * 8 + (m - '0');
+            }
+            unread();
+            return n - '0';
+        }
+        fail(RegexErrorKind.IllegalEscapeSequence);
+        return ERROR;
+    }
+
+    private int hex() {
+        int n = read();
+        if (isHexDigit(n)) {
+            int m = read();
+            if (isHexDigit(m)) {
+                return Character.digit(n, 16) * 16 + Character.digit(m, 16);
+            }
+        } else if (n == '{' && isHexDigit(peek())) {
+            int ch = 0;
+            while (isHexDigit(n = read())) {
+                ch = (ch << 4) + Character.digit(n, 16);
+                if (ch > Character.MAX_CODE_POINT) {
+                    fail(RegexErrorKind.IllegalEscapeSequence);
+                    return ERROR;
+                }
+            }
+            if (n == '}') {
+                return ch;
+            }
+        }
+        fail(RegexErrorKind.IllegalEscapeSequence);
+        return ERROR;
+    }
+
+    private int unicode() {
+        int n = unicodeChar();
+        if (n == ERROR) {
+            return ERROR;
+        }
+        if (Character.isHighSurrogate((char) n)) {
+            int saved = cursor;
+            if (read() == '\\' && read() == 'u') {
+                int low = unicodeChar();
+                if (low == ERROR) {
+                    return ERROR;
+                }
+                if (Character.isLowSurrogate((char) low)) {
+                    return Character.toCodePoint((char) n, (char) low);
+                }
+            }
+            cursor = saved;
+        }
+        return n;
+    }
+
+    private int unicodeChar() {
+        int n = 0;
+        for (int i = 0; i < 4; i++) {
+            int ch = read();
+            if (!isHexDigit(ch)) {
+                fail(RegexErrorKind.IllegalEscapeSequence);
+                return ERROR;
+            }
+            n = n * 16 + Character.digit(ch, 16);
+        }
+        return n;
+    }
+
+    private int characterName() {
+        if (CODE_POINT_OF == null || read() != '{') {
+            fail(RegexErrorKind.IllegalEscapeSequence);
+            return ERROR;
+        }
+        int start = cursor;
+        while (read() != '}') {
+            if (cursor >= patternLength) {
+                fail(RegexErrorKind.IllegalEscapeSequence);
+                return ERROR;
+            }
+        }
+        int codePoint = getCodePoint(new String(temp, start, cursor - start - 1));
+        if (codePoint < 0) {
+            fail(RegexErrorKind.UnknownCharacterName);
+            return ERROR;
+        }
+        return codePoint;
+    }
+
+    /**
+     * Parse character property <code>\pL</code> or <code>\p{Name}</code>, cursor is on 'p'
+     */
+    private boolean property() {
+        int start = cursor - 1;
+        boolean singleLetter = true;
+        int ch = next();
+        if (ch != '{') {
+            unread();
+        } else {
+            singleLetter = false;
+        }
+
+        next();
+        int nameStart = cursor;
+        int nameLength = 1;
+        if (singleLetter) {
+            read();
+        } else {
+            temp[patternLength] = '}';
+            while (read() != '}') {
+                // skip to closing brace
+            }
+            temp[patternLength] = 0;
+            int nameEnd = cursor;
+            if (nameEnd > patternLength || nameStart + 1 >= nameEnd) {
+                return fail(RegexErrorKind.UnknownCharacterProperty, start);
+            }
+            nameLength = nameEnd - nameStart - 1;
+        }
+        int flags = flags0 & PROPERTY_FLAGS;
+        if (isRecentProperty(nameStart, nameLength, flags, singleLetter)) {
+            return true;
+        }
+        String name = new String(temp, nameStart, nameLength);
+        if (!isPropertyName(name, flags, singleLetter)) {
+            return fail(RegexErrorKind.UnknownCharacterProperty, start);
+        }
+        recentProperties[recentPropertyIndex] = name;
+        recentPropertyKeys[recentPropertyIndex] = singleLetter ? ~flags : flags;
+        recentPropertyIndex = (recentPropertyIndex + 1) % recentProperties.length;
+        return true;
+    }
+
+    /**
+     * Compare property name with recently accepted names without creating string
+     */
+    private boolean isRecentProperty(int nameStart, int nameLength, int flags, boolean singleLetter) {
+        int key = singleLetter ? ~flags : flags;
+        for (int index = 0; index < recentProperties.length; index++) {
+            String name = recentProperties[index];
+            if (name == null || recentPropertyKeys[index] != key || name.length() != nameLength) {
+                continue;
+            }
+            int i = 0;
+            while (i < nameLength && name.charAt(i) == temp[nameStart + i]) {
+                i++;
+            }
+            if (i == nameLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPropertyName(String name, int flags, boolean singleLetter) {
+        String key = flags + (singleLetter ? ":" : "{") + name;
+        Boolean known = PROPERTY_NAMES.get(key);
+        if (known == null) {
+            try {
+                Pattern.compile(singleLetter ? "\\p" + name : "\\p{" + name + "}", flags);
+                known = Boolean.TRUE;
+            } catch (PatternSyntaxException e) {
+                known = Boolean.FALSE;
+            }
+            if (PROPERTY_NAMES.size() < MAX_CACHED_NAMES) {
+                PROPERTY_NAMES.put(key, known);
+            }
+        }
+        return known;
+    }
+
+    private static int getCodePoint(String name) {
+        Integer codePoint = CHARACTER_NAMES.get(name);
+        if (codePoint == null) {
+            try {
+                codePoint = (Integer) CODE_POINT_OF.invoke(null, name);
+            } catch (Exception e) {
+                codePoint = NONE;
+            }
+            if (CHARACTER_NAMES.size() < MAX_CACHED_NAMES) {
+                CHARACTER_NAMES.put(name, codePoint);
+            }
+        }
+        return codePoint;
+    }
+
+    /**
+     * <code>Character.codePointOf(String)</code> exists since Java 9, the same as <code>\N{NAME}</code> support
+     */
+    private static Method getCodePointOfMethod() {
+        try {
+            return Character.class.getMethod("codePointOf", String.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse character class, cursor is on '[' or on the first char of implicit class after '&amp;&amp;'
+     *
+     * @param consume consume closing ']'
+     */
+    private boolean clazz(boolean consume) {
+        boolean hasChars = false;
+        int ch = next();
+        if (ch == '^' && temp[cursor - 1] == '[') {
+            ch = next();
+        }
+        for (;;) {
+            switch (ch) {
+                case '[':
+                    if (!clazz(true)) {
+                        return false;
+                    }
+                    hasChars = true;
+                    ch = peek();
+                    continue;
+                case '&':
+                    ch = next();
+                    if (ch == '&') {
+                        ch = next();
+                        boolean hasRight = false;
+                        while (ch != ']' && ch != '&') {
+                            if (ch == '[') {
+                                if (!clazz(true)) {
+                                    return false;
+                                }
+                            } else {
+                                unread();
+                                if (!clazz(false)) {
+                                    return false;
+                                }
+                            }
+                            hasRight = true;
+                            ch = peek();
+                        }
+                        if (!hasChars && !hasRight) {
+                            return fail(RegexErrorKind.BadClassSyntax);
+                        }
+                        hasChars = true;
+                        continue;
+                    }
+                    // literal '&'
+                    unread();
+                    break;
+                case 0:
+                    if (cursor >= patternLength) {
+                        return fail(RegexErrorKind.UnclosedCharacterClass, classStart);
+                    }
+                    break;
+                case ']':
+                    if (hasChars) {
+                        if (consume) {
+                            next();
+                        }
+                        return true;
+                    }
+                    // ']' right after '[' is literal
+                    break;
+                default:
+                    break;
+            }
+            if (!range()) {
+                return false;
+            }
+            hasChars = true;
+            ch = peek();
+        }
+    }
+
+    /**
+     * Parse single char, escape, property or range of chars in character class
+     */
+    private boolean range() {
+        int ch = peek();
+        if (ch == '\\') {
+            ch = nextEscaped();
+            if (ch == 'p' || ch == 'P') {
+                return property();
+            }
+            boolean isRange = temp[cursor + 1] == '-';
+            unread();
+            ch = escape(true, true, isRange);
+            if (ch == ERROR) {
+                return false;
+            } else if (ch == PREDICATE) {
+                return true;
+            }
+        } else {
+            next();
+        }
+
+        if (peek() == '-') {
+            int endRange = temp[cursor + 1];
+            if (endRange != '[' && endRange != ']') {
+                next();
+                int m = peek();
+                if (m == '\\') {
+                    m = escape(true, false, true);
+                    if (m == ERROR) {
+                        return false;
+                    }
+                } else {
+                    next();
+                }
+                if (m < ch) {
+                    return fail(RegexErrorKind.IllegalCharacterRange);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parse quantifier after atom or group
+     */
+    private boolean closure() {
+        int ch = peek();
+        switch (ch) {
+            case '?':
+                addQuantifier(FORM_QUES, 0, 1, quantifierType());
+                return true;
+            case '*':
+                addQuantifier(FORM_UNBOUNDED, 0, MAX_REPS, quantifierType());
+                return true;
+            case '+':
+                addQuantifier(FORM_UNBOUNDED, 1, MAX_REPS, quantifierType());
+                return true;
+            case '{':
+                ch = skip();
+                if (!isDigit(ch)) {
+                    return fail(RegexErrorKind.IllegalRepetition);
+                }
+                long min = 0;
+                long max;
+                do {
+                    min = min * 10 + (ch - '0');
+                    if (min > MAX_REPS) {
+                        return fail(RegexErrorKind.IllegalRepetitionRange);
+                    }
+                } while (isDigit(ch = read()));
+                if (ch == ',') {
+                    ch = read();
+                    if (ch == '}') {
+                        unread();
+                        addQuantifier(FORM_UNBOUNDED, (int) min, MAX_REPS, quantifierType());
+                        return true;
+                    }
+                    max = 0;
+                    while (isDigit(ch)) {
+                        max = max * 10 + (ch - '0');
+                        if (max > MAX_REPS) {
+                            return fail(RegexErrorKind.IllegalRepetitionRange);
+                        }
+                        ch = read();
+                    }
+                } else {
+                    max = min;
+                }
+                if (ch != '}') {
+                    return fail(RegexErrorKind.UnclosedCountedClosure);
+                }
+                if (max < min) {
+                    return fail(RegexErrorKind.IllegalRepetitionRange);
+                }
+                unread();
+                addQuantifier(min == 0 && max == 1 ? FORM_QUES : FORM_CURLY, (int) min, (int) max, quantifierType());
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    private int quantifierType() {
+        int ch = next();
+        if (ch == '?') {
+            next();
+            return LAZY;
+        } else if (ch == '+') {
+            next();
+            return POSSESSIVE;
+        }
+        return GREEDY;
+    }
+
+    private void addCharProperty() {
+        // canonical equivalence matches decomposed chars, so class and property are not single char
+        addNode((flags0 & Pattern.CANON_EQ) != 0 ? NODE_NONDETERMINISTIC : NODE_CHAR, 1);
+    }
+
+    private void addNode(byte kind, int value) {
+        if (lookBehindDepth == 0) {
+            return;
+        }
+        int node = newNode(kind, value);
+        appendNode(sequenceNodes[depth - 1], node);
+        lastNode = node;
+    }
+
+    /**
+     * Wrap last node into quantifier node: node is moved to new child and its index becomes quantifier
+     */
+    private void addQuantifier(int form, int min, int max, int type) {
+        if (lastNode == NONE) {
+            return;
+        }
+        int node = lastNode;
+        int copy = newNode(nodeKinds[node], nodeValues[node]);
+        nodeMaximums[copy] = nodeMaximums[node];
+        firstChildren[copy] = firstChildren[node];
+        lastChildren[copy] = lastChildren[node];
+        for (int child = firstChildren[copy]; child != NONE; child = nextSiblings[child]) {
+            nodeParents[child] = copy;
+        }
+
+        nodeKinds[node] = NODE_QUANTIFIER;
+        nodeValues[node] = min;
+        nodeMaximums[node] = max;
+        quantifierModes[node] = (byte) (form * 3 + type);
+        firstChildren[node] = NONE;
+        lastChildren[node] = NONE;
+        appendNode(node, copy);
+        lastNode = NONE;
+    }
+
+    private int newNode(byte kind, int value) {
+        if (nodeCount == nodeKinds.length) {
+            int length = nodeCount * 2;
+            nodeKinds = Arrays.copyOf(nodeKinds, length);
+            nodeValues = Arrays.copyOf(nodeValues, length);
+            nodeMaximums = Arrays.copyOf(nodeMaximums, length);
+            quantifierModes = Arrays.copyOf(quantifierModes, length);
+            nodeParents = Arrays.copyOf(nodeParents, length);
+            firstChildren = Arrays.copyOf(firstChildren, length);
+            lastChildren = Arrays.copyOf(lastChildren, length);
+            nextSiblings = Arrays.copyOf(nextSiblings, length);
+        }
+        int node = nodeCount++;
+        nodeKinds[node] = kind;
+        nodeValues[node] = value;
+        nodeMaximums[node] = 0;
+        quantifierModes[node] = 0;
+        nodeParents[node] = NONE;
+        firstChildren[node] = NONE;
+        lastChildren[node] = NONE;
+        nextSiblings[node] = NONE;
+        return node;
+    }
+
+    private void appendNode(int parent, int child) {
+        nodeParents[child] = parent;
+        if (lastChildren[parent] == NONE) {
+            firstChildren[parent] = child;
+        } else {
+            nextSiblings[lastChildren[parent]] = child;
+        }
+        lastChildren[parent] = child;
+    }
+
+    /**
+     * Check that look-behind content has maximum length, see <code>TreeInfo</code> of Pattern
+     */
+    private boolean hasMaximumLength(int lookBehind) {
+        resetStudy();
+        study(firstChildren[lookBehind]);
+        return studyValid;
+    }
+
+    private void resetStudy() {
+        studyMax = 0;
+        studyValid = true;
+        studyDeterministic = true;
+    }
+
+    /**
+     * Add nodes of subtree to study state in match order. Groups are transparent, everything after alternation
+     * is studied from scratch and added at the end, like <code>Branch.study</code> of Pattern does.
+     */
+    private void study(int root) {
+        int pendingMax = 0;
+        boolean pendingValid = true;
+        boolean branched = false;
+        int node = root;
+        while (node != NONE) {
+            switch (nodeKinds[node]) {
+                case NODE_SEQUENCE:
+                case NODE_GROUP:
+                    if (firstChildren[node] != NONE) {
+                        node = firstChildren[node];
+                        continue;
+                    }
+                    break;
+                case NODE_LENGTH:
+                case NODE_CHAR:
+                    studyMax += nodeValues[node];
+                    break;
+                case NODE_NONDETERMINISTIC:
+                    studyDeterministic = false;
+                    break;
+                case NODE_BACK_REFERENCE:
+                    studyValid = false;
+                    break;
+                case NODE_ATOMIC:
+                    study(firstChildren[node]);
+                    break;
+                case NODE_ALTERNATION:
+                case NODE_QUANTIFIER:
+                    if (isBranch(node)) {
+                        int maxLength = studyMax;
+                        boolean maxValid = studyValid;
+                        int branchMax = nodeKinds[node] == NODE_ALTERNATION ? -1 : 0;
+                        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+                            resetStudy();
+                            study(child);
+                            branchMax = Math.max(branchMax, studyMax);
+                            maxValid &= studyValid;
+                        }
+                        pendingMax += maxLength + branchMax;
+                        pendingValid &= maxValid;
+                        branched = true;
+                        resetStudy();
+                    } else {
+                        studyQuantifier(node);
+                    }
+                    break;
+                default:
+                    // look-around does not consume chars
+                    break;
+            }
+            node = getNextInStudy(node, root);
+        }
+        studyMax += pendingMax;
+        studyValid &= pendingValid;
+        if (branched) {
+            studyDeterministic = false;
+        }
+    }
+
+    /**
+     * @return node is alternation or optional group, both are <code>Branch</code> in Pattern
+     */
+    private boolean isBranch(int node) {
+        if (nodeKinds[node] == NODE_ALTERNATION) {
+            return true;
+        }
+        int mode = quantifierModes[node];
+        return mode / 3 == FORM_QUES && mode % 3 != POSSESSIVE && nodeKinds[firstChildren[node]] == NODE_GROUP;
+    }
+
+    private void studyQuantifier(int node) {
+        int child = firstChildren[node];
+        int form = quantifierModes[node] / 3;
+        int type = quantifierModes[node] % 3;
+        int min = nodeValues[node];
+        int max = nodeMaximums[node];
+
+        if (form == FORM_QUES) {
+            study(child);
+            studyDeterministic = false;
+        } else if (form == FORM_UNBOUNDED && type == GREEDY && nodeKinds[child] == NODE_CHAR) {
+            if (studyValid) {
+                studyMax += MAX_REPS;
+            }
+            studyDeterministic = false;
+        } else if (nodeKinds[child] == NODE_GROUP && type != POSSESSIVE && !isDeterministic(child)) {
+            // loop over group
+            studyValid = false;
+            studyDeterministic = false;
+        } else {
+            int maxLength = studyMax;
+            boolean maxValid = studyValid;
+            boolean deterministic = studyDeterministic;
+            resetStudy();
+            study(child);
+            if (maxValid && studyValid) {
+                int length = studyMax * max + maxLength;
+                studyMax = length;
+                if (length < maxLength) {
+                    studyValid = false;
+                }
+            } else {
+                studyValid = false;
+            }
+            studyDeterministic = studyDeterministic && min == max && deterministic;
+        }
+    }
+
+    private boolean isDeterministic(int node) {
+        int maxLength = studyMax;
+        boolean maxValid = studyValid;
+        boolean deterministic = studyDeterministic;
+        resetStudy();
+        study(node);
+        boolean result = studyDeterministic;
+        studyMax = maxLength;
+        studyValid = maxValid;
+        studyDeterministic = deterministic;
+        return result;
+    }
+
+    private int getNextInStudy(int node, int root) {
+        for (int current = node; current != root; current = nodeParents[current]) {
+            if (nextSiblings[current] != NONE) {
+                return nextSiblings[current];
+            }
+        }
+        return NONE;
+    }
+
+    private int peek() {
+        int ch = temp[cursor];
+        if ((flags0 & Pattern.COMMENTS) != 0) {
+            ch = peekPastWhitespace(ch);
+        }
+        return ch;
+    }
+
+    private int read() {
+        int ch = temp[cursor++];
+        if ((flags0 & Pattern.COMMENTS) != 0) {
+            ch = parsePastWhitespace(ch);
+        }
+        return ch;
+    }
+
+    private int next() {
+        int ch = temp[++cursor];
+        if ((flags0 & Pattern.COMMENTS) != 0) {
+            ch = peekPastWhitespace(ch);
+        }
+        return ch;
+    }
+
+    private int nextEscaped() {
+        return temp[++cursor];
+    }
+
+    private int skip() {
+        int ch = temp[cursor + 1];
+        cursor += 2;
+        return ch;
+    }
+
+    private void unread() {
+        cursor--;
+    }
+
+    private int peekPastWhitespace(int ch) {
+        while (isSpace(ch) || ch == '#') {
+            while (isSpace(ch)) {
+                ch = temp[++cursor];
+            }
+            if (ch == '#') {
+                ch = temp[++cursor];
+                while (ch != 0 && !isLineSeparator(ch)) {
+                    ch = temp[++cursor];
+                }
+                if (ch == 0 && cursor > patternLength) {
+                    cursor = patternLength;
+                    ch = temp[cursor];
+                }
+            }
+        }
+        return ch;
+    }
+
+    private int parsePastWhitespace(int ch) {
+        while (isSpace(ch) || ch == '#') {
+            while (isSpace(ch)) {
+                ch = temp[cursor++];
+            }
+            if (ch == '#') {
+                ch = temp[cursor++];
+                while (ch != 0 && !isLineSeparator(ch)) {
+                    ch = temp[cursor++];
+                }
+                if (ch == 0 && cursor > patternLength) {
+                    cursor = patternLength;
+                    ch = temp[cursor++];
+                }
+            }
+        }
+        return ch;
+    }
+
+    private boolean isLineSeparator(int ch) {
+        if ((flags0 & Pattern.UNIX_LINES) != 0) {
+            return ch == '\n';
+        }
+        return ch == '\n' || ch == '\r' || (ch | 1) == '\u2029' || ch == '\u0085';
+    }
+
+    private static boolean isSpace(int ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
+    private static boolean isDigit(int ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean isAlpha(int ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z');
+    }
+
+    private static boolean isAlphaOrDigit(int ch) {
+        return isAlpha(ch) || isDigit(ch);
+    }
+
+    private static boolean isHexDigit(int ch) {
+        return isDigit(ch) || (ch >= 'a' && ch <= 'f') || (ch >= 'A' && ch <= 'F');
+    }
+}
@@ -0,0 +1,331 @@
+package com.sharomank.regex.parser.analysis;
+
+import com.sharomank.regex.parser.RegexParser;
+import com.sharomank.regex.parser.ast.RegexTree;
+import com.sharomank.regex.parser.enums.RegexGroupType;
+import com.sharomank.regex.parser.enums.RegexNodeType;
+import com.sharomank.regex.parser.enums.RegexQuantifierMode;
+import com.sharomank.regex.parser.enums.RegexRiskKind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Detector of catastrophic backtracking (ReDoS) risks in {@link RegexTree}. Expression is not matched against any
+ * input: every node gets length bounds and sets of chars it can start with and consume, then repeated constructs
+ * are checked for ambiguity:
+ * <ul>
+ * <li>{@link RegexRiskKind#NestedQuantifier} - quantifier inside repetition can take chars of the next
+ * repetition, e.g. <code>(a+)+</code>, <code>(\w+\s?)*</code></li>
+ * <li>{@link RegexRiskKind#OverlappingAlternation} - repeated alternation with branches matching the same input,
+ * e.g. <code>(\w|\d)*</code>, <code>(a|aa)+</code></li>
+ * <li>{@link RegexRiskKind#AdjacentQuantifiers} - unbounded quantifiers which can take the same chars one after
+ * another, e.g. <code>\d+\d+</code>, <code>.*=.*</code>, or part of bounded repetition which can take chars of
+ * the next repetition, e.g. <code>(.*a){10}</code>, <code>(a?){25}</code></li>
+ * </ul>
+ * Possessive quantifiers are never reported, constructs inside atomic groups, lookarounds and possessive
+ * quantifiers are reported only if something after them inside the group can fail.
+ * <p/>
+ * Char sets are exact for ASCII and approximate for other chars, escapes which tokenizer splits into several
+ * tokens (<code>\p{L}</code>, <code>\x41</code>, <code>\k&lt;name&gt;</code>) match any char. Detector may report
+ * risk for safe expression, but finds the common forms of catastrophic backtracking. It makes a few passes over
+ * the tree without recursion, so it is cheap enough to check every user-submitted expression.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class BacktrackingAnalyzer {
+    private static final int NONE = RegexTree.NONE;
+
+    /**
+     * Bounded repetition with more repetitions is as dangerous as unbounded one
+     */
+    private static final int MANY_REPETITIONS = 10;
+
+    private final RegexTree tree;
+    private final TreeMeasures measures;
+    private final List<BacktrackingRisk> risks = new ArrayList<BacktrackingRisk>();
+
+    private BacktrackingAnalyzer(RegexTree tree, int flags) {
+        this.tree = tree;
+        this.measures = new TreeMeasures(tree, flags);
+    }
+
+    /**
+     * Parse regular expression and find backtracking risks
+     *
+     * @param regexPattern regular expression
+     * @return risks in order of expression, empty list if expression is safe
+     * @throws IllegalArgumentException if expression is invalid
+     */
+    public static List<BacktrackingRisk> analyze(String regexPattern) {
+        return analyze(RegexTree.parse(regexPattern));
+    }
+
+    /**
+     * Find backtracking risks of expression tree
+     *
+     * @param tree tree of expression
+     * @return risks in order of expression, empty list if expression is safe
+     */
+    public static List<BacktrackingRisk> analyze(RegexTree tree) {
+        return analyze(tree, 0);
+    }
+
+    /**
+     * Parse regular expression with match flags and find backtracking risks
+     *
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link Pattern#compile(String, int)}
+     * @return risks in order of expression, empty list if expression is safe
+     * @throws IllegalArgumentException if expression is invalid
+     */
+    public static List<BacktrackingRisk> analyze(String regexPattern, int flags) {
+        return analyze(RegexTree.build(RegexParser.validate(regexPattern, flags).getTokens()), flags);
+    }
+
+    /**
+     * Find backtracking risks of expression tree
+     *
+     * @param tree  tree of expression
+     * @param flags match flags of {@link Pattern#compile(String, int)}
+     * @return risks in order of expression, empty list if expression is safe
+     */
+    public static List<BacktrackingRisk> analyze(RegexTree tree, int flags) {
+        return new BacktrackingAnalyzer(tree, flags).analyze();
+    }
+
+    private List<BacktrackingRisk> analyze() {
+        int[] preorder = measures.getPreorder();
+        for (int node : preorder) {
+            if (tree.getType(node) != RegexNodeType.Quantified
+                    || tree.getQuantifierMode(node) == RegexQuantifierMode.Possessive
+                    || measures.getMax(tree.getFirstChild(node)) == 0 || isGuarded(node)) {
+                continue;
+            }
+            int max = tree.getMax(node);
+            int count = risks.size();
+            if (max == RegexTree.UNBOUNDED || max > MANY_REPETITIONS) {
+                checkRepetition(node, true);
+            }
+            if (risks.size() == count && max != RegexTree.UNBOUNDED && max > 1) {
+                checkRepetition(node, false);
+            }
+            if (max == RegexTree.UNBOUNDED) {
+                checkFollowing(node);
+            }
+        }
+        return risks.isEmpty() ? Collections.<BacktrackingRisk>emptyList() : Collections.unmodifiableList(risks);
+    }
+
+    /**
+     * Find nested quantifier or overlapping alternation in repeated node. Without many repetitions find optional
+     * or variable length part instead: repetitions of it are adjacent quantifiers, e.g. <code>(.*a){3}</code>
+     * is <code>.*a.*a.*a</code>
+     *
+     * @param many node is repeated many times
+     */
+    private void checkRepetition(int quantified, boolean many) {
+        int body = tree.getFirstChild(quantified);
+        int node = body;
+        while (node != NONE) {
+            RegexNodeType type = tree.getType(node);
+            boolean skipChildren = false;
+            if (type == RegexNodeType.Group) {
+                // next repetition cannot take chars back from atomic group or lookaround
+                RegexGroupType groupType = tree.getGroupType(node);
+                skipChildren = groupType == RegexGroupType.Atomic || groupType.isLookaround();
+            } else if (type == RegexNodeType.Quantified && node != body) {
+                skipChildren = tree.getQuantifierMode(node) == RegexQuantifierMode.Possessive;
+                int max = tree.getMax(node);
+                int child = tree.getFirstChild(node);
+                boolean repeated = many ? max == RegexTree.UNBOUNDED || max > 1 : max != tree.getMin(node);
+                if (!skipChildren && repeated && measures.getMax(child) > 0) {
+                    measures.setMaskToChars(child);
+                    if (intersectTail(node, body) && measures.maskIntersectsFirst(body)) {
+                        addRisk(many ? RegexRiskKind.NestedQuantifier : RegexRiskKind.AdjacentQuantifiers,
+                                quantified, node);
+                        return;
+                    }
+                }
+            } else if (many && type == RegexNodeType.Alternation && hasOverlappingBranches(node)) {
+                addRisk(RegexRiskKind.OverlappingAlternation, quantified, node);
+                return;
+            }
+            node = nextInSubtree(node, body, skipChildren);
+        }
+    }
+
+    /**
+     * Find unbounded quantifier which can take chars of the given one, walks following nodes while they can
+     * consume the same chars
+     */
+    private void checkFollowing(int quantified) {
+        int child = tree.getFirstChild(quantified);
+        measures.setMaskToChars(child);
+        int node = nextElement(quantified);
+        while (node != NONE) {
+            if (tree.getType(node) == RegexNodeType.Group && measures.isTransparent(node)
+                    && tree.getType(tree.getFirstChild(node)) == RegexNodeType.Concatenation) {
+                int first = tree.getFirstChild(tree.getFirstChild(node));
+                node = first != NONE ? first : nextElement(node);
+                continue;
+            }
+
+            if (tree.getType(node) == RegexNodeType.Quantified && tree.getMax(node) == RegexTree.UNBOUNDED
+                    && tree.getQuantifierMode(node) != RegexQuantifierMode.Possessive) {
+                int repeated = tree.getFirstChild(node);
+                if (measures.maskIntersectsChars(repeated)) {
+                    addRisk(RegexRiskKind.AdjacentQuantifiers, quantified, node);
+                    return;
+                }
+            }
+            if (measures.getMin(node) > 0) {
+                if (!measures.maskIntersectsChars(node)) {
+                    return;
+                }
+                measures.retainChars(node);
+            }
+            node = nextElement(node);
+        }
+    }
+
+    /**
+     * Intersect current chars with chars of every node which must follow the given node up to the top node
+     *
+     * @return <code>false</code> if some of following nodes has no common chars
+     */
+    private boolean intersectTail(int node, int top) {
+        for (int current = node; current != top; current = tree.getParent(current)) {
+            if (tree.getType(tree.getParent(current)) != RegexNodeType.Concatenation) {
+                continue;
+            }
+            for (int next = tree.getNextSibling(current); next != NONE; next = tree.getNextSibling(next)) {
+                if (measures.getMin(next) == 0) {
+                    continue;
+                }
+                if (!measures.maskIntersectsChars(next)) {
+                    return false;
+                }
+                measures.retainChars(next);
+            }
+        }
+        return true;
+    }
+
+    private boolean hasOverlappingBranches(int alternation) {
+        for (int branch = tree.getFirstChild(alternation); branch != NONE; branch = tree.getNextSibling(branch)) {
+            for (int other = tree.getNextSibling(branch); other != NONE; other = tree.getNextSibling(other)) {
+                if (isAmbiguous(branch, other)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if repetition of two branches can match the same input in different ways. Branches of single chars
+     * are compared char by char: <code>a|aa</code> is ambiguous, <code>ab|a</code> is not. Other branches are
+     * ambiguous if they start with common chars and chars of one branch are part of chars of other one.
+     */
+    private boolean isAmbiguous(int first, int second) {
+        if (!measures.intersectsFirst(first, second)) {
+            return false;
+        }
+        int firstLength = measures.getCharSequenceLength(first);
+        int secondLength = measures.getCharSequenceLength(second);
+        if (firstLength > 0 && secondLength > 0) {
+            return firstLength >= secondLength ? isRepetitionOf(first, firstLength, second, secondLength)
+                    : isRepetitionOf(second, secondLength, first, firstLength);
+        }
+        return measures.isSubset(first, second) || measures.isSubset(second, first);
+    }
+
+    /**
+     * Check if longer branch can be matched by repetitions of shorter one
+     */
+    private boolean isRepetitionOf(int longer, int longerLength, int shorter, int shorterLength) {
+        if (longerLength % shorterLength != 0) {
+            return false;
+        }
+        int atom = tree.getFirstChild(shorter);
+        for (int child = tree.getFirstChild(longer); child != NONE; child = tree.getNextSibling(child)) {
+            if (!measures.intersectsFirst(child, atom)) {
+                return false;
+            }
+            atom = tree.getNextSibling(atom);
+            if (atom == NONE) {
+                atom = tree.getFirstChild(shorter);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check that nothing after node can fail before the end of atomic group, lookaround or possessive quantifier,
+     * so backtracking into node never happens
+     */
+    private boolean isGuarded(int node) {
+        int current = node;
+        int parent = tree.getParent(current);
+        while (parent != NONE) {
+            RegexNodeType type = tree.getType(parent);
+            if (type == RegexNodeType.Concatenation) {
+                for (int next = tree.getNextSibling(current); next != NONE; next = tree.getNextSibling(next)) {
+                    if (measures.getMin(next) > 0) {
+                        return false;
+                    }
+                }
+            } else if (type == RegexNodeType.Group) {
+                RegexGroupType groupType = tree.getGroupType(parent);
+                if (groupType == RegexGroupType.Atomic || groupType.isLookaround()) {
+                    return true;
+                }
+            } else if (type == RegexNodeType.Quantified
+                    && tree.getQuantifierMode(parent) == RegexQuantifierMode.Possessive) {
+                return true;
+            }
+            current = parent;
+            parent = tree.getParent(current);
+        }
+        return false;
+    }
+
+    /**
+     * @return next node of the same sequence: next sibling, next sibling of enclosing transparent group or
+     * {@link RegexTree#NONE} at the end of sequence
+     */
+    private int nextElement(int node) {
+        int current = node;
+        while (tree.getNextSibling(current) == NONE) {
+            int group = tree.getParent(tree.getParent(current));
+            if (group == NONE || tree.getType(group) != RegexNodeType.Group || !measures.isTransparent(group)
+                    || tree.getType(tree.getParent(group)) != RegexNodeType.Concatenation) {
+                return NONE;
+            }
+            current = group;
+        }
+        return tree.getNextSibling(current);
+    }
+
+    private int nextInSubtree(int node, int top, boolean skipChildren) {
+        if (!skipChildren && tree.getFirstChild(node) != NONE) {
+            return tree.getFirstChild(node);
+        }
+        for (int current = node; current != top; current = tree.getParent(current)) {
+            if (tree.getNextSibling(current) != NONE) {
+                return tree.getNextSibling(current);
+            }
+        }
+        return NONE;
+    }
+
+    private void addRisk(RegexRiskKind kind, int node, int conflict) {
+        risks.add(new BacktrackingRisk(kind, tree.getTokens().getExpression(), tree.getFirstToken(node), tree.getEndToken(node),
+                tree.getStart(node), tree.getEnd(node), tree.getFirstToken(conflict), tree.getEndToken(conflict),
+                tree.getStart(conflict), tree.getEnd(conflict)));
+    }
+}
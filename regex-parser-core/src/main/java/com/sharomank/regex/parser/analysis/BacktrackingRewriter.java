@@ -0,0 +1,221 @@
+package com.sharomank.regex.parser.analysis;
+
+import com.sharomank.regex.parser.RegexParser;
+import com.sharomank.regex.parser.ast.RegexTree;
+import com.sharomank.regex.parser.enums.RegexGroupType;
+import com.sharomank.regex.parser.enums.RegexNodeType;
+import com.sharomank.regex.parser.enums.RegexQuantifierMode;
+import com.sharomank.regex.parser.enums.RegexTransformKind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Rewriter which removes backtracking that cannot change result of matching:
+ * <ul>
+ * <li>{@link RegexTransformKind#PossessiveQuantifier} - greedy quantifier of single char, e.g. <code>\d+</code>,
+ * becomes possessive when every char which can follow it is a char it cannot take, e.g. <code>\d+x</code>.
+ * Chars given back by greedy quantifier would have to be matched by the rest of expression, which fails.</li>
+ * <li>{@link RegexTransformKind#AtomicGroup} - non-capturing group of alternation of fixed strings, e.g.
+ * <code>(?:cat|dog)</code>, becomes atomic when no two branches can match at the same position, so there is
+ * nothing to retry.</li>
+ * </ul>
+ * Both rules give up on anchors, lookarounds and back references on the way, case insensitive and other flags
+ * only make char sets larger. Expressions with {@link Pattern#COMMENTS}, {@link Pattern#LITERAL},
+ * {@link Pattern#CANON_EQ}, <code>\Q...\E</code> quotation or tree which is not exact are returned unchanged.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class BacktrackingRewriter {
+    private static final int NONE = RegexTree.NONE;
+    private static final int UNSUPPORTED_FLAGS = Pattern.COMMENTS | Pattern.LITERAL | Pattern.CANON_EQ;
+
+    private final RegexTree tree;
+    private final String expression;
+    private final int flags;
+    private final TreeMeasures measures;
+
+    private BacktrackingRewriter(RegexTree tree, int flags) {
+        this.tree = tree;
+        this.expression = tree.getTokens().getExpression();
+        this.flags = flags;
+        this.measures = new TreeMeasures(tree, flags);
+    }
+
+    /**
+     * Rewrite regular expression
+     *
+     * @param regexPattern regular expression
+     * @return equivalent expression and applied transforms
+     * @throws IllegalArgumentException if expression is invalid
+     */
+    public static RegexRewrite rewrite(String regexPattern) {
+        return rewrite(regexPattern, 0);
+    }
+
+    /**
+     * Rewrite regular expression compiled with match flags
+     *
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link Pattern#compile(String, int)}
+     * @return expression equivalent with the same flags and applied transforms
+     * @throws IllegalArgumentException if expression is invalid
+     */
+    public static RegexRewrite rewrite(String regexPattern, int flags) {
+        return rewrite(RegexTree.build(RegexParser.validate(regexPattern, flags).getTokens()), flags);
+    }
+
+    /**
+     * Rewrite expression of tree
+     *
+     * @param tree  tree of valid expression
+     * @param flags match flags of {@link Pattern#compile(String, int)}
+     * @return expression equivalent with the same flags and applied transforms
+     */
+    public static RegexRewrite rewrite(RegexTree tree, int flags) {
+        return new BacktrackingRewriter(tree, flags).rewrite();
+    }
+
+    private RegexRewrite rewrite() {
+        if ((measures.getFlags() & UNSUPPORTED_FLAGS) != 0 || measures.isQuoted() || !tree.isExact()) {
+            return new RegexRewrite(expression, expression, flags, Collections.<RegexTransform>emptyList());
+        }
+
+        // transforms do not overlap: atomic groups have no quantifiers inside, quantifiers have no groups
+        List<RegexTransform> transforms = new ArrayList<RegexTransform>();
+        for (int node : measures.getPreorder()) {
+            RegexNodeType type = tree.getType(node);
+            if (type == RegexNodeType.Quantified && canBePossessive(node)) {
+                String text = tree.getText(node);
+                transforms.add(new RegexTransform(RegexTransformKind.PossessiveQuantifier, tree.getStart(node),
+                        tree.getEnd(node), text, text + '+'));
+            } else if (type == RegexNodeType.Group && canBeAtomic(node)) {
+                String text = tree.getText(node);
+                String replacement = tree.getGroupType(node) == RegexGroupType.NonCapturing
+                        ? "(?>" + text.substring(3) : "(?>" + text + ')';
+                transforms.add(new RegexTransform(RegexTransformKind.AtomicGroup, tree.getStart(node),
+                        tree.getEnd(node), text, replacement));
+            }
+        }
+        if (transforms.isEmpty()) {
+            return new RegexRewrite(expression, expression, flags, Collections.<RegexTransform>emptyList());
+        }
+
+        StringBuilder sb = new StringBuilder(expression.length() + 3 * transforms.size());
+        int copied = 0;
+        for (RegexTransform transform : transforms) {
+            sb.append(expression, copied, transform.getStart()).append(transform.getReplacement());
+            copied = transform.getEnd();
+        }
+        sb.append(expression, copied, expression.length());
+        return new RegexRewrite(expression, sb.toString(), flags, Collections.unmodifiableList(transforms));
+    }
+
+    /**
+     * Check that quantifier repeats single char and nothing which can follow it starts with the same char
+     */
+    private boolean canBePossessive(int quantified) {
+        int child = tree.getFirstChild(quantified);
+        if (tree.getQuantifierMode(quantified) != RegexQuantifierMode.Greedy
+                || tree.getMin(quantified) == tree.getMax(quantified) || tree.getType(child) != RegexNodeType.Atom
+                || measures.getMin(child) != 1 || measures.getMax(child) != 1
+                || Character.isSurrogate(expression.charAt(tree.getStart(child))) || isInLookbehind(quantified)) {
+            return false;
+        }
+
+        // collect first chars of everything which can follow quantifier up to the first required node
+        measures.clearMask();
+        int current = quantified;
+        int parent = tree.getParent(current);
+        while (parent != NONE) {
+            RegexNodeType type = tree.getType(parent);
+            if (type == RegexNodeType.Concatenation) {
+                for (int next = tree.getNextSibling(current); next != NONE; next = tree.getNextSibling(next)) {
+                    if (measures.isAssertionFirst(next)) {
+                        return false;
+                    }
+                    measures.addFirstToMask(next);
+                    if (measures.getMin(next) > 0) {
+                        return !measures.maskIntersectsChars(child);
+                    }
+                }
+            } else if (type == RegexNodeType.Group && !measures.isTransparent(parent)) {
+                // atomic group and look-ahead never give chars back
+                return !measures.maskIntersectsChars(child);
+            } else if (type == RegexNodeType.Quantified) {
+                // next repetition or the rest after repetition
+                if (tree.getMax(parent) != 1) {
+                    if (measures.isAssertionFirst(current)) {
+                        return false;
+                    }
+                    measures.addFirstToMask(current);
+                }
+                if (tree.getQuantifierMode(parent) == RegexQuantifierMode.Possessive) {
+                    return !measures.maskIntersectsChars(child);
+                }
+            }
+            current = parent;
+            parent = tree.getParent(current);
+        }
+        // end of expression
+        return !measures.maskIntersectsChars(child);
+    }
+
+    /**
+     * Check that non-capturing group is alternation of fixed strings and no two of them can match at the same
+     * position
+     */
+    private boolean canBeAtomic(int group) {
+        RegexGroupType groupType = tree.getGroupType(group);
+        int alternation = tree.getFirstChild(group);
+        // java.util.regex does not restore capturing group inside failed atomic group, so captures are kept as is
+        if (groupType != RegexGroupType.NonCapturing && groupType != RegexGroupType.FlagsNonCapturing
+                || tree.getType(alternation) != RegexNodeType.Alternation || isInLookbehind(group)) {
+            return false;
+        }
+        for (int branch = tree.getFirstChild(alternation); branch != NONE; branch = tree.getNextSibling(branch)) {
+            if (measures.getCharSequenceLength(branch) == 0) {
+                return false;
+            }
+        }
+        for (int branch = tree.getFirstChild(alternation); branch != NONE; branch = tree.getNextSibling(branch)) {
+            for (int other = tree.getNextSibling(branch); other != NONE; other = tree.getNextSibling(other)) {
+                if (!isExclusive(branch, other)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if branches of single chars differ at some position of the shorter one
+     */
+    private boolean isExclusive(int first, int second) {
+        int atom = tree.getFirstChild(second);
+        for (int child = tree.getFirstChild(first); child != NONE && atom != NONE; child = tree.getNextSibling(child)) {
+            if (!measures.intersectsFirst(child, atom)) {
+                return true;
+            }
+            atom = tree.getNextSibling(atom);
+        }
+        return false;
+    }
+
+    /**
+     * Length of look-behind content is computed by java.util.regex for greedy quantifiers and plain groups only,
+     * look-behind content must also end exactly at the position of look-behind, so it is never rewritten
+     */
+    private boolean isInLookbehind(int node) {
+        for (int parent = tree.getParent(node); parent != NONE; parent = tree.getParent(parent)) {
+            if (tree.getType(parent) == RegexNodeType.Group && (tree.getGroupType(parent) == RegexGroupType.Lookbehind
+                    || tree.getGroupType(parent) == RegexGroupType.NegativeLookbehind)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
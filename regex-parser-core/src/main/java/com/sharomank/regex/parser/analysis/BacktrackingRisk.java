@@ -0,0 +1,128 @@
+package com.sharomank.regex.parser.analysis;
+
+import com.sharomank.regex.parser.enums.RegexRiskKind;
+import com.sharomank.regex.parser.enums.RegexRiskSeverity;
+
+/**
+ * Catastrophic backtracking risk: repeated construct and the part of expression which makes it ambiguous,
+ * e.g. <code>(a+)+</code> and <code>a+</code>. Both are given as token ranges and char offsets in expression.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class BacktrackingRisk {
+    private final RegexRiskKind kind;
+    private final String expression;
+    private final int firstToken;
+    private final int endToken;
+    private final int start;
+    private final int end;
+    private final int conflictFirstToken;
+    private final int conflictEndToken;
+    private final int conflictStart;
+    private final int conflictEnd;
+
+    BacktrackingRisk(RegexRiskKind kind, String expression, int firstToken, int endToken, int start, int end,
+                     int conflictFirstToken, int conflictEndToken, int conflictStart, int conflictEnd) {
+        this.kind = kind;
+        this.expression = expression;
+        this.firstToken = firstToken;
+        this.endToken = endToken;
+        this.start = start;
+        this.end = end;
+        this.conflictFirstToken = conflictFirstToken;
+        this.conflictEndToken = conflictEndToken;
+        this.conflictStart = conflictStart;
+        this.conflictEnd = conflictEnd;
+    }
+
+    public RegexRiskKind getKind() {
+        return kind;
+    }
+
+    public RegexRiskSeverity getSeverity() {
+        return kind.getSeverity();
+    }
+
+    /**
+     * @return index of first token of repeated construct
+     */
+    public int getFirstToken() {
+        return firstToken;
+    }
+
+    /**
+     * @return index after last token of repeated construct
+     */
+    public int getEndToken() {
+        return endToken;
+    }
+
+    /**
+     * @return offset of repeated construct in expression
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * @return offset after repeated construct in expression
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return repeated construct, e.g. <code>(a+)+</code>
+     */
+    public String getText() {
+        return expression.substring(start, end);
+    }
+
+    /**
+     * @return index of first token of conflicting part: nested quantifier, alternation or the second quantifier
+     */
+    public int getConflictFirstToken() {
+        return conflictFirstToken;
+    }
+
+    /**
+     * @return index after last token of conflicting part
+     */
+    public int getConflictEndToken() {
+        return conflictEndToken;
+    }
+
+    /**
+     * @return offset of conflicting part in expression
+     */
+    public int getConflictStart() {
+        return conflictStart;
+    }
+
+    /**
+     * @return offset after conflicting part in expression
+     */
+    public int getConflictEnd() {
+        return conflictEnd;
+    }
+
+    /**
+     * @return conflicting part, e.g. <code>a+</code> of <code>(a+)+</code>
+     */
+    public String getConflictText() {
+        return expression.substring(conflictStart, conflictEnd);
+    }
+
+    @Override
+    public String toString() {
+        return "BacktrackingRisk{" +
+                "kind=" + kind +
+                ", severity=" + kind.getSeverity() +
+                ", text='" + getText() + '\'' +
+                ", start=" + start +
+                ", conflict='" + getConflictText() + '\'' +
+                ", conflictStart=" + conflictStart +
+                '}';
+    }
+}
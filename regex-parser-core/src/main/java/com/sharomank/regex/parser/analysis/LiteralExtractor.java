@@ -0,0 +1,435 @@
+package com.sharomank.regex.parser.analysis;
+
+import com.sharomank.regex.parser.RegexParser;
+import com.sharomank.regex.parser.ast.RegexTree;
+import com.sharomank.regex.parser.enums.RegexNodeType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Extractor of literals which every match of expression contains. Nodes are measured bottom-up:
+ * <ul>
+ * <li>exact set - all strings node can match, e.g. <code>colou?r</code> is <code>color</code> or
+ * <code>colour</code>, known while the set is small;</li>
+ * <li>required set - strings one of which every match of node contains, e.g. <code>\d+abc\s</code> contains
+ * <code>abc</code>, <code>(abc|def)+</code> contains <code>abc</code> or <code>def</code>;</li>
+ * <li>prefix and suffix - strings every match of node starts and ends with.</li>
+ * </ul>
+ * Optional parts, quantifiers with zero minimum and alternation with unconstrained branch drop required set.
+ * With case insensitive flag literals are in lower case and are compared ignoring case. Expressions with
+ * {@link Pattern#CANON_EQ}, {@link Pattern#COMMENTS}, <code>\Q...\E</code> quotation or tree which is not exact,
+ * see {@link RegexTree#isExact()}, have no literals.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class LiteralExtractor {
+    private static final int MAX_EXACT = 16;
+    private static final int MAX_LENGTH = 256;
+    private static final int MAX_CLASS = 4;
+
+    private final RegexTree tree;
+    private final TreeMeasures measures;
+    private final boolean ignoreCase;
+
+    private final List<Set<String>> exacts;
+    private final List<Set<String>> requireds;
+    private final String[] prefixes;
+    private final String[] suffixes;
+
+    private LiteralExtractor(RegexTree tree, int flags) {
+        this.tree = tree;
+        this.measures = new TreeMeasures(tree, flags);
+        this.ignoreCase = (measures.getFlags() & Pattern.CASE_INSENSITIVE) != 0;
+        int size = tree.size();
+        exacts = new ArrayList<Set<String>>(Collections.<Set<String>>nCopies(size, null));
+        requireds = new ArrayList<Set<String>>(Collections.<Set<String>>nCopies(size, null));
+        prefixes = new String[size];
+        suffixes = new String[size];
+    }
+
+    /**
+     * Extract required literals of regular expression
+     *
+     * @param regexPattern regular expression
+     * @return literals every match contains
+     * @throws IllegalArgumentException if expression is invalid
+     */
+    public static RequiredLiterals extract(String regexPattern) {
+        return extract(regexPattern, 0);
+    }
+
+    /**
+     * Extract required literals of regular expression compiled with match flags
+     *
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link Pattern#compile(String, int)}
+     * @return literals every match contains
+     * @throws IllegalArgumentException if expression is invalid
+     */
+    public static RequiredLiterals extract(String regexPattern, int flags) {
+        if ((flags & Pattern.LITERAL) != 0) {
+            // expression is matched as is and may be not valid as regular expression
+            boolean ignoreCase = (flags & Pattern.CASE_INSENSITIVE) != 0;
+            String literal = ignoreCase ? toFoldedCase(regexPattern) : regexPattern;
+            List<String> literals = literal.isEmpty() || ignoreCase && hasSurrogate(literal)
+                    ? Collections.<String>emptyList() : Collections.singletonList(literal);
+            return new RequiredLiterals(literals, literal, literal, ignoreCase);
+        }
+        return extract(RegexTree.build(RegexParser.validate(regexPattern, flags).getTokens()), flags);
+    }
+
+    /**
+     * Extract required literals of expression of tree
+     *
+     * @param tree  tree of valid expression
+     * @param flags match flags of {@link Pattern#compile(String, int)}
+     * @return literals every match contains
+     */
+    public static RequiredLiterals extract(RegexTree tree, int flags) {
+        if ((flags & Pattern.LITERAL) != 0) {
+            return extract(tree.getTokens().getExpression(), flags);
+        }
+        return new LiteralExtractor(tree, flags).extract();
+    }
+
+    private RequiredLiterals extract() {
+        // tree does not see comments, e.g. quantifier after ignored space
+        if ((measures.getFlags() & (Pattern.CANON_EQ | Pattern.COMMENTS)) != 0 || measures.isQuoted()
+                || !tree.isExact()) {
+            return new RequiredLiterals(Collections.<String>emptyList(), "", "", ignoreCase);
+        }
+        int[] preorder = measures.getPreorder();
+        for (int index = preorder.length - 1; index >= 0; index--) {
+            measure(preorder[index]);
+        }
+
+        int root = tree.getRoot();
+        Set<String> literals = requireds.get(root);
+        literals = best(literals, toRequired(Collections.singleton(prefixes[root])));
+        literals = best(literals, toRequired(Collections.singleton(suffixes[root])));
+        List<String> list = literals == null ? Collections.<String>emptyList()
+                : Collections.unmodifiableList(new ArrayList<String>(literals));
+        return new RequiredLiterals(list, prefixes[root], suffixes[root], ignoreCase);
+    }
+
+    private void measure(int node) {
+        if (measures.getMax(node) == 0) {
+            // anchors, lookarounds and empty parts do not consume chars
+            setExact(node, Collections.singleton(""));
+            return;
+        }
+        RegexNodeType type = tree.getType(node);
+        int child = tree.getFirstChild(node);
+        if (type == RegexNodeType.Atom) {
+            measureAtom(node);
+        } else if (type == RegexNodeType.Concatenation) {
+            measureConcatenation(node);
+        } else if (type == RegexNodeType.Alternation) {
+            measureAlternation(node);
+        } else if (type == RegexNodeType.Quantified && tree.getType(child) != RegexNodeType.Quantified) {
+            measureQuantified(node);
+        } else {
+            // group or quantifier which java.util.regex applies to nothing
+            set(node, exacts.get(child), requireds.get(child), prefixes[child], suffixes[child]);
+        }
+    }
+
+    private void measureAtom(int node) {
+        int ch = measures.getLiteralChar(node);
+        if (ch >= 0 && (!Character.isSurrogate((char) ch) || isWholeSurrogate(node))) {
+            setExact(node, Collections.singleton(fold(String.valueOf((char) ch))));
+            return;
+        }
+        String chars = measures.getMin(node) == 1 && measures.getMax(node) == 1
+                ? measures.getAsciiChars(node, 2 * MAX_CLASS) : null;
+        if (chars != null) {
+            Set<String> exact = new TreeSet<String>();
+            for (int index = 0; index < chars.length(); index++) {
+                exact.add(fold(chars.substring(index, index + 1)));
+            }
+            if (exact.size() <= MAX_CLASS) {
+                setExact(node, exact);
+                return;
+            }
+        }
+        set(node, null, null, "", "");
+    }
+
+    /**
+     * Exact strings of adjacent children are joined while there are few of them, every joined run is a candidate
+     */
+    private void measureConcatenation(int node) {
+        List<Integer> children = getChildren(node);
+        Set<String> run = Collections.singleton("");
+        Set<String> required = null;
+        boolean complete = true;
+        for (int child : children) {
+            Set<String> exact = exacts.get(child);
+            Set<String> joined = exact == null ? null : cross(run, exact);
+            if (joined != null) {
+                run = joined;
+                continue;
+            }
+            complete = false;
+            required = best(required, toRequired(run));
+            if (exact != null) {
+                run = exact;
+            } else {
+                required = best(required, requireds.get(child));
+                run = Collections.singleton("");
+            }
+        }
+        if (complete) {
+            setExact(node, run);
+            return;
+        }
+        required = best(required, toRequired(run));
+
+        StringBuilder prefix = new StringBuilder();
+        for (int child : children) {
+            Set<String> exact = exacts.get(child);
+            if (exact == null || exact.size() != 1) {
+                prefix.append(prefixes[child]);
+                break;
+            }
+            prefix.append(exact.iterator().next());
+        }
+        StringBuilder suffix = new StringBuilder();
+        for (int index = children.size() - 1; index >= 0; index--) {
+            int child = children.get(index);
+            Set<String> exact = exacts.get(child);
+            if (exact == null || exact.size() != 1) {
+                suffix.insert(0, suffixes[child]);
+                break;
+            }
+            suffix.insert(0, exact.iterator().next());
+        }
+        set(node, null, required, prefix.toString(), suffix.toString());
+    }
+
+    private void measureAlternation(int node) {
+        Set<String> union = new TreeSet<String>();
+        Set<String> required = new TreeSet<String>();
+        boolean complete = true;
+        boolean constrained = true;
+        String prefix = null;
+        String suffix = null;
+        for (int child = tree.getFirstChild(node); child != RegexTree.NONE; child = tree.getNextSibling(child)) {
+            Set<String> exact = exacts.get(child);
+            if (complete && exact != null) {
+                union.addAll(exact);
+                complete = union.size() <= MAX_EXACT;
+            } else {
+                complete = false;
+            }
+            if (requireds.get(child) == null) {
+                constrained = false;
+            } else if (constrained) {
+                required.addAll(requireds.get(child));
+            }
+            prefix = prefix == null ? prefixes[child] : commonPrefix(prefix, prefixes[child]);
+            suffix = suffix == null ? suffixes[child] : commonSuffix(suffix, suffixes[child]);
+        }
+        if (complete) {
+            setExact(node, union);
+        } else {
+            set(node, null, constrained ? toRequired(required) : null, prefix, suffix);
+        }
+    }
+
+    /**
+     * Small bounded repetition of exact strings is exact, repetition at least once keeps what its content requires
+     */
+    private void measureQuantified(int node) {
+        int child = tree.getFirstChild(node);
+        int min = tree.getMin(node);
+        int max = tree.getMax(node);
+        Set<String> exact = exacts.get(child);
+        Set<String> repeated = exact != null && max != RegexTree.UNBOUNDED ? repeat(exact, min, max) : null;
+        if (repeated != null) {
+            setExact(node, repeated);
+            return;
+        }
+        if (min == 0) {
+            set(node, null, null, "", "");
+        } else {
+            set(node, null, requireds.get(child), prefixes[child], suffixes[child]);
+        }
+    }
+
+    /**
+     * Tree splits supplementary char into two atoms, quantifier after it repeats both of them
+     */
+    private boolean isWholeSurrogate(int atom) {
+        // char by char comparison ignoring case does not fold supplementary chars
+        if (ignoreCase || tree.getType(tree.getParent(atom)) == RegexNodeType.Quantified) {
+            return false;
+        }
+        int next = tree.getNextSibling(atom);
+        return next == RegexTree.NONE || tree.getType(next) == RegexNodeType.Atom;
+    }
+
+    private void setExact(int node, Set<String> exact) {
+        Iterator<String> iterator = exact.iterator();
+        String prefix = iterator.next();
+        String suffix = prefix;
+        while (iterator.hasNext()) {
+            String next = iterator.next();
+            prefix = commonPrefix(prefix, next);
+            suffix = commonSuffix(suffix, next);
+        }
+        set(node, exact, toRequired(exact), prefix, suffix);
+    }
+
+    private void set(int node, Set<String> exact, Set<String> required, String prefix, String suffix) {
+        exacts.set(node, exact);
+        requireds.set(node, required);
+        prefixes[node] = prefix;
+        suffixes[node] = suffix;
+    }
+
+    private List<Integer> getChildren(int node) {
+        List<Integer> children = new ArrayList<Integer>(tree.getChildCount(node));
+        for (int child = tree.getFirstChild(node); child != RegexTree.NONE; child = tree.getNextSibling(child)) {
+            children.add(child);
+        }
+        return children;
+    }
+
+    private String fold(String text) {
+        return ignoreCase ? toFoldedCase(text) : text;
+    }
+
+    /**
+     * @return lower case of upper case of every char, which is what case insensitive comparison checks
+     */
+    private static String toFoldedCase(String text) {
+        char[] chars = text.toCharArray();
+        for (int index = 0; index < chars.length; index++) {
+            chars[index] = Character.toLowerCase(Character.toUpperCase(chars[index]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return all concatenations of strings or <code>null</code> if there are too many or too long of them
+     */
+    private static Set<String> cross(Set<String> first, Set<String> second) {
+        if (first.size() * second.size() > MAX_EXACT) {
+            return null;
+        }
+        Set<String> result = new TreeSet<String>();
+        for (String head : first) {
+            for (String tail : second) {
+                if (head.length() + tail.length() > MAX_LENGTH) {
+                    return null;
+                }
+                result.add(head + tail);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return all repetitions from min to max times or <code>null</code> if there are too many or too long of them
+     */
+    private static Set<String> repeat(Set<String> strings, int min, int max) {
+        Set<String> result = new TreeSet<String>();
+        Set<String> power = Collections.singleton("");
+        for (int count = 0; count <= max; count++) {
+            if (count >= min) {
+                result.addAll(power);
+                if (result.size() > MAX_EXACT) {
+                    return null;
+                }
+            }
+            if (count < max) {
+                power = cross(power, strings);
+                if (power == null) {
+                    return null;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return strings one of which every match contains, without strings containing other ones, or
+     * <code>null</code> if empty string is one of them
+     */
+    private static Set<String> toRequired(Set<String> strings) {
+        if (strings.contains("")) {
+            return null;
+        }
+        Set<String> result = new TreeSet<String>();
+        for (String string : strings) {
+            boolean redundant = false;
+            for (String other : strings) {
+                if (other.length() < string.length() && string.contains(other)) {
+                    redundant = true;
+                    break;
+                }
+            }
+            if (!redundant) {
+                result.add(string);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return set with longer shortest string, then set of fewer strings
+     */
+    private static Set<String> best(Set<String> first, Set<String> second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        int firstLength = getMinLength(first);
+        int secondLength = getMinLength(second);
+        if (firstLength != secondLength) {
+            return firstLength > secondLength ? first : second;
+        }
+        return second.size() < first.size() ? second : first;
+    }
+
+    private static int getMinLength(Set<String> strings) {
+        int length = Integer.MAX_VALUE;
+        for (String string : strings) {
+            length = Math.min(length, string.length());
+        }
+        return length;
+    }
+
+    private static String commonPrefix(String first, String second) {
+        int length = 0;
+        while (length < first.length() && length < second.length() && first.charAt(length) == second.charAt(length)) {
+            length++;
+        }
+        return first.substring(0, length);
+    }
+
+    private static String commonSuffix(String first, String second) {
+        int length = 0;
+        while (length < first.length() && length < second.length()
+                && first.charAt(first.length() - 1 - length) == second.charAt(second.length() - 1 - length)) {
+            length++;
+        }
+        return first.substring(first.length() - length);
+    }
+
+    private static boolean hasSurrogate(String text) {
+        for (int index = 0; index < text.length(); index++) {
+            if (Character.isSurrogate(text.charAt(index))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
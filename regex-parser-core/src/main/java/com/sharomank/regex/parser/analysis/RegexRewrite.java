@@ -0,0 +1,65 @@
+package com.sharomank.regex.parser.analysis;
+
+import java.util.List;
+
+/**
+ * Result of {@link BacktrackingRewriter}: equivalent expression and applied transforms in order of expression
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexRewrite {
+    private final String expression;
+    private final String pattern;
+    private final int flags;
+    private final List<RegexTransform> transforms;
+
+    RegexRewrite(String expression, String pattern, int flags, List<RegexTransform> transforms) {
+        this.expression = expression;
+        this.pattern = pattern;
+        this.flags = flags;
+        this.transforms = transforms;
+    }
+
+    /**
+     * @return original expression
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return rewritten expression, the same as original if nothing is changed
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return match flags which rewritten expression is equivalent with
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return applied transforms with offsets in original expression, unmodifiable
+     */
+    public List<RegexTransform> getTransforms() {
+        return transforms;
+    }
+
+    public boolean isChanged() {
+        return !transforms.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "RegexRewrite{" +
+                "expression='" + expression + '\'' +
+                ", pattern='" + pattern + '\'' +
+                ", flags=" + flags +
+                ", transforms=" + transforms +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.sharomank.regex.parser.analysis;
+
+import com.sharomank.regex.parser.enums.RegexTransformKind;
+
+/**
+ * Replacement of a part of original expression made by {@link BacktrackingRewriter}
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexTransform {
+    private final RegexTransformKind kind;
+    private final int start;
+    private final int end;
+    private final String original;
+    private final String replacement;
+
+    RegexTransform(RegexTransformKind kind, int start, int end, String original, String replacement) {
+        this.kind = kind;
+        this.start = start;
+        this.end = end;
+        this.original = original;
+        this.replacement = replacement;
+    }
+
+    public RegexTransformKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return offset of replaced part in original expression
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * @return offset after replaced part in original expression
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * @return replaced part, e.g. <code>\d+</code>
+     */
+    public String getOriginal() {
+        return original;
+    }
+
+    /**
+     * @return new text of replaced part, e.g. <code>\d++</code>
+     */
+    public String getReplacement() {
+        return replacement;
+    }
+
+    @Override
+    public String toString() {
+        return "RegexTransform{" +
+                "kind=" + kind +
+                ", start=" + start +
+                ", original='" + original + '\'' +
+                ", replacement='" + replacement + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,90 @@
+package com.sharomank.regex.parser.analysis;
+
+import java.util.List;
+
+/**
+ * Result of {@link LiteralExtractor}: literals which every match of expression contains. Input without any of
+ * them cannot be matched, so {@link java.util.regex.Matcher#find()} can be skipped for it.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RequiredLiterals {
+    private final List<String> literals;
+    private final String prefix;
+    private final String suffix;
+    private final boolean ignoreCase;
+
+    RequiredLiterals(List<String> literals, String prefix, String suffix, boolean ignoreCase) {
+        this.literals = literals;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * @return literals one of which every match contains, empty if expression has no such literals, unmodifiable
+     */
+    public List<String> getLiterals() {
+        return literals;
+    }
+
+    /**
+     * @return literal which every match starts with, may be empty
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @return literal which every match ends with, may be empty
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * @return <code>true</code> if literals are in lower case and must be found ignoring case
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * Check input before running matcher
+     *
+     * @param input text to be matched
+     * @return <code>false</code> if expression cannot match anything in input, <code>true</code> if it can
+     */
+    public boolean mayMatch(String input) {
+        if (literals.isEmpty()) {
+            return true;
+        }
+        for (String literal : literals) {
+            if (ignoreCase ? containsIgnoreCase(input, literal) : input.contains(literal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsIgnoreCase(String input, String literal) {
+        int last = input.length() - literal.length();
+        for (int offset = 0; offset <= last; offset++) {
+            if (input.regionMatches(true, offset, literal, 0, literal.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "RequiredLiterals{" +
+                "literals=" + literals +
+                ", prefix='" + prefix + '\'' +
+                ", suffix='" + suffix + '\'' +
+                ", ignoreCase=" + ignoreCase +
+                '}';
+    }
+}
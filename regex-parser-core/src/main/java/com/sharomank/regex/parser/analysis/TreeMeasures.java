@@ -0,0 +1,666 @@
+package com.sharomank.regex.parser.analysis;
+
+import com.sharomank.regex.parser.RegexTokenStream;
+import com.sharomank.regex.parser.ast.RegexTree;
+import com.sharomank.regex.parser.enums.RegexGroupType;
+import com.sharomank.regex.parser.enums.RegexNodeType;
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.util.regex.Pattern;
+
+/**
+ * Static facts about nodes of {@link RegexTree}: bounds of match length, chars which node can start with and
+ * consume, whether node can start with zero-width assertion. Char sets are exact for ASCII chars, all other chars
+ * are one element, so sets are never smaller than real ones. Match flags and inline flags found anywhere in
+ * expression apply to the whole expression, which also only makes sets larger.
+ * <p/>
+ * Holds current char set for walks over the tree, so instance is used by one thread.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class TreeMeasures {
+    static final int INFINITE = Integer.MAX_VALUE;
+
+    // ASCII char sets: chars 0-63 in low word, 64-127 in high word
+    private static final long DIGIT_LOW = 0x03FF000000000000L;
+    private static final long UPPER_HIGH = 0x0000000007FFFFFEL;
+    private static final long LETTER_HIGH = 0x07FFFFFE07FFFFFEL;
+    private static final long WORD_HIGH = 0x07FFFFFE87FFFFFEL;
+    private static final long SPACE_LOW = 0x0000000100003E00L;
+    private static final long HORIZONTAL_SPACE_LOW = 0x0000000100000200L;
+    private static final long VERTICAL_SPACE_LOW = 0x0000000000003C00L;
+    private static final long LINE_BREAK_LOW = 0x0000000000002400L;
+    private static final long LINE_FEED_LOW = 0x0000000000000400L;
+
+    // roles of tokens, which are not clear from token alone
+    private static final byte ROLE_ESCAPE_PART = 1;
+    private static final byte ROLE_ESCAPE_CHAR = 2;
+    private static final byte ROLE_BACK_REFERENCE = 3;
+    private static final byte ROLE_IGNORED = 4;
+
+    private final RegexTree tree;
+    private final RegexTokenStream tokens;
+    private final String expression;
+    private final int[] preorder;
+    private final byte[] roles;
+    private int flags;
+    private boolean quoted;
+
+    private final int[] minimums;
+    private final int[] maximums;
+    private final boolean[] assertionFirst;
+    private final long[] firstLows;
+    private final long[] firstHighs;
+    private final boolean[] firstOthers;
+    private final long[] charLows;
+    private final long[] charHighs;
+    private final boolean[] charOthers;
+
+    // current char set, non-ASCII chars are one element
+    private long maskLow;
+    private long maskHigh;
+    private boolean maskOther;
+
+    /**
+     * @param tree  tree of expression
+     * @param flags match flags of {@link Pattern#compile(String, int)}
+     */
+    TreeMeasures(RegexTree tree, int flags) {
+        this.tree = tree;
+        this.tokens = tree.getTokens();
+        this.expression = tokens.getExpression();
+        this.flags = flags;
+        int size = tree.size();
+        preorder = new int[size];
+        roles = new byte[tokens.size()];
+        minimums = new int[size];
+        maximums = new int[size];
+        assertionFirst = new boolean[size];
+        firstLows = new long[size];
+        firstHighs = new long[size];
+        firstOthers = new boolean[size];
+        charLows = new long[size];
+        charHighs = new long[size];
+        charOthers = new boolean[size];
+
+        int count = 0;
+        for (int node = tree.getRoot(); node != RegexTree.NONE; node = tree.getNextInPreorder(node)) {
+            preorder[count++] = node;
+            if (tree.getType(node) == RegexNodeType.Group) {
+                addInlineFlags(node);
+            }
+        }
+        if ((this.flags & Pattern.UNICODE_CHARACTER_CLASS) != 0) {
+            this.flags |= Pattern.UNICODE_CASE;
+        }
+        assignRoles();
+        // children are measured before parents
+        for (int index = count - 1; index >= 0; index--) {
+            measure(preorder[index]);
+        }
+    }
+
+    RegexTree getTree() {
+        return tree;
+    }
+
+    /**
+     * @return nodes in pre-order, parents before children and in order of expression
+     */
+    int[] getPreorder() {
+        return preorder;
+    }
+
+    /**
+     * @return match flags with inline flags of expression
+     */
+    int getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return <code>true</code> if expression has <code>\Q...\E</code> quotation, tree does not see it
+     */
+    boolean isQuoted() {
+        return quoted;
+    }
+
+    /**
+     * @return minimal length of match
+     */
+    int getMin(int node) {
+        return minimums[node];
+    }
+
+    /**
+     * @return maximal length of match or {@link #INFINITE}
+     */
+    int getMax(int node) {
+        return maximums[node];
+    }
+
+    /**
+     * @return <code>true</code> if node can check anchor, lookaround or back reference before its first char
+     */
+    boolean isAssertionFirst(int node) {
+        return assertionFirst[node];
+    }
+
+    /**
+     * @return count of atoms if branch consists of single char atoms only, e.g. <code>ab[cd]</code>, otherwise 0
+     */
+    int getCharSequenceLength(int branch) {
+        int length = 0;
+        for (int child = tree.getFirstChild(branch); child != RegexTree.NONE; child = tree.getNextSibling(child)) {
+            if (tree.getType(child) != RegexNodeType.Atom || minimums[child] != 1 || maximums[child] != 1) {
+                return 0;
+            }
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * @return <code>true</code> if first chars of nodes intersect
+     */
+    boolean intersectsFirst(int first, int second) {
+        return (firstLows[first] & firstLows[second]) != 0 || (firstHighs[first] & firstHighs[second]) != 0
+                || firstOthers[first] && firstOthers[second];
+    }
+
+    /**
+     * @return <code>true</code> if all chars of first node are chars of second node
+     */
+    boolean isSubset(int first, int second) {
+        return (charLows[first] & ~charLows[second]) == 0 && (charHighs[first] & ~charHighs[second]) == 0
+                && (!charOthers[first] || charOthers[second]);
+    }
+
+    /**
+     * @return char which atom matches as written, e.g. <code>a</code>, <code>\.</code>, <code>\t</code>, or -1 for
+     * classes, anchors and escapes with arguments
+     */
+    int getLiteralChar(int atom) {
+        int start = tree.getStart(atom);
+        int length = tree.getEnd(atom) - start;
+        RegexType type = tree.getTokenType(atom);
+        if (roles[tree.getFirstToken(atom)] != 0 || type != RegexType.None && type != RegexType.NonPrintable) {
+            return -1;
+        }
+        char ch = expression.charAt(start);
+        if (length == 1) {
+            return ch == '^' || ch == '$' ? -1 : ch;
+        }
+        return length == 2 && ch == '\\' ? getEscapedChar(expression.charAt(start + 1)) : -1;
+    }
+
+    /**
+     * @return ASCII chars which node can consume or <code>null</code> if there are more than limit of them or
+     * other chars
+     */
+    String getAsciiChars(int node, int limit) {
+        long low = charLows[node];
+        long high = charHighs[node];
+        if (charOthers[node] || Long.bitCount(low) + Long.bitCount(high) > limit) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int ch = 0; ch < 128; ch++) {
+            if (((ch < 64 ? low >>> ch : high >>> (ch - 64)) & 1) != 0) {
+                sb.append((char) ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    void clearMask() {
+        setMask(0, 0, false);
+    }
+
+    /**
+     * Set current chars to chars of node
+     */
+    void setMaskToChars(int node) {
+        setMask(charLows[node], charHighs[node], charOthers[node]);
+    }
+
+    /**
+     * Add first chars of node to current chars
+     */
+    void addFirstToMask(int node) {
+        addMask(firstLows[node], firstHighs[node], firstOthers[node]);
+    }
+
+    /**
+     * Keep only current chars which node can consume
+     */
+    void retainChars(int node) {
+        maskLow &= charLows[node];
+        maskHigh &= charHighs[node];
+        maskOther &= charOthers[node];
+    }
+
+    boolean maskIntersectsChars(int node) {
+        return (maskLow & charLows[node]) != 0 || (maskHigh & charHighs[node]) != 0 || maskOther && charOthers[node];
+    }
+
+    boolean maskIntersectsFirst(int node) {
+        return (maskLow & firstLows[node]) != 0 || (maskHigh & firstHighs[node]) != 0
+                || maskOther && firstOthers[node];
+    }
+
+    /**
+     * @return <code>true</code> - group is matched as its content in place, <code>false</code> - otherwise
+     */
+    boolean isTransparent(int group) {
+        RegexGroupType groupType = tree.getGroupType(group);
+        return groupType != RegexGroupType.Atomic && groupType != RegexGroupType.InlineFlags
+                && !groupType.isLookaround();
+    }
+
+    private void measure(int node) {
+        RegexNodeType type = tree.getType(node);
+        if (type == RegexNodeType.Atom) {
+            measureAtom(node);
+            return;
+        }
+
+        int min = 0;
+        int max = 0;
+        boolean assertion = false;
+        clearMask();
+        long firstLow = 0;
+        long firstHigh = 0;
+        boolean firstOther = false;
+        int child = tree.getFirstChild(node);
+        if (type == RegexNodeType.Concatenation) {
+            boolean open = true;
+            for (; child != RegexTree.NONE; child = tree.getNextSibling(child)) {
+                min = add(min, minimums[child]);
+                max = add(max, maximums[child]);
+                addChars(child);
+                if (open) {
+                    firstLow |= firstLows[child];
+                    firstHigh |= firstHighs[child];
+                    firstOther |= firstOthers[child];
+                    assertion |= assertionFirst[child];
+                    open = minimums[child] == 0;
+                }
+            }
+        } else if (type == RegexNodeType.Alternation) {
+            min = INFINITE;
+            for (; child != RegexTree.NONE; child = tree.getNextSibling(child)) {
+                min = Math.min(min, minimums[child]);
+                max = Math.max(max, maximums[child]);
+                addChars(child);
+                firstLow |= firstLows[child];
+                firstHigh |= firstHighs[child];
+                firstOther |= firstOthers[child];
+                assertion |= assertionFirst[child];
+            }
+        } else if (type == RegexNodeType.Quantified || isTransparent(node)
+                || tree.getGroupType(node) == RegexGroupType.Atomic) {
+            if (type == RegexNodeType.Quantified && tree.getType(child) == RegexNodeType.Quantified) {
+                // java.util.regex applies quantifier after quantifier to nothing, e.g. 'a{2}{3}' is 'aa'
+                min = minimums[child];
+                max = maximums[child];
+            } else if (type == RegexNodeType.Quantified) {
+                min = multiply(minimums[child], tree.getMin(node));
+                max = tree.getMax(node) == RegexTree.UNBOUNDED ? (maximums[child] == 0 ? 0 : INFINITE)
+                        : multiply(maximums[child], tree.getMax(node));
+            } else {
+                min = minimums[child];
+                max = maximums[child];
+            }
+            addChars(child);
+            firstLow = firstLows[child];
+            firstHigh = firstHighs[child];
+            firstOther = firstOthers[child];
+            assertion = assertionFirst[child];
+        } else {
+            // lookarounds check input without consuming it, inline flags do nothing
+            assertion = tree.getGroupType(node).isLookaround();
+        }
+        minimums[node] = min;
+        maximums[node] = max;
+        assertionFirst[node] = assertion;
+        charLows[node] = maskLow;
+        charHighs[node] = maskHigh;
+        charOthers[node] = maskOther;
+        firstLows[node] = firstLow;
+        firstHighs[node] = firstHigh;
+        firstOthers[node] = firstOther;
+    }
+
+    private void measureAtom(int node) {
+        int start = tree.getStart(node);
+        int length = tree.getEnd(node) - start;
+        RegexType type = tree.getTokenType(node);
+        byte role = roles[tree.getFirstToken(node)];
+        int min = 1;
+        int max = 1;
+        boolean assertion = false;
+        clearMask();
+        if (role == ROLE_ESCAPE_PART || role == ROLE_IGNORED) {
+            min = 0;
+            max = 0;
+        } else if (role == ROLE_ESCAPE_CHAR) {
+            setAny();
+        } else if (role == ROLE_BACK_REFERENCE || type == RegexType.Quantifier || type == RegexType.QuantifierGroup) {
+            // quantifier without operand, e.g. '{2}' at start, repeats nothing for java.util.regex
+            min = 0;
+            max = INFINITE;
+            assertion = true;
+            setAny();
+        } else if (type == RegexType.Anchor || length == 1 && "^$".indexOf(expression.charAt(start)) >= 0) {
+            // tokenizer marks '^' and '$' as anchors only at edges of expression
+            min = 0;
+            max = 0;
+            assertion = true;
+        } else if (type == RegexType.CharacterGroup) {
+            addCharacterGroup(start, start + length);
+        } else if (length == 1) {
+            char ch = expression.charAt(start);
+            if (ch == '.' && type == RegexType.CharacterClass) {
+                addDot();
+            } else {
+                addChar(ch);
+            }
+        } else if (length == 2 && expression.charAt(start) == '\\') {
+            char escaped = expression.charAt(start + 1);
+            if (escaped == 'Q' || escaped == 'E') {
+                min = 0;
+                max = 0;
+            } else if (escaped == 'R') {
+                max = 2;
+                setMask(VERTICAL_SPACE_LOW, 0, true);
+            } else if (escaped == 'X') {
+                max = INFINITE;
+                setAny();
+            } else if (!addEscape(escaped)) {
+                setAny();
+            }
+        } else {
+            setAny();
+        }
+        if ((flags & Pattern.CASE_INSENSITIVE) != 0) {
+            maskHigh |= ((maskHigh >>> 32) & UPPER_HIGH) | ((maskHigh & UPPER_HIGH) << 32);
+            // e.g. Kelvin sign matches 'k' with Unicode case
+            maskOther |= (flags & Pattern.UNICODE_CASE) != 0 && (maskHigh & LETTER_HIGH) != 0;
+        }
+        minimums[node] = min;
+        maximums[node] = max;
+        assertionFirst[node] = assertion;
+        charLows[node] = maskLow;
+        charHighs[node] = maskHigh;
+        charOthers[node] = maskOther;
+        firstLows[node] = maskLow;
+        firstHighs[node] = maskHigh;
+        firstOthers[node] = maskOther;
+    }
+
+    /**
+     * Mark tokens of escapes which tokenizer splits, e.g. <code>\x</code>, <code>4</code>, <code>1</code>, and
+     * comments of {@link Pattern#COMMENTS} mode
+     */
+    private void assignRoles() {
+        boolean comments = (flags & Pattern.COMMENTS) != 0;
+        int index = 0;
+        while (index < tokens.size()) {
+            int start = tokens.getStart(index);
+            int length = tokens.getEnd(index) - start;
+            char ch = expression.charAt(start);
+            if (length == 2 && ch == '\\') {
+                char escaped = expression.charAt(start + 1);
+                if (escaped == 'Q') {
+                    quoted = true;
+                }
+                int end = RegexTokenStream.getEscapeEnd(expression, start);
+                if (end > 0) {
+                    boolean reference = escaped == 'k' || escaped >= '1' && escaped <= '9';
+                    int last = index;
+                    while (last + 1 < tokens.size() && tokens.getStart(last + 1) < end) {
+                        roles[last] = ROLE_ESCAPE_PART;
+                        last++;
+                    }
+                    roles[last] = reference ? ROLE_BACK_REFERENCE : ROLE_ESCAPE_CHAR;
+                    index = last + 1;
+                    continue;
+                }
+            } else if (comments && length == 1 && tokens.getType(index) == RegexType.None) {
+                if (ch == '#') {
+                    while (index < tokens.size() && expression.charAt(tokens.getStart(index)) != '\n') {
+                        roles[index++] = ROLE_IGNORED;
+                    }
+                    continue;
+                } else if (Character.isWhitespace(ch)) {
+                    roles[index] = ROLE_IGNORED;
+                }
+            }
+            index++;
+        }
+    }
+
+    private void addInlineFlags(int group) {
+        RegexGroupType groupType = tree.getGroupType(group);
+        if (groupType != RegexGroupType.InlineFlags && groupType != RegexGroupType.FlagsNonCapturing) {
+            return;
+        }
+        // flags after '-' are turned off for a part of expression, it is ignored
+        for (int offset = tree.getStart(group) + 2; offset < expression.length(); offset++) {
+            switch (expression.charAt(offset)) {
+                case 'i':
+                    flags |= Pattern.CASE_INSENSITIVE;
+                    break;
+                case 'd':
+                    flags |= Pattern.UNIX_LINES;
+                    break;
+                case 'm':
+                    flags |= Pattern.MULTILINE;
+                    break;
+                case 's':
+                    flags |= Pattern.DOTALL;
+                    break;
+                case 'u':
+                    flags |= Pattern.UNICODE_CASE;
+                    break;
+                case 'x':
+                    flags |= Pattern.COMMENTS;
+                    break;
+                case 'U':
+                    flags |= Pattern.UNICODE_CHARACTER_CLASS;
+                    break;
+                default:
+                    return;
+            }
+        }
+    }
+
+    /**
+     * Add chars of character group <code>[...]</code>, nested groups and intersections match any char
+     */
+    private void addCharacterGroup(int start, int end) {
+        int offset = start + 1;
+        int limit = expression.charAt(end - 1) == ']' ? end - 1 : end;
+        boolean negated = offset < limit && expression.charAt(offset) == '^';
+        if (negated) {
+            offset++;
+        }
+        int previous = -1;
+        while (offset < limit) {
+            char ch = expression.charAt(offset);
+            if (ch == '[' || ch == '&' && offset + 1 < limit && expression.charAt(offset + 1) == '&'
+                    || (flags & Pattern.COMMENTS) != 0 && (ch == '#' || Character.isWhitespace(ch))) {
+                setAny();
+                return;
+            }
+            if (ch == '-' && previous >= 0 && offset + 1 < limit) {
+                int to = expression.charAt(offset + 1);
+                offset += 2;
+                if (to == '\\') {
+                    to = offset < limit ? getEscapedChar(expression.charAt(offset)) : -1;
+                    offset++;
+                }
+                if (to < 0) {
+                    setAny();
+                    return;
+                }
+                addRange(previous, to);
+                previous = -1;
+                continue;
+            }
+
+            if (ch == '\\' && offset + 1 < limit) {
+                char escaped = expression.charAt(offset + 1);
+                previous = getEscapedChar(escaped);
+                if (previous >= 0) {
+                    addChar((char) previous);
+                } else if (!addEscape(escaped)) {
+                    setAny();
+                    return;
+                }
+                offset += 2;
+            } else {
+                addChar(ch);
+                previous = ch;
+                offset++;
+            }
+        }
+        if (negated) {
+            setMask(~maskLow, ~maskHigh, true);
+        }
+    }
+
+    /**
+     * Add chars of escape <code>\d</code>, <code>\t</code>, <code>\.</code>...
+     *
+     * @return <code>false</code> if escape is unknown
+     */
+    private boolean addEscape(char escaped) {
+        int single = getEscapedChar(escaped);
+        if (single >= 0) {
+            addChar((char) single);
+            return true;
+        }
+        boolean unicode = (flags & Pattern.UNICODE_CHARACTER_CLASS) != 0;
+        switch (escaped) {
+            case 'd':
+                addMask(DIGIT_LOW, 0, unicode);
+                return true;
+            case 'D':
+                addMask(~DIGIT_LOW, -1L, true);
+                return true;
+            case 'w':
+                addMask(DIGIT_LOW, WORD_HIGH, unicode);
+                return true;
+            case 'W':
+                addMask(~DIGIT_LOW, ~WORD_HIGH, true);
+                return true;
+            case 's':
+                addMask(SPACE_LOW, 0, unicode);
+                return true;
+            case 'S':
+                addMask(~SPACE_LOW, -1L, true);
+                return true;
+            case 'h':
+                addMask(HORIZONTAL_SPACE_LOW, 0, true);
+                return true;
+            case 'H':
+                addMask(~HORIZONTAL_SPACE_LOW, -1L, true);
+                return true;
+            case 'v':
+                addMask(VERTICAL_SPACE_LOW, 0, true);
+                return true;
+            case 'V':
+                addMask(~VERTICAL_SPACE_LOW, -1L, true);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return char of single char escape, -1 for classes and escapes with arguments
+     */
+    private static int getEscapedChar(char escaped) {
+        switch (escaped) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case 'a':
+                return '\u0007';
+            case 'e':
+                return '\u001B';
+            default:
+                return Character.isLetterOrDigit(escaped) ? -1 : escaped;
+        }
+    }
+
+    private void addDot() {
+        if ((flags & Pattern.DOTALL) != 0) {
+            setAny();
+        } else if ((flags & Pattern.UNIX_LINES) != 0) {
+            setMask(~LINE_FEED_LOW, -1L, true);
+        } else {
+            setMask(~LINE_BREAK_LOW, -1L, true);
+        }
+    }
+
+    private void addChars(int node) {
+        addMask(charLows[node], charHighs[node], charOthers[node]);
+    }
+
+    private void setAny() {
+        setMask(-1L, -1L, true);
+    }
+
+    private void setMask(long low, long high, boolean other) {
+        maskLow = low;
+        maskHigh = high;
+        maskOther = other;
+    }
+
+    private void addMask(long low, long high, boolean other) {
+        maskLow |= low;
+        maskHigh |= high;
+        maskOther |= other;
+    }
+
+    private void addChar(char ch) {
+        if (ch < 64) {
+            maskLow |= 1L << ch;
+        } else if (ch < 128) {
+            maskHigh |= 1L << (ch - 64);
+        } else {
+            maskOther = true;
+        }
+    }
+
+    private void addRange(int from, int to) {
+        for (int ch = from; ch <= to && ch < 128; ch++) {
+            addChar((char) ch);
+        }
+        if (to >= 128) {
+            maskOther = true;
+        }
+    }
+
+    private static int add(int first, int second) {
+        long sum = (long) first + second;
+        return sum >= INFINITE ? INFINITE : (int) sum;
+    }
+
+    private static int multiply(int first, int second) {
+        if (first == 0 || second == 0) {
+            return 0;
+        }
+        long product = (long) first * second;
+        return product >= INFINITE ? INFINITE : (int) product;
+    }
+}
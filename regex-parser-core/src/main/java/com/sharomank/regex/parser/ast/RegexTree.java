@@ -0,0 +1,308 @@
+package com.sharomank.regex.parser.ast;
+
+import com.sharomank.regex.parser.RegexParser;
+import com.sharomank.regex.parser.RegexTokenStream;
+import com.sharomank.regex.parser.enums.RegexGroupType;
+import com.sharomank.regex.parser.enums.RegexNodeType;
+import com.sharomank.regex.parser.enums.RegexQuantifierMode;
+import com.sharomank.regex.parser.enums.RegexType;
+
+/**
+ * Tree of regular expression built over {@link RegexTokenStream}. Nodes are indexes in parallel arrays,
+ * there is no object per node. Root is {@link RegexNodeType#Alternation} or {@link RegexNodeType#Concatenation}.
+ * <p/>
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexTree {
+    /**
+     * Maximum of quantifier without upper bound
+     */
+    public static final int UNBOUNDED = -1;
+
+    /**
+     * Index of absent node
+     */
+    public static final int NONE = -1;
+
+    private static final RegexNodeType[] NODE_TYPES = RegexNodeType.values();
+    private static final RegexGroupType[] GROUP_TYPES = RegexGroupType.values();
+    private static final RegexQuantifierMode[] QUANTIFIER_MODES = RegexQuantifierMode.values();
+
+    private final RegexTokenStream tokens;
+    private final int size;
+    private final byte[] nodeTypes;
+    private final int[] parents;
+    private final int[] firstChildren;
+    private final int[] nextSiblings;
+    private final int[] firstTokens;
+    private final int[] endTokens;
+    private final int[] minimums;
+    private final int[] maximums;
+    private final byte[] kinds;
+    private final boolean exact;
+
+    RegexTree(RegexTokenStream tokens, int size, byte[] nodeTypes, int[] parents, int[] firstChildren,
+              int[] nextSiblings, int[] firstTokens, int[] endTokens, int[] minimums, int[] maximums, byte[] kinds,
+              boolean exact) {
+        this.tokens = tokens;
+        this.size = size;
+        this.nodeTypes = nodeTypes;
+        this.parents = parents;
+        this.firstChildren = firstChildren;
+        this.nextSiblings = nextSiblings;
+        this.firstTokens = firstTokens;
+        this.endTokens = endTokens;
+        this.minimums = minimums;
+        this.maximums = maximums;
+        this.kinds = kinds;
+        this.exact = exact;
+    }
+
+    /**
+     * Parse regular expression and build tree
+     *
+     * @param regexPattern regular expression
+     * @return tree of expression
+     * @throws IllegalArgumentException if expression is invalid
+     */
+    public static RegexTree parse(String regexPattern) {
+        return build(RegexParser.tokenize(regexPattern));
+    }
+
+    /**
+     * Build tree of tokens
+     *
+     * @param tokens tokens of valid expression
+     * @return tree of expression, see {@link #isExact()}
+     * @throws IllegalArgumentException if tokens contain {@link RegexType#ParseError}
+     */
+    public static RegexTree build(RegexTokenStream tokens) {
+        return new RegexTreeBuilder(tokens).build();
+    }
+
+    public RegexTokenStream getTokens() {
+        return tokens;
+    }
+
+    /**
+     * Tree is not exact if tokens do not show structure of expression: groups are opened or closed in comments
+     * of {@link java.util.regex.Pattern#COMMENTS} mode, or character group or quotation ends inside of token,
+     * e.g. <code>[]{]}</code>. Atom of such construct takes the whole token, unmatched ')' is atom and
+     * unclosed groups end with expression.
+     *
+     * @return <code>true</code> if nodes match constructs of expression
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * @return count of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getRoot() {
+        return 0;
+    }
+
+    public RegexNodeType getType(int node) {
+        checkNode(node);
+        return NODE_TYPES[nodeTypes[node]];
+    }
+
+    /**
+     * @return parent node or {@link #NONE} for root
+     */
+    public int getParent(int node) {
+        checkNode(node);
+        return parents[node];
+    }
+
+    /**
+     * @return first child node or {@link #NONE}
+     */
+    public int getFirstChild(int node) {
+        checkNode(node);
+        return firstChildren[node];
+    }
+
+    /**
+     * @return next node with the same parent or {@link #NONE}
+     */
+    public int getNextSibling(int node) {
+        checkNode(node);
+        return nextSiblings[node];
+    }
+
+    public int getChildCount(int node) {
+        int count = 0;
+        for (int child = getFirstChild(node); child != NONE; child = nextSiblings[child]) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Next node in pre-order traversal, walks the whole tree without recursion
+     *
+     * @param node current node
+     * @return next node or {@link #NONE} after last node
+     */
+    public int getNextInPreorder(int node) {
+        checkNode(node);
+        if (firstChildren[node] != NONE) {
+            return firstChildren[node];
+        }
+        for (int current = node; current != NONE; current = parents[current]) {
+            if (nextSiblings[current] != NONE) {
+                return nextSiblings[current];
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * @return index of first token of node
+     */
+    public int getFirstToken(int node) {
+        checkNode(node);
+        return firstTokens[node];
+    }
+
+    /**
+     * @return index after last token of node
+     */
+    public int getEndToken(int node) {
+        checkNode(node);
+        return endTokens[node];
+    }
+
+    /**
+     * @return offset of first char of node in expression
+     */
+    public int getStart(int node) {
+        int firstToken = getFirstToken(node);
+        return firstToken < tokens.size() ? tokens.getStart(firstToken) : tokens.getExpression().length();
+    }
+
+    /**
+     * @return offset after last char of node in expression
+     */
+    public int getEnd(int node) {
+        int endToken = getEndToken(node);
+        return endToken > getFirstToken(node) ? tokens.getEnd(endToken - 1) : getStart(node);
+    }
+
+    /**
+     * @return text of node in expression
+     */
+    public String getText(int node) {
+        return tokens.getExpression().substring(getStart(node), getEnd(node));
+    }
+
+    /**
+     * @return token type of {@link RegexNodeType#Atom} node
+     */
+    public RegexType getTokenType(int node) {
+        checkType(node, RegexNodeType.Atom);
+        return tokens.getType(firstTokens[node]);
+    }
+
+    /**
+     * @return type of {@link RegexNodeType#Group} node
+     */
+    public RegexGroupType getGroupType(int node) {
+        checkType(node, RegexNodeType.Group);
+        return GROUP_TYPES[kinds[node]];
+    }
+
+    /**
+     * @return minimal count of repetitions of {@link RegexNodeType#Quantified} node
+     */
+    public int getMin(int node) {
+        checkType(node, RegexNodeType.Quantified);
+        return minimums[node];
+    }
+
+    /**
+     * @return maximal count of repetitions of {@link RegexNodeType#Quantified} node or {@link #UNBOUNDED}
+     */
+    public int getMax(int node) {
+        checkType(node, RegexNodeType.Quantified);
+        return maximums[node];
+    }
+
+    /**
+     * @return mode of {@link RegexNodeType#Quantified} node
+     */
+    public RegexQuantifierMode getQuantifierMode(int node) {
+        checkType(node, RegexNodeType.Quantified);
+        return QUANTIFIER_MODES[kinds[node]];
+    }
+
+    /**
+     * @return structure of tree, e.g. <code>Concatenation[Atom(a), Quantified{1,-1}[Atom(b)]]</code>
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        int node = getRoot();
+        while (node != NONE) {
+            appendNode(sb, node);
+            if (firstChildren[node] != NONE) {
+                sb.append('[');
+                node = firstChildren[node];
+                continue;
+            }
+            // close finished parents
+            int current = node;
+            while (current != NONE && nextSiblings[current] == NONE) {
+                current = parents[current];
+                if (current != NONE) {
+                    sb.append(']');
+                }
+            }
+            if (current != NONE) {
+                sb.append(", ");
+                node = nextSiblings[current];
+            } else {
+                node = NONE;
+            }
+        }
+        return sb.toString();
+    }
+
+    private void appendNode(StringBuilder sb, int node) {
+        RegexNodeType type = NODE_TYPES[nodeTypes[node]];
+        sb.append(type.name());
+        if (type == RegexNodeType.Atom) {
+            sb.append('(').append(getText(node)).append(')');
+        } else if (type == RegexNodeType.Group) {
+            sb.append('(').append(getGroupType(node).name()).append(')');
+        } else if (type == RegexNodeType.Quantified) {
+            sb.append('{').append(minimums[node]).append(',').append(maximums[node]);
+            if (kinds[node] != RegexQuantifierMode.Greedy.ordinal()) {
+                sb.append(',').append(getQuantifierMode(node).name());
+            }
+            sb.append('}');
+        }
+    }
+
+    private void checkNode(int node) {
+        if (node < 0 || node >= size) {
+            throw new IndexOutOfBoundsException("Node: " + node + ", size: " + size);
+        }
+    }
+
+    private void checkType(int node, RegexNodeType type) {
+        checkNode(node);
+        if (nodeTypes[node] != type.ordinal()) {
+            throw new IllegalArgumentException("Node " + node + " is not " + type.name());
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.sharomank.regex.parser.ast;
+
+import com.sharomank.regex.parser.RegexTokenStream;
+import com.sharomank.regex.parser.enums.RegexGroupType;
+import com.sharomank.regex.parser.enums.RegexNodeType;
+import com.sharomank.regex.parser.enums.RegexQuantifierMode;
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.util.Arrays;
+
+/**
+ * Builder of {@link RegexTree}, walks tokens once with explicit stack of open groups.
+ * <p/>
+ * Tokenizer ends character group at first ']' and reads quotation <code>\Q...\E</code> as separate tokens, so
+ * atom of character group or quotation takes all tokens up to its real end, e.g. <code>[^\]]</code> or
+ * <code>\Q(a\E</code>. Builder does not know match flags: brackets in comments of
+ * {@link java.util.regex.Pattern#COMMENTS} mode are read as groups. If construct ends inside of token or groups
+ * are not balanced, tree is built anyway and is not exact, see {@link RegexTree#isExact()}.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class RegexTreeBuilder {
+    private static final int NONE = RegexTree.NONE;
+
+    private final RegexTokenStream tokens;
+    private final String expression;
+
+    private int size;
+    private byte[] nodeTypes;
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] lastChildren;
+    private int[] nextSiblings;
+    private int[] firstTokens;
+    private int[] endTokens;
+    private int[] minimums;
+    private int[] maximums;
+    private byte[] kinds;
+    private boolean exact = true;
+
+    // open groups: group node, its content node and current concatenation
+    private int depth;
+    private int[] groupStack = new int[16];
+    private int[] contentStack = new int[16];
+    private int[] concatStack = new int[16];
+
+    // result of group prefix parsing
+    private RegexGroupType prefixGroupType;
+
+    RegexTreeBuilder(RegexTokenStream tokens) {
+        this.tokens = tokens;
+        this.expression = tokens.getExpression();
+        // token adds at most two nodes: group and its content, alternation and next branch, quantifier and copy
+        int capacity = 2 * tokens.size() + 2;
+        nodeTypes = new byte[capacity];
+        parents = new int[capacity];
+        firstChildren = new int[capacity];
+        lastChildren = new int[capacity];
+        nextSiblings = new int[capacity];
+        firstTokens = new int[capacity];
+        endTokens = new int[capacity];
+        minimums = new int[capacity];
+        maximums = new int[capacity];
+        kinds = new byte[capacity];
+    }
+
+    RegexTree build() {
+        int root = newNode(RegexNodeType.Concatenation, NONE, 0);
+        push(NONE, root);
+
+        int index = 0;
+        while (index < tokens.size()) {
+            RegexType type = tokens.getType(index);
+            if (RegexType.ParseError.equals(type)) {
+                throw new IllegalArgumentException("Cannot build tree of invalid expression: " + expression);
+            } else if (RegexType.Group.equals(type)) {
+                index = isChar(index, '(') ? openGroup(index) : closeGroup(index);
+            } else if (RegexType.Alternation.equals(type)) {
+                startBranch(index);
+                index++;
+            } else if (RegexType.Quantifier.equals(type) || RegexType.QuantifierGroup.equals(type)) {
+                quantify(index);
+                index++;
+            } else {
+                index = appendAtom(index);
+            }
+        }
+
+        while (depth > 1) {
+            // group is closed in comment or inside of token
+            exact = false;
+            closeGroup(tokens.size() - 1);
+        }
+        finishContent();
+        return new RegexTree(tokens, size, Arrays.copyOf(nodeTypes, size), Arrays.copyOf(parents, size),
+                Arrays.copyOf(firstChildren, size), Arrays.copyOf(nextSiblings, size), Arrays.copyOf(firstTokens, size),
+                Arrays.copyOf(endTokens, size), Arrays.copyOf(minimums, size), Arrays.copyOf(maximums, size),
+                Arrays.copyOf(kinds, size), exact);
+    }
+
+    /**
+     * @return index of token after atom
+     */
+    private int appendAtom(int index) {
+        int end;
+        if (tokens.getType(index) == RegexType.CharacterGroup) {
+            end = findCharacterGroupEnd(tokens.getStart(index));
+        } else if (tokens.getEnd(index) - tokens.getStart(index) == 2
+                && expression.startsWith("\\Q", tokens.getStart(index))) {
+            end = findQuotationEnd(tokens.getStart(index));
+        } else {
+            end = tokens.getEnd(index);
+        }
+        int endToken = index + 1;
+        while (endToken < tokens.size() && tokens.getEnd(endToken - 1) < end) {
+            endToken++;
+        }
+        if (tokens.getEnd(endToken - 1) != end) {
+            // e.g. [] followed by {]}
+            exact = false;
+        }
+
+        int atom = newNode(RegexNodeType.Atom, NONE, index);
+        endTokens[atom] = endToken;
+        appendChild(concatStack[depth - 1], atom);
+        return endToken;
+    }
+
+    private int openGroup(int index) {
+        int prefixLength = parseGroupPrefix(index);
+        int group = newNode(RegexNodeType.Group, NONE, index);
+        kinds[group] = (byte) prefixGroupType.ordinal();
+        appendChild(concatStack[depth - 1], group);
+
+        int contentStart = index + 1 + prefixLength;
+        int content = newNode(RegexNodeType.Concatenation, NONE, contentStart);
+        appendChild(group, content);
+        push(group, content);
+        return contentStart;
+    }
+
+    private int closeGroup(int index) {
+        if (depth == 1) {
+            // group is opened in comment or inside of token
+            exact = false;
+            return appendAtom(index);
+        }
+        finishContent();
+        int group = groupStack[depth - 1];
+        depth--;
+        endTokens[group] = index + 1;
+        endTokens[concatStack[depth - 1]] = index + 1;
+        return index + 1;
+    }
+
+    private void finishContent() {
+        int content = contentStack[depth - 1];
+        if (nodeTypes[content] == RegexNodeType.Alternation.ordinal()) {
+            endTokens[content] = endTokens[concatStack[depth - 1]];
+        }
+    }
+
+    private void startBranch(int index) {
+        int concat = concatStack[depth - 1];
+        int alternation = contentStack[depth - 1];
+        if (nodeTypes[alternation] != RegexNodeType.Alternation.ordinal()) {
+            int parent = parents[concat];
+            alternation = newNode(RegexNodeType.Alternation, parent, firstTokens[concat]);
+            if (parent != NONE) {
+                firstChildren[parent] = alternation;
+                lastChildren[parent] = alternation;
+            } else {
+                // keep root at index 0
+                swapNodes(concat, alternation);
+                int swapped = concat;
+                concat = alternation;
+                alternation = swapped;
+                concatStack[depth - 1] = concat;
+            }
+            appendChild(alternation, concat);
+            contentStack[depth - 1] = alternation;
+        }
+
+        int branch = newNode(RegexNodeType.Concatenation, NONE, index + 1);
+        appendChild(alternation, branch);
+        concatStack[depth - 1] = branch;
+    }
+
+    private void quantify(int index) {
+        int concat = concatStack[depth - 1];
+        int last = lastChildren[concat];
+        if (last == NONE) {
+            // nothing to repeat, e.g. '{2}' at start is literal for java.util.regex
+            appendChild(concat, newNode(RegexNodeType.Atom, NONE, index));
+            return;
+        }
+
+        if (nodeTypes[last] == RegexNodeType.Quantified.ordinal() && endTokens[last] == index
+                && kinds[last] == RegexQuantifierMode.Greedy.ordinal() && tokens.getType(index) == RegexType.Quantifier) {
+            if (isChar(index, '?')) {
+                setMode(concat, last, index, RegexQuantifierMode.Lazy);
+                return;
+            } else if (isChar(index, '+')) {
+                setMode(concat, last, index, RegexQuantifierMode.Possessive);
+                return;
+            }
+        }
+
+        int min;
+        int max;
+        if (isChar(index, '*')) {
+            min = 0;
+            max = RegexTree.UNBOUNDED;
+        } else if (isChar(index, '+')) {
+            min = 1;
+            max = RegexTree.UNBOUNDED;
+        } else if (isChar(index, '?')) {
+            min = 0;
+            max = 1;
+        } else {
+            long[] bounds = parseBounds(index);
+            if (bounds == null) {
+                appendChild(concat, newNode(RegexNodeType.Atom, NONE, index));
+                return;
+            }
+            min = (int) bounds[0];
+            max = (int) bounds[1];
+        }
+
+        wrap(last);
+        nodeTypes[last] = (byte) RegexNodeType.Quantified.ordinal();
+        minimums[last] = min;
+        maximums[last] = max;
+        kinds[last] = (byte) RegexQuantifierMode.Greedy.ordinal();
+        endTokens[last] = index + 1;
+        endTokens[concat] = index + 1;
+    }
+
+    private void setMode(int concat, int quantified, int index, RegexQuantifierMode mode) {
+        kinds[quantified] = (byte) mode.ordinal();
+        endTokens[quantified] = index + 1;
+        endTokens[concat] = index + 1;
+    }
+
+    /**
+     * Move node into new child node, so node itself can become wrapper without relinking siblings
+     */
+    private void wrap(int node) {
+        int copy = newNode(RegexNodeType.values()[nodeTypes[node]], node, firstTokens[node]);
+        endTokens[copy] = endTokens[node];
+        firstChildren[copy] = firstChildren[node];
+        lastChildren[copy] = lastChildren[node];
+        minimums[copy] = minimums[node];
+        maximums[copy] = maximums[node];
+        kinds[copy] = kinds[node];
+        for (int child = firstChildren[copy]; child != NONE; child = nextSiblings[child]) {
+            parents[child] = copy;
+        }
+        firstChildren[node] = copy;
+        lastChildren[node] = copy;
+    }
+
+    /**
+     * Swap contents of two nodes which have no parent
+     */
+    private void swapNodes(int first, int second) {
+        swap(nodeTypes, first, second);
+        swap(firstChildren, first, second);
+        swap(lastChildren, first, second);
+        swap(firstTokens, first, second);
+        swap(endTokens, first, second);
+        swap(minimums, first, second);
+        swap(maximums, first, second);
+        swap(kinds, first, second);
+        for (int child = firstChildren[first]; child != NONE; child = nextSiblings[child]) {
+            parents[child] = first;
+        }
+        for (int child = firstChildren[second]; child != NONE; child = nextSiblings[child]) {
+            parents[child] = second;
+        }
+    }
+
+    /**
+     * Parse bounds of quantifier group <code>{n}</code>, <code>{n,}</code> or <code>{n,m}</code>
+     *
+     * @return minimum and maximum, <code>null</code> if token is not quantifier
+     */
+    private long[] parseBounds(int index) {
+        int start = tokens.getStart(index) + 1;
+        int end = tokens.getEnd(index) - 1;
+        if (end < start || expression.charAt(end) != '}') {
+            return null;
+        }
+        int comma = expression.indexOf(',', start);
+        if (comma < 0 || comma > end) {
+            long value = parseNumber(start, end);
+            return value < 0 ? null : new long[]{value, value};
+        }
+        long min = parseNumber(start, comma);
+        long max = comma + 1 == end ? RegexTree.UNBOUNDED : parseNumber(comma + 1, end);
+        if (min < 0 || (max < 0 && comma + 1 != end)) {
+            return null;
+        }
+        return new long[]{min, max};
+    }
+
+    private long parseNumber(int start, int end) {
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+        long value = 0;
+        for (int offset = start; offset < end; offset++) {
+            char ch = expression.charAt(offset);
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parse tokens after '(' which define group type, e.g. <code>?:</code> or <code>?&lt;name&gt;</code>
+     *
+     * @param open index of '(' token
+     * @return count of prefix tokens after '(', group type is stored in {@link #prefixGroupType}
+     */
+    private int parseGroupPrefix(int open) {
+        prefixGroupType = RegexGroupType.Capturing;
+        if (!isChar(open + 1, '?') || open + 2 >= tokens.size()) {
+            return 0;
+        }
+
+        int marker = open + 2;
+        if (isChar(marker, ':')) {
+            prefixGroupType = RegexGroupType.NonCapturing;
+            return 2;
+        } else if (isChar(marker, '>')) {
+            prefixGroupType = RegexGroupType.Atomic;
+            return 2;
+        } else if (isChar(marker, '=')) {
+            prefixGroupType = RegexGroupType.Lookahead;
+            return 2;
+        } else if (isChar(marker, '!')) {
+            prefixGroupType = RegexGroupType.NegativeLookahead;
+            return 2;
+        } else if (isChar(marker, '<')) {
+            if (isChar(marker + 1, '=')) {
+                prefixGroupType = RegexGroupType.Lookbehind;
+                return 3;
+            } else if (isChar(marker + 1, '!')) {
+                prefixGroupType = RegexGroupType.NegativeLookbehind;
+                return 3;
+            }
+            int index = marker + 1;
+            while (index < tokens.size() && !isChar(index, '>')) {
+                index++;
+            }
+            prefixGroupType = RegexGroupType.NamedCapturing;
+            return Math.min(index + 1, tokens.size()) - open - 1;
+        }
+
+        // inline flags: (?idmsux-idmsux) or (?idmsux-idmsux:X)
+        int index = marker;
+        while (index < tokens.size() && tokens.getType(index) != RegexType.Group && !isChar(index, ':')) {
+            index++;
+        }
+        if (isChar(index, ':')) {
+            prefixGroupType = RegexGroupType.FlagsNonCapturing;
+            return index + 1 - open - 1;
+        }
+        prefixGroupType = RegexGroupType.InlineFlags;
+        return index - open - 1;
+    }
+
+    /**
+     * ']' right after '[' or '[^' is literal char, nested groups, quotation and <code>\c]</code> may contain ']'
+     *
+     * @param start offset of '[' in expression
+     * @return offset after ']' which closes group, length of expression if group is not closed
+     */
+    private int findCharacterGroupEnd(int start) {
+        int nesting = 0;
+        int offset = start;
+        while (offset < expression.length()) {
+            char ch = expression.charAt(offset);
+            if (ch == '[') {
+                nesting++;
+                offset++;
+                if (offset < expression.length() && expression.charAt(offset) == '^') {
+                    offset++;
+                }
+                if (offset < expression.length() && expression.charAt(offset) == ']') {
+                    offset++;
+                }
+            } else if (ch == ']') {
+                nesting--;
+                offset++;
+                if (nesting == 0) {
+                    return offset;
+                }
+            } else if (ch == '\\' && expression.startsWith("Q", offset + 1)) {
+                offset = findQuotationEnd(offset);
+            } else if (ch == '\\') {
+                // control char escape takes next char, e.g. \c]
+                offset += expression.startsWith("c", offset + 1) ? 3 : 2;
+            } else {
+                offset++;
+            }
+        }
+        return expression.length();
+    }
+
+    /**
+     * @param start offset of <code>\Q</code> in expression
+     * @return offset after <code>\E</code> which ends quotation, length of expression if there is no one
+     */
+    private int findQuotationEnd(int start) {
+        int end = expression.indexOf("\\E", start + 2);
+        return end < 0 ? expression.length() : end + 2;
+    }
+
+    private boolean isChar(int index, char ch) {
+        return index < tokens.size() && tokens.getEnd(index) - tokens.getStart(index) == 1
+                && expression.charAt(tokens.getStart(index)) == ch;
+    }
+
+    private int newNode(RegexNodeType type, int parent, int firstToken) {
+        int node = size++;
+        nodeTypes[node] = (byte) type.ordinal();
+        parents[node] = parent;
+        firstChildren[node] = NONE;
+        lastChildren[node] = NONE;
+        nextSiblings[node] = NONE;
+        firstTokens[node] = firstToken;
+        endTokens[node] = type == RegexNodeType.Concatenation ? firstToken : firstToken + 1;
+        return node;
+    }
+
+    private void appendChild(int parent, int child) {
+        parents[child] = parent;
+        nextSiblings[child] = NONE;
+        if (lastChildren[parent] == NONE) {
+            firstChildren[parent] = child;
+        } else {
+            nextSiblings[lastChildren[parent]] = child;
+        }
+        lastChildren[parent] = child;
+        endTokens[parent] = Math.max(endTokens[parent], endTokens[child]);
+    }
+
+    private void push(int group, int content) {
+        if (depth == groupStack.length) {
+            groupStack = Arrays.copyOf(groupStack, depth * 2);
+            contentStack = Arrays.copyOf(contentStack, depth * 2);
+            concatStack = Arrays.copyOf(concatStack, depth * 2);
+        }
+        groupStack[depth] = group;
+        contentStack[depth] = content;
+        concatStack[depth] = content;
+        depth++;
+    }
+
+    private static void swap(int[] array, int first, int second) {
+        int value = array[first];
+        array[first] = array[second];
+        array[second] = value;
+    }
+
+    private static void swap(byte[] array, int first, int second) {
+        byte value = array[first];
+        array[first] = array[second];
+        array[second] = value;
+    }
+}
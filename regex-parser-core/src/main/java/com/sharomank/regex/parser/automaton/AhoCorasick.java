@@ -0,0 +1,151 @@
+package com.sharomank.regex.parser.automaton;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton: finds all of many words in one pass over input. Trie of words with failure links to
+ * longest proper suffix in trie, transitions are kept in open addressing table by node and char.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class AhoCorasick {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final boolean ignoreCase;
+    private final long[] keys;
+    // child node of key, 0 is empty slot as root is nobody's child
+    private final int[] children;
+    private final int mask;
+    private final int[] fails;
+    // index of word which ends at node
+    private final int[] words;
+    // nearest node on failure links where word ends
+    private final int[] outputs;
+
+    /**
+     * @param wordList   not empty words, index of word in list is reported by {@link #scan(CharSequence, BitSet)}
+     * @param ignoreCase words are folded by {@link #fold(char)}, input is folded while scanned
+     */
+    AhoCorasick(List<String> wordList, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        int capacity = 1;
+        for (String word : wordList) {
+            capacity += word.length();
+        }
+        int tableSize = Integer.highestOneBit(Math.max(2 * capacity, 2) - 1) << 1;
+        keys = new long[tableSize];
+        children = new int[tableSize];
+        mask = tableSize - 1;
+        fails = new int[capacity];
+        outputs = new int[capacity];
+        words = new int[capacity];
+        Arrays.fill(words, NONE);
+
+        // trie, children of node are kept as linked list for breadth first walk
+        int[] firstChildren = new int[capacity];
+        int[] nextSiblings = new int[capacity];
+        char[] labels = new char[capacity];
+        int size = 1;
+        for (int index = 0; index < wordList.size(); index++) {
+            String word = wordList.get(index);
+            int node = ROOT;
+            for (int offset = 0; offset < word.length(); offset++) {
+                char ch = word.charAt(offset);
+                int child = get(node, ch);
+                if (child == NONE) {
+                    child = size++;
+                    put(node, ch, child);
+                    labels[child] = ch;
+                    nextSiblings[child] = firstChildren[node];
+                    firstChildren[node] = child;
+                }
+                node = child;
+            }
+            words[node] = index;
+        }
+
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        outputs[ROOT] = NONE;
+        for (int child = firstChildren[ROOT]; child != 0; child = nextSiblings[child]) {
+            fails[child] = ROOT;
+            outputs[child] = NONE;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            for (int child = firstChildren[node]; child != 0; child = nextSiblings[child]) {
+                int fail = next(fails[node], labels[child]);
+                fails[child] = fail;
+                outputs[child] = words[fail] != NONE ? fail : outputs[fail];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * @return char which case insensitive comparison checks: lower case of upper case
+     */
+    static char fold(char ch) {
+        return Character.toLowerCase(Character.toUpperCase(ch));
+    }
+
+    /**
+     * Set indexes of words found in input
+     */
+    void scan(CharSequence input, BitSet found) {
+        int node = ROOT;
+        int length = input.length();
+        for (int index = 0; index < length; index++) {
+            char ch = input.charAt(index);
+            node = next(node, ignoreCase ? fold(ch) : ch);
+            int output = words[node] != NONE ? node : outputs[node];
+            // words on failure links of found word are already found
+            while (output != NONE && !found.get(words[output])) {
+                found.set(words[output]);
+                output = outputs[output];
+            }
+        }
+    }
+
+    private int next(int node, char ch) {
+        while (true) {
+            int child = get(node, ch);
+            if (child != NONE) {
+                return child;
+            } else if (node == ROOT) {
+                return ROOT;
+            }
+            node = fails[node];
+        }
+    }
+
+    private int get(int node, char ch) {
+        long key = (long) node << 16 | ch;
+        for (int slot = hash(key); children[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return children[slot];
+            }
+        }
+        return NONE;
+    }
+
+    private void put(int node, char ch, int child) {
+        long key = (long) node << 16 | ch;
+        int slot = hash(key);
+        while (children[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        children[slot] = child;
+    }
+
+    private int hash(long key) {
+        return (int) (key * 0x9E3779B97F4A7C15L >>> 32) & mask;
+    }
+}
@@ -0,0 +1,174 @@
+package com.sharomank.regex.parser.automaton;
+
+import java.util.Arrays;
+
+/**
+ * Set of code points as sorted disjoint ranges, ASCII code points are also kept as bit set
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class CharClass {
+    static final CharClass DIGIT = new Builder().add('0', '9').build(false, false);
+    static final CharClass WORD = new Builder().add('a', 'z').add('A', 'Z').add('0', '9').add('_').build(false, false);
+    static final CharClass SPACE = new Builder().add('\t', '\r').add(' ').build(false, false);
+    static final CharClass ANY = new Builder().add(0, Character.MAX_CODE_POINT).build(false, false);
+
+    // all ranges from-to inclusive: from0, to0, from1, to1...
+    private final int[] ranges;
+    private final long low;
+    private final long high;
+
+    private CharClass(int[] ranges) {
+        this.ranges = ranges;
+        long lowBits = 0;
+        long highBits = 0;
+        for (int index = 0; index < ranges.length && ranges[index] < 128; index += 2) {
+            for (int ch = ranges[index]; ch <= ranges[index + 1] && ch < 128; ch++) {
+                if (ch < 64) {
+                    lowBits |= 1L << ch;
+                } else {
+                    highBits |= 1L << (ch - 64);
+                }
+            }
+        }
+        this.low = lowBits;
+        this.high = highBits;
+    }
+
+    boolean contains(int codePoint) {
+        if (codePoint < 64) {
+            return (low >>> codePoint & 1) != 0;
+        } else if (codePoint < 128) {
+            return (high >>> (codePoint - 64) & 1) != 0;
+        }
+        int from = 0;
+        int to = ranges.length / 2 - 1;
+        while (from <= to) {
+            int middle = (from + to) >>> 1;
+            if (codePoint < ranges[2 * middle]) {
+                to = middle - 1;
+            } else if (codePoint > ranges[2 * middle + 1]) {
+                from = middle + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> if class has code points above ASCII
+     */
+    boolean hasOther() {
+        return ranges.length > 0 && ranges[ranges.length - 1] >= 128;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        CharClass charClass = (CharClass) o;
+        return Arrays.equals(ranges, charClass.ranges);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ranges);
+    }
+
+    /**
+     * Builder of class from chars, ranges and other classes
+     */
+    static final class Builder {
+        private int[] ranges = new int[16];
+        private int size;
+
+        Builder add(int ch) {
+            return add(ch, ch);
+        }
+
+        Builder add(int from, int to) {
+            if (size == ranges.length) {
+                ranges = Arrays.copyOf(ranges, 2 * size);
+            }
+            ranges[size++] = from;
+            ranges[size++] = to;
+            return this;
+        }
+
+        Builder add(CharClass other, boolean negated) {
+            CharClass added = negated ? new Builder().add(other, false).build(true, false) : other;
+            for (int index = 0; index < added.ranges.length; index += 2) {
+                add(added.ranges[index], added.ranges[index + 1]);
+            }
+            return this;
+        }
+
+        /**
+         * @param negated    complement of added code points
+         * @param ignoreCase add other case of ASCII letters before complement, as {@link
+         *                   java.util.regex.Pattern#CASE_INSENSITIVE} does without Unicode case
+         */
+        CharClass build(boolean negated, boolean ignoreCase) {
+            int[] merged = merge(ranges, size);
+            if (ignoreCase) {
+                Builder folded = new Builder();
+                for (int index = 0; index < merged.length; index += 2) {
+                    folded.add(merged[index], merged[index + 1]);
+                    int from = Math.max(merged[index], 'A');
+                    int to = Math.min(merged[index + 1], 'z');
+                    for (int ch = from; ch <= to; ch++) {
+                        if (ch <= 'Z') {
+                            folded.add(ch + ('a' - 'A'));
+                        } else if (ch >= 'a') {
+                            folded.add(ch - ('a' - 'A'));
+                        }
+                    }
+                }
+                merged = merge(folded.ranges, folded.size);
+            }
+            return new CharClass(negated ? complement(merged) : merged);
+        }
+
+        private static int[] merge(int[] ranges, int size) {
+            long[] sorted = new long[size / 2];
+            for (int index = 0; index < sorted.length; index++) {
+                sorted[index] = (long) ranges[2 * index] << 32 | ranges[2 * index + 1];
+            }
+            Arrays.sort(sorted);
+            int[] result = new int[size];
+            int count = 0;
+            for (long range : sorted) {
+                int from = (int) (range >>> 32);
+                int to = (int) range;
+                if (count > 0 && from <= result[count - 1] + 1) {
+                    result[count - 1] = Math.max(result[count - 1], to);
+                } else {
+                    result[count++] = from;
+                    result[count++] = to;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private static int[] complement(int[] ranges) {
+            int[] result = new int[ranges.length + 2];
+            int count = 0;
+            int next = 0;
+            for (int index = 0; index < ranges.length; index += 2) {
+                if (ranges[index] > next) {
+                    result[count++] = next;
+                    result[count++] = ranges[index] - 1;
+                }
+                next = ranges[index + 1] + 1;
+            }
+            if (next <= Character.MAX_CODE_POINT) {
+                result[count++] = next;
+                result[count++] = Character.MAX_CODE_POINT;
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
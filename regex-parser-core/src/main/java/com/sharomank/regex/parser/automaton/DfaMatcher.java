@@ -0,0 +1,86 @@
+package com.sharomank.regex.parser.automaton;
+
+/**
+ * Matcher of {@link DfaPattern}: keeps caches of automaton states between calls, one for whole input matches and
+ * one for matches anywhere in input, so instance is reusable and is used by one thread.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class DfaMatcher {
+    private final DfaPattern pattern;
+    private final LazyDfa anchored;
+    private final LazyDfa unanchored;
+    private int fallbackCount;
+
+    DfaMatcher(DfaPattern pattern) {
+        this.pattern = pattern;
+        Nfa nfa = pattern.getNfa();
+        this.anchored = nfa == null ? null : new LazyDfa(nfa, false, pattern.getMaxStates());
+        this.unanchored = nfa == null ? null : new LazyDfa(nfa, true, pattern.getMaxStates());
+    }
+
+    public DfaPattern pattern() {
+        return pattern;
+    }
+
+    /**
+     * @param input text to be matched
+     * @return <code>true</code> if whole input matches, as {@link java.util.regex.Matcher#matches()}
+     */
+    public boolean matches(CharSequence input) {
+        if (anchored == null) {
+            return pattern.getFallback().matcher(input).matches();
+        }
+        int length = input.length();
+        int position = 0;
+        LazyDfa.State state = anchored.start(input);
+        while (state != null && position < length && !state.isDead()) {
+            int codePoint = Character.codePointAt(input, position);
+            position += Character.charCount(codePoint);
+            state = anchored.next(state, codePoint, input, position);
+        }
+        if (state == null) {
+            fallbackCount++;
+            return pattern.getFallback().matcher(input).matches();
+        }
+        return state.isMatch() && position == length;
+    }
+
+    /**
+     * @param input text to be matched
+     * @return <code>true</code> if input has match, as {@link java.util.regex.Matcher#find()}
+     */
+    public boolean find(CharSequence input) {
+        if (unanchored == null) {
+            return pattern.getFallback().matcher(input).find();
+        }
+        int length = input.length();
+        int position = 0;
+        LazyDfa.State state = unanchored.start(input);
+        while (state != null && position < length && !state.isMatch()) {
+            int codePoint = Character.codePointAt(input, position);
+            position += Character.charCount(codePoint);
+            state = unanchored.next(state, codePoint, input, position);
+        }
+        if (state == null) {
+            fallbackCount++;
+            return pattern.getFallback().matcher(input).find();
+        }
+        return state.isMatch();
+    }
+
+    /**
+     * @return count of calls answered by <code>java.util.regex</code> because cache of automaton states thrashed
+     */
+    public int getFallbackCount() {
+        return fallbackCount;
+    }
+
+    /**
+     * @return count of cache clears, when cache of automaton states was full
+     */
+    public int getCacheResets() {
+        return anchored == null ? 0 : anchored.getResets() + unanchored.getResets();
+    }
+}
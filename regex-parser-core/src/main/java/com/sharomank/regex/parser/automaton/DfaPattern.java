@@ -0,0 +1,145 @@
+package com.sharomank.regex.parser.automaton;
+
+import com.sharomank.regex.parser.RegexValidation;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Pattern matched by lazily built deterministic automaton: every char of input is read once, without backtracking,
+ * so time of {@link #matches(CharSequence)} and {@link #find(CharSequence)} is linear in input length.
+ * <p/>
+ * Supported subset is the same as of {@link RegexSet}. Patterns out of it are matched by
+ * <code>java.util.regex</code>, as well as inputs for which cache of automaton states thrashes. Pattern is
+ * immutable and thread-safe, {@link DfaMatcher} is not.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class DfaPattern {
+    public static final int DEFAULT_MAX_STATES = 1024;
+
+    private final String pattern;
+    private final int flags;
+    private final int maxStates;
+    // null if pattern is out of supported subset
+    private final Nfa nfa;
+    private final Pattern fallback;
+    private final AtomicReference<DfaMatcher> idleMatcher = new AtomicReference<DfaMatcher>();
+
+    private DfaPattern(String pattern, int flags, int maxStates, Nfa nfa, Pattern fallback) {
+        this.pattern = pattern;
+        this.flags = flags;
+        this.maxStates = maxStates;
+        this.nfa = nfa;
+        this.fallback = fallback;
+    }
+
+    /**
+     * @param regexPattern regular expression
+     * @return compiled pattern
+     * @throws PatternSyntaxException if expression is invalid
+     */
+    public static DfaPattern compile(String regexPattern) {
+        return compile(regexPattern, 0);
+    }
+
+    /**
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link Pattern#compile(String, int)}
+     * @return compiled pattern
+     * @throws PatternSyntaxException if expression is invalid
+     */
+    public static DfaPattern compile(String regexPattern, int flags) {
+        return compile(regexPattern, flags, DEFAULT_MAX_STATES);
+    }
+
+    /**
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link Pattern#compile(String, int)}
+     * @param maxStates    limit of automaton states cached by each matcher
+     * @return compiled pattern
+     * @throws PatternSyntaxException if expression is invalid
+     */
+    public static DfaPattern compile(String regexPattern, int flags, int maxStates) {
+        if (maxStates < 1) {
+            throw new IllegalArgumentException("Max states must be positive: " + maxStates);
+        }
+        RegexValidation validation = NfaBuilder.validate(regexPattern, flags);
+        NfaBuilder builder = new NfaBuilder(flags);
+        boolean supported = NfaBuilder.isSupported(flags) && builder.add(validation, 0);
+        return new DfaPattern(regexPattern, flags, maxStates, supported ? builder.build() : null,
+                Pattern.compile(regexPattern, flags));
+    }
+
+    public String pattern() {
+        return pattern;
+    }
+
+    public int flags() {
+        return flags;
+    }
+
+    public int getMaxStates() {
+        return maxStates;
+    }
+
+    /**
+     * @return <code>true</code> if pattern is matched by automaton, <code>false</code> - by
+     * <code>java.util.regex</code>
+     */
+    public boolean isAutomaton() {
+        return nfa != null;
+    }
+
+    /**
+     * @return new matcher with own cache of states, which can be reused for many inputs by one thread
+     */
+    public DfaMatcher matcher() {
+        return new DfaMatcher(this);
+    }
+
+    /**
+     * @param input text to be matched
+     * @return <code>true</code> if whole input matches, as {@link java.util.regex.Matcher#matches()}
+     */
+    public boolean matches(CharSequence input) {
+        DfaMatcher matcher = acquire();
+        boolean result = matcher.matches(input);
+        idleMatcher.compareAndSet(null, matcher);
+        return result;
+    }
+
+    /**
+     * @param input text to be matched
+     * @return <code>true</code> if input has match, as {@link java.util.regex.Matcher#find()}
+     */
+    public boolean find(CharSequence input) {
+        DfaMatcher matcher = acquire();
+        boolean result = matcher.find(input);
+        idleMatcher.compareAndSet(null, matcher);
+        return result;
+    }
+
+    Nfa getNfa() {
+        return nfa;
+    }
+
+    Pattern getFallback() {
+        return fallback;
+    }
+
+    /**
+     * One idle matcher is kept for calls without explicit matcher, concurrent calls create new ones
+     */
+    private DfaMatcher acquire() {
+        DfaMatcher matcher = idleMatcher.getAndSet(null);
+        return matcher != null ? matcher : new DfaMatcher(this);
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
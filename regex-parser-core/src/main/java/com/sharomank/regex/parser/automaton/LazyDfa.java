@@ -0,0 +1,230 @@
+package com.sharomank.regex.parser.automaton;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deterministic automaton built from {@link Nfa} while input is read: every state is a set of automaton states,
+ * transitions are computed on first use and cached. Cache is bounded, it is cleared when full, and search gives up
+ * if cache is cleared again before states pay off.
+ * <p/>
+ * Anchors are checked only where they can be true: at first position and at last two positions. Transitions to
+ * other positions do not depend on position and are cached, transitions to edge positions are computed each time.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class LazyDfa {
+    // search can give up if cache is cleared twice with less chars read per state in between
+    private static final int MIN_CHARS_PER_STATE = 10;
+    // transitions by other code points cached per state
+    private static final int MAX_OTHER_NEXTS = 256;
+
+    private final Nfa nfa;
+    private final boolean unanchored;
+    private final int maxStates;
+    private final StateSet scratch;
+    private final int[] stack;
+
+    private final Map<State, State> states = new HashMap<State, State>();
+    // start of inputs longer than two chars, where only '^' can be true at start
+    private State start;
+    private int resets;
+
+    // current search
+    private int searchResets;
+    private int resetPosition;
+
+    /**
+     * @param unanchored match can start at any position, as {@link java.util.regex.Matcher#find()} does
+     * @param maxStates  limit of cached states
+     */
+    LazyDfa(Nfa nfa, boolean unanchored, int maxStates) {
+        this.nfa = nfa;
+        this.unanchored = unanchored;
+        this.maxStates = maxStates;
+        this.scratch = new StateSet(nfa.size());
+        this.stack = new int[2 * nfa.size() + 2];
+    }
+
+    /**
+     * Start new search
+     *
+     * @return state at start of input or <code>null</code> if search gives up
+     */
+    State start(CharSequence input) {
+        searchResets = 0;
+        resetPosition = 0;
+        boolean cached = input.length() > 2;
+        if (cached && start != null) {
+            return start;
+        }
+        scratch.clear();
+        for (int entry : nfa.starts) {
+            addClosure(entry, input, 0, true);
+        }
+        State state = intern(0);
+        if (cached) {
+            start = state;
+        }
+        return state;
+    }
+
+    /**
+     * @param position position after code point
+     * @return state after code point or <code>null</code> if search gives up
+     */
+    State next(State state, int codePoint, CharSequence input, int position) {
+        boolean edge = position >= input.length() - 2;
+        if (!edge) {
+            State cached = state.getNext(codePoint);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        scratch.clear();
+        for (int nfaState : state.nfaStates) {
+            if (nfa.kinds[nfaState] == Nfa.CHAR && nfa.classes[nfaState].contains(codePoint)) {
+                addClosure(nfa.nexts[nfaState], input, position, edge);
+            }
+        }
+        if (unanchored) {
+            for (int entry : nfa.starts) {
+                addClosure(entry, input, position, edge);
+            }
+        }
+        State next = intern(position);
+        if (next != null && !edge) {
+            state.setNext(codePoint, next);
+        }
+        return next;
+    }
+
+    /**
+     * @return count of cache clears since creation
+     */
+    int getResets() {
+        return resets;
+    }
+
+    /**
+     * Add state and all states reached from it without consuming input, anchors are followed only at edges
+     */
+    private void addClosure(int state, CharSequence input, int position, boolean edge) {
+        int top = 0;
+        stack[top++] = state;
+        while (top > 0) {
+            int added = stack[--top];
+            if (!scratch.add(added)) {
+                continue;
+            }
+            byte kind = nfa.kinds[added];
+            if (kind == Nfa.SPLIT) {
+                stack[top++] = nfa.alternatives[added];
+                stack[top++] = nfa.nexts[added];
+            } else if (kind != Nfa.CHAR && kind != Nfa.MATCH && edge && nfa.isAssertionTrue(kind, input, position)) {
+                stack[top++] = nfa.nexts[added];
+            }
+        }
+    }
+
+    /**
+     * @return cached state of char and match states of scratch set, <code>null</code> if cache thrashes
+     */
+    private State intern(int position) {
+        int count = 0;
+        boolean match = false;
+        int[] nfaStates = new int[scratch.size];
+        for (int index = 0; index < scratch.size; index++) {
+            int nfaState = scratch.states[index];
+            if (nfa.kinds[nfaState] == Nfa.CHAR) {
+                nfaStates[count++] = nfaState;
+            } else if (nfa.kinds[nfaState] == Nfa.MATCH) {
+                match = true;
+            }
+        }
+        nfaStates = Arrays.copyOf(nfaStates, count);
+        Arrays.sort(nfaStates);
+        State state = new State(nfaStates, match);
+        State cached = states.get(state);
+        if (cached != null) {
+            return cached;
+        }
+        if (states.size() >= maxStates) {
+            if (searchResets > 0 && position - resetPosition < MIN_CHARS_PER_STATE * maxStates) {
+                return null;
+            }
+            states.clear();
+            start = null;
+            resets++;
+            searchResets++;
+            resetPosition = position;
+        }
+        states.put(state, state);
+        return state;
+    }
+
+    /**
+     * State of deterministic automaton: sorted char states which consume next code point
+     */
+    static final class State {
+        private final int[] nfaStates;
+        private final boolean match;
+        private final State[] asciiNexts = new State[128];
+        private Map<Integer, State> otherNexts;
+
+        State(int[] nfaStates, boolean match) {
+            this.nfaStates = nfaStates;
+            this.match = match;
+        }
+
+        /**
+         * @return <code>true</code> if pattern matches at position of state
+         */
+        boolean isMatch() {
+            return match;
+        }
+
+        /**
+         * @return <code>true</code> if no code point leads to match, so anchored search fails
+         */
+        boolean isDead() {
+            return nfaStates.length == 0 && !match;
+        }
+
+        private State getNext(int codePoint) {
+            if (codePoint < 128) {
+                return asciiNexts[codePoint];
+            }
+            return otherNexts == null ? null : otherNexts.get(codePoint);
+        }
+
+        private void setNext(int codePoint, State next) {
+            if (codePoint < 128) {
+                asciiNexts[codePoint] = next;
+                return;
+            }
+            if (otherNexts == null) {
+                otherNexts = new HashMap<Integer, State>();
+            }
+            if (otherNexts.size() < MAX_OTHER_NEXTS) {
+                otherNexts.put(codePoint, next);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            State state = (State) o;
+            return match == state.match && Arrays.equals(nfaStates, state.nfaStates);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(nfaStates) + (match ? 1 : 0);
+        }
+    }
+}
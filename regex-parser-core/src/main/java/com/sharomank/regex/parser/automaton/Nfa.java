@@ -0,0 +1,78 @@
+package com.sharomank.regex.parser.automaton;
+
+/**
+ * Combined automaton of several patterns: states with one char class or epsilon transitions, each state belongs to
+ * one pattern. Built by {@link NfaBuilder}, immutable after that.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class Nfa {
+    // consumes one code point of char class and goes to next state
+    static final byte CHAR = 0;
+    // goes to both next and alternative states
+    static final byte SPLIT = 1;
+    // pattern of state matches
+    static final byte MATCH = 2;
+    // goes to next state at start of input: '^' and '\A'
+    static final byte BEGIN = 3;
+    // goes to next state at end of input: '\z'
+    static final byte END = 4;
+    // goes to next state at end of input or before final line terminator: '$' and '\Z'
+    static final byte DOLLAR = 5;
+
+    final byte[] kinds;
+    final int[] nexts;
+    final int[] alternatives;
+    final CharClass[] classes;
+    final int[] owners;
+    final boolean unixLines;
+
+    // entry states of patterns
+    final int[] starts;
+    // char states which entry states reach without assertions, by ASCII code point they consume
+    final int[][] asciiStarts;
+    // char states which entry states reach without assertions and which consume other code points
+    final int[] otherStarts;
+
+    Nfa(byte[] kinds, int[] nexts, int[] alternatives, CharClass[] classes, int[] owners, boolean unixLines,
+        int[] starts, int[][] asciiStarts, int[] otherStarts) {
+        this.kinds = kinds;
+        this.nexts = nexts;
+        this.alternatives = alternatives;
+        this.classes = classes;
+        this.owners = owners;
+        this.unixLines = unixLines;
+        this.starts = starts;
+        this.asciiStarts = asciiStarts;
+        this.otherStarts = otherStarts;
+    }
+
+    int size() {
+        return kinds.length;
+    }
+
+    /**
+     * Check zero-width state at position, the same way as java.util.regex does without multiline flag
+     */
+    boolean isAssertionTrue(byte kind, CharSequence input, int position) {
+        int length = input.length();
+        if (kind == BEGIN) {
+            return position == 0;
+        } else if (kind == END) {
+            return position == length;
+        } else if (position < length - 2) {
+            return false;
+        } else if (position == length - 2) {
+            return input.charAt(position) == '\r' && input.charAt(position + 1) == '\n' && !unixLines;
+        } else if (position == length - 1) {
+            char ch = input.charAt(position);
+            if (ch == '\n') {
+                // no match between '\r' and '\n' of line terminator
+                return unixLines || position == 0 || input.charAt(position - 1) != '\r';
+            }
+            return !unixLines && (ch == '\r' || ch == '\u0085' || (ch | 1) == '\u2029');
+        }
+        return true;
+    }
+}
@@ -0,0 +1,481 @@
+package com.sharomank.regex.parser.automaton;
+
+import com.sharomank.regex.parser.RegexParser;
+import com.sharomank.regex.parser.RegexTokenStream;
+import com.sharomank.regex.parser.RegexValidation;
+import com.sharomank.regex.parser.ast.RegexTree;
+import com.sharomank.regex.parser.enums.RegexGroupType;
+import com.sharomank.regex.parser.enums.RegexNodeType;
+import com.sharomank.regex.parser.enums.RegexQuantifierMode;
+import com.sharomank.regex.parser.enums.RegexType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiler of regex trees into one {@link Nfa}. Every node is compiled backwards: state of node goes to already
+ * compiled state of what follows it, so no transition is patched except loops of quantifiers.
+ * <p/>
+ * Supported subset is literals, char classes without nesting and intersection, <code>.</code>, groups which only
+ * capture, alternation, greedy and lazy quantifiers and <code>^ $ \A \Z \z</code> anchors without multiline flag.
+ * Captures, laziness and order of alternatives do not change whether pattern matches, everything else does.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class NfaBuilder {
+    static final int UNSUPPORTED = -1;
+    // owner of states shared by several patterns
+    static final int SHARED = -1;
+    // limits of states per pattern and of nesting, patterns above them stay with java.util.regex
+    private static final int MAX_PATTERN_STATES = 10000;
+    private static final int MAX_DEPTH = 500;
+    private static final int MAX_PREFIX_LENGTH = 256;
+    private static final int UNSUPPORTED_FLAGS = Pattern.COMMENTS | Pattern.LITERAL | Pattern.CANON_EQ
+            | Pattern.UNICODE_CHARACTER_CLASS;
+
+    private final boolean ignoreCase;
+    private final boolean multiline;
+    private final boolean unixLines;
+    private final CharClass dot;
+
+    private byte[] kinds = new byte[64];
+    private int[] nexts = new int[64];
+    private int[] alternatives = new int[64];
+    private CharClass[] classes = new CharClass[64];
+    private int[] owners = new int[64];
+    private int size;
+    private final List<Integer> starts = new ArrayList<Integer>();
+
+    // pattern being compiled
+    private RegexTree tree;
+    private String expression;
+    private int owner;
+    private int limit;
+
+    /**
+     * @param flags match flags of {@link Pattern#compile(String, int)}, caller checks that they are supported
+     */
+    NfaBuilder(int flags) {
+        this.ignoreCase = (flags & Pattern.CASE_INSENSITIVE) != 0;
+        this.multiline = (flags & Pattern.MULTILINE) != 0;
+        this.unixLines = (flags & Pattern.UNIX_LINES) != 0;
+        if ((flags & Pattern.DOTALL) != 0) {
+            dot = CharClass.ANY;
+        } else if (unixLines) {
+            dot = new CharClass.Builder().add('\n').build(true, false);
+        } else {
+            dot = new CharClass.Builder().add('\n').add('\r').add('\u0085').add('\u2028', '\u2029')
+                    .build(true, false);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if patterns compiled with flags can be in automaton
+     */
+    static boolean isSupported(int flags) {
+        return (flags & UNSUPPORTED_FLAGS) == 0 && (flags & (Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE))
+                != (Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * @return validation of valid expression with its tokens
+     * @throws PatternSyntaxException if expression is invalid
+     */
+    static RegexValidation validate(String regexPattern, int flags) {
+        RegexValidation validation = RegexParser.validate(regexPattern, flags);
+        if (!validation.isValid()) {
+            throw new PatternSyntaxException(validation.getErrorDescription(), regexPattern,
+                    validation.getErrorIndex());
+        }
+        return validation;
+    }
+
+    /**
+     * Add validated pattern to automaton
+     *
+     * @return <code>false</code> if pattern is out of supported subset, automaton is not changed then
+     */
+    boolean add(RegexValidation validation, int owner) {
+        return add(RegexTree.build(validation.getTokens()), owner);
+    }
+
+    /**
+     * Add pattern to automaton
+     *
+     * @param tree  tree of valid pattern
+     * @param owner index of pattern
+     * @return <code>false</code> if pattern is out of supported subset, automaton is not changed then
+     */
+    boolean add(RegexTree tree, int owner) {
+        this.tree = tree;
+        this.expression = tree.getTokens().getExpression();
+        this.owner = owner;
+        int mark = size;
+        limit = size + MAX_PATTERN_STATES;
+        int entry = UNSUPPORTED;
+        // blank expression has no tokens
+        RegexTokenStream tokens = tree.getTokens();
+        int end = tokens.size() == 0 ? 0 : tokens.getEnd(tokens.size() - 1);
+        if (tree.isExact() && end == expression.length() && expression.indexOf("\\Q") < 0
+                && !hasSurrogate(expression)) {
+            int match = addState(Nfa.MATCH, UNSUPPORTED, UNSUPPORTED, null);
+            entry = compile(tree.getRoot(), match, 0);
+        }
+        this.tree = null;
+        this.expression = null;
+        if (entry == UNSUPPORTED) {
+            size = mark;
+            return false;
+        }
+        starts.add(entry);
+        return true;
+    }
+
+    Nfa build() {
+        owner = SHARED;
+        limit = Integer.MAX_VALUE;
+        List<Integer> merged = mergePrefixes(starts, 0);
+        int[] entries = new int[merged.size()];
+        for (int index = 0; index < entries.length; index++) {
+            entries[index] = merged.get(index);
+        }
+        // char states reached from entries at any position in the middle of input
+        boolean[] visited = new boolean[size];
+        int[] stack = new int[size];
+        List<Integer> chars = new ArrayList<Integer>();
+        for (int entry : entries) {
+            int top = 0;
+            stack[top++] = entry;
+            while (top > 0) {
+                int state = stack[--top];
+                if (state == UNSUPPORTED || visited[state]) {
+                    continue;
+                }
+                visited[state] = true;
+                if (kinds[state] == Nfa.CHAR) {
+                    chars.add(state);
+                } else if (kinds[state] == Nfa.SPLIT) {
+                    stack[top++] = alternatives[state];
+                    stack[top++] = nexts[state];
+                }
+            }
+        }
+        int[][] asciiStarts = new int[128][];
+        int[] counts = new int[128];
+        List<Integer> others = new ArrayList<Integer>();
+        for (int ch = 0; ch < 128; ch++) {
+            asciiStarts[ch] = new int[4];
+        }
+        for (int state : chars) {
+            for (int ch = 0; ch < 128; ch++) {
+                if (classes[state].contains(ch)) {
+                    if (counts[ch] == asciiStarts[ch].length) {
+                        asciiStarts[ch] = Arrays.copyOf(asciiStarts[ch], 2 * counts[ch]);
+                    }
+                    asciiStarts[ch][counts[ch]++] = state;
+                }
+            }
+            if (classes[state].hasOther()) {
+                others.add(state);
+            }
+        }
+        for (int ch = 0; ch < 128; ch++) {
+            asciiStarts[ch] = Arrays.copyOf(asciiStarts[ch], counts[ch]);
+        }
+        int[] otherStarts = new int[others.size()];
+        for (int index = 0; index < otherStarts.length; index++) {
+            otherStarts[index] = others.get(index);
+        }
+        return new Nfa(Arrays.copyOf(kinds, size), Arrays.copyOf(nexts, size), Arrays.copyOf(alternatives, size),
+                Arrays.copyOf(classes, size), Arrays.copyOf(owners, size), unixLines, entries, asciiStarts,
+                otherStarts);
+    }
+
+    /**
+     * Patterns which start with the same char classes share states of them, e.g. <code>user=\d+</code> and
+     * <code>user=\w+</code> share states of <code>user=</code>, so common prefix is matched once for all of them
+     *
+     * @param heads states of patterns after prefix of given length
+     * @return entry states of shared prefixes and states of patterns which share nothing
+     */
+    private List<Integer> mergePrefixes(List<Integer> heads, int length) {
+        List<Integer> result = new ArrayList<Integer>();
+        Map<CharClass, List<Integer>> groups = new LinkedHashMap<CharClass, List<Integer>>();
+        for (int head : heads) {
+            if (kinds[head] != Nfa.CHAR || length == MAX_PREFIX_LENGTH) {
+                result.add(head);
+                continue;
+            }
+            List<Integer> group = groups.get(classes[head]);
+            if (group == null) {
+                group = new ArrayList<Integer>();
+                groups.put(classes[head], group);
+            }
+            group.add(head);
+        }
+        for (Map.Entry<CharClass, List<Integer>> group : groups.entrySet()) {
+            List<Integer> states = group.getValue();
+            if (states.size() == 1) {
+                result.add(states.get(0));
+                continue;
+            }
+            List<Integer> nextHeads = new ArrayList<Integer>(states.size());
+            for (int state : states) {
+                nextHeads.add(nexts[state]);
+            }
+            List<Integer> continuations = mergePrefixes(nextHeads, length + 1);
+            int next = continuations.get(0);
+            for (int index = 1; index < continuations.size(); index++) {
+                next = addState(Nfa.SPLIT, next, continuations.get(index), null);
+            }
+            result.add(addState(Nfa.CHAR, next, UNSUPPORTED, group.getKey()));
+        }
+        return result;
+    }
+
+    /**
+     * @return entry state of node which goes to next state after node is matched
+     */
+    private int compile(int node, int next, int depth) {
+        if (next == UNSUPPORTED || depth > MAX_DEPTH) {
+            return UNSUPPORTED;
+        }
+        RegexNodeType type = tree.getType(node);
+        int child = tree.getFirstChild(node);
+        if (type == RegexNodeType.Atom) {
+            return compileAtom(node, next);
+        } else if (type == RegexNodeType.Concatenation) {
+            List<Integer> children = new ArrayList<Integer>();
+            for (; child != RegexTree.NONE; child = tree.getNextSibling(child)) {
+                children.add(child);
+            }
+            int entry = next;
+            for (int index = children.size() - 1; index >= 0; index--) {
+                entry = compile(children.get(index), entry, depth + 1);
+            }
+            return entry;
+        } else if (type == RegexNodeType.Alternation) {
+            int entry = UNSUPPORTED;
+            for (; child != RegexTree.NONE; child = tree.getNextSibling(child)) {
+                int branch = compile(child, next, depth + 1);
+                if (branch == UNSUPPORTED) {
+                    return UNSUPPORTED;
+                }
+                entry = entry == UNSUPPORTED ? branch : addState(Nfa.SPLIT, entry, branch, null);
+            }
+            return entry;
+        } else if (type == RegexNodeType.Group) {
+            RegexGroupType groupType = tree.getGroupType(node);
+            if (groupType != RegexGroupType.NonCapturing && !groupType.isCapturing()) {
+                return UNSUPPORTED;
+            }
+            return child == RegexTree.NONE ? next : compile(child, next, depth + 1);
+        } else if (tree.getQuantifierMode(node) == RegexQuantifierMode.Possessive) {
+            return UNSUPPORTED;
+        } else if (tree.getType(child) == RegexNodeType.Quantified) {
+            // java.util.regex applies quantifier after quantifier to nothing, e.g. 'a{2}{3}' is 'aa'
+            return compile(child, next, depth + 1);
+        }
+        return compileRepetition(child, tree.getMin(node), tree.getMax(node), next, depth + 1);
+    }
+
+    private int compileRepetition(int child, int min, int max, int next, int depth) {
+        int entry;
+        if (max == RegexTree.UNBOUNDED) {
+            int loop = addState(Nfa.SPLIT, UNSUPPORTED, next, null);
+            int body = compile(child, loop, depth);
+            if (body == UNSUPPORTED) {
+                return UNSUPPORTED;
+            }
+            nexts[loop] = body;
+            entry = min == 0 ? loop : body;
+            for (int count = 1; count < min && entry != UNSUPPORTED; count++) {
+                entry = compile(child, entry, depth);
+            }
+            return entry;
+        }
+        entry = next;
+        for (int count = min; count < max && entry != UNSUPPORTED; count++) {
+            int body = compile(child, entry, depth);
+            entry = body == UNSUPPORTED ? UNSUPPORTED : addState(Nfa.SPLIT, body, next, null);
+        }
+        for (int count = 0; count < min && entry != UNSUPPORTED; count++) {
+            entry = compile(child, entry, depth);
+        }
+        return entry;
+    }
+
+    private int compileAtom(int atom, int next) {
+        int start = tree.getStart(atom);
+        int length = tree.getEnd(atom) - start;
+        RegexType type = tree.getTokenType(atom);
+        char ch = expression.charAt(start);
+        if (type == RegexType.CharacterGroup) {
+            CharClass charClass = parseCharacterGroup(start, start + length);
+            return charClass == null ? UNSUPPORTED : addState(Nfa.CHAR, next, UNSUPPORTED, charClass);
+        } else if (type == RegexType.Quantifier || type == RegexType.QuantifierGroup) {
+            return UNSUPPORTED;
+        } else if (length == 1) {
+            if (ch == '^' || ch == '$') {
+                return multiline ? UNSUPPORTED : addState(ch == '^' ? Nfa.BEGIN : Nfa.DOLLAR, next, UNSUPPORTED, null);
+            }
+            CharClass charClass = ch == '.' && type == RegexType.CharacterClass ? dot
+                    : new CharClass.Builder().add(ch).build(false, ignoreCase);
+            return addState(Nfa.CHAR, next, UNSUPPORTED, charClass);
+        } else if (length != 2 || ch != '\\') {
+            return UNSUPPORTED;
+        }
+
+        char escaped = expression.charAt(start + 1);
+        if (escaped == 'A' || escaped == 'Z' || escaped == 'z') {
+            return addState(escaped == 'A' ? Nfa.BEGIN : escaped == 'z' ? Nfa.END : Nfa.DOLLAR, next, UNSUPPORTED,
+                    null);
+        }
+        CharClass.Builder builder = new CharClass.Builder();
+        if (!addEscape(builder, escaped)) {
+            return UNSUPPORTED;
+        }
+        return addState(Nfa.CHAR, next, UNSUPPORTED, builder.build(false, ignoreCase));
+    }
+
+    /**
+     * @return class of <code>[...]</code> or <code>null</code> for nested classes, intersections, escapes with
+     * arguments and groups which do not end with the last ']', e.g. <code>[]</code> or <code>[^\]</code>
+     */
+    private CharClass parseCharacterGroup(int start, int end) {
+        int offset = start + 1;
+        int last = end - 1;
+        boolean negated = expression.charAt(offset) == '^';
+        if (negated) {
+            offset++;
+        }
+        if (offset == last) {
+            // ']' is literal right after '[' or '[^'
+            return null;
+        }
+        CharClass.Builder builder = new CharClass.Builder();
+        int previous = -1;
+        while (offset < last) {
+            char ch = expression.charAt(offset);
+            if (ch == '[' || ch == '&' && expression.charAt(offset + 1) == '&') {
+                return null;
+            }
+            if (ch == '-' && previous >= 0 && offset + 1 < last) {
+                int to = expression.charAt(offset + 1);
+                offset += 2;
+                if (to == '\\') {
+                    to = getEscapedChar(expression.charAt(offset++));
+                } else if (to == '[') {
+                    to = -1;
+                }
+                if (to < previous) {
+                    return null;
+                }
+                builder.add(previous, to);
+                previous = -1;
+            } else if (ch == '\\') {
+                char escaped = expression.charAt(offset + 1);
+                previous = getEscapedChar(escaped);
+                if (!addEscape(builder, escaped)) {
+                    return null;
+                }
+                offset += 2;
+            } else {
+                builder.add(ch);
+                previous = ch;
+                offset++;
+            }
+        }
+        if (offset != last) {
+            // last ']' is escaped or is end of range
+            return null;
+        }
+        return builder.build(negated, ignoreCase);
+    }
+
+    /**
+     * Add escaped char or predefined class, e.g. <code>\.</code>, <code>\t</code>, <code>\d</code>
+     *
+     * @return <code>false</code> for unsupported escape
+     */
+    private static boolean addEscape(CharClass.Builder builder, char escaped) {
+        int single = getEscapedChar(escaped);
+        if (single >= 0) {
+            builder.add(single);
+            return true;
+        }
+        switch (escaped) {
+            case 'd':
+            case 'D':
+                builder.add(CharClass.DIGIT, escaped == 'D');
+                return true;
+            case 'w':
+            case 'W':
+                builder.add(CharClass.WORD, escaped == 'W');
+                return true;
+            case 's':
+            case 'S':
+                builder.add(CharClass.SPACE, escaped == 'S');
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return char of single char escape, -1 for classes and escapes with arguments
+     */
+    private static int getEscapedChar(char escaped) {
+        switch (escaped) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case 'a':
+                return '\u0007';
+            case 'e':
+                return '\u001B';
+            default:
+                return Character.isLetterOrDigit(escaped) ? -1 : escaped;
+        }
+    }
+
+    private int addState(byte kind, int next, int alternative, CharClass charClass) {
+        if (size == limit) {
+            return UNSUPPORTED;
+        }
+        if (size == kinds.length) {
+            int capacity = 2 * size;
+            kinds = Arrays.copyOf(kinds, capacity);
+            nexts = Arrays.copyOf(nexts, capacity);
+            alternatives = Arrays.copyOf(alternatives, capacity);
+            classes = Arrays.copyOf(classes, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+        }
+        kinds[size] = kind;
+        nexts[size] = next;
+        alternatives[size] = alternative;
+        classes[size] = charClass;
+        owners[size] = owner;
+        return size++;
+    }
+
+    private static boolean hasSurrogate(String text) {
+        for (int index = 0; index < text.length(); index++) {
+            if (Character.isSurrogate(text.charAt(index))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
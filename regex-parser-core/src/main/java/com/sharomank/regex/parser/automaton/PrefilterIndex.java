@@ -0,0 +1,252 @@
+package com.sharomank.regex.parser.automaton;
+
+import com.sharomank.regex.parser.analysis.LiteralExtractor;
+import com.sharomank.regex.parser.analysis.RequiredLiterals;
+import com.sharomank.regex.parser.ast.RegexTree;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Set of patterns with literal prefilter: required literals of every pattern, see {@link LiteralExtractor}, are
+ * searched in input by one {@link AhoCorasick} pass, and only patterns with found literal and patterns without
+ * literals run {@link java.util.regex.Matcher#find()}.
+ * <p/>
+ * Unlike {@link RegexSet} every construct of <code>java.util.regex</code> is supported, prefilter pays off when
+ * most inputs contain literals of few patterns. Index is immutable and thread-safe.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class PrefilterIndex {
+    private final List<String> patterns;
+    private final int flags;
+    private final Pattern[] compiled;
+    private final List<RequiredLiterals> literals;
+    // patterns without literals, candidates for every input
+    private final BitSet unfiltered;
+
+    // literals by case sensitivity, null if there are none, and patterns of every literal
+    private final AhoCorasick exact;
+    private final int[][] exactPatterns;
+    private final AhoCorasick folded;
+    private final int[][] foldedPatterns;
+
+    private PrefilterIndex(List<String> patterns, int flags, Pattern[] compiled, List<RequiredLiterals> literals,
+                           BitSet unfiltered, LiteralTable exact, LiteralTable folded) {
+        this.patterns = patterns;
+        this.flags = flags;
+        this.compiled = compiled;
+        this.literals = literals;
+        this.unfiltered = unfiltered;
+        this.exact = exact.build(false);
+        this.exactPatterns = exact.getPatterns();
+        this.folded = folded.build(true);
+        this.foldedPatterns = folded.getPatterns();
+    }
+
+    /**
+     * Compile set of regular expressions
+     *
+     * @param regexPatterns regular expressions, index of expression in collection is index of pattern in set
+     * @return compiled index
+     * @throws PatternSyntaxException if any expression is invalid
+     */
+    public static PrefilterIndex compile(Collection<String> regexPatterns) {
+        return compile(regexPatterns, 0);
+    }
+
+    /**
+     * Compile set of regular expressions with match flags
+     *
+     * @param regexPatterns regular expressions, index of expression in collection is index of pattern in set
+     * @param flags         match flags of {@link Pattern#compile(String, int)} for all expressions
+     * @return compiled index
+     * @throws PatternSyntaxException if any expression is invalid
+     */
+    public static PrefilterIndex compile(Collection<String> regexPatterns, int flags) {
+        List<String> patterns = Collections.unmodifiableList(new ArrayList<String>(regexPatterns));
+        Pattern[] compiled = new Pattern[patterns.size()];
+        List<RequiredLiterals> literals = new ArrayList<RequiredLiterals>(patterns.size());
+        BitSet unfiltered = new BitSet(patterns.size());
+        LiteralTable exact = new LiteralTable();
+        LiteralTable folded = new LiteralTable();
+        for (int index = 0; index < patterns.size(); index++) {
+            String regexPattern = patterns.get(index);
+            RequiredLiterals required = extract(regexPattern, flags);
+            compiled[index] = Pattern.compile(regexPattern, flags);
+            literals.add(required);
+            if (required.getLiterals().isEmpty()) {
+                unfiltered.set(index);
+                continue;
+            }
+            LiteralTable table = required.isIgnoreCase() ? folded : exact;
+            for (String literal : required.getLiterals()) {
+                table.add(literal, index);
+            }
+        }
+        return new PrefilterIndex(patterns, flags, compiled, Collections.unmodifiableList(literals), unfiltered,
+                exact, folded);
+    }
+
+    /**
+     * @return literals of valid expression
+     * @throws PatternSyntaxException if expression is invalid
+     */
+    private static RequiredLiterals extract(String regexPattern, int flags) {
+        if ((flags & Pattern.LITERAL) != 0) {
+            return LiteralExtractor.extract(regexPattern, flags);
+        }
+        return LiteralExtractor.extract(RegexTree.build(NfaBuilder.validate(regexPattern, flags).getTokens()), flags);
+    }
+
+    public int size() {
+        return patterns.size();
+    }
+
+    public String getPattern(int index) {
+        return patterns.get(index);
+    }
+
+    /**
+     * @return all expressions of index, unmodifiable
+     */
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return required literals of pattern, empty if pattern is not filtered
+     */
+    public RequiredLiterals getLiterals(int index) {
+        return literals.get(index);
+    }
+
+    /**
+     * @return <code>true</code> if pattern runs only for inputs with its literals
+     */
+    public boolean isFiltered(int index) {
+        if (index < 0 || index >= patterns.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + patterns.size());
+        }
+        return !unfiltered.get(index);
+    }
+
+    /**
+     * @return count of patterns which run only for inputs with their literals
+     */
+    public int getFilteredCount() {
+        return patterns.size() - unfiltered.cardinality();
+    }
+
+    /**
+     * @param input text to be matched
+     * @return indexes of patterns which may match input: with found literal or without literals
+     */
+    public BitSet candidates(CharSequence input) {
+        BitSet result = (BitSet) unfiltered.clone();
+        addCandidates(exact, exactPatterns, input, result);
+        addCandidates(folded, foldedPatterns, input, result);
+        return result;
+    }
+
+    /**
+     * Find patterns which match input, the same way as {@link java.util.regex.Matcher#find()} is true
+     *
+     * @param input text to be matched
+     * @return indexes of patterns which have match in input
+     */
+    public BitSet match(CharSequence input) {
+        BitSet result = candidates(input);
+        for (int index = result.nextSetBit(0); index >= 0; index = result.nextSetBit(index + 1)) {
+            if (!compiled[index].matcher(input).find()) {
+                result.clear(index);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param input text to be matched
+     * @return <code>true</code> if any pattern has match in input
+     */
+    public boolean matchesAny(CharSequence input) {
+        BitSet candidates = candidates(input);
+        for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+            if (compiled[index].matcher(input).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addCandidates(AhoCorasick automaton, int[][] literalPatterns, CharSequence input,
+                                      BitSet result) {
+        if (automaton == null) {
+            return;
+        }
+        BitSet found = new BitSet();
+        automaton.scan(input, found);
+        for (int literal = found.nextSetBit(0); literal >= 0; literal = found.nextSetBit(literal + 1)) {
+            for (int index : literalPatterns[literal]) {
+                result.set(index);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PrefilterIndex{" +
+                "size=" + patterns.size() +
+                ", filtered=" + getFilteredCount() +
+                ", flags=" + flags +
+                '}';
+    }
+
+    /**
+     * Distinct literals and patterns which require each of them
+     */
+    private static final class LiteralTable {
+        private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+        private final List<String> literals = new ArrayList<String>();
+        private final List<List<Integer>> patterns = new ArrayList<List<Integer>>();
+
+        void add(String literal, int pattern) {
+            Integer index = indexes.get(literal);
+            if (index == null) {
+                index = literals.size();
+                indexes.put(literal, index);
+                literals.add(literal);
+                patterns.add(new ArrayList<Integer>(1));
+            }
+            patterns.get(index).add(pattern);
+        }
+
+        AhoCorasick build(boolean ignoreCase) {
+            return literals.isEmpty() ? null : new AhoCorasick(literals, ignoreCase);
+        }
+
+        int[][] getPatterns() {
+            int[][] result = new int[patterns.size()][];
+            for (int index = 0; index < result.length; index++) {
+                List<Integer> list = patterns.get(index);
+                result[index] = new int[list.size()];
+                for (int position = 0; position < list.size(); position++) {
+                    result[index][position] = list.get(position);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.sharomank.regex.parser.automaton;
+
+import com.sharomank.regex.parser.RegexValidation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Set of patterns matched together: one pass over input tells which patterns have a match in it.
+ * <p/>
+ * Patterns are compiled from trees of parser tokens into one combined automaton, see {@link NfaBuilder} for
+ * supported subset. Patterns with back references, lookarounds, atomic groups, possessive quantifiers, word
+ * boundaries, inline flags and other constructs out of subset are matched by <code>java.util.regex</code> one by
+ * one. Set is immutable and thread-safe, {@link RegexSetMatcher} is not.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexSet {
+    private final List<String> patterns;
+    private final int flags;
+    private final Nfa nfa;
+    private final BitSet combined;
+    private final int[] fallbackIndexes;
+    private final Pattern[] fallbackPatterns;
+    private final AtomicReference<RegexSetMatcher> idleMatcher = new AtomicReference<RegexSetMatcher>();
+
+    private RegexSet(List<String> patterns, int flags, Nfa nfa, BitSet combined, int[] fallbackIndexes,
+                     Pattern[] fallbackPatterns) {
+        this.patterns = patterns;
+        this.flags = flags;
+        this.nfa = nfa;
+        this.combined = combined;
+        this.fallbackIndexes = fallbackIndexes;
+        this.fallbackPatterns = fallbackPatterns;
+    }
+
+    /**
+     * Compile set of regular expressions
+     *
+     * @param regexPatterns regular expressions, index of expression in collection is index of pattern in set
+     * @return compiled set
+     * @throws PatternSyntaxException if any expression is invalid
+     */
+    public static RegexSet compile(Collection<String> regexPatterns) {
+        return compile(regexPatterns, 0);
+    }
+
+    /**
+     * Compile set of regular expressions with match flags
+     *
+     * @param regexPatterns regular expressions, index of expression in collection is index of pattern in set
+     * @param flags         match flags of {@link Pattern#compile(String, int)} for all expressions
+     * @return compiled set
+     * @throws PatternSyntaxException if any expression is invalid
+     */
+    public static RegexSet compile(Collection<String> regexPatterns, int flags) {
+        List<String> patterns = Collections.unmodifiableList(new ArrayList<String>(regexPatterns));
+        boolean supported = NfaBuilder.isSupported(flags);
+        NfaBuilder builder = new NfaBuilder(flags);
+        BitSet combined = new BitSet(patterns.size());
+        List<Integer> fallbackIndexes = new ArrayList<Integer>();
+        List<Pattern> fallbackPatterns = new ArrayList<Pattern>();
+        for (int index = 0; index < patterns.size(); index++) {
+            String regexPattern = patterns.get(index);
+            RegexValidation validation = NfaBuilder.validate(regexPattern, flags);
+            if (supported && builder.add(validation, index)) {
+                combined.set(index);
+            } else {
+                fallbackIndexes.add(index);
+                fallbackPatterns.add(Pattern.compile(regexPattern, flags));
+            }
+        }
+        int[] indexes = new int[fallbackIndexes.size()];
+        for (int index = 0; index < indexes.length; index++) {
+            indexes[index] = fallbackIndexes.get(index);
+        }
+        return new RegexSet(patterns, flags, builder.build(), combined, indexes,
+                fallbackPatterns.toArray(new Pattern[fallbackPatterns.size()]));
+    }
+
+    public int size() {
+        return patterns.size();
+    }
+
+    public String getPattern(int index) {
+        return patterns.get(index);
+    }
+
+    /**
+     * @return all expressions of set, unmodifiable
+     */
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return <code>true</code> if pattern is matched by combined automaton, <code>false</code> - by
+     * <code>java.util.regex</code>
+     */
+    public boolean isCombined(int index) {
+        if (index < 0 || index >= patterns.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + patterns.size());
+        }
+        return combined.get(index);
+    }
+
+    /**
+     * @return count of patterns matched by combined automaton
+     */
+    public int getCombinedCount() {
+        return combined.cardinality();
+    }
+
+    /**
+     * @return new matcher, which can be reused for many inputs by one thread
+     */
+    public RegexSetMatcher matcher() {
+        return new RegexSetMatcher(this);
+    }
+
+    /**
+     * Find patterns which match input, the same way as {@link java.util.regex.Matcher#find()} is true
+     *
+     * @param input text to be matched
+     * @return indexes of patterns which have match in input
+     */
+    public BitSet match(CharSequence input) {
+        RegexSetMatcher matcher = acquire();
+        BitSet result = matcher.match(input);
+        idleMatcher.compareAndSet(null, matcher);
+        return result;
+    }
+
+    /**
+     * @param input text to be matched
+     * @return <code>true</code> if any pattern has match in input
+     */
+    public boolean matchesAny(CharSequence input) {
+        RegexSetMatcher matcher = acquire();
+        boolean result = matcher.matchesAny(input);
+        idleMatcher.compareAndSet(null, matcher);
+        return result;
+    }
+
+    Nfa getNfa() {
+        return nfa;
+    }
+
+    int[] getFallbackIndexes() {
+        return fallbackIndexes;
+    }
+
+    Pattern[] getFallbackPatterns() {
+        return fallbackPatterns;
+    }
+
+    /**
+     * One idle matcher is kept for calls without explicit matcher, concurrent calls create new ones
+     */
+    private RegexSetMatcher acquire() {
+        RegexSetMatcher matcher = idleMatcher.getAndSet(null);
+        return matcher != null ? matcher : new RegexSetMatcher(this);
+    }
+
+    @Override
+    public String toString() {
+        return "RegexSet{" +
+                "size=" + patterns.size() +
+                ", combined=" + combined.cardinality() +
+                ", flags=" + flags +
+                ", states=" + nfa.size() +
+                '}';
+    }
+}
@@ -0,0 +1,149 @@
+package com.sharomank.regex.parser.automaton;
+
+import java.util.BitSet;
+import java.util.regex.Pattern;
+
+/**
+ * Matcher of {@link RegexSet}: runs combined automaton over input once, keeping set of current states of all
+ * patterns, and runs <code>java.util.regex</code> for patterns out of automaton. Holds state sets between calls,
+ * so instance is reusable and is used by one thread.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class RegexSetMatcher {
+    private final RegexSet set;
+    private final Nfa nfa;
+    private final int combinedCount;
+    private StateSet current;
+    private StateSet next;
+    private final int[] stack;
+
+    // result of current call
+    private BitSet matched;
+    private int matchedCount;
+
+    RegexSetMatcher(RegexSet set) {
+        this.set = set;
+        this.nfa = set.getNfa();
+        this.combinedCount = set.getCombinedCount();
+        this.current = new StateSet(nfa.size());
+        this.next = new StateSet(nfa.size());
+        this.stack = new int[2 * nfa.size() + 2];
+    }
+
+    /**
+     * Find patterns which match input, the same way as {@link java.util.regex.Matcher#find()} is true
+     *
+     * @param input text to be matched
+     * @return indexes of patterns which have match in input
+     */
+    public BitSet match(CharSequence input) {
+        return match(input, false);
+    }
+
+    /**
+     * @param input text to be matched
+     * @return <code>true</code> if any pattern has match in input
+     */
+    public boolean matchesAny(CharSequence input) {
+        return !match(input, true).isEmpty();
+    }
+
+    private BitSet match(CharSequence input, boolean first) {
+        matched = new BitSet(set.size());
+        matchedCount = 0;
+        if (nfa.starts.length > 0) {
+            run(input, first ? 1 : combinedCount);
+        }
+        int[] fallbackIndexes = set.getFallbackIndexes();
+        Pattern[] fallbackPatterns = set.getFallbackPatterns();
+        for (int index = 0; index < fallbackIndexes.length && !(first && matchedCount > 0); index++) {
+            if (fallbackPatterns[index].matcher(input).find()) {
+                matched.set(fallbackIndexes[index]);
+                matchedCount++;
+            }
+        }
+        BitSet result = matched;
+        matched = null;
+        return result;
+    }
+
+    /**
+     * Step all current states over every code point of input. Entry states are followed through assertions at
+     * first and last positions only, in the middle char states of entries are taken by code point.
+     */
+    private void run(CharSequence input, int wanted) {
+        int length = input.length();
+        current.clear();
+        int position = 0;
+        while (true) {
+            boolean edge = position == 0 || position >= length - 2;
+            if (edge) {
+                for (int entry : nfa.starts) {
+                    addClosure(current, entry, input, position);
+                }
+            }
+            if (matchedCount >= wanted || position >= length) {
+                return;
+            }
+
+            int codePoint = Character.codePointAt(input, position);
+            int nextPosition = position + Character.charCount(codePoint);
+            next.clear();
+            for (int index = 0; index < current.size; index++) {
+                int state = current.states[index];
+                if (nfa.kinds[state] == Nfa.CHAR && nfa.classes[state].contains(codePoint) && !isMatched(state)) {
+                    addClosure(next, nfa.nexts[state], input, nextPosition);
+                }
+            }
+            if (!edge) {
+                boolean ascii = codePoint < 128;
+                for (int state : ascii ? nfa.asciiStarts[codePoint] : nfa.otherStarts) {
+                    if ((ascii || nfa.classes[state].contains(codePoint)) && !isMatched(state)) {
+                        addClosure(next, nfa.nexts[state], input, nextPosition);
+                    }
+                }
+            }
+            if (matchedCount >= wanted) {
+                return;
+            }
+            StateSet swap = current;
+            current = next;
+            next = swap;
+            position = nextPosition;
+        }
+    }
+
+    /**
+     * Add state and all states reached from it without consuming input
+     */
+    private void addClosure(StateSet states, int state, CharSequence input, int position) {
+        int top = 0;
+        stack[top++] = state;
+        while (top > 0) {
+            int added = stack[--top];
+            if (!states.add(added) || isMatched(added)) {
+                continue;
+            }
+            byte kind = nfa.kinds[added];
+            if (kind == Nfa.MATCH) {
+                matched.set(nfa.owners[added]);
+                matchedCount++;
+            } else if (kind == Nfa.SPLIT) {
+                stack[top++] = nfa.alternatives[added];
+                stack[top++] = nfa.nexts[added];
+            } else if (kind != Nfa.CHAR && nfa.isAssertionTrue(kind, input, position)) {
+                stack[top++] = nfa.nexts[added];
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if pattern of state has already matched, so the state can be dropped
+     */
+    private boolean isMatched(int state) {
+        int owner = nfa.owners[state];
+        return owner != NfaBuilder.SHARED && matched.get(owner);
+    }
+}
@@ -0,0 +1,36 @@
+package com.sharomank.regex.parser.automaton;
+
+/**
+ * Sparse set of automaton states: add, check and clear in constant time
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+final class StateSet {
+    // states in order of adding, first size are valid
+    final int[] states;
+    private final int[] indexes;
+    int size;
+
+    StateSet(int capacity) {
+        this.states = new int[capacity];
+        this.indexes = new int[capacity];
+    }
+
+    /**
+     * @return <code>false</code> if state is already in set
+     */
+    boolean add(int state) {
+        int index = indexes[state];
+        if (index < size && states[index] == state) {
+            return false;
+        }
+        indexes[state] = size;
+        states[size++] = state;
+        return true;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,260 @@
+package com.sharomank.regex.parser.cache;
+
+import com.sharomank.regex.parser.ParseResult;
+import com.sharomank.regex.parser.RegexParser;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe bounded cache of {@link RegexParser#compile(String, int)} results, keyed by expression and flags.
+ * <p/>
+ * Weight of entry is length of expression. Cache is split into segments, each segment has own lock,
+ * least recently used entries and own share of maximum weight, so there is no global lock.
+ * Parsing of missed expression runs outside of segment lock. Results are immutable and shared between callers.
+ * <p/>
+ * Hits read concurrent map and do not wait for lock: recency of entry is updated only if segment lock is free,
+ * so under contention eviction order is approximately least recently used.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class ParseResultCache {
+    private static final int MAX_SEGMENTS = 1 << 16;
+    private static final long MIN_SEGMENT_WEIGHT = 256;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maximumWeight maximal total length of cached expressions
+     */
+    public ParseResultCache(long maximumWeight) {
+        this(maximumWeight, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param maximumWeight    maximal total length of cached expressions
+     * @param concurrencyLevel expected count of concurrently updating threads
+     */
+    public ParseResultCache(long maximumWeight, int concurrencyLevel) {
+        if (maximumWeight <= 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("maximum weight and concurrency level must be positive");
+        }
+
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel && segmentCount < MAX_SEGMENTS
+                && (segmentCount << 1) * MIN_SEGMENT_WEIGHT <= maximumWeight) {
+            segmentCount <<= 1;
+        }
+        long segmentWeight = (maximumWeight + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int index = 0; index < segmentCount; index++) {
+            segments[index] = new Segment(segmentWeight);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    /**
+     * @param regexPattern regular expression
+     * @return cached or new parse result
+     * @see RegexParser#compile(String)
+     */
+    public ParseResult get(String regexPattern) {
+        return get(regexPattern, 0);
+    }
+
+    /**
+     * @param regexPattern regular expression
+     * @param flags        match flags of {@link java.util.regex.Pattern#compile(String, int)}
+     * @return cached or new parse result
+     * @see RegexParser#compile(String, int)
+     */
+    public ParseResult get(String regexPattern, int flags) {
+        if (regexPattern == null) {
+            throw new IllegalArgumentException("regex pattern cannot be null");
+        }
+
+        Key key = new Key(regexPattern, flags);
+        Segment segment = segmentFor(key.hash);
+        ParseResult result = segment.get(key);
+        if (result != null) {
+            hitCount.increment();
+            return result;
+        }
+
+        missCount.increment();
+        return segment.put(key, RegexParser.compile(regexPattern, flags));
+    }
+
+    /**
+     * @param regexPattern regular expression
+     * @param flags        match flags
+     * @return cached result or <code>null</code>, does not parse and does not change counters
+     */
+    public ParseResult getIfPresent(String regexPattern, int flags) {
+        Key key = new Key(regexPattern, flags);
+        return segmentFor(key.hash).get(key);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return total length of cached expressions
+     */
+    public long weight() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    private Segment segmentFor(int hash) {
+        // spread high bits, string hashes of similar expressions differ mostly in low bits
+        int spread = hash ^ (hash >>> 16);
+        return segments[spread & segmentMask];
+    }
+
+    private static int weigh(Key key) {
+        return Math.max(1, key.regexPattern.length());
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ConcurrentHashMap<Key, ParseResult> entries = new ConcurrentHashMap<Key, ParseResult>();
+        // access order of entries, guarded by lock
+        private final LinkedHashMap<Key, ParseResult> order = new LinkedHashMap<Key, ParseResult>(16, 0.75f, true);
+        private final long maximumWeight;
+        private long weight;
+
+        Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        ParseResult get(Key key) {
+            ParseResult result = entries.get(key);
+            if (result != null && lock.tryLock()) {
+                try {
+                    // moves entry to the end of access order, entry may be evicted since read
+                    order.get(key);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Put result if absent and evict least recently used entries over maximum weight
+         *
+         * @return result in cache, or given result if it is heavier than segment
+         */
+        ParseResult put(Key key, ParseResult result) {
+            int entryWeight = weigh(key);
+            if (entryWeight > maximumWeight) {
+                return result;
+            }
+
+            lock.lock();
+            try {
+                ParseResult existing = order.get(key);
+                if (existing != null) {
+                    return existing;
+                }
+                order.put(key, result);
+                entries.put(key, result);
+                weight += entryWeight;
+
+                Iterator<Map.Entry<Key, ParseResult>> iterator = order.entrySet().iterator();
+                while (weight > maximumWeight) {
+                    Key eldest = iterator.next().getKey();
+                    iterator.remove();
+                    entries.remove(eldest);
+                    weight -= weigh(eldest);
+                    evictionCount.increment();
+                }
+                return result;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        long weight() {
+            lock.lock();
+            try {
+                return weight;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                order.clear();
+                entries.clear();
+                weight = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String regexPattern;
+        private final int flags;
+        private final int hash;
+
+        Key(String regexPattern, int flags) {
+            this.regexPattern = regexPattern;
+            this.flags = flags;
+            this.hash = 31 * regexPattern.hashCode() + flags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return flags == key.flags && regexPattern.equals(key.regexPattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -89,6 +89,40 @@ public enum RegexChar {
             VerticalTab.getValue()
     );
 
+    /**
+     * Types of chars without backslash before, indexed by char. Context dependent chars
+     * (caret, dollar, backslash) are not included.
+     */
+    private static final RegexType[] PLAIN_TYPES = new RegexType[128];
+
+    /**
+     * Types of chars after backslash, indexed by char. Context dependent chars
+     * (start and end anchors) are not included.
+     */
+    private static final RegexType[] AFTER_BACKSLASH_TYPES = new RegexType[128];
+
+    static {
+        Arrays.fill(PLAIN_TYPES, RegexType.None);
+        Arrays.fill(AFTER_BACKSLASH_TYPES, RegexType.None);
+
+        putTypes(PLAIN_TYPES, GROUPS, RegexType.Group);
+        putTypes(PLAIN_TYPES, QUANTIFIERS, RegexType.Quantifier);
+        putTypes(PLAIN_TYPES, Arrays.asList(Or.getValue()), RegexType.Alternation);
+        putTypes(PLAIN_TYPES, Arrays.asList(Point.getValue()), RegexType.CharacterClass);
+        putTypes(PLAIN_TYPES, Arrays.asList(SquareBracketStart.getValue()), RegexType.CharacterGroup);
+        putTypes(PLAIN_TYPES, Arrays.asList(BracesStart.getValue()), RegexType.QuantifierGroup);
+
+        putTypes(AFTER_BACKSLASH_TYPES, ANCHOR_AFTER_BACKSLASH, RegexType.Anchor);
+        putTypes(AFTER_BACKSLASH_TYPES, CHARACTER_CLASSES_AFTER_BACKSLASH, RegexType.CharacterClass);
+        putTypes(AFTER_BACKSLASH_TYPES, NON_PRINTABLES, RegexType.NonPrintable);
+    }
+
+    private static void putTypes(RegexType[] table, List<Character> chars, RegexType type) {
+        for (Character ch : chars) {
+            table[ch] = type;
+        }
+    }
+
     private RegexChar(Character ch) {
         this(ch, null);
     }
@@ -111,10 +145,41 @@ public enum RegexChar {
         return type;
     }
 
+    /**
+     * Compare with char without boxing
+     *
+     * @param ch char
+     * @return <code>true</code> - char is value of this regex char, <code>false</code> - otherwise.
+     */
+    public boolean is(char ch) {
+        return value == ch;
+    }
+
     public boolean isWorkOnlyAfterBackslash() {
         return workOnlyAfterBackslash;
     }
 
+    /**
+     * Type of char without backslash before, lookup in precomputed table
+     *
+     * @param ch char
+     * @return type of char, {@link RegexType#None} for chars without special meaning.
+     * {@link RegexType#CharacterGroup} and {@link RegexType#QuantifierGroup} mean start of multi-char token.
+     */
+    public static RegexType getPlainType(char ch) {
+        return ch < PLAIN_TYPES.length ? PLAIN_TYPES[ch] : RegexType.None;
+    }
+
+    /**
+     * Type of char after backslash, lookup in precomputed table
+     *
+     * @param ch char
+     * @return type of escaped char, {@link RegexType#None} for chars without special meaning.
+     */
+    public static RegexType getTypeAfterBackslash(char ch) {
+        return ch < AFTER_BACKSLASH_TYPES.length ? AFTER_BACKSLASH_TYPES[ch] : RegexType.None;
+    }
+
     @Override
     public String toString() {
         return "RegexChar{" +
@@ -0,0 +1,70 @@
+package com.sharomank.regex.parser.enums;
+
+/**
+ * Kinds of regular expression syntax errors, descriptions follow {@link java.util.regex.PatternSyntaxException}
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public enum RegexErrorKind {
+    /**
+     * Quantifier without operand: <code>*a</code>, <code>a**</code>
+     */
+    DanglingMetaCharacter("Dangling meta character"),
+    UnmatchedClosingParenthesis("Unmatched closing ')'"),
+    UnclosedGroup("Unclosed group"),
+    /**
+     * <code>(?$</code> and <code>(?@</code> groups
+     */
+    UnknownGroupType("Unknown group type"),
+    UnknownInlineModifier("Unknown inline modifier"),
+    /**
+     * Name of named group is not Latin letters and digits or has no trailing '&gt;'
+     */
+    IllegalGroupName("Illegal named capturing group name"),
+    DuplicateGroupName("Named capturing group is already defined"),
+    /**
+     * <code>\k&lt;name&gt;</code> before group with the name
+     */
+    UnknownGroupReference("Named capturing group does not exist"),
+    /**
+     * Look-behind content with unbounded repetition: <code>(?&lt;=(?:ab)*)</code>
+     */
+    LookBehindWithoutMaximumLength("Look-behind group does not have an obvious maximum length"),
+    /**
+     * Braces which do not start repetition: <code>a{,3}</code>
+     */
+    IllegalRepetition("Illegal repetition"),
+    UnclosedCountedClosure("Unclosed counted closure"),
+    /**
+     * Maximum less than minimum or too large number: <code>a{3,1}</code>
+     */
+    IllegalRepetitionRange("Illegal repetition range"),
+    UnclosedCharacterClass("Unclosed character class"),
+    IllegalCharacterRange("Illegal character range"),
+    BadClassSyntax("Bad class syntax"),
+    /**
+     * Unknown or malformed escape: <code>\y</code>, <code>\x4</code>, <code>\0</code>
+     */
+    IllegalEscapeSequence("Illegal/unsupported escape sequence"),
+    UnknownCharacterProperty("Unknown character property"),
+    UnknownCharacterName("Unknown character name"),
+    /**
+     * Escape at the end of expression: <code>a\</code>
+     */
+    UnexpectedEnd("Unexpected end of pattern"),
+    /**
+     * Error found only by {@link java.util.regex.Pattern#compile(String, int)}
+     */
+    Unclassified("Syntax error");
+
+    private final String description;
+
+    private RegexErrorKind(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,53 @@
+package com.sharomank.regex.parser.enums;
+
+/**
+ * Types of regular expression groups
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public enum RegexGroupType {
+    Capturing("("),
+    NamedCapturing("(?<"),
+    NonCapturing("(?:"),
+    Atomic("(?>"),
+    Lookahead("(?="),
+    NegativeLookahead("(?!"),
+    Lookbehind("(?<="),
+    NegativeLookbehind("(?<!"),
+    /**
+     * Flags for the rest of enclosing group, e.g. <code>(?i)</code>, without content
+     */
+    InlineFlags("(?"),
+    /**
+     * Non capturing group with flags, e.g. <code>(?i:X)</code>
+     */
+    FlagsNonCapturing("(?");
+
+    private final String prefix;
+
+    private RegexGroupType(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * @return start of group before name or flags
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @return <code>true</code> - group is zero-width assertion, <code>false</code> - group consumes input.
+     */
+    public boolean isLookaround() {
+        return this == Lookahead || this == NegativeLookahead || this == Lookbehind || this == NegativeLookbehind;
+    }
+
+    /**
+     * @return <code>true</code> - group content is captured, <code>false</code> - otherwise.
+     */
+    public boolean isCapturing() {
+        return this == Capturing || this == NamedCapturing;
+    }
+}
@@ -0,0 +1,30 @@
+package com.sharomank.regex.parser.enums;
+
+/**
+ * Types of regular expression tree nodes
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public enum RegexNodeType {
+    /**
+     * Branches separated by '|', children are {@link #Concatenation} nodes
+     */
+    Alternation,
+    /**
+     * Sequence of elements, may be empty
+     */
+    Concatenation,
+    /**
+     * Group in parentheses, single child is content ({@link #Alternation} or {@link #Concatenation})
+     */
+    Group,
+    /**
+     * Element with quantifier, single child is quantified element
+     */
+    Quantified,
+    /**
+     * Single token: literal, character class, character group, non printable char or anchor
+     */
+    Atom
+}
@@ -0,0 +1,22 @@
+package com.sharomank.regex.parser.enums;
+
+/**
+ * Modes of regular expression quantifiers
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public enum RegexQuantifierMode {
+    /**
+     * Match as many as possible, then backtrack: <code>X*</code>
+     */
+    Greedy,
+    /**
+     * Match as few as possible: <code>X*?</code>
+     */
+    Lazy,
+    /**
+     * Match as many as possible without backtracking: <code>X*+</code>
+     */
+    Possessive
+}
@@ -0,0 +1,40 @@
+package com.sharomank.regex.parser.enums;
+
+/**
+ * Kinds of catastrophic backtracking risk found by
+ * {@link com.sharomank.regex.parser.analysis.BacktrackingAnalyzer}
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public enum RegexRiskKind {
+    /**
+     * Repeated construct contains quantifier which can take chars of the next repetition: <code>(a+)+</code>
+     */
+    NestedQuantifier("Nested quantifier", RegexRiskSeverity.Exponential),
+    /**
+     * Repeated alternation with branches matching the same input: <code>(\w|\d)*</code>
+     */
+    OverlappingAlternation("Overlapping alternation", RegexRiskSeverity.Exponential),
+    /**
+     * Unbounded quantifiers which can take the same chars one after another: <code>\d+\d+</code>,
+     * <code>.*=.*</code>, <code>(.*a){10}</code>
+     */
+    AdjacentQuantifiers("Adjacent quantifiers", RegexRiskSeverity.Polynomial);
+
+    private final String description;
+    private final RegexRiskSeverity severity;
+
+    private RegexRiskKind(String description, RegexRiskSeverity severity) {
+        this.description = description;
+        this.severity = severity;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public RegexRiskSeverity getSeverity() {
+        return severity;
+    }
+}
@@ -0,0 +1,18 @@
+package com.sharomank.regex.parser.enums;
+
+/**
+ * Severity of catastrophic backtracking risk, ordered from the least to the most severe
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public enum RegexRiskSeverity {
+    /**
+     * Time of failed match grows as power of input length: <code>\d+\d+</code>
+     */
+    Polynomial,
+    /**
+     * Time of failed match grows exponentially with input length: <code>(a+)+</code>
+     */
+    Exponential
+}
@@ -0,0 +1,29 @@
+package com.sharomank.regex.parser.enums;
+
+/**
+ * Kinds of rewrites made by {@link com.sharomank.regex.parser.analysis.BacktrackingRewriter}
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public enum RegexTransformKind {
+    /**
+     * Greedy quantifier is followed by chars it cannot take: <code>\d+x</code> to <code>\d++x</code>
+     */
+    PossessiveQuantifier("Possessive quantifier"),
+    /**
+     * Non-capturing alternation of branches which cannot match at the same position: <code>(?:ab|cd)</code> to
+     * <code>(?&gt;ab|cd)</code>
+     */
+    AtomicGroup("Atomic group");
+
+    private final String description;
+
+    private RegexTransformKind(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,118 @@
+package com.sharomank.regex.parser.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Char sequence over bytes of memory-mapped file, one byte per char. Chars are read from mapping on demand,
+ * so several MB expression is not loaded into heap. Scan it without validation, see
+ * {@link com.sharomank.regex.parser.RegexParser#scan(CharSequence, boolean,
+ * com.sharomank.regex.parser.RegexTokenVisitor)}: validation copies code points of expression into heap.
+ * <p/>
+ * Instances are immutable views and safe to share between threads.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class MappedCharSequence implements CharSequence {
+    private final ByteBuffer bytes;
+    private final int offset;
+    private final int length;
+
+    /**
+     * @param bytes  bytes of chars in ISO-8859-1 (US-ASCII is its subset), buffer position is not used
+     * @param offset index of first byte
+     * @param length count of chars
+     */
+    public MappedCharSequence(ByteBuffer bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.limit()) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + (offset + length)
+                    + ") is out of buffer limit " + bytes.limit());
+        }
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Map file as char sequence. ISO-8859-1 files and ASCII-only files in other ASCII-compatible charset
+     * (e.g. UTF-8) are read through the mapping; other files are decoded into heap {@link java.nio.CharBuffer}.
+     *
+     * @param file    file with regular expression
+     * @param charset charset of file
+     * @return char sequence of file content
+     * @throws IOException if file cannot be mapped or is larger than 2 GB
+     */
+    public static CharSequence map(File file, Charset charset) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File " + file + " is larger than 2 GB");
+            }
+            // mapping stays valid after channel is closed
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (StandardCharsets.ISO_8859_1.equals(charset) || isAsciiCompatible(charset) && isAscii(bytes)) {
+                return new MappedCharSequence(bytes, 0, (int) size);
+            }
+            return charset.decode(bytes);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+        }
+        return (char) (bytes.get(offset + index) & 0xFF);
+    }
+
+    /**
+     * @return view over the same bytes
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") is out of length " + length);
+        }
+        return new MappedCharSequence(bytes, offset + start, end - start);
+    }
+
+    /**
+     * @return new string with all chars
+     */
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int index = 0; index < length; index++) {
+            chars[index] = (char) (bytes.get(offset + index) & 0xFF);
+        }
+        return new String(chars);
+    }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        return StandardCharsets.US_ASCII.equals(charset) || StandardCharsets.UTF_8.equals(charset);
+    }
+
+    private static boolean isAscii(ByteBuffer bytes) {
+        for (int index = 0; index < bytes.limit(); index++) {
+            if (bytes.get(index) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
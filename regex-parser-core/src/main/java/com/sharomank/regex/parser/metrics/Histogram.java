@@ -0,0 +1,107 @@
+package com.sharomank.regex.parser.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of non-negative values with power of two buckets: bucket <code>k</code> counts values
+ * in <code>[2^(k-1), 2^k)</code>, bucket <code>0</code> counts zeros. Percentiles are upper bounds of buckets,
+ * so they are accurate within factor of two.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public final class Histogram {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param value recorded value, negative value is recorded as zero
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(value));
+        count.increment();
+        total.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return average of values, <code>0</code> when nothing is recorded
+     */
+    public double getMean() {
+        long recorded = getCount();
+        return recorded == 0 ? 0 : (double) getTotal() / recorded;
+    }
+
+    /**
+     * @param percentile percent of values, from <code>0</code> to <code>100</code>
+     * @return value which is not exceeded by given percent of values, <code>0</code> when nothing is recorded
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        long[] counts = new long[BUCKETS];
+        long recorded = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] = buckets.get(bucket);
+            recorded += counts[bucket];
+        }
+        long rank = (long) Math.ceil(recorded * percentile / 100);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank && seen > 0) {
+                // upper bound of bucket, 2^63 - 1 for the last one
+                return Math.min((1L << bucket) - 1, getMax());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Forget recorded values, concurrent records may be partially kept
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            buckets.set(bucket, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram{" +
+                "count=" + getCount() +
+                ", mean=" + getMean() +
+                ", p50=" + getPercentile(50) +
+                ", p99=" + getPercentile(99) +
+                ", max=" + getMax() +
+                '}';
+    }
+}
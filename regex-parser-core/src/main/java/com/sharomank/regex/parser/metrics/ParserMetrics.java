@@ -0,0 +1,101 @@
+package com.sharomank.regex.parser.metrics;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.enums.RegexType;
+
+/**
+ * Receiver of parser measurements, installed by {@link com.sharomank.regex.parser.RegexParser#setMetrics} or found
+ * by {@link java.util.ServiceLoader} in <code>META-INF/services/com.sharomank.regex.parser.metrics.ParserMetrics</code>.
+ * <p/>
+ * Time is split into validation (syntax check) and tokenization (lexing of valid expression) in nanoseconds.
+ * Parser measures time only while {@link #isEnabled()} is <code>true</code>: each measured call starts with
+ * {@link #tokenizeStarted()} or {@link #validateStarted()} and ends with {@link #tokenized} or {@link #validated}
+ * on the same thread. Methods are called from any parsing thread, implementation must be thread-safe and fast.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ * @see RecordingParserMetrics
+ */
+public interface ParserMetrics {
+    /**
+     * Default receiver: disabled, records nothing
+     */
+    ParserMetrics NONE = new ParserMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public Object tokenizeStarted() {
+            return null;
+        }
+
+        @Override
+        public void tokenized(Object call, int expressionLength, int tokenCount, boolean parseError,
+                              long validationNanos, long tokenizationNanos) {
+        }
+
+        @Override
+        public Object validateStarted() {
+            return null;
+        }
+
+        @Override
+        public void validated(Object call, int expressionLength, int tokenCount, RegexErrorKind errorKind,
+                              long validationNanos, long tokenizationNanos) {
+        }
+
+        @Override
+        public String toString() {
+            return "ParserMetrics.NONE";
+        }
+    };
+
+    /**
+     * @return <code>true</code> if parser should measure and report calls
+     */
+    boolean isEnabled();
+
+    /**
+     * Start of tokenization, before syntax check
+     *
+     * @return state of the call given back to {@link #tokenized}, e.g. started event, may be <code>null</code>
+     */
+    Object tokenizeStarted();
+
+    /**
+     * Tokenization of expression by {@link com.sharomank.regex.parser.RegexParser#tokenize(String)} or
+     * {@link com.sharomank.regex.parser.RegexTokenizer}, blank expressions are not reported
+     *
+     * @param call              result of {@link #tokenizeStarted()}
+     * @param expressionLength  length of expression
+     * @param tokenCount        count of tokens
+     * @param parseError        expression is invalid, tokens are single {@link RegexType#ParseError} token
+     * @param validationNanos   time of syntax check
+     * @param tokenizationNanos time of lexing, <code>0</code> for invalid expression
+     */
+    void tokenized(Object call, int expressionLength, int tokenCount, boolean parseError, long validationNanos,
+                   long tokenizationNanos);
+
+    /**
+     * Start of validation, before syntax check
+     *
+     * @return state of the call given back to {@link #validated}, e.g. started event, may be <code>null</code>
+     */
+    Object validateStarted();
+
+    /**
+     * Check of expression by {@link com.sharomank.regex.parser.RegexParser#validate(String, int, boolean)}
+     *
+     * @param call              result of {@link #validateStarted()}
+     * @param expressionLength  length of expression
+     * @param tokenCount        count of tokens, including {@link RegexType#ParseError} token
+     * @param errorKind         kind of syntax error, <code>null</code> for valid expression
+     * @param validationNanos   time of syntax check, with {@link java.util.regex.Pattern#compile(String, int)} if
+     *                          check is confirmed
+     * @param tokenizationNanos time of lexing
+     */
+    void validated(Object call, int expressionLength, int tokenCount, RegexErrorKind errorKind, long validationNanos,
+                   long tokenizationNanos);
+}
@@ -0,0 +1,149 @@
+package com.sharomank.regex.parser.metrics;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory counters and histograms of parser calls, to be read by application or exported to monitoring system.
+ * <p/>
+ * Instance is thread-safe.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RecordingParserMetrics implements ParserMetrics {
+    private final LongAdder tokenizeCount = new LongAdder();
+    private final LongAdder validateCount = new LongAdder();
+    private final LongAdder parseErrorCount = new LongAdder();
+    private final Map<RegexErrorKind, LongAdder> errorCounts = new EnumMap<RegexErrorKind, LongAdder>(
+            RegexErrorKind.class);
+    private final Histogram validationNanos = new Histogram();
+    private final Histogram tokenizationNanos = new Histogram();
+    private final Histogram tokenCounts = new Histogram();
+
+    public RecordingParserMetrics() {
+        for (RegexErrorKind errorKind : RegexErrorKind.values()) {
+            errorCounts.put(errorKind, new LongAdder());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public Object tokenizeStarted() {
+        return null;
+    }
+
+    @Override
+    public void tokenized(Object call, int expressionLength, int tokenCount, boolean parseError, long validationNanos,
+                          long tokenizationNanos) {
+        tokenizeCount.increment();
+        record(tokenCount, parseError, validationNanos, tokenizationNanos);
+    }
+
+    @Override
+    public Object validateStarted() {
+        return null;
+    }
+
+    @Override
+    public void validated(Object call, int expressionLength, int tokenCount, RegexErrorKind errorKind,
+                          long validationNanos, long tokenizationNanos) {
+        validateCount.increment();
+        if (errorKind != null) {
+            errorCounts.get(errorKind).increment();
+        }
+        record(tokenCount, errorKind != null, validationNanos, tokenizationNanos);
+    }
+
+    private void record(int tokenCount, boolean parseError, long validation, long tokenization) {
+        if (parseError) {
+            parseErrorCount.increment();
+        }
+        validationNanos.record(validation);
+        tokenizationNanos.record(tokenization);
+        tokenCounts.record(tokenCount);
+    }
+
+    /**
+     * @return count of tokenized expressions
+     */
+    public long getTokenizeCount() {
+        return tokenizeCount.sum();
+    }
+
+    /**
+     * @return count of validated expressions
+     */
+    public long getValidateCount() {
+        return validateCount.sum();
+    }
+
+    /**
+     * @return count of tokenized and validated expressions with {@link com.sharomank.regex.parser.enums.RegexType#ParseError}
+     */
+    public long getParseErrorCount() {
+        return parseErrorCount.sum();
+    }
+
+    /**
+     * @return count of validated expressions with error of given kind
+     */
+    public long getErrorCount(RegexErrorKind errorKind) {
+        return errorCounts.get(errorKind).sum();
+    }
+
+    /**
+     * @return time of syntax checks in nanoseconds
+     */
+    public Histogram getValidationNanos() {
+        return validationNanos;
+    }
+
+    /**
+     * @return time of lexing in nanoseconds
+     */
+    public Histogram getTokenizationNanos() {
+        return tokenizationNanos;
+    }
+
+    /**
+     * @return sizes of token lists
+     */
+    public Histogram getTokenCounts() {
+        return tokenCounts;
+    }
+
+    /**
+     * Forget recorded values
+     */
+    public void reset() {
+        tokenizeCount.reset();
+        validateCount.reset();
+        parseErrorCount.reset();
+        for (LongAdder errorCount : errorCounts.values()) {
+            errorCount.reset();
+        }
+        validationNanos.reset();
+        tokenizationNanos.reset();
+        tokenCounts.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "RecordingParserMetrics{" +
+                "tokenizeCount=" + getTokenizeCount() +
+                ", validateCount=" + getValidateCount() +
+                ", parseErrorCount=" + getParseErrorCount() +
+                ", validationNanos=" + validationNanos +
+                ", tokenizationNanos=" + tokenizationNanos +
+                ", tokenCounts=" + tokenCounts +
+                '}';
+    }
+}
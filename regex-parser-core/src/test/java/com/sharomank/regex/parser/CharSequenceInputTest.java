@@ -0,0 +1,184 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+import com.sharomank.regex.parser.io.MappedCharSequence;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class CharSequenceInputTest {
+    private static final String EXPRESSION = "^(\\d{3})-[a-z]+\\s*(?:ab|cd)*?x{2,5}\\\\y$";
+
+    @Test
+    public void charBufferAndBuilder() throws Exception {
+        assertSameTokens(EXPRESSION, CharBuffer.wrap(EXPRESSION));
+        assertSameTokens(EXPRESSION, new StringBuilder(EXPRESSION));
+    }
+
+    @Test
+    public void invalidCharSequence() throws Exception {
+        Tokens tokens = new Tokens();
+        RegexParser.scan(new StringBuilder("a(b"), tokens);
+
+        assertEquals(1, tokens.types.size());
+        assertEquals(RegexType.ParseError, tokens.types.get(0));
+        assertEquals(3, (int) tokens.bounds.get(1));
+    }
+
+    @Test
+    public void readerWithSmallWindow() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            builder.append(EXPRESSION, 1, EXPRESSION.length() - 1).append('|');
+        }
+        builder.append("[abc]{1,2}\\$");
+        String expression = builder.toString();
+
+        Tokens expected = new Tokens();
+        RegexParser.scan(expression, expected);
+        Tokens actual = new Tokens();
+        assertTrue(new RegexTokenizer().scan(new StringReader(expression), 64, actual));
+
+        assertEquals(expected.bounds, actual.bounds);
+        assertEquals(expected.types, actual.types);
+        assertEquals(expected.texts, actual.texts);
+    }
+
+    @Test
+    public void readerStops() throws Exception {
+        final List<Integer> ends = new ArrayList<Integer>();
+        boolean completed = RegexParser.scan(new StringReader("ab+c"), new RegexTokenVisitor() {
+            @Override
+            public boolean visitToken(CharSequence expression, int start, int end, RegexType type) {
+                ends.add(end);
+                return type != RegexType.Quantifier;
+            }
+        });
+
+        assertFalse(completed);
+        assertEquals(3, ends.size());
+    }
+
+    @Test(expected = IOException.class)
+    public void readerError() throws Exception {
+        RegexParser.scan(new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("broken");
+            }
+
+            @Override
+            public void close() {
+            }
+        }, new Tokens());
+    }
+
+    @Test
+    public void mappedFile() throws Exception {
+        File file = File.createTempFile("regex", ".txt");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                out.write(EXPRESSION.getBytes(StandardCharsets.UTF_8));
+            } finally {
+                out.close();
+            }
+
+            CharSequence mapped = MappedCharSequence.map(file, StandardCharsets.UTF_8);
+            assertTrue(mapped instanceof MappedCharSequence);
+            assertEquals(EXPRESSION, mapped.toString());
+            assertEquals("\\d{3}", mapped.subSequence(2, 7).toString());
+            assertSameTokens(EXPRESSION, mapped);
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void mappedFileWithoutValidation() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < 100000) {
+            builder.append(EXPRESSION, 1, EXPRESSION.length() - 1).append('|');
+        }
+        builder.append("\\Qa|b\\E");
+        String expression = builder.toString();
+        File file = File.createTempFile("regex", ".txt");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                out.write(expression.getBytes(StandardCharsets.UTF_8));
+            } finally {
+                out.close();
+            }
+
+            CharSequence mapped = MappedCharSequence.map(file, StandardCharsets.UTF_8);
+            RegexTokenizer tokenizer = new RegexTokenizer();
+            int capacity = tokenizer.getValidator().getCapacity();
+            Tokens actual = new Tokens();
+            assertTrue(tokenizer.scan(mapped, false, actual));
+            // validation buffers are not grown, expression is read from mapping only
+            assertEquals(capacity, tokenizer.getValidator().getCapacity());
+
+            Tokens expected = new Tokens();
+            assertTrue(RegexParser.scan(expression, expected));
+            assertEquals(expected.bounds, actual.bounds);
+            assertEquals(expected.types, actual.types);
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void invalidWithoutValidation() throws Exception {
+        Tokens tokens = new Tokens();
+        assertTrue(RegexParser.scan(new StringBuilder("a(b"), false, tokens));
+
+        assertFalse(tokens.types.contains(RegexType.ParseError));
+        assertEquals(0, (int) tokens.bounds.get(0));
+        assertEquals(3, (int) tokens.bounds.get(tokens.bounds.size() - 1));
+    }
+
+    private static void assertSameTokens(String expression, CharSequence input) {
+        RegexTokenStream expected = RegexParser.tokenize(expression);
+        Tokens actual = new Tokens();
+
+        assertTrue(RegexParser.scan(input, actual));
+        assertEquals(expected.size(), actual.types.size());
+        for (int index = 0; index < expected.size(); index++) {
+            assertEquals(expected.getStart(index), (int) actual.bounds.get(2 * index));
+            assertEquals(expected.getEnd(index), (int) actual.bounds.get(2 * index + 1));
+            assertEquals(expected.getType(index), actual.types.get(index));
+        }
+    }
+
+    private static class Tokens implements RegexTokenVisitor {
+        final List<Integer> bounds = new ArrayList<Integer>();
+        final List<RegexType> types = new ArrayList<RegexType>();
+        final List<String> texts = new ArrayList<String>();
+
+        @Override
+        public boolean visitToken(CharSequence expression, int start, int end, RegexType type) {
+            bounds.add(start);
+            bounds.add(end);
+            types.add(type);
+            texts.add(expression.subSequence(start, end).toString());
+            return true;
+        }
+    }
+}
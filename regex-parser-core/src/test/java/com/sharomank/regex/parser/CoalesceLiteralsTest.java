@@ -0,0 +1,185 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class CoalesceLiteralsTest {
+
+    @Test
+    public void simpleGroup() throws Exception {
+        List<RegexPart> expected = Arrays.asList(
+                new RegexPart("(", RegexType.Group),
+                new RegexPart("test", RegexType.None),
+                new RegexPart(")", RegexType.Group)
+        );
+        assertEquals(expected, RegexParser.parse("(test)", true));
+    }
+
+    @Test
+    public void quantifiedChar() throws Exception {
+        List<RegexPart> expected = Arrays.asList(
+                new RegexPart("test", RegexType.None),
+                new RegexPart("s", RegexType.None),
+                new RegexPart("+", RegexType.Quantifier),
+                new RegexPart("?", RegexType.Quantifier),
+                new RegexPart("ok", RegexType.None),
+                new RegexPart("!", RegexType.None),
+                new RegexPart("{2}", RegexType.QuantifierGroup)
+        );
+        assertEquals(expected, RegexParser.parse("tests+?ok!{2}", true));
+        assertEquals(Arrays.asList(
+                new RegexPart("a", RegexType.None),
+                new RegexPart("*", RegexType.Quantifier),
+                new RegexPart("bc", RegexType.None)
+        ), RegexParser.parse("a*bc", true));
+    }
+
+    @Test
+    public void otherTokens() throws Exception {
+        List<RegexPart> expected = Arrays.asList(
+                new RegexPart("^", RegexType.Anchor),
+                new RegexPart("a", RegexType.None),
+                new RegexPart("\\.", RegexType.None),
+                new RegexPart("b", RegexType.None),
+                new RegexPart("\\t", RegexType.NonPrintable),
+                new RegexPart("c", RegexType.None),
+                new RegexPart("|", RegexType.Alternation),
+                new RegexPart("[xy]", RegexType.CharacterGroup),
+                new RegexPart("de", RegexType.None),
+                new RegexPart("\\d", RegexType.CharacterClass)
+        );
+        assertEquals(expected, RegexParser.parse("^a\\.b\\tc|[xy]de\\d", true));
+    }
+
+    @Test
+    public void surrogatePairs() throws Exception {
+        String smile = "\uD83D\uDE00";
+        assertEquals(Arrays.asList(
+                new RegexPart("ab", RegexType.None),
+                new RegexPart(smile, RegexType.None),
+                new RegexPart("+", RegexType.Quantifier)
+        ), RegexParser.parse("ab" + smile + "+", true));
+        assertEquals(Arrays.asList(
+                new RegexPart(smile, RegexType.None),
+                new RegexPart("?", RegexType.Quantifier)
+        ), RegexParser.parse(smile + "?", true));
+        assertEquals(Arrays.asList(
+                new RegexPart("a" + smile, RegexType.None),
+                new RegexPart("\uD83D\uDE01", RegexType.None),
+                new RegexPart("{2}", RegexType.QuantifierGroup),
+                new RegexPart("b" + smile, RegexType.None)
+        ), RegexParser.parse("a" + smile + "\uD83D\uDE01{2}b" + smile, true));
+    }
+
+    @Test
+    public void escapes() throws Exception {
+        assertEquals(Arrays.asList(
+                new RegexPart("ab", RegexType.None),
+                new RegexPart("\\x", RegexType.None),
+                new RegexPart("4", RegexType.None),
+                new RegexPart("1", RegexType.None),
+                new RegexPart("+", RegexType.Quantifier)
+        ), RegexParser.parse("ab\\x41+", true));
+        assertEquals(Arrays.asList(
+                new RegexPart("a", RegexType.None),
+                new RegexPart("\\0", RegexType.None),
+                new RegexPart("1", RegexType.None),
+                new RegexPart("0", RegexType.None),
+                new RegexPart("1", RegexType.None),
+                new RegexPart("?", RegexType.Quantifier)
+        ), RegexParser.parse("a\\0101?", true));
+        assertEquals(Arrays.asList(
+                new RegexPart("ab", RegexType.None),
+                new RegexPart("\\1", RegexType.None),
+                new RegexPart("c", RegexType.None)
+        ), RegexParser.parse("ab\\1c", true));
+        assertEquals(Arrays.asList(
+                new RegexPart("\\x", RegexType.None),
+                new RegexPart("4", RegexType.None),
+                new RegexPart("1", RegexType.None),
+                new RegexPart("bc", RegexType.None)
+        ), RegexParser.parse("\\x41bc", true));
+    }
+
+    @Test
+    public void nothingToMerge() throws Exception {
+        RegexTokenStream tokens = RegexParser.tokenize("(a|b)+c");
+        assertSame(tokens, tokens.coalesceLiterals());
+        assertEquals(tokens, RegexParser.tokenize("(a|b)+c", true));
+        assertEquals(RegexParser.tokenize("(ab"), RegexParser.tokenize("(ab", true));
+        assertTrue(RegexParser.tokenize("  ", true).isEmpty());
+    }
+
+    @Test
+    public void buffer() throws Exception {
+        RegexTokenizer tokenizer = new RegexTokenizer();
+        RegexTokenBuffer buffer = new RegexTokenBuffer();
+        tokenizer.tokenize("user=\\w+ id=\\d+", buffer);
+        buffer.coalesceLiterals();
+        assertEquals(RegexParser.tokenize("user=\\w+ id=\\d+", true), buffer.toTokenStream());
+        assertEquals(6, buffer.size());
+        assertEquals(" id=", buffer.getToken(3));
+    }
+
+    @Test
+    public void sameText() throws Exception {
+        String parts = "ab\\.x(?:)|*+?{2}[a-c]^$\\d\\t0147";
+        Random random = new Random(24);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                sb.append(parts.charAt(random.nextInt(parts.length())));
+            }
+            String regex = sb.toString();
+            RegexTokenStream tokens = RegexParser.tokenize(regex);
+            RegexTokenStream merged = RegexParser.tokenize(regex, true);
+            assertEquals(regex, merged, tokens.coalesceLiterals());
+
+            // merged tokens cover the same text, other tokens, escapes and literals before quantifiers are kept
+            StringBuilder text = new StringBuilder();
+            int index = 0;
+            int escapeEnd = 0;
+            for (int token = 0; token < merged.size(); token++) {
+                text.append(merged.getToken(token));
+                int start = merged.getStart(token);
+                boolean escape = regex.charAt(start) == '\\';
+                if (merged.getType(token) != RegexType.None || escape || start < escapeEnd) {
+                    while (tokens.getStart(index) != start) {
+                        index++;
+                    }
+                    assertEquals(regex, tokens.getPart(index), merged.getPart(token));
+                    if (token > 0 && isQuantifier(merged.getType(token))) {
+                        assertEquals(regex, tokens.getPart(index - 1), merged.getPart(token - 1));
+                    }
+                    if (escape) {
+                        escapeEnd = Math.max(merged.getEnd(token), RegexTokenStream.getEscapeEnd(regex, start));
+                    }
+                } else if (token > 0) {
+                    // literal follows other token, escape or part of escape unless it is quantified
+                    assertTrue(regex, merged.getType(token - 1) != RegexType.None
+                            || regex.charAt(merged.getStart(token - 1)) == '\\'
+                            || merged.getStart(token - 1) < escapeEnd
+                            || token + 1 < merged.size() && isQuantifier(merged.getType(token + 1)));
+                }
+            }
+            assertEquals(regex, merged.size() == 0 ? "" : regex, text.toString());
+        }
+    }
+
+    private static boolean isQuantifier(RegexType type) {
+        return type == RegexType.Quantifier || type == RegexType.QuantifierGroup;
+    }
+}
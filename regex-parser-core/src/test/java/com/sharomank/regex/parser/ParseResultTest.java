@@ -0,0 +1,53 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class ParseResultTest {
+
+    @Test
+    public void validWithFlags() throws Exception {
+        ParseResult result = RegexParser.compile("a+b", Pattern.CASE_INSENSITIVE);
+
+        assertTrue(result.isValid());
+        assertEquals(Pattern.CASE_INSENSITIVE, result.getFlags());
+        assertEquals(Pattern.CASE_INSENSITIVE, result.getPattern().flags());
+        assertTrue(result.getPattern().matcher("AAB").matches());
+        assertEquals(RegexParser.parse("a+b"), result.getParts());
+        assertNull(result.getErrorDescription());
+    }
+
+    @Test
+    public void invalid() throws Exception {
+        ParseResult result = RegexParser.compile("a(b");
+
+        assertFalse(result.isValid());
+        assertNull(result.getPattern());
+        assertEquals(1, result.getTokens().size());
+        assertEquals(RegexType.ParseError, result.getTokens().getType(0));
+        assertEquals(3, result.getErrorIndex());
+        assertTrue(result.getErrorDescription().length() > 0);
+    }
+
+    @Test
+    public void trustedPattern() throws Exception {
+        Pattern pattern = Pattern.compile("\\d{4}", Pattern.MULTILINE);
+        ParseResult result = RegexParser.parseCompiled(pattern);
+
+        assertSame(pattern, result.getPattern());
+        assertEquals(Pattern.MULTILINE, result.getFlags());
+        assertEquals(2, result.getTokens().size());
+    }
+}
@@ -0,0 +1,60 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RegexBatchParserTest {
+
+    @Test
+    public void resultsInInputOrder() throws Exception {
+        List<String> patterns = new ArrayList<String>();
+        for (int index = 0; index < 1000; index++) {
+            patterns.add(index % 10 == 0 ? "(rule" + index : "rule" + index + "\\d+");
+        }
+
+        RegexBatchParser parser = new RegexBatchParser(4);
+        try {
+            assertEquals(4, parser.getParallelism());
+            List<ParseResult> results = parser.parseAll(patterns);
+            assertEquals(patterns.size(), results.size());
+            for (int index = 0; index < patterns.size(); index++) {
+                ParseResult result = results.get(index);
+                assertEquals(patterns.get(index), result.getExpression());
+                assertEquals(index % 10 != 0, result.isValid());
+            }
+        } finally {
+            parser.close();
+        }
+    }
+
+    @Test
+    public void nullPatternDoesNotStopBatch() throws Exception {
+        RegexBatchParser parser = new RegexBatchParser(ForkJoinPool.commonPool(), 1);
+        List<ParseResult> results = parser.parseAll(Arrays.asList("a", null, "b"));
+
+        assertTrue(results.get(0).isValid());
+        assertFalse(results.get(1).isValid());
+        assertEquals(RegexType.ParseError, results.get(1).getTokens().getType(0));
+        assertTrue(results.get(2).isValid());
+    }
+
+    @Test
+    public void staticParseAll() throws Exception {
+        List<ParseResult> results = RegexParser.parseAll(Arrays.asList("a|b", "[x"));
+        assertEquals(RegexParser.parse("a|b"), results.get(0).getParts());
+        assertFalse(results.get(1).isValid());
+    }
+}
@@ -7,6 +7,8 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * @author Roman Kurbangaliyev
  * @since 31.05.12
@@ -594,6 +596,55 @@ public class RegexParserTest {
         checkParse(regex, expected);
     }
 
+    @Test
+    public void trailingLazyQuantifier() throws Exception {
+        String regex = "a{2}?";
+        List<RegexPart> expected = Arrays.asList(
+                new RegexPart("a", RegexType.None),
+                new RegexPart("{2}", RegexType.QuantifierGroup),
+                new RegexPart("?", RegexType.Quantifier)
+        );
+        checkParse(regex, expected);
+    }
+
+    @Test
+    public void trailingPossessiveQuantifier() throws Exception {
+        String regex = "a++";
+        List<RegexPart> expected = Arrays.asList(
+                new RegexPart("a", RegexType.None),
+                new RegexPart("+", RegexType.Quantifier),
+                new RegexPart("+", RegexType.Quantifier)
+        );
+        checkParse(regex, expected);
+    }
+
+    @Test
+    public void longAlternationOnSmallStack() throws Exception {
+        final StringBuilder regex = new StringBuilder();
+        for (int index = 0; regex.length() < 2 * 1024 * 1024; index++) {
+            regex.append(index > 0 ? "|" : "").append("word").append(index);
+        }
+        final int[] size = new int[1];
+        final Throwable[] error = new Throwable[1];
+        Thread thread = new Thread(null, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    size[0] = RegexParser.parse(regex.toString()).size();
+                } catch (Throwable e) {
+                    error[0] = e;
+                }
+            }
+        }, "small-stack", 256 * 1024);
+        thread.start();
+        thread.join();
+
+        if (error[0] != null) {
+            throw new IllegalStateException("parse failed on small stack", error[0]);
+        }
+        assertEquals(regex.length(), size[0]);
+    }
+
     private void checkParse(String regex, List<RegexPart> expected) {
         List<RegexPart> actual = RegexParser.parse(regex);
         matchRegexParts(expected, actual);
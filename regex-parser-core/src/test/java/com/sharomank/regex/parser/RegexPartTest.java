@@ -0,0 +1,59 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RegexPartTest {
+
+    @Test
+    public void sharedParts() throws Exception {
+        List<RegexPart> first = RegexParser.parse("^(a|\\d)*\\.x+?.\\t\\b$");
+        List<RegexPart> second = RegexParser.parse("^(a|\\d)*\\.x+?.\\t\\b$");
+        assertEquals(first, second);
+        for (int index = 0; index < first.size(); index++) {
+            assertSame(first.get(index), second.get(index));
+        }
+
+        Iterator<RegexPart> iterator = RegexParser.iterator("(a|\\d)");
+        assertSame(first.get(1), iterator.next());
+        assertSame(first.get(2), iterator.next());
+        assertSame(RegexPart.valueOf("\\w", RegexType.CharacterClass), RegexParser.parse("\\w").get(0));
+    }
+
+    @Test
+    public void notShared() throws Exception {
+        List<RegexPart> first = RegexParser.parse("[ab]{2}\\x41\u00E9");
+        List<RegexPart> second = RegexParser.parse("[ab]{2}\\x41\u00E9");
+        assertEquals(first, second);
+        assertNotSame(first.get(0), second.get(0));
+        assertNotSame(first.get(1), second.get(1));
+        assertNotSame(first.get(first.size() - 1), second.get(second.size() - 1));
+        assertNotSame(RegexPart.valueOf("a", RegexType.ParseError), RegexPart.valueOf("a", RegexType.ParseError));
+    }
+
+    @Test
+    public void equalsAndHashCode() throws Exception {
+        RegexPart shared = RegexPart.valueOf("(", RegexType.Group);
+        RegexPart created = new RegexPart("(", RegexType.Group);
+        assertEquals(created, shared);
+        assertEquals(created.hashCode(), shared.hashCode());
+        assertEquals(new RegexPart("ab", RegexType.None).hashCode(), RegexPart.valueOf("ab", RegexType.None).hashCode());
+        assertEquals(created, RegexParser.parse("(a)").get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullToken() throws Exception {
+        RegexPart.valueOf(null, RegexType.None);
+    }
+}
@@ -0,0 +1,132 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RegexSnapshotTest {
+    private static final List<String> EXPRESSIONS = Arrays.asList("(?<year>\\d{4})-[a-z&&[^q]]+", "\\d+\\y", "",
+            "caf\u00E9|(?i)na\u00EFve", "(ab", "a{2,1}", "\\Qa(\\E");
+
+    @Test
+    public void roundTrip() throws Exception {
+        List<RegexValidation> validations = validateAll(0);
+        validations.add(RegexParser.validate("^a.b$", Pattern.MULTILINE | Pattern.DOTALL));
+        RegexSnapshot snapshot = RegexSnapshot.read(ByteBuffer.wrap(write(validations)));
+
+        assertEquals(validations.size(), snapshot.size());
+        for (int index = 0; index < validations.size(); index++) {
+            assertEquals(validations.get(index).getExpression(), snapshot.getExpression(index));
+            assertSameValidation(validations.get(index), snapshot.get(index));
+        }
+        assertSame(snapshot.get(1), snapshot.asList().get(1));
+        assertEquals(RegexErrorKind.IllegalEscapeSequence, snapshot.get(1).getErrorKind());
+    }
+
+    @Test
+    public void file() throws Exception {
+        File file = File.createTempFile("regex-snapshot", ".bin");
+        try {
+            List<RegexValidation> validations = validateAll(Pattern.CASE_INSENSITIVE);
+            RegexSnapshot.write(validations, file);
+            RegexSnapshot snapshot = RegexSnapshot.load(file);
+            assertEquals(validations.size(), snapshot.asList().size());
+            for (int index = 0; index < validations.size(); index++) {
+                assertSameValidation(validations.get(index), snapshot.get(index));
+            }
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void empty() throws Exception {
+        RegexSnapshot snapshot = RegexSnapshot.read(ByteBuffer.wrap(
+                write(Collections.<RegexValidation>emptyList())));
+        assertEquals(0, snapshot.size());
+        assertTrue(snapshot.asList().isEmpty());
+    }
+
+    @Test
+    public void bufferPosition() throws Exception {
+        byte[] bytes = write(validateAll(0));
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 3);
+        buffer.position(3);
+        buffer.put(bytes);
+        buffer.position(3);
+        RegexSnapshot snapshot = RegexSnapshot.read(buffer);
+        assertEquals(3, buffer.position());
+        assertSameValidation(RegexParser.validate(EXPRESSIONS.get(0)), snapshot.get(0));
+    }
+
+    @Test
+    public void otherVersion() throws Exception {
+        byte[] bytes = write(validateAll(0));
+        bytes[11]++;
+        assertNull(RegexSnapshot.read(ByteBuffer.wrap(bytes)));
+        bytes[11]--;
+        bytes[15]++;
+        assertNull(RegexSnapshot.read(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test(expected = IOException.class)
+    public void damaged() throws Exception {
+        byte[] bytes = write(validateAll(0));
+        bytes[bytes.length - 20] ^= 1;
+        RegexSnapshot.read(ByteBuffer.wrap(bytes));
+    }
+
+    @Test(expected = IOException.class)
+    public void notSnapshot() throws Exception {
+        RegexSnapshot.read(ByteBuffer.wrap("(ab|cd)*".getBytes("US-ASCII")));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void indexOutOfBounds() throws Exception {
+        RegexSnapshot.read(ByteBuffer.wrap(write(validateAll(0)))).get(EXPRESSIONS.size());
+    }
+
+    private static List<RegexValidation> validateAll(int flags) {
+        List<RegexValidation> validations = new ArrayList<RegexValidation>();
+        for (String expression : EXPRESSIONS) {
+            validations.add(RegexParser.validate(expression, flags));
+        }
+        return validations;
+    }
+
+    private static byte[] write(List<RegexValidation> validations) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RegexSnapshot.write(validations, out);
+        return out.toByteArray();
+    }
+
+    private static void assertSameValidation(RegexValidation expected, RegexValidation actual) {
+        String message = expected.getExpression();
+        assertEquals(message, expected.getTokens(), actual.getTokens());
+        assertEquals(message, expected.getFlags(), actual.getFlags());
+        assertEquals(message, expected.isValid(), actual.isValid());
+        assertEquals(message, expected.getErrorKind(), actual.getErrorKind());
+        assertEquals(message, expected.getErrorDescription(), actual.getErrorDescription());
+        assertEquals(message, expected.getErrorIndex(), actual.getErrorIndex());
+        assertEquals(message, expected.getValidTokenCount(), actual.getValidTokenCount());
+        assertNull(actual.getPattern());
+    }
+}
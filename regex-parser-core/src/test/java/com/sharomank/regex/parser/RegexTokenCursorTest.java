@@ -0,0 +1,83 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RegexTokenCursorTest {
+    private static final String REGEX = "^([a-zA-Z]+)|([0-9]{1,4})$";
+
+    @Test
+    public void cursorMatchesTokenStream() throws Exception {
+        RegexTokenStream stream = RegexParser.tokenize(REGEX);
+        RegexTokenCursor cursor = RegexParser.cursor(REGEX);
+        int index = 0;
+        while (cursor.advance()) {
+            assertEquals(stream.getStart(index), cursor.getStart());
+            assertEquals(stream.getEnd(index), cursor.getEnd());
+            assertEquals(stream.getType(index), cursor.getType());
+            index++;
+        }
+        assertEquals(stream.size(), index);
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void iteratorMatchesParse() throws Exception {
+        List<RegexPart> parts = new ArrayList<RegexPart>();
+        Iterator<RegexPart> iterator = RegexParser.iterator(REGEX);
+        while (iterator.hasNext()) {
+            parts.add(iterator.next());
+        }
+        assertEquals(RegexParser.parse(REGEX), parts);
+    }
+
+    @Test
+    public void scanStopsOnFirstQuantifier() throws Exception {
+        final int[] visited = new int[1];
+        final int[] quantifierStart = {-1};
+        boolean completed = RegexParser.scan(REGEX, new RegexTokenVisitor() {
+            @Override
+            public boolean visitToken(CharSequence expression, int start, int end, RegexType type) {
+                visited[0]++;
+                if (RegexType.Quantifier.equals(type)) {
+                    quantifierStart[0] = start;
+                    return false;
+                }
+                return true;
+            }
+        });
+
+        assertFalse(completed);
+        assertEquals(4, visited[0]);
+        assertEquals(10, quantifierStart[0]);
+    }
+
+    @Test
+    public void parseErrorAndBlank() throws Exception {
+        RegexTokenCursor cursor = RegexParser.cursor("a(");
+        assertTrue(cursor.advance());
+        assertEquals(RegexType.ParseError, cursor.getType());
+        assertEquals(2, cursor.getEnd());
+        assertFalse(cursor.advance());
+
+        assertFalse(RegexParser.cursor(" ").advance());
+        assertFalse(RegexParser.iterator(null).hasNext());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void noTokenBeforeAdvance() throws Exception {
+        RegexParser.cursor("a").getType();
+    }
+}
@@ -0,0 +1,83 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RegexTokenStreamTest {
+
+    @Test
+    public void offsetsAndTypes() throws Exception {
+        String regex = "(\\d{4})";
+        RegexTokenStream stream = RegexParser.tokenize(regex);
+
+        assertSame(regex, stream.getExpression());
+        assertEquals(4, stream.size());
+        int[] starts = {0, 1, 3, 6};
+        int[] ends = {1, 3, 6, 7};
+        RegexType[] types = {RegexType.Group, RegexType.CharacterClass, RegexType.QuantifierGroup, RegexType.Group};
+        for (int index = 0; index < stream.size(); index++) {
+            assertEquals(starts[index], stream.getStart(index));
+            assertEquals(ends[index], stream.getEnd(index));
+            assertEquals(types[index], stream.getType(index));
+        }
+        assertEquals("{4}", stream.getToken(2));
+    }
+
+    @Test
+    public void listView() throws Exception {
+        RegexTokenStream stream = RegexParser.tokenize("a|b");
+        assertEquals(Arrays.asList(
+                new RegexPart("a", RegexType.None),
+                new RegexPart("|", RegexType.Alternation),
+                new RegexPart("b", RegexType.None)
+        ), stream.asList());
+    }
+
+    @Test
+    public void parseReturnsMutableList() throws Exception {
+        List<RegexPart> parts = RegexParser.parse("b|a");
+        parts.add(new RegexPart("c", RegexType.None));
+        parts.set(0, new RegexPart("d", RegexType.None));
+        assertEquals(4, parts.size());
+        List<RegexPart> blank = RegexParser.parse("  ");
+        blank.add(new RegexPart("a", RegexType.None));
+        assertEquals(1, blank.size());
+        RegexParser.parse("(a", true).clear();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void listViewIsReadOnly() throws Exception {
+        RegexParser.tokenize("a|b").asList().add(new RegexPart("c", RegexType.None));
+    }
+
+    @Test
+    public void parseError() throws Exception {
+        RegexTokenStream stream = RegexParser.tokenize("(a");
+        assertEquals(1, stream.size());
+        assertEquals(RegexType.ParseError, stream.getType(0));
+        assertEquals(0, stream.getStart(0));
+        assertEquals(2, stream.getEnd(0));
+    }
+
+    @Test
+    public void blank() throws Exception {
+        assertTrue(RegexParser.tokenize("  ").isEmpty());
+        assertTrue(RegexParser.tokenize(null).isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void indexOutOfBounds() throws Exception {
+        RegexParser.tokenize("a").getType(1);
+    }
+}
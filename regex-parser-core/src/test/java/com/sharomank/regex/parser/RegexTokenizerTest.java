@@ -0,0 +1,157 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RegexTokenizerTest {
+    private static final String[] PATTERNS = {
+            "^(\\d{3})-[a-z]+\\s*$",
+            "a",
+            "(?<year>\\d{4})(?<=\\w{1,3})\\k<year>",
+            "\\Qa.b\\E+c\\p{Lu}",
+            "   ",
+            "a(b",
+            "(?:ab|cd)*?x{2,5}|[^\\]]"
+    };
+
+    @Test
+    public void sameTokensAsStaticParser() throws Exception {
+        RegexTokenizer tokenizer = new RegexTokenizer();
+        RegexTokenBuffer buffer = new RegexTokenBuffer(1);
+        for (int round = 0; round < 3; round++) {
+            for (String pattern : PATTERNS) {
+                RegexTokenStream expected = RegexParser.tokenize(pattern);
+
+                assertEquals(pattern, !"a(b".equals(pattern), tokenizer.tokenize(pattern, buffer));
+                assertEquals(pattern, expected, buffer.toTokenStream());
+                assertEquals(pattern, expected, tokenizer.tokenize(pattern));
+                assertEquals(pattern, buffer.getExpression());
+            }
+        }
+    }
+
+    @Test
+    public void bufferAccessors() throws Exception {
+        RegexTokenBuffer buffer = new RegexTokenBuffer();
+        new RegexTokenizer().tokenize("a+\\d", buffer);
+
+        assertEquals(3, buffer.size());
+        assertEquals("+", buffer.getToken(1));
+        assertEquals(RegexType.Quantifier, buffer.getType(1));
+        assertEquals(2, buffer.getStart(2));
+        assertEquals(4, buffer.getEnd(2));
+
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertEquals("", buffer.getExpression());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void bufferIndexOutOfTokens() throws Exception {
+        RegexTokenBuffer buffer = new RegexTokenBuffer();
+        new RegexTokenizer().tokenize("ab", buffer);
+        buffer.getType(2);
+    }
+
+    @Test
+    public void errorOfLastExpression() throws Exception {
+        RegexTokenizer tokenizer = new RegexTokenizer();
+        RegexTokenBuffer buffer = new RegexTokenBuffer();
+
+        assertFalse(tokenizer.tokenize("a{2", buffer));
+        assertEquals(RegexErrorKind.UnclosedCountedClosure, tokenizer.getErrorKind());
+        assertEquals(1, buffer.size());
+        assertEquals(RegexType.ParseError, buffer.getType(0));
+
+        assertTrue(tokenizer.tokenize("a{2}", buffer));
+        assertNull(tokenizer.getErrorKind());
+        assertEquals(-1, tokenizer.getErrorIndex());
+    }
+
+    @Test
+    public void resetAfterLongExpression() throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            builder.append("(a)");
+        }
+        RegexTokenizer tokenizer = new RegexTokenizer();
+        RegexTokenBuffer buffer = new RegexTokenBuffer();
+
+        assertTrue(tokenizer.tokenize(builder.toString(), buffer));
+        assertEquals(30000, buffer.size());
+        tokenizer.reset();
+        assertNull(tokenizer.getErrorKind());
+        assertTrue(tokenizer.tokenize("(a)", buffer));
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    public void poolReusesTokenizers() throws Exception {
+        RegexTokenizerPool pool = new RegexTokenizerPool(1);
+        RegexTokenizer first = pool.acquire();
+        RegexTokenizer second = pool.acquire();
+        assertNotSame(first, second);
+        assertEquals(0, pool.getIdleCount());
+
+        pool.release(first);
+        pool.release(second);
+        assertEquals(1, pool.getIdleCount());
+        assertSame(first, pool.acquire());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void poolFromManyThreads() throws Exception {
+        final RegexTokenizerPool pool = new RegexTokenizerPool(2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+            for (int task = 0; task < 32; task++) {
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        RegexTokenBuffer buffer = new RegexTokenBuffer();
+                        for (int i = 0; i < 200; i++) {
+                            String pattern = PATTERNS[i % PATTERNS.length];
+                            RegexTokenizer tokenizer = pool.acquire();
+                            try {
+                                tokenizer.tokenize(pattern, buffer);
+                            } finally {
+                                pool.release(tokenizer);
+                            }
+                            if (!RegexParser.tokenize(pattern).equals(buffer.toTokenStream())) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(pool.getIdleCount() <= 2);
+    }
+}
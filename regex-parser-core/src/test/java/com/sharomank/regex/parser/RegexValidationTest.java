@@ -0,0 +1,123 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RegexValidationTest {
+
+    @Test
+    public void valid() throws Exception {
+        RegexValidation validation = RegexParser.validate("(?<year>\\d{4})-[a-z&&[^q]]+(?<=\\w{1,3})");
+
+        assertTrue(validation.isValid());
+        assertNull(validation.getErrorKind());
+        assertNull(validation.getErrorDescription());
+        assertEquals(-1, validation.getErrorIndex());
+        assertNull(validation.getPattern());
+        assertEquals(RegexParser.tokenize(validation.getExpression()), validation.getTokens());
+        assertEquals(validation.getTokens().size(), validation.getValidTokenCount());
+    }
+
+    @Test
+    public void validTokenPrefix() throws Exception {
+        RegexValidation validation = RegexParser.validate("\\d+\\y");
+
+        assertFalse(validation.isValid());
+        assertEquals(RegexErrorKind.IllegalEscapeSequence, validation.getErrorKind());
+        assertEquals(4, validation.getErrorIndex());
+        assertEquals(2, validation.getValidTokenCount());
+        assertEquals(RegexType.CharacterClass, validation.getTokens().getType(0));
+        assertEquals(RegexType.Quantifier, validation.getTokens().getType(1));
+        assertEquals(RegexType.ParseError, validation.getTokens().getType(2));
+        assertEquals("\\y", validation.getTokens().getToken(2));
+    }
+
+    @Test
+    public void errorKinds() throws Exception {
+        assertError(RegexErrorKind.UnclosedGroup, 4, "(c", "ab(c");
+        assertError(RegexErrorKind.UnmatchedClosingParenthesis, 1, ")b", "a)b");
+        assertError(RegexErrorKind.DanglingMetaCharacter, 0, "*a", "*a");
+        assertError(RegexErrorKind.IllegalRepetitionRange, 5, "{3,1}", "a{3,1}");
+        assertError(RegexErrorKind.UnexpectedEnd, 2, "\\", "a\\");
+        assertError(RegexErrorKind.LookBehindWithoutMaximumLength, 11, "(?<=(?:ab)*)c", "x(?<=(?:ab)*)c");
+        assertError(RegexErrorKind.UnknownGroupReference, 6, "\\k<n>)", "a(\\k<n>)");
+        assertError(RegexErrorKind.UnclosedCharacterClass, 5, "[", "[ab]c[");
+    }
+
+    @Test
+    public void flags() throws Exception {
+        assertTrue(RegexParser.validate("a # comment (", Pattern.COMMENTS).isValid());
+        assertFalse(RegexParser.validate("a # comment (").isValid());
+        assertTrue(RegexParser.validate("a(", Pattern.LITERAL).isValid());
+    }
+
+    @Test
+    public void confirmWithPattern() throws Exception {
+        RegexValidation validation = RegexParser.validate("a+b", Pattern.CASE_INSENSITIVE, true);
+
+        assertTrue(validation.isValid());
+        assertNotNull(validation.getPattern());
+        assertTrue(validation.getPattern().matcher("AAB").matches());
+
+        validation = RegexParser.validate("a(b", 0, true);
+        assertNull(validation.getPattern());
+        assertEquals(RegexErrorKind.UnclosedGroup, validation.getErrorKind());
+    }
+
+    @Test
+    public void compileReportsKind() throws Exception {
+        ParseResult result = RegexParser.compile("a{2");
+
+        assertEquals(RegexErrorKind.UnclosedCountedClosure, result.getErrorKind());
+        assertNull(RegexParser.compile("a{2}").getErrorKind());
+    }
+
+    @Test
+    public void sameValidityAsPattern() throws Exception {
+        String alphabet = "ab()[]{}*+?|\\^$.-,&:=!<>0123dwsQEkp{L}";
+        Random random = new Random(42);
+        for (int iteration = 0; iteration < 20000; iteration++) {
+            StringBuilder builder = new StringBuilder();
+            int length = 1 + random.nextInt(10);
+            for (int i = 0; i < length; i++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String expression = builder.toString();
+            int flags = random.nextBoolean() ? 0 : Pattern.CASE_INSENSITIVE;
+
+            boolean compiled = true;
+            try {
+                Pattern.compile(expression, flags);
+            } catch (PatternSyntaxException e) {
+                compiled = false;
+            }
+            assertEquals(expression, compiled, RegexParser.validate(expression, flags).isValid());
+        }
+    }
+
+    private static void assertError(RegexErrorKind kind, int index, String errorToken, String expression) {
+        RegexValidation validation = RegexParser.validate(expression);
+        RegexTokenStream tokens = validation.getTokens();
+
+        assertEquals(expression, kind, validation.getErrorKind());
+        assertEquals(expression, kind.getDescription(), validation.getErrorDescription());
+        assertEquals(expression, index, validation.getErrorIndex());
+        assertEquals(expression, RegexType.ParseError, tokens.getType(tokens.size() - 1));
+        assertEquals(expression, errorToken, tokens.getToken(tokens.size() - 1));
+    }
+}
@@ -0,0 +1,76 @@
+package com.sharomank.regex.parser;
+
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RetokenizeTest {
+
+    @Test
+    public void insertIntoCharacterGroup() throws Exception {
+        RegexTokenStream previous = RegexParser.tokenize("a[bc]d");
+        RegexTokenStream actual = RegexParser.retokenize(previous, 3, 0, "x]y");
+
+        assertEquals(RegexParser.lex("a[bx]yc]d"), actual);
+        assertEquals("[bx]", actual.getToken(1));
+    }
+
+    @Test
+    public void completeEscape() throws Exception {
+        RegexTokenStream previous = RegexParser.retokenize(RegexParser.tokenize("ab"), 2, 0, "\\");
+        assertEquals(RegexType.None, previous.getType(2));
+
+        RegexTokenStream actual = RegexParser.retokenize(previous, 3, 0, "d");
+        assertEquals("\\d", actual.getToken(2));
+        assertEquals(RegexType.CharacterClass, actual.getType(2));
+    }
+
+    @Test
+    public void endAnchorAfterAppend() throws Exception {
+        RegexTokenStream previous = RegexParser.tokenize("a$");
+        assertEquals(RegexType.Anchor, previous.getType(1));
+
+        RegexTokenStream actual = RegexParser.retokenize(previous, 2, 0, "b");
+        assertEquals(RegexType.None, actual.getType(1));
+    }
+
+    @Test
+    public void removeQuantifierGroupBrace() throws Exception {
+        RegexTokenStream previous = RegexParser.tokenize("x{1,2}(y)z");
+        RegexTokenStream actual = RegexParser.retokenize(previous, 5, 1, "");
+
+        assertEquals(RegexParser.lex("x{1,2(y)z"), actual);
+    }
+
+    @Test
+    public void randomEditsMatchFullParse() throws Exception {
+        Random random = new Random(42);
+        String alphabet = "ab()[]{}|*+?.^$\\dwsAZ1,";
+        String expression = "^([a-z]+)|(\\d{1,4})$";
+        RegexTokenStream tokens = RegexParser.tokenize(expression);
+        for (int step = 0; step < 5000; step++) {
+            int offset = random.nextInt(expression.length() + 1);
+            int removed = random.nextInt(Math.min(3, expression.length() - offset) + 1);
+            StringBuilder inserted = new StringBuilder();
+            for (int index = random.nextInt(4); index > 0; index--) {
+                inserted.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            expression = expression.substring(0, offset) + inserted + expression.substring(offset + removed);
+            if (expression.trim().length() == 0) {
+                expression = "a";
+                tokens = RegexParser.tokenize(expression);
+                continue;
+            }
+
+            tokens = RegexParser.retokenize(tokens, offset, removed, inserted.toString());
+            assertEquals(expression, RegexParser.lex(expression), tokens);
+        }
+    }
+}
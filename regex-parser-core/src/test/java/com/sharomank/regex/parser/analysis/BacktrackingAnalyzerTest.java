@@ -0,0 +1,135 @@
+package com.sharomank.regex.parser.analysis;
+
+import com.sharomank.regex.parser.enums.RegexRiskKind;
+import com.sharomank.regex.parser.enums.RegexRiskSeverity;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class BacktrackingAnalyzerTest {
+
+    @Test
+    public void nestedQuantifier() throws Exception {
+        BacktrackingRisk risk = single("x(a+)+y");
+        assertEquals(RegexRiskKind.NestedQuantifier, risk.getKind());
+        assertEquals(RegexRiskSeverity.Exponential, risk.getSeverity());
+        assertEquals("(a+)+", risk.getText());
+        assertEquals(1, risk.getStart());
+        assertEquals(6, risk.getEnd());
+        assertEquals(1, risk.getFirstToken());
+        assertEquals(6, risk.getEndToken());
+        assertEquals("a+", risk.getConflictText());
+        assertEquals(2, risk.getConflictStart());
+        assertEquals(2, risk.getConflictFirstToken());
+        assertEquals(4, risk.getConflictEndToken());
+
+        assertEquals("\\w+", single("^(\\w+\\s?)*$").getConflictText());
+        assertEquals("a+", single("(a+a)+b").getConflictText());
+        assertEquals("[a-z]{1,2}", single("([a-z]{1,2}){1,50}!").getConflictText());
+    }
+
+    @Test
+    public void overlappingAlternation() throws Exception {
+        BacktrackingRisk risk = single("(\\w|\\d)*!");
+        assertEquals(RegexRiskKind.OverlappingAlternation, risk.getKind());
+        assertEquals("(\\w|\\d)*", risk.getText());
+        assertEquals("\\w|\\d", risk.getConflictText());
+
+        assertEquals(RegexRiskKind.OverlappingAlternation, single("(a|aa)+b").getKind());
+        assertEquals(RegexRiskKind.OverlappingAlternation, single("(?:.|\\s)*x").getKind());
+        assertEquals(RegexRiskKind.OverlappingAlternation, single("((?i)A|a)+b").getKind());
+    }
+
+    @Test
+    public void adjacentQuantifiers() throws Exception {
+        BacktrackingRisk risk = single("^\\d+\\d+$");
+        assertEquals(RegexRiskKind.AdjacentQuantifiers, risk.getKind());
+        assertEquals(RegexRiskSeverity.Polynomial, risk.getSeverity());
+        assertEquals("\\d+", risk.getText());
+        assertEquals(1, risk.getStart());
+        assertEquals("\\d+", risk.getConflictText());
+        assertEquals(4, risk.getConflictStart());
+
+        assertEquals(".*", single("a.*=.*;").getConflictText());
+        assertEquals("\\d*", single("\\d+(?:x?\\d*)z").getConflictText());
+        assertEquals("[0-9]+", single("[1-5]+a?[0-9]+!").getConflictText());
+    }
+
+    @Test
+    public void boundedRepetition() throws Exception {
+        BacktrackingRisk risk = single("(.*a){10}");
+        assertEquals(RegexRiskKind.AdjacentQuantifiers, risk.getKind());
+        assertEquals(RegexRiskSeverity.Polynomial, risk.getSeverity());
+        assertEquals("(.*a){10}", risk.getText());
+        assertEquals(".*", risk.getConflictText());
+
+        assertEquals("a?", single("^(a?){25}a{25}$").getConflictText());
+        assertEquals(RegexRiskKind.AdjacentQuantifiers, single("(a+){2}b").getKind());
+        assertSafe("(\\d{1,3}\\.){3}\\d{1,3}");
+        assertSafe("(ab?){3}c");
+    }
+
+    @Test
+    public void splitCharacterGroup() throws Exception {
+        assertSafe("[](\\^]\\d");
+        assertTrue(BacktrackingAnalyzer.analyze("-[]+)]", Pattern.CASE_INSENSITIVE).isEmpty());
+        assertEquals("[^\\]]*", single("\\[[^\\]]*[^\\]]*\\]").getText());
+    }
+
+    @Test
+    public void safeExpressions() throws Exception {
+        assertSafe("(a+b)+");
+        assertSafe("(ab|ac)*d");
+        assertSafe("(ab|a)*c");
+        assertSafe("(\\w+\\s)+x");
+        assertSafe("\\d+\\.\\d+");
+        assertSafe("^[a-z]+@[a-z]+\\.com$");
+        assertSafe("[^a-c]+[a-c]+");
+        assertSafe("(a+)++b");
+        assertSafe("(?>(a+)+)b");
+        assertSafe("((?>a+))+b");
+        assertSafe("\\d++\\d+");
+        assertSafe("(?=(a+)+)");
+        assertSafe("a+(?!b)c+");
+        assertSafe("");
+    }
+
+    @Test
+    public void guardedOnlyAtEnd() throws Exception {
+        assertEquals(RegexRiskKind.NestedQuantifier, single("(?>(a+)+b)").getKind());
+        assertEquals(RegexRiskKind.NestedQuantifier, single("(?!(a+)+b)").getKind());
+    }
+
+    @Test
+    public void severalRisks() throws Exception {
+        List<BacktrackingRisk> risks = BacktrackingAnalyzer.analyze("(a+)+b|x*x*y");
+        assertEquals(2, risks.size());
+        assertEquals(RegexRiskSeverity.Exponential, risks.get(0).getSeverity());
+        assertEquals(RegexRiskSeverity.Polynomial, risks.get(1).getSeverity());
+        assertEquals(7, risks.get(1).getStart());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidExpression() throws Exception {
+        BacktrackingAnalyzer.analyze("(a+");
+    }
+
+    private static BacktrackingRisk single(String regex) {
+        List<BacktrackingRisk> risks = BacktrackingAnalyzer.analyze(regex);
+        assertEquals(regex + " " + risks, 1, risks.size());
+        return risks.get(0);
+    }
+
+    private static void assertSafe(String regex) {
+        List<BacktrackingRisk> risks = BacktrackingAnalyzer.analyze(regex);
+        assertTrue(regex + " " + risks, risks.isEmpty());
+    }
+}
@@ -0,0 +1,154 @@
+package com.sharomank.regex.parser.analysis;
+
+import com.sharomank.regex.parser.enums.RegexTransformKind;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class BacktrackingRewriterTest {
+
+    @Test
+    public void possessiveQuantifier() throws Exception {
+        RegexRewrite rewrite = BacktrackingRewriter.rewrite("a\\d+x");
+        assertEquals("a\\d++x", rewrite.getPattern());
+        assertTrue(rewrite.isChanged());
+        assertEquals(1, rewrite.getTransforms().size());
+        RegexTransform transform = rewrite.getTransforms().get(0);
+        assertEquals(RegexTransformKind.PossessiveQuantifier, transform.getKind());
+        assertEquals(1, transform.getStart());
+        assertEquals(4, transform.getEnd());
+        assertEquals("\\d+", transform.getOriginal());
+        assertEquals("\\d++", transform.getReplacement());
+
+        assertRewrite("[a-z]*+\\d{2,}+", "[a-z]*\\d{2,}");
+        assertRewrite("(\\w++\\s)+", "(\\w+\\s)+");
+        assertRewrite("\\d+(?>x|y)?$", "\\d+(?:x|y)?$");
+        assertRewrite("\\d++(?>x|y)?z", "\\d+(?:x|y)?z");
+    }
+
+    @Test
+    public void atomicGroup() throws Exception {
+        RegexRewrite rewrite = BacktrackingRewriter.rewrite("(?:cat|dog)s");
+        assertEquals("(?>cat|dog)s", rewrite.getPattern());
+        assertEquals(RegexTransformKind.AtomicGroup, rewrite.getTransforms().get(0).getKind());
+        assertEquals(0, rewrite.getTransforms().get(0).getStart());
+        assertEquals(11, rewrite.getTransforms().get(0).getEnd());
+
+        assertRewrite("(?>(?i:ab|cd))", "(?i:ab|cd)");
+        assertUnchanged("(?:ab|a)c");
+        assertUnchanged("(?:a.|ab)");
+        assertUnchanged("(cat|dog)s");
+    }
+
+    @Test
+    public void unchanged() throws Exception {
+        assertUnchanged("\\d+\\d");
+        assertUnchanged("\\d+\\w");
+        assertUnchanged("a+\\b");
+        assertUnchanged("a+(?=b)");
+        assertUnchanged("(?<=a+b)c");
+        assertUnchanged("a+?b");
+        assertUnchanged("(a+)\\1");
+        assertUnchanged("(?i)a+A");
+        assertUnchanged("\\Qa+\\Eb");
+        assertUnchanged("[]{]}a*b");
+        assertUnchanged("");
+    }
+
+    @Test
+    public void splitCharacterGroup() throws Exception {
+        assertEquals("\\[[^\\]]*+\\] ERROR", BacktrackingRewriter.rewrite("\\[[^\\]]*\\] ERROR").getPattern());
+        assertEquals("[]a]++b", BacktrackingRewriter.rewrite("[]a]+b").getPattern());
+        assertUnchanged("[]a]+a");
+    }
+
+    @Test
+    public void flags() throws Exception {
+        assertEquals("a+A", BacktrackingRewriter.rewrite("a+A", Pattern.CASE_INSENSITIVE).getPattern());
+        assertEquals("a+ b", BacktrackingRewriter.rewrite("a+ b", Pattern.COMMENTS).getPattern());
+        assertEquals("a+b", BacktrackingRewriter.rewrite("a+b", Pattern.LITERAL).getPattern());
+        assertEquals(".+\n", BacktrackingRewriter.rewrite(".+\n", Pattern.DOTALL).getPattern());
+        assertEquals(".++\n", BacktrackingRewriter.rewrite(".+\n").getPattern());
+        assertEquals(Pattern.DOTALL, BacktrackingRewriter.rewrite("a", Pattern.DOTALL).getFlags());
+    }
+
+    @Test
+    public void sameMatches() throws Exception {
+        String[] parts = {"a", "b", "\\d", "\\w", "[ab]", "[^a]", ".", "x", "(?:ab|ba)", "(?:a|x)", "(a|b)", "$"};
+        String[] quantifiers = {"", "", "+", "*", "?", "{1,2}", "+?", "++"};
+        Random random = new Random(17);
+        int changed = 0;
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                String part = parts[random.nextInt(parts.length)];
+                sb.append(part);
+                if (!"$".equals(part)) {
+                    sb.append(quantifiers[random.nextInt(quantifiers.length)]);
+                }
+            }
+            String regex = sb.toString();
+            RegexRewrite rewrite = BacktrackingRewriter.rewrite(regex);
+            if (!rewrite.isChanged()) {
+                continue;
+            }
+            changed++;
+            Pattern original = Pattern.compile(regex);
+            Pattern rewritten = Pattern.compile(rewrite.getPattern());
+            for (int k = 0; k < 20; k++) {
+                String input = randomInput(random);
+                assertEquals(regex + " " + input, findAll(original, input), findAll(rewritten, input));
+            }
+        }
+        assertTrue(changed > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidExpression() throws Exception {
+        BacktrackingRewriter.rewrite("a++)");
+    }
+
+    private static String randomInput(Random random) {
+        String chars = "ab1x ";
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(10);
+        for (int i = 0; i < length; i++) {
+            sb.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return sb.toString();
+    }
+
+    private static String findAll(Pattern pattern, String input) {
+        StringBuilder sb = new StringBuilder();
+        Matcher matcher = pattern.matcher(input);
+        while (matcher.find()) {
+            for (int group = 0; group <= matcher.groupCount(); group++) {
+                sb.append(matcher.start(group)).append(':').append(matcher.end(group)).append(' ');
+            }
+            sb.append('|');
+        }
+        return sb.append(pattern.matcher(input).matches()).toString();
+    }
+
+    private static void assertRewrite(String expected, String regex) {
+        assertEquals(expected, BacktrackingRewriter.rewrite(regex).getPattern());
+    }
+
+    private static void assertUnchanged(String regex) {
+        RegexRewrite rewrite = BacktrackingRewriter.rewrite(regex);
+        assertFalse(regex + " " + rewrite, rewrite.isChanged());
+        assertEquals(regex, rewrite.getPattern());
+        assertTrue(rewrite.getTransforms().isEmpty());
+    }
+}
@@ -0,0 +1,161 @@
+package com.sharomank.regex.parser.analysis;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class LiteralExtractorTest {
+
+    @Test
+    public void concatenation() throws Exception {
+        RequiredLiterals literals = LiteralExtractor.extract("abc\\d+def");
+        assertEquals(Collections.singletonList("abc"), literals.getLiterals());
+        assertEquals("abc", literals.getPrefix());
+        assertEquals("def", literals.getSuffix());
+        assertFalse(literals.isIgnoreCase());
+
+        assertEquals(Collections.singletonList("GET /api"), LiteralExtractor.extract("^GET /api\\w+$").getLiterals());
+        assertEquals(Collections.singletonList("abbbc"), LiteralExtractor.extract("ab{3}c").getLiterals());
+        assertEquals("a", LiteralExtractor.extract("a.*b.*c").getPrefix());
+        assertEquals("c", LiteralExtractor.extract("a.*b.*c").getSuffix());
+    }
+
+    @Test
+    public void quantifiers() throws Exception {
+        assertEquals(Arrays.asList("color", "colour"), LiteralExtractor.extract("colou?r").getLiterals());
+        assertEquals(Collections.singletonList("x"), LiteralExtractor.extract("x(ab)*y").getLiterals());
+        assertEquals(Collections.singletonList("ab"), LiteralExtractor.extract("\\s(ab)+\\s").getLiterals());
+        assertEquals(Collections.singletonList("aa"), LiteralExtractor.extract("a{2}{3}").getLiterals());
+        assertNone("(abc)*");
+        assertNone("(abc)?\\d");
+        assertNone("\\d+");
+    }
+
+    @Test
+    public void alternation() throws Exception {
+        RequiredLiterals literals = LiteralExtractor.extract("(?:ERROR|WARN):\\s+(.*)$");
+        assertEquals(Arrays.asList("ERROR:", "WARN:"), literals.getLiterals());
+        assertEquals("", literals.getPrefix());
+        assertEquals(":", LiteralExtractor.extract("(?:ERROR|WARN):").getSuffix());
+
+        assertEquals(Arrays.asList("abd", "acd"), LiteralExtractor.extract("a(b|c)d").getLiterals());
+        assertEquals(Arrays.asList("abc", "def"), LiteralExtractor.extract("(abc|def)+\\d").getLiterals());
+        assertEquals(Arrays.asList("bar", "foo"), LiteralExtractor.extract("foo|bar\\w*").getLiterals());
+        assertEquals("x", LiteralExtractor.extract("(ab|cd)x").getSuffix());
+        assertNone("foo|.*");
+        assertNone("foo|");
+    }
+
+    @Test
+    public void ignoreCase() throws Exception {
+        RequiredLiterals literals = LiteralExtractor.extract("Error: (\\d+)", Pattern.CASE_INSENSITIVE);
+        assertTrue(literals.isIgnoreCase());
+        assertEquals(Collections.singletonList("error: "), literals.getLiterals());
+        assertTrue(literals.mayMatch("ERROR: 42"));
+        assertFalse(literals.mayMatch("warning: 42"));
+
+        assertEquals(Collections.singletonList("hello"), LiteralExtractor.extract("(?i)HeLLo").getLiterals());
+        assertEquals(Collections.singletonList("ab"), LiteralExtractor.extract("[a][B]", Pattern.CASE_INSENSITIVE)
+                .getLiterals());
+        assertTrue(LiteralExtractor.extract("(?iu)k").mayMatch("\u212A"));
+    }
+
+    @Test
+    public void flags() throws Exception {
+        RequiredLiterals literals = LiteralExtractor.extract("a+(b", Pattern.LITERAL);
+        assertEquals(Collections.singletonList("a+(b"), literals.getLiterals());
+        assertEquals("a+(b", literals.getPrefix());
+        assertNone("\\Qa\\E");
+        assertTrue(LiteralExtractor.extract("a b", Pattern.COMMENTS).getLiterals().isEmpty());
+        assertTrue(LiteralExtractor.extract("ab", Pattern.CANON_EQ).getLiterals().isEmpty());
+    }
+
+    @Test
+    public void mayMatch() throws Exception {
+        RequiredLiterals literals = LiteralExtractor.extract("user=(\\w+) id=\\d+");
+        assertTrue(literals.mayMatch("at 10:00 user=root id=0"));
+        assertFalse(literals.mayMatch("at 10:00 service started"));
+        assertTrue(LiteralExtractor.extract("\\d+").mayMatch("no digits"));
+    }
+
+    @Test
+    public void sameMatches() throws Exception {
+        String[] parts = {"a", "b", "ab", "x", "\\d", "[ab]", "[^a]", ".", "(", ")", "(?:", "|", "*", "+", "?",
+                "{2}", "{0,2}", "^", "$", "\\b", "(?=a)", "(?i)"};
+        String alphabet = "abxAB1 ";
+        Random random = new Random(18);
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                sb.append(parts[random.nextInt(parts.length)]);
+            }
+            String regex = sb.toString();
+            Pattern pattern;
+            try {
+                pattern = Pattern.compile(regex);
+            } catch (Exception e) {
+                continue;
+            }
+            RequiredLiterals literals = LiteralExtractor.extract(regex);
+            for (int k = 0; k < 20; k++) {
+                StringBuilder input = new StringBuilder();
+                int inputLength = random.nextInt(10);
+                for (int j = 0; j < inputLength; j++) {
+                    input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                Matcher matcher = pattern.matcher(input);
+                while (matcher.find()) {
+                    String match = matcher.group();
+                    String message = regex + " " + input + " " + literals;
+                    assertTrue(message, literals.mayMatch(match));
+                    assertTrue(message, match.regionMatches(literals.isIgnoreCase(), 0, literals.getPrefix(), 0,
+                            literals.getPrefix().length()));
+                    int suffixStart = match.length() - literals.getSuffix().length();
+                    assertTrue(message, suffixStart >= 0 && match.regionMatches(literals.isIgnoreCase(),
+                            suffixStart, literals.getSuffix(), 0, literals.getSuffix().length()));
+                    if (matcher.end() == input.length()) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void splitCharacterGroup() throws Exception {
+        RequiredLiterals literals = LiteralExtractor.extract("\\[[^\\]]+\\] ERROR");
+        assertEquals(Collections.singletonList("] ERROR"), literals.getLiterals());
+        assertEquals("[", literals.getPrefix());
+        assertTrue(literals.mayMatch("[main] ERROR x"));
+        assertEquals(Arrays.asList("ab]cd", "abacd"), LiteralExtractor.extract("ab[]a]cd").getLiterals());
+        assertEquals(Arrays.asList("(", "]", "^"), LiteralExtractor.extract("[](\\^]\\d").getLiterals());
+        assertNone("[+\\]b}+{]");
+        assertNone("[])(+^a.]");
+        // group ends inside of quantifier token
+        assertNone("[]{]}abc");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidExpression() throws Exception {
+        LiteralExtractor.extract("(ab");
+    }
+
+    private static void assertNone(String regex) {
+        RequiredLiterals literals = LiteralExtractor.extract(regex);
+        assertTrue(regex + " " + literals, literals.getLiterals().isEmpty());
+        assertTrue(literals.mayMatch(""));
+    }
+}
@@ -0,0 +1,131 @@
+package com.sharomank.regex.parser.ast;
+
+import com.sharomank.regex.parser.enums.RegexGroupType;
+import com.sharomank.regex.parser.enums.RegexNodeType;
+import com.sharomank.regex.parser.enums.RegexQuantifierMode;
+import com.sharomank.regex.parser.enums.RegexType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RegexTreeTest {
+
+    @Test
+    public void concatenationAndQuantifiers() throws Exception {
+        RegexTree tree = RegexTree.parse("a\\d+[x-z]{2,5}?b*+");
+        assertEquals("Concatenation[Atom(a), Quantified{1,-1}[Atom(\\d)], Quantified{2,5,Lazy}[Atom([x-z])], "
+                + "Quantified{0,-1,Possessive}[Atom(b)]]", tree.toString());
+
+        int quantified = tree.getNextSibling(tree.getFirstChild(tree.getRoot()));
+        assertEquals(RegexNodeType.Quantified, tree.getType(quantified));
+        assertEquals(1, tree.getMin(quantified));
+        assertEquals(RegexTree.UNBOUNDED, tree.getMax(quantified));
+        assertEquals(RegexQuantifierMode.Greedy, tree.getQuantifierMode(quantified));
+        assertEquals("\\d+", tree.getText(quantified));
+        assertEquals(RegexType.CharacterClass, tree.getTokenType(tree.getFirstChild(quantified)));
+        assertEquals(4, tree.getChildCount(tree.getRoot()));
+    }
+
+    @Test
+    public void alternationAndGroups() throws Exception {
+        RegexTree tree = RegexTree.parse("(?:ab|c)|(?<name>d)(?=e)");
+        assertEquals("Alternation[Concatenation[Group(NonCapturing)[Alternation[Concatenation[Atom(a), Atom(b)], "
+                + "Concatenation[Atom(c)]]]], Concatenation[Group(NamedCapturing)[Concatenation[Atom(d)]], "
+                + "Group(Lookahead)[Concatenation[Atom(e)]]]]", tree.toString());
+
+        int root = tree.getRoot();
+        assertEquals(RegexNodeType.Alternation, tree.getType(root));
+        assertEquals(0, tree.getStart(root));
+        assertEquals(24, tree.getEnd(root));
+
+        int group = tree.getFirstChild(tree.getFirstChild(root));
+        assertEquals(RegexGroupType.NonCapturing, tree.getGroupType(group));
+        assertEquals("(?:ab|c)", tree.getText(group));
+        assertEquals("ab|c", tree.getText(tree.getFirstChild(group)));
+    }
+
+    @Test
+    public void quantifiedGroupKeepsChildren() throws Exception {
+        RegexTree tree = RegexTree.parse("(a|b)*c");
+        assertEquals("Concatenation[Quantified{0,-1}[Group(Capturing)[Alternation[Concatenation[Atom(a)], "
+                + "Concatenation[Atom(b)]]]], Atom(c)]", tree.toString());
+
+        int quantified = tree.getFirstChild(tree.getRoot());
+        int group = tree.getFirstChild(quantified);
+        assertEquals(quantified, tree.getParent(group));
+        assertEquals("(a|b)", tree.getText(group));
+        assertEquals("(a|b)*", tree.getText(quantified));
+    }
+
+    @Test
+    public void inlineFlagsAndEmptyExpression() throws Exception {
+        assertEquals("Concatenation[Group(InlineFlags)[Concatenation], Atom(a)]", RegexTree.parse("(?i)a").toString());
+        assertEquals("Concatenation[Group(FlagsNonCapturing)[Concatenation[Atom(a)]]]",
+                RegexTree.parse("(?i:a)").toString());
+        assertEquals("Concatenation", RegexTree.parse("").toString());
+    }
+
+    @Test
+    public void preorderTraversal() throws Exception {
+        RegexTree tree = RegexTree.parse("a(b)c");
+        StringBuilder sb = new StringBuilder();
+        for (int node = tree.getRoot(); node != RegexTree.NONE; node = tree.getNextInPreorder(node)) {
+            sb.append(tree.getType(node).name().charAt(0));
+        }
+        assertEquals("CAGCAA", sb.toString());
+    }
+
+    @Test
+    public void deepNesting() throws Exception {
+        int depth = 1000;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            sb.append('(');
+        }
+        sb.append('a');
+        for (int i = 0; i < depth; i++) {
+            sb.append(")?");
+        }
+        RegexTree tree = RegexTree.parse(sb.toString());
+        assertEquals(sb.length(), tree.getEnd(tree.getRoot()));
+        assertEquals(1 + depth * 3 + 1, tree.size());
+    }
+
+    @Test
+    public void splitCharacterGroupAndQuotation() throws Exception {
+        RegexTree tree = RegexTree.parse("\\[[^\\]]+\\] ERROR");
+        assertTrue(tree.isExact());
+        assertEquals("Quantified{1,-1}[Atom([^\\]])]", tree.toString().split(", ")[1]);
+        assertEquals("Concatenation[Atom([](\\^]), Atom(\\d)]", RegexTree.parse("[](\\^]\\d").toString());
+        assertEquals("Concatenation[Atom(-), Atom([]+)])]", RegexTree.parse("-[]+)]").toString());
+        assertEquals("Concatenation[Atom([a[]b]]), Atom(c)]", RegexTree.parse("[a[]b]]c").toString());
+        assertEquals("Concatenation[Atom(\\Qa(\\E), Atom(b)]", RegexTree.parse("\\Qa(\\Eb").toString());
+        assertEquals("Concatenation[Atom([\\c]]), Atom(x)]", RegexTree.parse("[\\c]]x").toString());
+        assertEquals(RegexType.CharacterGroup, RegexTree.parse("[]a]").getTokenType(1));
+    }
+
+    @Test
+    public void approximateTree() throws Exception {
+        assertTrue(RegexTree.parse("(a)[b]").isExact());
+        // character group ends inside of quantifier token
+        RegexTree tree = RegexTree.parse("[]{]}");
+        assertFalse(tree.isExact());
+        assertEquals("Concatenation[Atom([]{]})]", tree.toString());
+        // brackets in comments
+        assertFalse(RegexTree.parse("(?x)a#(").isExact());
+        tree = RegexTree.parse("(?x)a#)b");
+        assertFalse(tree.isExact());
+        assertEquals(5, tree.getChildCount(tree.getRoot()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidExpression() throws Exception {
+        RegexTree.parse("(a");
+    }
+}
@@ -0,0 +1,165 @@
+package com.sharomank.regex.parser.automaton;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class DfaPatternTest {
+
+    @Test
+    public void matchesAndFind() throws Exception {
+        DfaPattern pattern = DfaPattern.compile("user=(\\w+) id=\\d{1,4}");
+        assertTrue(pattern.isAutomaton());
+        assertTrue(pattern.matches("user=root id=0"));
+        assertFalse(pattern.matches("user=root id=12345"));
+        assertFalse(pattern.matches("at 10:00 user=root id=0"));
+        assertTrue(pattern.find("at 10:00 user=root id=0"));
+        assertFalse(pattern.find("at 10:00 user= id=0"));
+
+        DfaPattern alternation = DfaPattern.compile("colou?r|gr[ae]y");
+        assertTrue(alternation.matches("color"));
+        assertTrue(alternation.matches("grey"));
+        assertFalse(alternation.matches("grayish"));
+        assertTrue(alternation.find("grayish"));
+        assertTrue(DfaPattern.compile("").matches(""));
+        assertTrue(DfaPattern.compile("a*").find("bbb"));
+    }
+
+    @Test
+    public void anchors() throws Exception {
+        assertTrue(DfaPattern.compile("^ab$").find("ab\n"));
+        assertFalse(DfaPattern.compile("^ab$").matches("ab\n"));
+        assertFalse(DfaPattern.compile("^ab").find("cab"));
+        assertTrue(DfaPattern.compile("ab\\Z").find("ab\r\n"));
+        assertFalse(DfaPattern.compile("ab\\z").find("ab\n"));
+        assertFalse(DfaPattern.compile("ab$", Pattern.UNIX_LINES).find("ab\r\n"));
+        assertTrue(DfaPattern.compile("a$|b").find("xxxxb"));
+    }
+
+    @Test
+    public void flags() throws Exception {
+        assertTrue(DfaPattern.compile("error", Pattern.CASE_INSENSITIVE).find("ERROR: disk"));
+        assertTrue(DfaPattern.compile("a.b", Pattern.DOTALL).matches("a\nb"));
+        assertFalse(DfaPattern.compile("a.b").matches("a\nb"));
+        assertFalse(DfaPattern.compile("(?i)a").isAutomaton());
+        assertFalse(DfaPattern.compile("^a", Pattern.MULTILINE).isAutomaton());
+        assertTrue(DfaPattern.compile("^a", Pattern.MULTILINE).find("b\na"));
+    }
+
+    @Test
+    public void fallback() throws Exception {
+        DfaPattern backReference = DfaPattern.compile("(a)\\1");
+        assertFalse(backReference.isAutomaton());
+        assertTrue(backReference.find("baab"));
+        assertFalse(backReference.matches("ab"));
+        assertFalse(DfaPattern.compile("a(?=b)").isAutomaton());
+        assertFalse(DfaPattern.compile("a++").isAutomaton());
+    }
+
+    @Test
+    public void escapedBracketInGroup() throws Exception {
+        DfaPattern pattern = DfaPattern.compile("\\[[^\\]]+\\] ERROR");
+        assertTrue(pattern.isAutomaton());
+        assertTrue(pattern.find("[main] ERROR x"));
+        assertFalse(pattern.find("[ma]n] ERROR x"));
+
+        DfaPattern optional = DfaPattern.compile("[a+)\\]]?b", Pattern.DOTALL);
+        assertTrue(optional.matches("]b"));
+        assertTrue(optional.matches(")b"));
+        assertFalse(optional.matches("\\b"));
+        assertTrue(DfaPattern.compile("x[\\]]y").matches("x]y"));
+        assertTrue(DfaPattern.compile("[\\\\]]").matches("\\]"));
+    }
+
+    @Test
+    public void noBacktracking() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            input.append('x');
+        }
+        DfaPattern pattern = DfaPattern.compile("(x+x+)+y");
+        assertTrue(pattern.isAutomaton());
+        assertFalse(pattern.find(input));
+        assertFalse(pattern.matches(input));
+        assertTrue(pattern.matches(input.append('y')));
+    }
+
+    @Test
+    public void cacheThrashing() throws Exception {
+        // states remember which of last 13 chars can start match, up to 2^13 of them
+        DfaPattern pattern = DfaPattern.compile("a[ab]{12}c", 0, 8);
+        Pattern expected = Pattern.compile("a[ab]{12}c");
+        DfaMatcher matcher = pattern.matcher();
+        Random random = new Random(20);
+        for (int i = 0; i < 50; i++) {
+            StringBuilder input = new StringBuilder();
+            for (int j = 0; j < 200; j++) {
+                input.append("abc".charAt(random.nextInt(3)));
+            }
+            assertEquals(input.toString(), expected.matcher(input).find(), matcher.find(input));
+        }
+        assertTrue(matcher.getCacheResets() > 0);
+        assertTrue(matcher.getFallbackCount() > 0);
+
+        DfaMatcher large = DfaPattern.compile("a[ab]{12}c").matcher();
+        assertFalse(large.find("abababababababababab"));
+        assertEquals(0, large.getFallbackCount());
+    }
+
+    @Test
+    public void sameMatches() throws Exception {
+        String[] parts = {"a", "b", "ab", "x", "\\d", "\\w", "\\s", "[ab]", "[^a]", ".", "(", ")", "(?:", "|",
+                "*", "+", "?", "*?", "{2}", "{0,2}", "^", "$", "\\z", "\\Z", "\\b", "\\n"};
+        String alphabet = "abxAB1 \n\r\u0085\u00E9";
+        int[] flags = {0, Pattern.CASE_INSENSITIVE, Pattern.DOTALL, Pattern.UNIX_LINES};
+        int[] maxStates = {1, 4, DfaPattern.DEFAULT_MAX_STATES};
+        Random random = new Random(20);
+        for (int i = 0; i < 2000; i++) {
+            int flag = flags[random.nextInt(flags.length)];
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                sb.append(parts[random.nextInt(parts.length)]);
+            }
+            String regex = sb.toString();
+            Pattern expected;
+            try {
+                expected = Pattern.compile(regex, flag);
+            } catch (PatternSyntaxException e) {
+                continue;
+            }
+            DfaMatcher matcher = DfaPattern.compile(regex, flag, maxStates[random.nextInt(maxStates.length)])
+                    .matcher();
+            for (int k = 0; k < 20; k++) {
+                StringBuilder input = new StringBuilder();
+                int inputLength = random.nextInt(12);
+                for (int j = 0; j < inputLength; j++) {
+                    input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                String message = regex + " " + flag + " " + input;
+                assertEquals(message, expected.matcher(input).matches(), matcher.matches(input));
+                assertEquals(message, expected.matcher(input).find(), matcher.find(input));
+            }
+        }
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void invalidExpression() throws Exception {
+        DfaPattern.compile("(ab");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidMaxStates() throws Exception {
+        DfaPattern.compile("ab", 0, 0);
+    }
+}
@@ -0,0 +1,162 @@
+package com.sharomank.regex.parser.automaton;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class PrefilterIndexTest {
+
+    @Test
+    public void candidates() throws Exception {
+        PrefilterIndex index = PrefilterIndex.compile(Arrays.asList("user=(\\w+)", "(?:ERROR|WARN):\\s+(.*)$",
+                "\\d+", "(a)\\1b"));
+        assertEquals(3, index.getFilteredCount());
+        assertTrue(index.isFiltered(0));
+        assertFalse(index.isFiltered(2));
+        assertTrue(index.isFiltered(3));
+        assertEquals(Arrays.asList("ERROR:", "WARN:"), index.getLiterals(1).getLiterals());
+
+        assertEquals(bits(2), index.candidates("nothing here"));
+        assertEquals(bits(0, 2), index.candidates("user="));
+        assertEquals(bits(1, 2), index.candidates("WARN:"));
+        assertEquals(bits(0, 1, 2, 3), index.candidates("ERROR: user= aab"));
+    }
+
+    @Test
+    public void match() throws Exception {
+        PrefilterIndex index = PrefilterIndex.compile(Arrays.asList("user=(\\w+)", "(?:ERROR|WARN):\\s+(.*)$",
+                "\\d+", "(a)\\1b"));
+        assertEquals(bits(), index.match("nothing here"));
+        assertEquals(bits(), index.match("user= WARN:"));
+        assertEquals(bits(0, 1, 2), index.match("ERROR: user=root id=0"));
+        assertEquals(bits(3), index.match("aab"));
+        assertTrue(index.matchesAny("WARN: disk"));
+        assertFalse(index.matchesAny("ERROR:"));
+    }
+
+    @Test
+    public void overlappingLiterals() throws Exception {
+        PrefilterIndex index = PrefilterIndex.compile(Arrays.asList("he", "she", "his", "hers", "she\\d", "e"));
+        assertEquals(6, index.getFilteredCount());
+        assertEquals(bits(0, 1, 3, 5), index.match("ushers"));
+        assertEquals(bits(0, 1, 4, 5), index.match("she1"));
+        assertEquals(bits(2), index.match("this"));
+    }
+
+    @Test
+    public void ignoreCase() throws Exception {
+        PrefilterIndex index = PrefilterIndex.compile(Arrays.asList("(?i)error", "Error", "warn"));
+        assertEquals(bits(0), index.match("ERROR"));
+        assertEquals(bits(0, 1), index.match("Error"));
+        assertEquals(bits(), index.match("WARN"));
+
+        PrefilterIndex all = PrefilterIndex.compile(Arrays.asList("error", "warn"), Pattern.CASE_INSENSITIVE);
+        assertEquals(bits(0, 1), all.match("Error or WaRn"));
+    }
+
+    @Test
+    public void flags() throws Exception {
+        PrefilterIndex literal = PrefilterIndex.compile(Arrays.asList("a+(b", "c"), Pattern.LITERAL);
+        assertEquals(2, literal.getFilteredCount());
+        assertEquals(bits(0), literal.match("xa+(bx"));
+        assertEquals(bits(), literal.match("aab"));
+
+        PrefilterIndex comments = PrefilterIndex.compile(Collections.singletonList("a b # c"), Pattern.COMMENTS);
+        assertEquals(0, comments.getFilteredCount());
+        assertEquals(bits(0), comments.match("ab"));
+
+        PrefilterIndex quoted = PrefilterIndex.compile(Arrays.asList("\\Qa.b\\E", "[a[b]]c"));
+        assertFalse(quoted.isFiltered(0));
+        assertEquals(Collections.singletonList("c"), quoted.getLiterals(1).getLiterals());
+        assertEquals(bits(0, 1), quoted.match("a.bc"));
+    }
+
+    @Test
+    public void splitCharacterGroupAndQuotation() throws Exception {
+        PrefilterIndex index = PrefilterIndex.compile(
+                Arrays.asList("\\[[^\\]]+\\] ERROR", "\\Qa(\\E", "[]a]", "[]{]}x"));
+        assertEquals(Collections.singletonList("] ERROR"), index.getLiterals(0).getLiterals());
+        assertTrue(index.isFiltered(0));
+        assertTrue(index.getLiterals(1).getLiterals().isEmpty());
+        assertFalse(index.isFiltered(1));
+        assertEquals(Arrays.asList("]", "a"), index.getLiterals(2).getLiterals());
+        // group ends inside of quantifier token, tree is not exact
+        assertTrue(index.getLiterals(3).getLiterals().isEmpty());
+        assertEquals(bits(0, 1, 2), index.match("[main] ERROR x a("));
+        assertEquals(bits(1, 2, 3), index.match("a(]}x"));
+        assertEquals(bits(2), index.match("[main] INFO"));
+        assertTrue(index.match("ERROR").isEmpty());
+    }
+
+    @Test
+    public void sameMatches() throws Exception {
+        String[] parts = {"a", "b", "ab", "ba", "x", "Ab", "\\d", "[ab]", "[^a]", ".", "(", ")", "(?:", "|", "*",
+                "+", "?", "{2}", "^", "$", "\\b", "(?=a)", "(?i)", "\\1"};
+        String alphabet = "abxAB1 ";
+        int[] flags = {0, Pattern.CASE_INSENSITIVE, Pattern.MULTILINE};
+        Random random = new Random(21);
+        for (int i = 0; i < 300; i++) {
+            int flag = flags[random.nextInt(flags.length)];
+            List<String> patterns = new ArrayList<String>();
+            List<Pattern> compiled = new ArrayList<Pattern>();
+            while (patterns.size() < 10) {
+                StringBuilder sb = new StringBuilder();
+                int length = 1 + random.nextInt(6);
+                for (int j = 0; j < length; j++) {
+                    sb.append(parts[random.nextInt(parts.length)]);
+                }
+                try {
+                    compiled.add(Pattern.compile(sb.toString(), flag));
+                    patterns.add(sb.toString());
+                } catch (PatternSyntaxException e) {
+                    // only valid expressions
+                }
+            }
+            PrefilterIndex index = PrefilterIndex.compile(patterns, flag);
+            for (int k = 0; k < 20; k++) {
+                StringBuilder input = new StringBuilder();
+                int inputLength = random.nextInt(12);
+                for (int j = 0; j < inputLength; j++) {
+                    input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                BitSet expected = new BitSet();
+                for (int p = 0; p < compiled.size(); p++) {
+                    if (compiled.get(p).matcher(input).find()) {
+                        expected.set(p);
+                    }
+                }
+                String message = patterns + " " + flag + " " + input;
+                assertEquals(message, expected, index.match(input));
+                assertEquals(message, !expected.isEmpty(), index.matchesAny(input));
+            }
+        }
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void invalidExpression() throws Exception {
+        PrefilterIndex.compile(Arrays.asList("a", "(ab"));
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet result = new BitSet();
+        for (int index : indexes) {
+            result.set(index);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,189 @@
+package com.sharomank.regex.parser.automaton;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class RegexSetTest {
+
+    @Test
+    public void match() throws Exception {
+        RegexSet set = RegexSet.compile(Arrays.asList("user=(\\w+)", "id=\\d+", "(?:ERROR|WARN):", "a[^a-c]?z"));
+        assertEquals(4, set.size());
+        assertEquals(4, set.getCombinedCount());
+        assertEquals(bits(0, 1), set.match("at 10:00 user=root id=0"));
+        assertEquals(bits(2), set.match("WARN: disk"));
+        assertEquals(bits(3), set.match("az"));
+        assertEquals(bits(3), set.match("adz"));
+        assertEquals(bits(), set.match("acz user= id="));
+        assertTrue(set.matchesAny("ERROR: id"));
+        assertFalse(set.matchesAny("error: id"));
+    }
+
+    @Test
+    public void sharedPrefixes() throws Exception {
+        List<String> patterns = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            patterns.add("service-" + i + " (?:started|stopped) in \\d+ms");
+        }
+        RegexSet set = RegexSet.compile(patterns);
+        assertEquals(100, set.getCombinedCount());
+        assertEquals(bits(7), set.match("service-7 started in 15ms"));
+        assertEquals(bits(1, 12), set.match("service-1 stopped in 1ms, service-12 started in 2ms"));
+        assertEquals(bits(), set.match("service-7 restarted in 15ms"));
+    }
+
+    @Test
+    public void fallback() throws Exception {
+        RegexSet set = RegexSet.compile(Arrays.asList("(a)\\1", "a(?=b)", "\\bword\\b", "a++b", "(?i)x", "ab"));
+        assertFalse(set.isCombined(0));
+        assertFalse(set.isCombined(1));
+        assertFalse(set.isCombined(2));
+        assertFalse(set.isCombined(3));
+        assertFalse(set.isCombined(4));
+        assertTrue(set.isCombined(5));
+        assertEquals(bits(0, 1, 3, 5), set.match("aab"));
+        assertEquals(bits(2, 4), set.match("a word X"));
+
+        RegexSet multiline = RegexSet.compile(Arrays.asList("^a$", "b"), Pattern.MULTILINE);
+        assertFalse(multiline.isCombined(0));
+        assertTrue(multiline.isCombined(1));
+        assertEquals(bits(0), multiline.match("x\na\n"));
+        assertEquals(0, RegexSet.compile(Collections.singletonList("a"), Pattern.COMMENTS).getCombinedCount());
+    }
+
+    @Test
+    public void splitCharacterGroup() throws Exception {
+        RegexSet set = RegexSet.compile(Arrays.asList("\\[[^\\]]+\\] ERROR", "x[\\]]y", "[]a]", "[]{]}"));
+        assertTrue(set.isCombined(0));
+        assertTrue(set.isCombined(1));
+        assertTrue(set.isCombined(2));
+        // group ends inside of quantifier token
+        assertFalse(set.isCombined(3));
+        assertEquals(bits(0, 2), set.match("[main] ERROR x"));
+        assertEquals(bits(1, 2), set.match("x]y"));
+        assertEquals(bits(2, 3), set.match("a]{]}"));
+    }
+
+    @Test
+    public void anchors() throws Exception {
+        RegexSet set = RegexSet.compile(Arrays.asList("^ab", "ab$", "\\Aab\\z", "ab\\Z", "^$"));
+        assertEquals(5, set.getCombinedCount());
+        assertEquals(bits(0, 1, 2, 3), set.match("ab"));
+        assertEquals(bits(0, 1, 3), set.match("ab\n"));
+        assertEquals(bits(0, 1, 3), set.match("ab\r\n"));
+        assertEquals(bits(1, 3), set.match("cab"));
+        assertEquals(bits(0), set.match("ab\n\n"));
+        assertEquals(bits(4), set.match(""));
+        assertEquals(bits(4), set.match("\n"));
+
+        RegexSet unixLines = RegexSet.compile(Collections.singletonList("ab$"), Pattern.UNIX_LINES);
+        assertEquals(bits(0), unixLines.match("ab\n"));
+        assertEquals(bits(), unixLines.match("ab\r\n"));
+    }
+
+    @Test
+    public void flags() throws Exception {
+        RegexSet ignoreCase = RegexSet.compile(Arrays.asList("error", "[a-c]x", "[^a]"), Pattern.CASE_INSENSITIVE);
+        assertEquals(3, ignoreCase.getCombinedCount());
+        assertEquals(bits(0, 1, 2), ignoreCase.match("ERROR Bx"));
+        assertEquals(bits(), ignoreCase.match("AaA"));
+
+        RegexSet dotAll = RegexSet.compile(Collections.singletonList("a.b"), Pattern.DOTALL);
+        assertEquals(bits(0), dotAll.match("a\nb"));
+        assertEquals(bits(), RegexSet.compile(Collections.singletonList("a.b")).match("a\nb"));
+        assertEquals(bits(), RegexSet.compile(Collections.singletonList("a.b")).match("a\u2028b"));
+        assertEquals(bits(0), RegexSet.compile(Collections.singletonList("a.b"), Pattern.UNIX_LINES).match("a\rb"));
+    }
+
+    @Test
+    public void blankPatterns() throws Exception {
+        RegexSet set = RegexSet.compile(Arrays.asList("", " ", "a"));
+        assertEquals(bits(0), set.match(""));
+        assertEquals(bits(0, 1), set.match(" "));
+        assertEquals(bits(0, 2), set.match("a"));
+        assertEquals(bits(), RegexSet.compile(Collections.<String>emptyList()).match("a"));
+    }
+
+    @Test
+    public void matcher() throws Exception {
+        RegexSet set = RegexSet.compile(Arrays.asList("\\d+", "[a-z]+"));
+        RegexSetMatcher matcher = set.matcher();
+        assertEquals(bits(0), matcher.match("42"));
+        assertEquals(bits(1), matcher.match("abc"));
+        assertEquals(bits(0, 1), matcher.match("abc42"));
+        assertFalse(matcher.matchesAny("!?"));
+    }
+
+    @Test
+    public void sameMatches() throws Exception {
+        String[] parts = {"a", "b", "ab", "x", "\\d", "\\w", "\\s", "[ab]", "[^a]", "[a-c&&b]", ".", "(", ")",
+                "(?:", "|", "*", "+", "?", "*?", "{2}", "{0,2}", "^", "$", "\\z", "\\Z", "\\b", "(?=a)", "\\n"};
+        String alphabet = "abxAB1 \n\r\u0085\u00E9";
+        int[] flags = {0, Pattern.CASE_INSENSITIVE, Pattern.DOTALL, Pattern.UNIX_LINES, Pattern.MULTILINE};
+        Random random = new Random(19);
+        for (int i = 0; i < 300; i++) {
+            int flag = flags[random.nextInt(flags.length)];
+            List<String> patterns = new ArrayList<String>();
+            List<Pattern> compiled = new ArrayList<Pattern>();
+            while (patterns.size() < 8) {
+                StringBuilder sb = new StringBuilder();
+                int length = 1 + random.nextInt(6);
+                for (int j = 0; j < length; j++) {
+                    sb.append(parts[random.nextInt(parts.length)]);
+                }
+                try {
+                    compiled.add(Pattern.compile(sb.toString(), flag));
+                    patterns.add(sb.toString());
+                } catch (PatternSyntaxException e) {
+                    // only valid expressions
+                }
+            }
+            RegexSet set = RegexSet.compile(patterns, flag);
+            for (int k = 0; k < 20; k++) {
+                StringBuilder input = new StringBuilder();
+                int inputLength = random.nextInt(12);
+                for (int j = 0; j < inputLength; j++) {
+                    input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                BitSet expected = new BitSet();
+                for (int index = 0; index < compiled.size(); index++) {
+                    if (compiled.get(index).matcher(input).find()) {
+                        expected.set(index);
+                    }
+                }
+                String message = patterns + " " + flag + " " + input;
+                assertEquals(message, expected, set.match(input));
+                assertEquals(message, !expected.isEmpty(), set.matchesAny(input));
+            }
+        }
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void invalidExpression() throws Exception {
+        RegexSet.compile(Arrays.asList("a", "(ab"));
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet result = new BitSet();
+        for (int index : indexes) {
+            result.set(index);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+package com.sharomank.regex.parser.cache;
+
+import com.sharomank.regex.parser.ParseResult;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class ParseResultCacheTest {
+
+    @Test
+    public void hitAndMiss() throws Exception {
+        ParseResultCache cache = new ParseResultCache(1024);
+        ParseResult first = cache.get("a+b");
+        ParseResult second = cache.get("a+b");
+        ParseResult withFlags = cache.get("a+b", Pattern.CASE_INSENSITIVE);
+
+        assertSame(first, second);
+        assertNotSame(first, withFlags);
+        assertEquals(Pattern.CASE_INSENSITIVE, withFlags.getFlags());
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(2, cache.size());
+        assertEquals(6, cache.weight());
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedByWeight() throws Exception {
+        ParseResultCache cache = new ParseResultCache(10, 1);
+        cache.get("aaaa");
+        cache.get("bbbb");
+        cache.get("aaaa");
+        cache.get("cccc");
+
+        assertNull(cache.getIfPresent("bbbb", 0));
+        assertEquals(2, cache.size());
+        assertEquals(8, cache.weight());
+        assertEquals(1, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void tooHeavyIsNotCached() throws Exception {
+        ParseResultCache cache = new ParseResultCache(4, 1);
+        ParseResult result = cache.get("abcdef");
+
+        assertEquals(6, result.getTokens().size());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void concurrentHitsAndEvictions() throws Exception {
+        final ParseResultCache cache = new ParseResultCache(64, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+            for (int thread = 0; thread < 4; thread++) {
+                final int seed = thread;
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        boolean same = true;
+                        for (int index = 0; index < 20000; index++) {
+                            String regexPattern = "a{" + ((index * 7 + seed) % 40) + "}";
+                            same &= regexPattern.equals(cache.get(regexPattern).getExpression());
+                        }
+                        return same;
+                    }
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(cache.weight() <= 64);
+        long weight = 0;
+        for (int index = 0; index < 40; index++) {
+            String regexPattern = "a{" + index + "}";
+            if (cache.getIfPresent(regexPattern, 0) != null) {
+                weight += regexPattern.length();
+            }
+        }
+        assertEquals(cache.weight(), weight);
+        CacheStats stats = cache.getStats();
+        assertEquals(4 * 20000, stats.getHitCount() + stats.getMissCount());
+    }
+}
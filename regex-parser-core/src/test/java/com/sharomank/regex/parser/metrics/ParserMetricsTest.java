@@ -0,0 +1,158 @@
+package com.sharomank.regex.parser.metrics;
+
+import com.sharomank.regex.parser.RegexParser;
+import com.sharomank.regex.parser.RegexTokenBuffer;
+import com.sharomank.regex.parser.RegexTokenizer;
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class ParserMetricsTest {
+
+    @After
+    public void tearDown() throws Exception {
+        RegexParser.setMetrics(ParserMetrics.NONE);
+    }
+
+    @Test
+    public void noneByDefault() throws Exception {
+        assertSame(ParserMetrics.NONE, RegexParser.getMetrics());
+        assertFalse(ParserMetrics.NONE.isEnabled());
+    }
+
+    @Test
+    public void counters() throws Exception {
+        RecordingParserMetrics metrics = new RecordingParserMetrics();
+        RegexParser.setMetrics(metrics);
+
+        RegexParser.tokenize("(a|b)*c");
+        RegexParser.parse("(ab");
+        RegexParser.tokenize("  ");
+        new RegexTokenizer().tokenize("\\d+", Pattern.COMMENTS, new RegexTokenBuffer());
+        RegexParser.validate("\\d+\\y");
+        RegexParser.validate("[a-z]+", 0, true);
+
+        assertEquals(3, metrics.getTokenizeCount());
+        assertEquals(2, metrics.getValidateCount());
+        assertEquals(2, metrics.getParseErrorCount());
+        assertEquals(1, metrics.getErrorCount(RegexErrorKind.IllegalEscapeSequence));
+        assertEquals(0, metrics.getErrorCount(RegexErrorKind.UnclosedGroup));
+        assertEquals(5, metrics.getTokenCounts().getCount());
+        // (, a, |, b, ), *, c
+        assertEquals(7, metrics.getTokenCounts().getMax());
+        assertEquals(7 + 1 + 2 + 3 + 2, metrics.getTokenCounts().getTotal());
+        assertEquals(5, metrics.getValidationNanos().getCount());
+        assertEquals(5, metrics.getTokenizationNanos().getCount());
+        assertTrue(metrics.getValidationNanos().getTotal() > 0);
+
+        metrics.reset();
+        assertEquals(0, metrics.getTokenizeCount());
+        assertEquals(0, metrics.getErrorCount(RegexErrorKind.IllegalEscapeSequence));
+        assertEquals(0, metrics.getTokenCounts().getCount());
+    }
+
+    @Test
+    public void histogram() throws Exception {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMean(), 0);
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5);
+        assertEquals(101, histogram.getCount());
+        assertEquals(5050, histogram.getTotal());
+        assertEquals(100, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(0));
+        // 50th value is in bucket [32, 64)
+        assertEquals(63, histogram.getPercentile(50));
+        assertEquals(100, histogram.getPercentile(99));
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPercentile() throws Exception {
+        new Histogram().getPercentile(101);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullMetrics() throws Exception {
+        RegexParser.setMetrics(null);
+    }
+
+    @Test
+    public void brokenService() throws Exception {
+        assertNull(loadInIsolation(ParserMetricsTest.class.getPackage().getName() + ".MissingMetrics"));
+        assertNull(loadInIsolation(FailingMetrics.class.getName()));
+        assertEquals(RecordingParserMetrics.class.getName(), loadInIsolation(RecordingParserMetrics.class.getName()));
+    }
+
+    /**
+     * Load parser by separate class loader with metrics service file and parse twice
+     *
+     * @return class name of installed metrics, <code>null</code> for {@link ParserMetrics#NONE}
+     */
+    private static String loadInIsolation(String provider) throws Exception {
+        File directory = Files.createTempDirectory("regex-services").toFile();
+        File services = new File(directory, "META-INF/services");
+        File service = new File(services, ParserMetrics.class.getName());
+        assertTrue(services.mkdirs());
+        Writer out = new OutputStreamWriter(new FileOutputStream(service), StandardCharsets.UTF_8);
+        try {
+            out.write(provider + "\n");
+        } finally {
+            out.close();
+        }
+        URLClassLoader loader = new URLClassLoader(new URL[]{directory.toURI().toURL(), location(RegexParser.class),
+                location(ParserMetricsTest.class)}, null);
+        try {
+            Class<?> parser = loader.loadClass(RegexParser.class.getName());
+            Method parse = parser.getMethod("parse", String.class);
+            assertEquals(2, ((List<?>) parse.invoke(null, "ab")).size());
+            assertEquals(3, ((List<?>) parse.invoke(null, "a|b")).size());
+            Object metrics = parser.getMethod("getMetrics").invoke(null);
+            Object none = loader.loadClass(ParserMetrics.class.getName()).getField("NONE").get(null);
+            return metrics == none ? null : metrics.getClass().getName();
+        } finally {
+            loader.close();
+            assertTrue(service.delete() && services.delete() && services.getParentFile().delete()
+                    && directory.delete());
+        }
+    }
+
+    private static URL location(Class<?> type) {
+        return type.getProtectionDomain().getCodeSource().getLocation();
+    }
+
+    /**
+     * Service which cannot be created
+     */
+    public static class FailingMetrics extends RecordingParserMetrics {
+        public FailingMetrics() {
+            throw new IllegalStateException("broken");
+        }
+    }
+}
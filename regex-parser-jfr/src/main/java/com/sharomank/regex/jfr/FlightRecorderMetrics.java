@@ -0,0 +1,124 @@
+package com.sharomank.regex.jfr;
+
+import com.sharomank.regex.parser.enums.RegexErrorKind;
+import com.sharomank.regex.parser.metrics.ParserMetrics;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Parser calls as JDK Flight Recorder events <code>com.sharomank.regex.Tokenize</code> and
+ * <code>com.sharomank.regex.Validate</code>, so parser time is attributed in production recordings.
+ * Event begins before syntax check and ends after the call, so event duration is the call time and duration
+ * thresholds of recording apply; validation and tokenization times are fields.
+ * <p/>
+ * Kept out of core, because it needs runtime with <code>jdk.jfr</code> module: JDK 11 or later, JDK 8 from
+ * update 262. Install by {@link com.sharomank.regex.parser.RegexParser#setMetrics(ParserMetrics)}.
+ * Instance is thread-safe.
+ *
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class FlightRecorderMetrics implements ParserMetrics {
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public Object tokenizeStarted() {
+        TokenizeEvent event = new TokenizeEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void tokenized(Object call, int expressionLength, int tokenCount, boolean parseError, long validationNanos,
+                          long tokenizationNanos) {
+        TokenizeEvent event = (TokenizeEvent) call;
+        event.end();
+        if (event.shouldCommit()) {
+            event.expressionLength = expressionLength;
+            event.tokenCount = tokenCount;
+            event.parseError = parseError;
+            event.validationTime = validationNanos;
+            event.tokenizationTime = tokenizationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object validateStarted() {
+        ValidateEvent event = new ValidateEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void validated(Object call, int expressionLength, int tokenCount, RegexErrorKind errorKind,
+                          long validationNanos, long tokenizationNanos) {
+        ValidateEvent event = (ValidateEvent) call;
+        event.end();
+        if (event.shouldCommit()) {
+            event.expressionLength = expressionLength;
+            event.tokenCount = tokenCount;
+            event.errorKind = errorKind == null ? null : errorKind.name();
+            event.validationTime = validationNanos;
+            event.tokenizationTime = tokenizationNanos;
+            event.commit();
+        }
+    }
+
+    @Name("com.sharomank.regex.Tokenize")
+    @Label("Regex Tokenize")
+    @Description("Tokenization of regular expression")
+    @Category("Regex Parser")
+    @StackTrace(false)
+    static final class TokenizeEvent extends Event {
+        @Label("Expression Length")
+        int expressionLength;
+
+        @Label("Token Count")
+        int tokenCount;
+
+        @Label("Parse Error")
+        boolean parseError;
+
+        @Label("Validation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long validationTime;
+
+        @Label("Tokenization Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long tokenizationTime;
+    }
+
+    @Name("com.sharomank.regex.Validate")
+    @Label("Regex Validate")
+    @Description("Syntax check of regular expression")
+    @Category("Regex Parser")
+    @StackTrace(false)
+    static final class ValidateEvent extends Event {
+        @Label("Expression Length")
+        int expressionLength;
+
+        @Label("Token Count")
+        int tokenCount;
+
+        @Label("Error Kind")
+        String errorKind;
+
+        @Label("Validation Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long validationTime;
+
+        @Label("Tokenization Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long tokenizationTime;
+    }
+}
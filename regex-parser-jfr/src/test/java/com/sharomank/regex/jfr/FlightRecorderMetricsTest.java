@@ -0,0 +1,83 @@
+package com.sharomank.regex.jfr;
+
+import com.sharomank.regex.parser.RegexParser;
+import com.sharomank.regex.parser.metrics.ParserMetrics;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Roman Kurbangaliyev
+ * @since 18.10.2026
+ */
+public class FlightRecorderMetricsTest {
+    private static final String TOKENIZE = "com.sharomank.regex.Tokenize";
+    private static final String VALIDATE = "com.sharomank.regex.Validate";
+
+    @After
+    public void tearDown() throws Exception {
+        RegexParser.setMetrics(ParserMetrics.NONE);
+    }
+
+    @Test
+    public void events() throws Exception {
+        List<RecordedEvent> events = record(Duration.ZERO);
+        List<String> names = new ArrayList<String>();
+        for (RecordedEvent event : events) {
+            names.add(event.getEventType().getName() + " " + event.getInt("tokenCount"));
+            // event spans the call, measured parts are not longer than event
+            long nanos = event.getDuration().toNanos();
+            assertTrue(nanos > 0);
+            assertTrue(event.getDuration("validationTime").toNanos() <= nanos);
+            assertTrue(event.getDuration("tokenizationTime").toNanos() <= nanos);
+        }
+        assertEquals(2, names.size());
+        assertTrue(names.contains(TOKENIZE + " 7"));
+        assertTrue(names.contains(VALIDATE + " 1"));
+    }
+
+    @Test
+    public void durationThreshold() throws Exception {
+        assertTrue(record(Duration.ofHours(1)).isEmpty());
+    }
+
+    /**
+     * @param threshold duration threshold of parser events
+     * @return parser events of one tokenization and one validation
+     */
+    private static List<RecordedEvent> record(Duration threshold) throws Exception {
+        File file = File.createTempFile("regex-parser", ".jfr");
+        try {
+            Recording recording = new Recording();
+            recording.enable(TOKENIZE).withThreshold(threshold);
+            recording.enable(VALIDATE).withThreshold(threshold);
+            recording.start();
+            RegexParser.setMetrics(new FlightRecorderMetrics());
+            RegexParser.tokenize("(a|b)*c");
+            RegexParser.validate("(ab");
+            recording.stop();
+            recording.dump(file.toPath());
+            recording.close();
+
+            List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file.toPath())) {
+                if (event.getEventType().getName().startsWith("com.sharomank.regex.")) {
+                    events.add(event);
+                }
+            }
+            return events;
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+}